@@ -0,0 +1,112 @@
+/* Copyright 2002-2016 CS Systèmes d'Information
+ * Licensed to CS Systèmes d'Information (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.orekit.errors.OrekitException;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.time.DateTimeComponents;
+import org.orekit.time.TimeScale;
+import org.orekit.time.TimeScalesFactory;
+
+/** Benchmark for {@link AbsoluteDate} arithmetic.
+ * @author Luc Maisonobe
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class AbsoluteDateBenchmark {
+
+    /** UTC time scale. */
+    private TimeScale utc;
+
+    /** First date. */
+    private AbsoluteDate date1;
+
+    /** Second date. */
+    private AbsoluteDate date2;
+
+    /** Shift. */
+    private double dt;
+
+    /** Set up the dates.
+     * @exception OrekitException if UTC time scale cannot be loaded
+     */
+    @Setup
+    public void setUp() throws OrekitException {
+        BenchmarkContext.setUp();
+        utc   = TimeScalesFactory.getUTC();
+        date1 = BenchmarkContext.getReferenceDate();
+        date2 = date1.shiftedBy(12345.678);
+        dt    = 0.125;
+    }
+
+    /** Shift a date.
+     * @return shifted date
+     */
+    @Benchmark
+    public AbsoluteDate shiftedBy() {
+        return date1.shiftedBy(dt);
+    }
+
+    /** Compute a duration between two dates.
+     * @return duration
+     */
+    @Benchmark
+    public double durationFrom() {
+        return date2.durationFrom(date1);
+    }
+
+    /** Compare two dates.
+     * @return comparison result
+     */
+    @Benchmark
+    public int compareTo() {
+        return date1.compareTo(date2);
+    }
+
+    /** Build a date from UTC components.
+     * @return date
+     */
+    @Benchmark
+    public AbsoluteDate fromUTCComponents() {
+        return new AbsoluteDate(2004, 6, 1, 12, 34, 56.789, utc);
+    }
+
+    /** Split a date in UTC components.
+     * @return components
+     */
+    @Benchmark
+    public DateTimeComponents toUTCComponents() {
+        return date2.getComponents(utc);
+    }
+
+}
@@ -0,0 +1,164 @@
+/* Copyright 2002-2016 CS Systèmes d'Information
+ * Licensed to CS Systèmes d'Information (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.benchmarks;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.orekit.errors.OrekitException;
+import org.orekit.forces.gravity.potential.GravityFieldFactory;
+import org.orekit.orbits.Orbit;
+import org.orekit.propagation.analytical.EcksteinHechlerPropagator;
+import org.orekit.propagation.analytical.tle.TLE;
+import org.orekit.propagation.analytical.tle.TLEBatchPropagator;
+import org.orekit.propagation.analytical.tle.TLEPropagator;
+import org.orekit.time.AbsoluteDate;
+
+/** Benchmark for analytical propagators.
+ * <p>
+ * Each invocation samples {@link #SAMPLES} points, one minute apart,
+ * so the reported score is the cost of one single propagation.
+ * </p>
+ * @author Luc Maisonobe
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class AnalyticalPropagatorsBenchmark {
+
+    /** Number of samples per invocation. */
+    private static final int SAMPLES = 100;
+
+    /** Step between samples. */
+    private static final double STEP = 60.0;
+
+    /** Eckstein-Hechler propagator. */
+    private EcksteinHechlerPropagator ecksteinHechler;
+
+    /** Start date for Eckstein-Hechler propagator. */
+    private AbsoluteDate ecksteinHechlerStart;
+
+    /** Near Earth TLE. */
+    private TLE sgp4TLE;
+
+    /** Near Earth TLE propagator. */
+    private TLEPropagator sgp4;
+
+    /** Deep space TLE propagator. */
+    private TLEPropagator sdp4;
+
+    /** Batch propagator. */
+    private TLEBatchPropagator batch;
+
+    /** Batch positions. */
+    private double[] batchPositions;
+
+    /** Batch velocities. */
+    private double[] batchVelocities;
+
+    /** Set up the propagators.
+     * @exception OrekitException if propagators cannot be built
+     */
+    @Setup
+    public void setUp() throws OrekitException {
+        BenchmarkContext.setUp();
+        final Orbit orbit    = BenchmarkContext.getLeo();
+        ecksteinHechler      = new EcksteinHechlerPropagator(orbit,
+                                                             GravityFieldFactory.getUnnormalizedProvider(BenchmarkContext.getSyntheticField(6)));
+        ecksteinHechlerStart = orbit.getDate();
+        sgp4TLE              = BenchmarkContext.getTLE(BenchmarkContext.LEO_TLE);
+        sgp4                 = TLEPropagator.selectExtrapolator(sgp4TLE);
+        sdp4                 = TLEPropagator.selectExtrapolator(BenchmarkContext.getTLE(BenchmarkContext.MEO_TLE));
+        batch                = new TLEBatchPropagator(Collections.nCopies(SAMPLES, sgp4TLE));
+        batchPositions       = new double[3 * SAMPLES];
+        batchVelocities      = new double[3 * SAMPLES];
+    }
+
+    /** Propagate with Eckstein-Hechler model.
+     * @param bh black hole consuming results
+     * @exception OrekitException if propagation fails
+     */
+    @Benchmark
+    @OperationsPerInvocation(SAMPLES)
+    public void ecksteinHechler(final Blackhole bh) throws OrekitException {
+        for (int i = 0; i < SAMPLES; ++i) {
+            bh.consume(ecksteinHechler.propagate(ecksteinHechlerStart.shiftedBy(i * STEP)));
+        }
+    }
+
+    /** Propagate with SGP4 model.
+     * @param bh black hole consuming results
+     * @exception OrekitException if propagation fails
+     */
+    @Benchmark
+    @OperationsPerInvocation(SAMPLES)
+    public void sgp4(final Blackhole bh) throws OrekitException {
+        final AbsoluteDate start = sgp4.getTLE().getDate();
+        for (int i = 0; i < SAMPLES; ++i) {
+            bh.consume(sgp4.getPVCoordinates(start.shiftedBy(i * STEP)));
+        }
+    }
+
+    /** Propagate with SDP4 model.
+     * @param bh black hole consuming results
+     * @exception OrekitException if propagation fails
+     */
+    @Benchmark
+    @OperationsPerInvocation(SAMPLES)
+    public void sdp4(final Blackhole bh) throws OrekitException {
+        final AbsoluteDate start = sdp4.getTLE().getDate();
+        for (int i = 0; i < SAMPLES; ++i) {
+            bh.consume(sdp4.getPVCoordinates(start.shiftedBy(i * STEP)));
+        }
+    }
+
+    /** Propagate a batch of TLE with SGP4 model.
+     * @param bh black hole consuming results
+     */
+    @Benchmark
+    @OperationsPerInvocation(SAMPLES)
+    public void sgp4Batch(final Blackhole bh) {
+        bh.consume(batch.propagate(sgp4TLE.getDate().shiftedBy(STEP), batchPositions, batchVelocities, false));
+        bh.consume(batchPositions);
+        bh.consume(batchVelocities);
+    }
+
+    /** Select and initialize a TLE propagator.
+     * @return propagator
+     * @exception OrekitException if propagator cannot be built
+     */
+    @Benchmark
+    public TLEPropagator selectExtrapolator() throws OrekitException {
+        return TLEPropagator.selectExtrapolator(sgp4TLE);
+    }
+
+}
@@ -0,0 +1,214 @@
+/* Copyright 2002-2016 CS Systèmes d'Information
+ * Licensed to CS Systèmes d'Information (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/** Compare JMH results with a stored baseline.
+ * <p>
+ * Both files are JMH results in CSV format (i.e. produced with
+ * {@code -rf csv}). Results are matched by benchmark name and
+ * parameters. A benchmark is considered to have regressed if its
+ * score is worse than the baseline score by more than the relative
+ * tolerance, taking the score error of both runs into account. Lower
+ * is better for time-based modes and higher is better for throughput.
+ * </p>
+ * <p>
+ * A missing baseline file, or a benchmark missing from the baseline, is
+ * an error, so a run cannot silently succeed without being compared to
+ * anything. Recording or refreshing the baseline after an intended
+ * performance change must be requested explicitly, by setting the last
+ * argument to true. The baseline should be recorded on the machine that
+ * runs the comparisons, as scores depend on hardware.
+ * </p>
+ * @author Luc Maisonobe
+ */
+public class BaselineComparator {
+
+    /** Private constructor for utility class. */
+    private BaselineComparator() {
+    }
+
+    /** Program entry point.
+     * @param args results file, baseline file, relative tolerance and baseline update flag
+     * @exception IOException if files cannot be read
+     */
+    public static void main(final String[] args) throws IOException {
+
+        if (args.length != 4) {
+            System.err.println("usage: java org.orekit.benchmarks.BaselineComparator " +
+                               "results.csv baseline.csv tolerance updateBaseline");
+            System.exit(1);
+        }
+        final File    results        = new File(args[0]);
+        final File    baseline       = new File(args[1]);
+        final double  tolerance      = Double.parseDouble(args[2]);
+        final boolean updateBaseline = Boolean.parseBoolean(args[3]);
+
+        if (updateBaseline) {
+            baseline.getAbsoluteFile().getParentFile().mkdirs();
+            Files.copy(results.toPath(), baseline.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            System.out.format("%s stored as new baseline %s%n", results, baseline);
+            return;
+        }
+
+        if (!baseline.exists()) {
+            System.err.format("no baseline found at %s, record one with -Dorekit.benchmarks.updateBaseline=true%n",
+                              baseline);
+            System.exit(1);
+        }
+
+        final Map<String, Score> reference = parse(baseline);
+        int regressions = 0;
+        int missing     = 0;
+        for (final Map.Entry<String, Score> entry : parse(results).entrySet()) {
+            final Score current  = entry.getValue();
+            final Score previous = reference.get(entry.getKey());
+            if (previous == null) {
+                ++missing;
+                System.out.format("  MISSING    %-80s %12.3f %s%n",
+                                  entry.getKey(), current.score, current.unit);
+            } else if (!previous.unit.equals(current.unit)) {
+                ++missing;
+                System.out.format("  UNIT       %-80s %s / %s%n",
+                                  entry.getKey(), previous.unit, current.unit);
+            } else {
+                final double ratio     = current.score / previous.score;
+                final double slowdown  = current.higherIsBetter ? 1.0 / ratio : ratio;
+                final double noise     = (current.error + previous.error) / previous.score;
+                final boolean regressed = slowdown > 1.0 + tolerance + noise;
+                if (regressed) {
+                    ++regressions;
+                }
+                System.out.format("  %-10s %-80s %12.3f -> %12.3f %s (%+.1f%%)%n",
+                                  regressed ? "REGRESSION" : "ok",
+                                  entry.getKey(), previous.score, current.score, current.unit,
+                                  100.0 * (slowdown - 1.0));
+            }
+        }
+
+        if (missing > 0) {
+            System.err.format("%d benchmark(s) cannot be compared with %s, " +
+                              "refresh it with -Dorekit.benchmarks.updateBaseline=true%n",
+                              missing, baseline);
+        }
+        if (regressions > 0) {
+            System.err.format("%d benchmark(s) regressed by more than %.1f%% with respect to %s%n",
+                              regressions, 100.0 * tolerance, baseline);
+        }
+        if (missing > 0 || regressions > 0) {
+            System.exit(1);
+        }
+
+    }
+
+    /** Parse a JMH CSV results file.
+     * @param file file to parse
+     * @return map of scores, indexed by benchmark name and parameters
+     * @exception IOException if file cannot be read
+     */
+    private static Map<String, Score> parse(final File file) throws IOException {
+
+        final List<String> lines = Files.readAllLines(file.toPath(), StandardCharsets.UTF_8);
+        final Map<String, Score> scores = new LinkedHashMap<String, Score>();
+        if (lines.isEmpty()) {
+            return scores;
+        }
+
+        // header: "Benchmark","Mode","Threads","Samples","Score","Score Error (99.9%)","Unit",...
+        final List<String> header = split(lines.get(0));
+        for (final String line : lines.subList(1, lines.size())) {
+            final List<String> fields = split(line);
+            if (fields.size() < 7) {
+                continue;
+            }
+            final StringBuilder key = new StringBuilder(fields.get(0));
+            for (int i = 7; i < fields.size(); ++i) {
+                key.append(' ').append(header.get(i).replace("Param: ", "")).append('=').append(fields.get(i));
+            }
+            final double error = fields.get(5).isEmpty() ? 0.0 : Double.parseDouble(fields.get(5));
+            scores.put(key.toString(),
+                       new Score(Double.parseDouble(fields.get(4)), Double.isNaN(error) ? 0.0 : error,
+                                 fields.get(6), "thrpt".equals(fields.get(1))));
+        }
+
+        return scores;
+
+    }
+
+    /** Split a CSV line.
+     * @param line line to split
+     * @return fields, with quotes removed
+     */
+    private static List<String> split(final String line) {
+        final List<String> fields = new ArrayList<String>();
+        final StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); ++i) {
+            final char c = line.charAt(i);
+            if (c == '"') {
+                quoted = !quoted;
+            } else if (c == ',' && !quoted) {
+                fields.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        fields.add(current.toString());
+        return fields;
+    }
+
+    /** Container for one benchmark score. */
+    private static class Score {
+
+        /** Score. */
+        private final double score;
+
+        /** Score error. */
+        private final double error;
+
+        /** Unit. */
+        private final String unit;
+
+        /** Indicator for throughput modes. */
+        private final boolean higherIsBetter;
+
+        /** Simple constructor.
+         * @param score score
+         * @param error score error
+         * @param unit unit
+         * @param higherIsBetter if true, higher scores are better
+         */
+        Score(final double score, final double error, final String unit, final boolean higherIsBetter) {
+            this.score          = score;
+            this.error          = error;
+            this.unit           = unit;
+            this.higherIsBetter = higherIsBetter;
+        }
+
+    }
+
+}
@@ -0,0 +1,134 @@
+/* Copyright 2002-2016 CS Systèmes d'Information
+ * Licensed to CS Systèmes d'Information (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.benchmarks;
+
+import org.hipparchus.random.RandomGenerator;
+import org.hipparchus.random.Well19937a;
+import org.hipparchus.util.FastMath;
+import org.orekit.Utils;
+import org.orekit.data.DataProvidersManager;
+import org.orekit.errors.OrekitException;
+import org.orekit.forces.gravity.potential.GravityFieldFactory;
+import org.orekit.forces.gravity.potential.NormalizedSphericalHarmonicsProvider;
+import org.orekit.forces.gravity.potential.TideSystem;
+import org.orekit.frames.FramesFactory;
+import org.orekit.orbits.KeplerianOrbit;
+import org.orekit.orbits.Orbit;
+import org.orekit.orbits.PositionAngle;
+import org.orekit.propagation.analytical.tle.TLE;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.time.TimeScalesFactory;
+import org.orekit.utils.Constants;
+
+/** Shared setup for the benchmarks.
+ * <p>
+ * Benchmarks use the test data from {@code src/test/resources} unless the
+ * {@link DataProvidersManager#OREKIT_DATA_PATH orekit.data.path} property
+ * has already been set, in which case the user data are used.
+ * </p>
+ * @author Luc Maisonobe
+ */
+public class BenchmarkContext {
+
+    /** Low Earth Orbit two-lines elements (SGP4). */
+    public static final String[] LEO_TLE = {
+        "1 27421U 02021A   02124.48976499 -.00021470  00000-0 -89879-2 0    20",
+        "2 27421  98.7490 199.5121 0001333 133.9522 226.1918 14.26113993    62"
+    };
+
+    /** Medium Earth Orbit two-lines elements (SDP4). */
+    public static final String[] MEO_TLE = {
+        "1 37753U 11036A   12090.13205652 -.00000006  00000-0  00000+0 0  2272",
+        "2 37753  55.0032 176.5796 0004733  13.2285 346.8266  2.00565440  5153"
+    };
+
+    /** Private constructor for utility class. */
+    private BenchmarkContext() {
+    }
+
+    /** Set up the data context.
+     * <p>
+     * This method must be called from the {@code @Setup} method of
+     * each benchmark state, as each benchmark runs in a forked JVM.
+     * </p>
+     */
+    public static void setUp() {
+        if (System.getProperty(DataProvidersManager.OREKIT_DATA_PATH) == null) {
+            Utils.setDataRoot("regular-data");
+        }
+    }
+
+    /** Get a reference date covered by the test Earth Orientation Parameters.
+     * @return reference date
+     * @exception OrekitException if UTC time scale cannot be loaded
+     */
+    public static AbsoluteDate getReferenceDate() throws OrekitException {
+        return new AbsoluteDate(2004, 6, 1, 12, 0, 0.0, TimeScalesFactory.getUTC());
+    }
+
+    /** Get a Low Earth Orbit.
+     * @return Low Earth Orbit at {@link #getReferenceDate() reference date}
+     * @exception OrekitException if UTC time scale cannot be loaded
+     */
+    public static Orbit getLeo() throws OrekitException {
+        return new KeplerianOrbit(7078137.0, 0.001, FastMath.toRadians(98.2),
+                                  FastMath.toRadians(90.0), FastMath.toRadians(45.0),
+                                  FastMath.toRadians(10.0), PositionAngle.MEAN,
+                                  FramesFactory.getEME2000(), getReferenceDate(),
+                                  Constants.EIGEN5C_EARTH_MU);
+    }
+
+    /** Build a TLE.
+     * @param lines TLE lines
+     * @return parsed TLE
+     * @exception OrekitException if TLE cannot be parsed
+     */
+    public static TLE getTLE(final String[] lines) throws OrekitException {
+        return new TLE(lines[0], lines[1]);
+    }
+
+    /** Build a synthetic gravity field of arbitrary degree.
+     * <p>
+     * The coefficients follow Kaula rule of thumb, so the cost of
+     * evaluation is representative of a real field, but they have
+     * no physical meaning. This allows benchmarking degrees that
+     * are not available in the test data.
+     * </p>
+     * @param degree degree (and order) of the field
+     * @return synthetic field
+     */
+    public static NormalizedSphericalHarmonicsProvider getSyntheticField(final int degree) {
+        final RandomGenerator random = new Well19937a(0x7a1c3d45b2e0f981L);
+        final double[][] c = new double[degree + 1][];
+        final double[][] s = new double[degree + 1][];
+        for (int n = 0; n <= degree; ++n) {
+            c[n] = new double[n + 1];
+            s[n] = new double[n + 1];
+            final double kaula = (n < 2) ? 0.0 : 1.0e-5 / (n * n);
+            for (int m = 0; m <= n; ++m) {
+                c[n][m] = kaula * random.nextGaussian();
+                s[n][m] = (m == 0) ? 0.0 : kaula * random.nextGaussian();
+            }
+        }
+        c[0][0] = 1.0;
+        c[2][0] = -4.84165371736e-04;
+        return GravityFieldFactory.getNormalizedProvider(Constants.EIGEN5C_EARTH_EQUATORIAL_RADIUS,
+                                                         Constants.EIGEN5C_EARTH_MU,
+                                                         TideSystem.UNKNOWN, c, s);
+    }
+
+}
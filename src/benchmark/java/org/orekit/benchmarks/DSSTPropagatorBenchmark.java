@@ -0,0 +1,94 @@
+/* Copyright 2002-2016 CS Systèmes d'Information
+ * Licensed to CS Systèmes d'Information (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.hipparchus.ode.nonstiff.DormandPrince853Integrator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.orekit.errors.OrekitException;
+import org.orekit.forces.gravity.potential.GravityFieldFactory;
+import org.orekit.forces.gravity.potential.UnnormalizedSphericalHarmonicsProvider;
+import org.orekit.frames.FramesFactory;
+import org.orekit.orbits.Orbit;
+import org.orekit.propagation.SpacecraftState;
+import org.orekit.propagation.semianalytical.dsst.DSSTPropagator;
+import org.orekit.propagation.semianalytical.dsst.forces.DSSTTesseral;
+import org.orekit.propagation.semianalytical.dsst.forces.DSSTZonal;
+import org.orekit.utils.Constants;
+import org.orekit.utils.IERSConventions;
+
+/** Benchmark for {@link DSSTPropagator} with zonal and tesseral contributions.
+ * @author Luc Maisonobe
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class DSSTPropagatorBenchmark {
+
+    /** Degree and order of the gravity field. */
+    private static final int DEGREE = 8;
+
+    /** Initial orbit. */
+    private Orbit orbit;
+
+    /** Propagator. */
+    private DSSTPropagator propagator;
+
+    /** Set up the propagator.
+     * @exception OrekitException if propagator cannot be built
+     */
+    @Setup
+    public void setUp() throws OrekitException {
+        BenchmarkContext.setUp();
+        orbit = BenchmarkContext.getLeo();
+        final UnnormalizedSphericalHarmonicsProvider provider =
+                GravityFieldFactory.getUnnormalizedProvider(BenchmarkContext.getSyntheticField(DEGREE));
+        final double[][] tolerances = DSSTPropagator.tolerances(1.0, orbit);
+        propagator = new DSSTPropagator(new DormandPrince853Integrator(orbit.getKeplerianPeriod(),
+                                                                       100 * orbit.getKeplerianPeriod(),
+                                                                       tolerances[0], tolerances[1]));
+        propagator.addForceModel(new DSSTZonal(provider, DEGREE, 4, 2 * DEGREE + 1));
+        propagator.addForceModel(new DSSTTesseral(FramesFactory.getITRF(IERSConventions.IERS_2010, true),
+                                                  Constants.WGS84_EARTH_ANGULAR_VELOCITY, provider,
+                                                  DEGREE, DEGREE, 4, DEGREE + 4,
+                                                  DEGREE, DEGREE, 4));
+    }
+
+    /** Propagate over one day.
+     * @return final state
+     * @exception OrekitException if propagation fails
+     */
+    @Benchmark
+    public SpacecraftState propagateOneDay() throws OrekitException {
+        propagator.setInitialState(new SpacecraftState(orbit), false);
+        return propagator.propagate(orbit.getDate().shiftedBy(Constants.JULIAN_DAY));
+    }
+
+}
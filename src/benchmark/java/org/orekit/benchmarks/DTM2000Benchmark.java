@@ -0,0 +1,124 @@
+/* Copyright 2002-2016 CS Systèmes d'Information
+ * Licensed to CS Systèmes d'Information (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.hipparchus.util.FastMath;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.orekit.SolarInputs97to05;
+import org.orekit.bodies.CelestialBodyFactory;
+import org.orekit.bodies.OneAxisEllipsoid;
+import org.orekit.errors.OrekitException;
+import org.orekit.forces.drag.atmosphere.DTM2000;
+import org.orekit.frames.FramesFactory;
+import org.orekit.utils.Constants;
+import org.orekit.utils.IERSConventions;
+
+/** Benchmark for concurrent evaluations of the DTM2000 atmosphere model.
+ * <p>
+ * One single model instance is shared by all benchmark threads. As the
+ * model does not hold any lock, the throughput should scale linearly
+ * with the number of threads, up to the number of available cores.
+ * </p>
+ * @author Luc Maisonobe
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DTM2000Benchmark {
+
+    /** Number of samples per invocation. */
+    private static final int SAMPLES = 100;
+
+    /** Shared atmosphere model. */
+    private DTM2000 atmosphere;
+
+    /** Set up the shared model.
+     * @exception OrekitException if model cannot be built
+     */
+    @Setup
+    public void setUp() throws OrekitException {
+        BenchmarkContext.setUp();
+        final OneAxisEllipsoid earth =
+                new OneAxisEllipsoid(Constants.WGS84_EARTH_EQUATORIAL_RADIUS,
+                                     Constants.WGS84_EARTH_FLATTENING,
+                                     FramesFactory.getITRF(IERSConventions.IERS_2010, true));
+        atmosphere = new DTM2000(SolarInputs97to05.getInstance(), CelestialBodyFactory.getSun(), earth);
+    }
+
+    /** Evaluate density with one thread.
+     * @param bh black hole consuming results
+     * @exception OrekitException if density cannot be computed
+     */
+    @Benchmark
+    @Threads(1)
+    @OperationsPerInvocation(SAMPLES)
+    public void oneThread(final Blackhole bh) throws OrekitException {
+        evaluate(bh);
+    }
+
+    /** Evaluate density with two threads.
+     * @param bh black hole consuming results
+     * @exception OrekitException if density cannot be computed
+     */
+    @Benchmark
+    @Threads(2)
+    @OperationsPerInvocation(SAMPLES)
+    public void twoThreads(final Blackhole bh) throws OrekitException {
+        evaluate(bh);
+    }
+
+    /** Evaluate density with four threads.
+     * @param bh black hole consuming results
+     * @exception OrekitException if density cannot be computed
+     */
+    @Benchmark
+    @Threads(4)
+    @OperationsPerInvocation(SAMPLES)
+    public void fourThreads(final Blackhole bh) throws OrekitException {
+        evaluate(bh);
+    }
+
+    /** Evaluate density at a set of sample points.
+     * @param bh black hole consuming results
+     * @exception OrekitException if density cannot be computed
+     */
+    private void evaluate(final Blackhole bh) throws OrekitException {
+        for (int i = 0; i < SAMPLES; ++i) {
+            bh.consume(atmosphere.getDensity(1 + 3 * i, (300 + 5 * i) * 1000, 0.06 * i,
+                                             FastMath.sin(0.1 * i), 0.0628 * i,
+                                             150, 150, i % 9, i % 9));
+        }
+    }
+
+}
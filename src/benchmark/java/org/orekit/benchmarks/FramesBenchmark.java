@@ -0,0 +1,129 @@
+/* Copyright 2002-2016 CS Systèmes d'Information
+ * Licensed to CS Systèmes d'Information (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.orekit.errors.OrekitException;
+import org.orekit.frames.Frame;
+import org.orekit.frames.FramesFactory;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.utils.IERSConventions;
+
+/** Benchmark for {@link Frame#getTransformTo(Frame, AbsoluteDate)}.
+ * <p>
+ * Each invocation computes {@link #SAMPLES} transforms, with dates
+ * one minute apart, so the reported score is the cost of one single
+ * transform. As the dates sequence is the same for all invocations,
+ * the caches within the frames providers are warm after the first one.
+ * </p>
+ * @author Luc Maisonobe
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class FramesBenchmark {
+
+    /** Number of samples per invocation. */
+    private static final int SAMPLES = 100;
+
+    /** Step between samples. */
+    private static final double STEP = 60.0;
+
+    /** Geocentric Celestial Reference Frame. */
+    private Frame gcrf;
+
+    /** International Terrestrial Reference Frame. */
+    private Frame itrf;
+
+    /** True Of Date frame. */
+    private Frame tod;
+
+    /** Start date. */
+    private AbsoluteDate start;
+
+    /** Set up the frames.
+     * @exception OrekitException if frames cannot be built
+     */
+    @Setup
+    public void setUp() throws OrekitException {
+        BenchmarkContext.setUp();
+        gcrf  = FramesFactory.getGCRF();
+        itrf  = FramesFactory.getITRF(IERSConventions.IERS_2010, false);
+        tod   = FramesFactory.getTOD(IERSConventions.IERS_2010, false);
+        start = BenchmarkContext.getReferenceDate();
+    }
+
+    /** Transform from GCRF to ITRF.
+     * @param bh black hole consuming results
+     * @exception OrekitException if transform cannot be computed
+     */
+    @Benchmark
+    @OperationsPerInvocation(SAMPLES)
+    public void gcrfToItrf(final Blackhole bh) throws OrekitException {
+        transforms(gcrf, itrf, bh);
+    }
+
+    /** Transform from GCRF to TOD.
+     * @param bh black hole consuming results
+     * @exception OrekitException if transform cannot be computed
+     */
+    @Benchmark
+    @OperationsPerInvocation(SAMPLES)
+    public void gcrfToTod(final Blackhole bh) throws OrekitException {
+        transforms(gcrf, tod, bh);
+    }
+
+    /** Transform from TOD to ITRF.
+     * @param bh black hole consuming results
+     * @exception OrekitException if transform cannot be computed
+     */
+    @Benchmark
+    @OperationsPerInvocation(SAMPLES)
+    public void todToItrf(final Blackhole bh) throws OrekitException {
+        transforms(tod, itrf, bh);
+    }
+
+    /** Compute a series of transforms.
+     * @param from origin frame
+     * @param to destination frame
+     * @param bh black hole consuming results
+     * @exception OrekitException if transform cannot be computed
+     */
+    private void transforms(final Frame from, final Frame to, final Blackhole bh)
+        throws OrekitException {
+        for (int i = 0; i < SAMPLES; ++i) {
+            bh.consume(from.getTransformTo(to, start.shiftedBy(i * STEP)));
+        }
+    }
+
+}
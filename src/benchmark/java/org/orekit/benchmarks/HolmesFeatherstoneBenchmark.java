@@ -0,0 +1,120 @@
+/* Copyright 2002-2016 CS Systèmes d'Information
+ * Licensed to CS Systèmes d'Information (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.hipparchus.geometry.euclidean.threed.Vector3D;
+import org.hipparchus.util.FastMath;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.orekit.errors.OrekitException;
+import org.orekit.forces.gravity.HolmesFeatherstoneAttractionModel;
+import org.orekit.frames.FramesFactory;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.utils.IERSConventions;
+
+/** Benchmark for {@link HolmesFeatherstoneAttractionModel} field evaluation.
+ * <p>
+ * Each invocation evaluates the field at {@link #SAMPLES} points spread
+ * over the sphere, so the reported score is the cost of one single evaluation.
+ * Allocation per evaluation can be checked by running JMH with the
+ * {@code -prof gc} option and looking at the {@code gc.alloc.rate.norm}
+ * secondary result: the recursion columns, distance powers and longitude
+ * arrays are not allocated anymore, but the returned Cartesian arrays and
+ * the spherical to Cartesian conversion objects still are.
+ * </p>
+ * @author Luc Maisonobe
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class HolmesFeatherstoneBenchmark {
+
+    /** Number of samples per invocation. */
+    private static final int SAMPLES = 64;
+
+    /** Degree and order of the gravity field. */
+    @Param({"20", "70", "120"})
+    private int degree;
+
+    /** Gravity model. */
+    private HolmesFeatherstoneAttractionModel model;
+
+    /** Evaluation date. */
+    private AbsoluteDate date;
+
+    /** Evaluation points in body frame. */
+    private Vector3D[] points;
+
+    /** Set up the model.
+     * @exception OrekitException if model cannot be built
+     */
+    @Setup
+    public void setUp() throws OrekitException {
+        BenchmarkContext.setUp();
+        model  = new HolmesFeatherstoneAttractionModel(FramesFactory.getITRF(IERSConventions.IERS_2010, true),
+                                                       BenchmarkContext.getSyntheticField(degree));
+        date   = BenchmarkContext.getReferenceDate();
+        points = new Vector3D[SAMPLES];
+        for (int i = 0; i < SAMPLES; ++i) {
+            // points on a spiral at LEO altitude
+            final double latitude  = FastMath.asin(2.0 * (i + 0.5) / SAMPLES - 1.0);
+            final double longitude = i * 2.399963229728653;
+            points[i] = new Vector3D(longitude, latitude).scalarMultiply(7.0e6);
+        }
+    }
+
+    /** Evaluate the gradient.
+     * @param bh black hole consuming results
+     * @exception OrekitException if evaluation fails
+     */
+    @Benchmark
+    @OperationsPerInvocation(SAMPLES)
+    public void gradient(final Blackhole bh) throws OrekitException {
+        for (final Vector3D point : points) {
+            bh.consume(model.gradient(date, point));
+        }
+    }
+
+    /** Evaluate the gradient and Hessian.
+     * @param bh black hole consuming results
+     * @exception OrekitException if evaluation fails
+     */
+    @Benchmark
+    @OperationsPerInvocation(SAMPLES)
+    public void gradientHessian(final Blackhole bh) throws OrekitException {
+        for (final Vector3D point : points) {
+            bh.consume(model.gradientHessian(date, point));
+        }
+    }
+
+}
@@ -0,0 +1,88 @@
+/* Copyright 2002-2016 CS Systèmes d'Information
+ * Licensed to CS Systèmes d'Information (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.hipparchus.ode.nonstiff.DormandPrince853Integrator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.orekit.errors.OrekitException;
+import org.orekit.forces.gravity.HolmesFeatherstoneAttractionModel;
+import org.orekit.frames.FramesFactory;
+import org.orekit.orbits.Orbit;
+import org.orekit.orbits.OrbitType;
+import org.orekit.propagation.SpacecraftState;
+import org.orekit.propagation.numerical.NumericalPropagator;
+import org.orekit.utils.IERSConventions;
+
+/** Benchmark for {@link NumericalPropagator} with {@link HolmesFeatherstoneAttractionModel}.
+ * @author Luc Maisonobe
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class NumericalPropagatorBenchmark {
+
+    /** Degree and order of the gravity field. */
+    @Param({"8", "30", "70"})
+    private int degree;
+
+    /** Initial orbit. */
+    private Orbit orbit;
+
+    /** Propagator. */
+    private NumericalPropagator propagator;
+
+    /** Set up the propagator.
+     * @exception OrekitException if propagator cannot be built
+     */
+    @Setup
+    public void setUp() throws OrekitException {
+        BenchmarkContext.setUp();
+        orbit = BenchmarkContext.getLeo();
+        final double[][] tolerances = NumericalPropagator.tolerances(0.001, orbit, OrbitType.CARTESIAN);
+        propagator = new NumericalPropagator(new DormandPrince853Integrator(0.001, 300.0,
+                                                                            tolerances[0], tolerances[1]));
+        propagator.setOrbitType(OrbitType.CARTESIAN);
+        propagator.addForceModel(new HolmesFeatherstoneAttractionModel(FramesFactory.getITRF(IERSConventions.IERS_2010, true),
+                                                                       BenchmarkContext.getSyntheticField(degree)));
+    }
+
+    /** Propagate over one orbital period.
+     * @return final state
+     * @exception OrekitException if propagation fails
+     */
+    @Benchmark
+    public SpacecraftState propagateOnePeriod() throws OrekitException {
+        propagator.setInitialState(new SpacecraftState(orbit));
+        return propagator.propagate(orbit.getDate().shiftedBy(orbit.getKeplerianPeriod()));
+    }
+
+}
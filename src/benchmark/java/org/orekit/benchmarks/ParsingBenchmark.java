@@ -0,0 +1,236 @@
+/* Copyright 2002-2016 CS Systèmes d'Information
+ * Licensed to CS Systèmes d'Information (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.benchmarks;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.text.ParseException;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import org.hipparchus.random.RandomGenerator;
+import org.hipparchus.random.Well19937a;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.orekit.data.PoissonSeries;
+import org.orekit.data.PoissonSeriesParser;
+import org.orekit.data.PolynomialParser;
+import org.orekit.errors.OrekitException;
+import org.orekit.forces.gravity.potential.ICGEMFormatReader;
+import org.orekit.utils.Constants;
+
+/** Benchmark for data files parsing.
+ * <p>
+ * The parsed files have the size of real data files. The gravity field is
+ * the EIGEN-6S field from the test resources (with time-dependent terms),
+ * which is truncated to degree 20 there, so it is extended during set up
+ * with static coefficients up to degree 240, the full degree of the model.
+ * A real full-size ICGEM file can be parsed instead by setting the
+ * {@code gravityField} parameter to its path (for example with
+ * {@code -p gravityField=/path/to/EIGEN-6S.gfc} on the JMH command line).
+ * The IERS 2010 X series of the CIP position (table 5.2a) is the complete
+ * table from the library assets.
+ * All files are read in memory during set up, so disk access does not pollute
+ * the measurements. The {@code splitLines} benchmark reproduces the former
+ * gravity field parsing scheme (regular expression split and one string
+ * per field) and is the reference for the {@code icgem} benchmark which
+ * uses {@link org.orekit.data.LineTokenizer}.
+ * </p>
+ * @author Luc Maisonobe
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Thread)
+public class ParsingBenchmark {
+
+    /** Truncated gravity field file. */
+    private static final String GRAVITY_FIELD = "/potential/icgem-format/eigen-6s-truncated";
+
+    /** Full degree of the EIGEN-6S gravity field. */
+    private static final int FULL_DEGREE = 240;
+
+    /** IERS 2010 X series file. */
+    private static final String X_SERIES = "/assets/org/orekit/IERS-conventions/2010/tab5.2a.txt";
+
+    /** Path of a full-size ICGEM gravity field file (empty for the extended test resource). */
+    @Param({""})
+    private String gravityField;
+
+    /** Name of the parsed gravity field. */
+    private String gravityFieldName;
+
+    /** Gravity field file content. */
+    private byte[] gravityFieldContent;
+
+    /** X series file content. */
+    private byte[] xSeries;
+
+    /** Parser for the X series. */
+    private PoissonSeriesParser xParser;
+
+    /** Load the files content.
+     * @exception IOException if files cannot be read
+     */
+    @Setup
+    public void setUp() throws IOException {
+        BenchmarkContext.setUp();
+        if (gravityField.isEmpty()) {
+            gravityFieldName    = GRAVITY_FIELD;
+            gravityFieldContent = extend(load(GRAVITY_FIELD), FULL_DEGREE);
+        } else {
+            gravityFieldName    = gravityField;
+            gravityFieldContent = Files.readAllBytes(Paths.get(gravityField));
+        }
+        xSeries = load(X_SERIES);
+        final double microAS = Constants.ARC_SECONDS_TO_RADIANS * 1.0e-6;
+        xParser = new PoissonSeriesParser(17).
+                  withPolynomialPart('t', PolynomialParser.Unit.MICRO_ARC_SECONDS).
+                  withFirstDelaunay(4).
+                  withFirstPlanetary(9).
+                  withSinCos(0, 2, microAS, 3, microAS);
+    }
+
+    /** Parse the gravity field with the ICGEM reader.
+     * @return reader with loaded data
+     * @exception IOException if data cannot be read
+     * @exception ParseException if data cannot be parsed
+     * @exception OrekitException if data is inconsistent
+     */
+    @Benchmark
+    public ICGEMFormatReader icgem() throws IOException, ParseException, OrekitException {
+        final ICGEMFormatReader reader = new ICGEMFormatReader(gravityFieldName, false);
+        reader.loadData(new ByteArrayInputStream(gravityFieldContent), gravityFieldName);
+        return reader;
+    }
+
+    /** Parse the gravity field with regular expressions split and one string per field.
+     * @param bh black hole consuming results
+     * @exception IOException if data cannot be read
+     */
+    @Benchmark
+    public void splitLines(final Blackhole bh) throws IOException {
+        try (BufferedReader r =
+                new BufferedReader(new InputStreamReader(new ByteArrayInputStream(gravityFieldContent),
+                                                         StandardCharsets.UTF_8))) {
+            for (String line = r.readLine(); line != null; line = r.readLine()) {
+                if (line.trim().length() == 0) {
+                    continue;
+                }
+                final String[] tab = line.split("\\s+");
+                if (tab.length >= 7 &&
+                    ("gfc".equals(tab[0])  || "gfct".equals(tab[0]) || "trnd".equals(tab[0]) ||
+                     "acos".equals(tab[0]) || "asin".equals(tab[0]))) {
+                    bh.consume(Integer.parseInt(tab[1]));
+                    bh.consume(Integer.parseInt(tab[2]));
+                    bh.consume(Double.parseDouble(tab[3].toUpperCase(Locale.ENGLISH).replace('D', 'E')));
+                    bh.consume(Double.parseDouble(tab[4].toUpperCase(Locale.ENGLISH).replace('D', 'E')));
+                }
+            }
+        }
+    }
+
+    /** Parse the IERS 2010 X series.
+     * @return parsed series
+     * @exception OrekitException if data cannot be parsed
+     */
+    @Benchmark
+    public PoissonSeries poissonSeries() throws OrekitException {
+        return xParser.parse(new ByteArrayInputStream(xSeries), X_SERIES);
+    }
+
+    /** Extend a truncated ICGEM gravity field up to a higher degree.
+     * <p>
+     * The header and the records of the truncated field are preserved, only
+     * the maximum degree is changed. Static coefficients for the missing
+     * degrees are appended, with the same layout as in the real file and
+     * magnitudes following Kaula rule of thumb.
+     * </p>
+     * @param truncated content of the truncated field
+     * @param degree degree (and order) of the extended field
+     * @return content of the extended field
+     * @exception IOException if truncated field cannot be read
+     */
+    private static byte[] extend(final byte[] truncated, final int degree) throws IOException {
+        final StringBuilder builder = new StringBuilder();
+        int truncatedDegree = -1;
+        try (BufferedReader r =
+                new BufferedReader(new InputStreamReader(new ByteArrayInputStream(truncated),
+                                                         StandardCharsets.UTF_8))) {
+            for (String line = r.readLine(); line != null; line = r.readLine()) {
+                if (line.startsWith("max_degree")) {
+                    truncatedDegree = Integer.parseInt(line.substring(10).trim());
+                    builder.append(String.format(Locale.US, "max_degree                  %d", degree));
+                } else {
+                    builder.append(line);
+                }
+                builder.append('\n');
+            }
+        }
+        final RandomGenerator random = new Well19937a(0x3b9e1f04c7d2a658L);
+        for (int n = truncatedDegree + 1; n <= degree; ++n) {
+            final double kaula = 1.0e-5 / (n * n);
+            for (int m = 0; m <= n; ++m) {
+                final double c = kaula * random.nextGaussian();
+                final double s = (m == 0) ? 0.0 : kaula * random.nextGaussian();
+                builder.append(String.format(Locale.US, "gfc  %4d %4d %19.12e %19.12e %10.4e %10.4e%n",
+                                             n, m, c, s, 0.01 * kaula, 0.01 * kaula));
+            }
+        }
+        return builder.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    /** Load a resource in memory.
+     * @param name name of the resource
+     * @return resource content
+     * @exception IOException if resource cannot be read
+     */
+    private static byte[] load(final String name) throws IOException {
+        try (InputStream in = ParsingBenchmark.class.getResourceAsStream(name)) {
+            if (in == null) {
+                throw new IOException(name);
+            }
+            final ByteArrayOutputStream out = new ByteArrayOutputStream();
+            final byte[] buffer = new byte[8192];
+            for (int n = in.read(buffer); n >= 0; n = in.read(buffer)) {
+                out.write(buffer, 0, n);
+            }
+            return out.toByteArray();
+        }
+    }
+
+}
@@ -16,9 +16,14 @@
  */
 package org.orekit.bodies;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.UnsupportedEncodingException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
 import java.text.ParseException;
 import java.util.ArrayList;
 import java.util.Comparator;
@@ -27,9 +32,12 @@ import java.util.List;
 import java.util.Map;
 import java.util.SortedSet;
 import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.atomic.AtomicReference;
 
 import org.hipparchus.RealFieldElement;
+import org.hipparchus.geometry.euclidean.threed.Vector3D;
 import org.hipparchus.util.FastMath;
 import org.orekit.data.DataLoader;
 import org.orekit.data.DataProvidersManager;
@@ -68,6 +76,14 @@ import org.orekit.utils.TimeStampedGenerator;
  * Usually, big-endian files contain <code>bigendian</code> in their names, while little-endian files
  * contain <code>littleendian</code> in their names.</p>
  * <p>The loader supports files in TDB or TCB time scales.</p>
+ * <p>
+ * The loader can optionally {@link #JPLEphemeridesLoader(String, EphemerisType, boolean)
+ * memory-map} the ephemerides files. In this mode, Chebyshev coefficients are evaluated
+ * directly from the mapped files, which are shared by all loaders and all threads, and
+ * no intermediate cache is needed. Memory-mapping is only possible for uncompressed files
+ * stored directly in a directory; if some files are compressed or stored in archives,
+ * the loader reverts to the regular stream-based loading for the corresponding body.
+ * </p>
  * @author Luc Maisonobe
  */
 public class JPLEphemeridesLoader implements CelestialBodyLoader {
@@ -132,6 +148,13 @@ public class JPLEphemeridesLoader implements CelestialBodyLoader {
     /** The constant name for the earth-moon mass ratio. */
     private static final String CONSTANT_EMRAT = "EMRAT";
 
+    /** Number of bodies with Chebyshev coefficients indices in first header record. */
+    private static final int INDEXED_BODIES = 11;
+
+    /** Memory-mapped files, shared by all loaders. */
+    private static final ConcurrentMap<String, MappedEphemerisFile> MAPPED_FILES =
+            new ConcurrentHashMap<String, MappedEphemerisFile>();
+
     /** List of supported ephemerides types. */
     public enum EphemerisType {
 
@@ -244,15 +267,38 @@ public class JPLEphemeridesLoader implements CelestialBodyLoader {
     /** Indicator for binary file endianness. */
     private boolean bigEndian;
 
+    /** Indicator for memory-mapped files. */
+    private final boolean memoryMapped;
+
     /** Create a loader for JPL ephemerides binary files.
+     * <p>
+     * This constructor uses stream-based loading, it is equivalent to
+     * {@link #JPLEphemeridesLoader(String, EphemerisType, boolean)
+     * JPLEphemeridesLoader(supportedNames, generateType, false)}.
+     * </p>
      * @param supportedNames regular expression for supported files names
      * @param generateType ephemeris type to generate
      * @exception OrekitException if the header constants cannot be read
      */
     public JPLEphemeridesLoader(final String supportedNames, final EphemerisType generateType)
         throws OrekitException {
+        this(supportedNames, generateType, false);
+    }
+
+    /** Create a loader for JPL ephemerides binary files.
+     * @param supportedNames regular expression for supported files names
+     * @param generateType ephemeris type to generate
+     * @param memoryMapped if true, files are memory-mapped instead of being
+     * read and parsed as streams
+     * @exception OrekitException if the header constants cannot be read
+     * @since 9.0
+     */
+    public JPLEphemeridesLoader(final String supportedNames, final EphemerisType generateType,
+                                final boolean memoryMapped)
+        throws OrekitException {
 
         this.supportedNames = supportedNames;
+        this.memoryMapped   = memoryMapped;
         constants = new AtomicReference<Map<String, Double>>();
 
         this.generateType  = generateType;
@@ -288,17 +334,17 @@ public class JPLEphemeridesLoader implements CelestialBodyLoader {
             case SOLAR_SYSTEM_BARYCENTER : {
                 scale = -1.0;
                 final JPLEphemeridesLoader parentLoader =
-                        new JPLEphemeridesLoader(supportedNames, EphemerisType.EARTH_MOON);
+                        new JPLEphemeridesLoader(supportedNames, EphemerisType.EARTH_MOON, memoryMapped);
                 final CelestialBody parentBody =
                         parentLoader.loadCelestialBody(CelestialBodyFactory.EARTH_MOON);
                 definingFrameAlignedWithICRF = parentBody.getInertiallyOrientedFrame();
-                rawPVProvider = new EphemerisRawPVProvider();
+                rawPVProvider = createRawPVProvider();
                 break;
             }
             case EARTH_MOON :
                 scale         = 1.0 / (1.0 + getLoadedEarthMoonMassRatio());
                 definingFrameAlignedWithICRF =  FramesFactory.getGCRF();
-                rawPVProvider = new EphemerisRawPVProvider();
+                rawPVProvider = createRawPVProvider();
                 break;
             case EARTH :
                 scale         = 1.0;
@@ -308,16 +354,17 @@ public class JPLEphemeridesLoader implements CelestialBodyLoader {
             case MOON :
                 scale         =  1.0;
                 definingFrameAlignedWithICRF =  FramesFactory.getGCRF();
-                rawPVProvider = new EphemerisRawPVProvider();
+                rawPVProvider = createRawPVProvider();
                 break;
             default : {
                 scale = 1.0;
                 final JPLEphemeridesLoader parentLoader =
-                        new JPLEphemeridesLoader(supportedNames, EphemerisType.SOLAR_SYSTEM_BARYCENTER);
+                        new JPLEphemeridesLoader(supportedNames, EphemerisType.SOLAR_SYSTEM_BARYCENTER,
+                                                 memoryMapped);
                 final CelestialBody parentBody =
                         parentLoader.loadCelestialBody(CelestialBodyFactory.SOLAR_SYSTEM_BARYCENTER);
                 definingFrameAlignedWithICRF = parentBody.getInertiallyOrientedFrame();
-                rawPVProvider = new EphemerisRawPVProvider();
+                rawPVProvider = createRawPVProvider();
             }
         }
 
@@ -327,6 +374,13 @@ public class JPLEphemeridesLoader implements CelestialBodyLoader {
 
     }
 
+    /** Create the raw position-velocity provider for loaded ephemeris.
+     * @return raw position-velocity provider
+     */
+    private RawPVProvider createRawPVProvider() {
+        return memoryMapped ? new MappedRawPVProvider() : new EphemerisRawPVProvider();
+    }
+
     /** Get astronomical unit.
      * @return astronomical unit in meters
      * @exception OrekitException if constants cannot be loaded
@@ -499,22 +553,13 @@ public class JPLEphemeridesLoader implements CelestialBodyLoader {
         boolean ok = finalEpoch.compareTo(startEpoch) > 0;
 
         // indices of the Chebyshev coefficients for each ephemeris
+        final int loadIndex = getChebyshevIndex(loadType);
         for (int i = 0; i < 12; ++i) {
             final int row1 = extractInt(record, HEADER_CHEBISHEV_INDICES_OFFSET     + 12 * i);
             final int row2 = extractInt(record, HEADER_CHEBISHEV_INDICES_OFFSET + 4 + 12 * i);
             final int row3 = extractInt(record, HEADER_CHEBISHEV_INDICES_OFFSET + 8 + 12 * i);
             ok = ok && (row1 >= 0) && (row2 >= 0) && (row3 >= 0);
-            if (((i ==  0) && (loadType == EphemerisType.MERCURY))    ||
-                    ((i ==  1) && (loadType == EphemerisType.VENUS))      ||
-                    ((i ==  2) && (loadType == EphemerisType.EARTH_MOON)) ||
-                    ((i ==  3) && (loadType == EphemerisType.MARS))       ||
-                    ((i ==  4) && (loadType == EphemerisType.JUPITER))    ||
-                    ((i ==  5) && (loadType == EphemerisType.SATURN))     ||
-                    ((i ==  6) && (loadType == EphemerisType.URANUS))     ||
-                    ((i ==  7) && (loadType == EphemerisType.NEPTUNE))    ||
-                    ((i ==  8) && (loadType == EphemerisType.PLUTO))      ||
-                    ((i ==  9) && (loadType == EphemerisType.MOON))       ||
-                    ((i == 10) && (loadType == EphemerisType.SUN))) {
+            if (i == loadIndex) {
                 firstIndex = row1;
                 coeffs     = row2;
                 chunks     = row3;
@@ -538,6 +583,94 @@ public class JPLEphemeridesLoader implements CelestialBodyLoader {
 
     }
 
+    /** Get the index of a body in the Chebyshev coefficients indices table.
+     * @param type ephemeris type
+     * @return index of the body, or -1 if the body has no coefficients
+     */
+    private static int getChebyshevIndex(final EphemerisType type) {
+        switch (type) {
+            case MERCURY :
+                return 0;
+            case VENUS :
+                return 1;
+            case EARTH_MOON :
+                return 2;
+            case MARS :
+                return 3;
+            case JUPITER :
+                return 4;
+            case SATURN :
+                return 5;
+            case URANUS :
+                return 6;
+            case NEPTUNE :
+                return 7;
+            case PLUTO :
+                return 8;
+            case MOON :
+                return 9;
+            case SUN :
+                return 10;
+            default :
+                return -1;
+        }
+    }
+
+    /** Read and check the two header records.
+     * <p>
+     * The first header record is parsed, so the file-specific
+     * fields of the loader are set when this method returns.
+     * </p>
+     * @param input input stream
+     * @param name name of the file (or zip entry)
+     * @return first header record
+     * @exception OrekitException if the stream does not contain a JPL ephemeris
+     * or if it is inconsistent with previously loaded files
+     * @exception IOException if a read error occurs
+     */
+    private byte[] readHeader(final InputStream input, final String name)
+        throws OrekitException, IOException {
+
+        // read first header record
+        final byte[] first = readFirstRecord(input, name);
+
+        // the second record contains the values of the constants used for least-square filtering
+        final byte[] second = new byte[first.length];
+        if (!readInRecord(input, second, 0)) {
+            throw new OrekitException(OrekitMessages.UNABLE_TO_READ_JPL_HEADER, name);
+        }
+
+        if (constants.get() == null) {
+            constants.compareAndSet(null, parseConstants(first, second, name));
+        }
+
+        // check astronomical unit consistency
+        final double au = 1000 * extractDouble(first, HEADER_ASTRONOMICAL_UNIT_OFFSET);
+        if ((au < 1.4e11) || (au > 1.6e11)) {
+            throw new OrekitException(OrekitMessages.NOT_A_JPL_EPHEMERIDES_BINARY_FILE, name);
+        }
+        if (FastMath.abs(getLoadedAstronomicalUnit() - au) >= 10.0) {
+            throw new OrekitException(OrekitMessages.INCONSISTENT_ASTRONOMICAL_UNIT_IN_FILES,
+                                      getLoadedAstronomicalUnit(), au);
+        }
+
+        // check Earth-Moon mass ratio consistency
+        final double emRat = extractDouble(first, HEADER_EM_RATIO_OFFSET);
+        if ((emRat < 80) || (emRat > 82)) {
+            throw new OrekitException(OrekitMessages.NOT_A_JPL_EPHEMERIDES_BINARY_FILE, name);
+        }
+        if (FastMath.abs(getLoadedEarthMoonMassRatio() - emRat) >= 1.0e-5) {
+            throw new OrekitException(OrekitMessages.INCONSISTENT_EARTH_MOON_RATIO_IN_FILES,
+                                      getLoadedEarthMoonMassRatio(), emRat);
+        }
+
+        // parse first header record
+        parseFirstHeaderRecord(first, name);
+
+        return first;
+
+    }
+
     /** Read first header record.
      * @param input input stream
      * @param name name of the file (or zip entry)
@@ -719,8 +852,15 @@ public class JPLEphemeridesLoader implements CelestialBodyLoader {
      * @return extracted date
      */
     private AbsoluteDate extractDate(final byte[] record, final int offset) {
+        return toDate(extractDouble(record, offset), timeScale);
+    }
 
-        final double t = extractDouble(record, offset);
+    /** Convert a Julian day into a date.
+     * @param t Julian day
+     * @param scale time scale in which the Julian day is expressed
+     * @return converted date
+     */
+    private static AbsoluteDate toDate(final double t, final TimeScale scale) {
         int    jDay    = (int) FastMath.floor(t);
         double seconds = (t + 0.5 - jDay) * Constants.JULIAN_DAY;
         if (seconds >= Constants.JULIAN_DAY) {
@@ -728,7 +868,7 @@ public class JPLEphemeridesLoader implements CelestialBodyLoader {
             seconds -= Constants.JULIAN_DAY;
         }
         return new AbsoluteDate(new DateComponents(DateComponents.JULIAN_EPOCH, jDay),
-                                new TimeComponents(seconds), timeScale);
+                                new TimeComponents(seconds), scale);
     }
 
     /** Extract a double from a record.
@@ -906,41 +1046,8 @@ public class JPLEphemeridesLoader implements CelestialBodyLoader {
         public void loadData(final InputStream input, final String name)
             throws OrekitException, IOException {
 
-            // read first header record
-            final byte[] first = readFirstRecord(input, name);
-
-            // the second record contains the values of the constants used for least-square filtering
-            final byte[] second = new byte[first.length];
-            if (!readInRecord(input, second, 0)) {
-                throw new OrekitException(OrekitMessages.UNABLE_TO_READ_JPL_HEADER, name);
-            }
-
-            if (constants.get() == null) {
-                constants.compareAndSet(null, parseConstants(first, second, name));
-            }
-
-            // check astronomical unit consistency
-            final double au = 1000 * extractDouble(first, HEADER_ASTRONOMICAL_UNIT_OFFSET);
-            if ((au < 1.4e11) || (au > 1.6e11)) {
-                throw new OrekitException(OrekitMessages.NOT_A_JPL_EPHEMERIDES_BINARY_FILE, name);
-            }
-            if (FastMath.abs(getLoadedAstronomicalUnit() - au) >= 10.0) {
-                throw new OrekitException(OrekitMessages.INCONSISTENT_ASTRONOMICAL_UNIT_IN_FILES,
-                                          getLoadedAstronomicalUnit(), au);
-            }
-
-            // check Earth-Moon mass ratio consistency
-            final double emRat = extractDouble(first, HEADER_EM_RATIO_OFFSET);
-            if ((emRat < 80) || (emRat > 82)) {
-                throw new OrekitException(OrekitMessages.NOT_A_JPL_EPHEMERIDES_BINARY_FILE, name);
-            }
-            if (FastMath.abs(getLoadedEarthMoonMassRatio() - emRat) >= 1.0e-5) {
-                throw new OrekitException(OrekitMessages.INCONSISTENT_EARTH_MOON_RATIO_IN_FILES,
-                                          getLoadedEarthMoonMassRatio(), emRat);
-            }
-
-            // parse first header record
-            parseFirstHeaderRecord(first, name);
+            // read and check header records
+            final byte[] first = readHeader(input, name);
 
             if (startEpoch.compareTo(end) < 0 && finalEpoch.compareTo(start) > 0) {
                 // this file contains data in the range we are looking for, read it
@@ -1066,6 +1173,482 @@ public class JPLEphemeridesLoader implements CelestialBodyLoader {
 
     }
 
+    /** Local mapper for ephemerides files. */
+    private class FilesMapper implements DataLoader {
+
+        /** Mapped files. */
+        private final List<MappedEphemerisFile> files;
+
+        /** Indicator for all files being mapped. */
+        private boolean complete;
+
+        /** Simple constructor.
+         */
+        FilesMapper() {
+            files    = new ArrayList<MappedEphemerisFile>();
+            complete = true;
+        }
+
+        /** Get the mapped files.
+         * @return mapped files
+         */
+        public List<MappedEphemerisFile> getFiles() {
+            return files;
+        }
+
+        /** Check if all files could be mapped.
+         * @return true if all files could be mapped
+         */
+        public boolean isComplete() {
+            return complete;
+        }
+
+        /** {@inheritDoc} */
+        public boolean stillAcceptsData() {
+            // we have to look at all available ephemerides files
+            return true;
+        }
+
+        /** {@inheritDoc} */
+        public void loadData(final InputStream input, final String name)
+            throws OrekitException, IOException {
+
+            // read and check header records
+            final byte[] first = readHeader(input, name);
+
+            final File file = new File(name);
+            if (!file.isFile() || name.endsWith(".gz")) {
+                // the data is compressed or stored in an archive, it cannot be mapped
+                complete = false;
+                return;
+            }
+
+            final String key = file.getCanonicalPath();
+            MappedEphemerisFile mapped = MAPPED_FILES.get(key);
+            if (mapped == null) {
+
+                // extract the Chebyshev coefficients indices for all bodies
+                final int[][] indices = new int[INDEXED_BODIES][3];
+                for (int i = 0; i < INDEXED_BODIES; ++i) {
+                    for (int j = 0; j < 3; ++j) {
+                        indices[i][j] = extractInt(first, HEADER_CHEBISHEV_INDICES_OFFSET + 12 * i + 4 * j);
+                    }
+                }
+
+                mapped = new MappedEphemerisFile(file, first.length, bigEndian,
+                                                 startEpoch, timeScale, positionUnit, components, indices,
+                                                 extractDouble(first, HEADER_CHUNK_DURATION_OFFSET));
+                final MappedEphemerisFile previous = MAPPED_FILES.putIfAbsent(key, mapped);
+                if (previous != null) {
+                    // another loader has mapped the same file concurrently
+                    mapped = previous;
+                }
+
+            }
+
+            files.add(mapped);
+
+        }
+
+    }
+
+    /** Binary ephemeris file mapped in memory. */
+    private static class MappedEphemerisFile {
+
+        /** Mapped segments, each containing an integer number of records. */
+        private final ByteBuffer[] segments;
+
+        /** Size of records in bytes. */
+        private final int recordSize;
+
+        /** Number of records in each segment. */
+        private final int recordsPerSegment;
+
+        /** Number of data records. */
+        private final int nbRecords;
+
+        /** File start epoch. */
+        private final AbsoluteDate startEpoch;
+
+        /** Time scale of the date coordinates. */
+        private final TimeScale timeScale;
+
+        /** Unit of the position coordinates (as a multiple of meters). */
+        private final double positionUnit;
+
+        /** Number of components contained in the file. */
+        private final int components;
+
+        /** Chebyshev coefficients indices (first index, coefficients, chunks) for all bodies. */
+        private final int[][] indices;
+
+        /** Time span covered by each record, in days. */
+        private final double timeSpan;
+
+        /** Map a file in memory.
+         * @param file file to map
+         * @param recordSize size of records in bytes
+         * @param bigEndian indicator for binary file endianness
+         * @param startEpoch file start epoch
+         * @param timeScale time scale of the date coordinates
+         * @param positionUnit unit of the position coordinates (as a multiple of meters)
+         * @param components number of components contained in the file
+         * @param indices Chebyshev coefficients indices for all bodies
+         * @param timeSpan time span covered by each record, in days
+         * @exception IOException if file cannot be mapped
+         */
+        MappedEphemerisFile(final File file, final int recordSize, final boolean bigEndian,
+                            final AbsoluteDate startEpoch, final TimeScale timeScale,
+                            final double positionUnit, final int components,
+                            final int[][] indices, final double timeSpan)
+            throws IOException {
+
+            this.recordSize        = recordSize;
+            this.recordsPerSegment = Integer.MAX_VALUE / recordSize;
+            this.startEpoch        = startEpoch;
+            this.timeScale         = timeScale;
+            this.positionUnit      = positionUnit;
+            this.components        = components;
+            this.indices           = indices;
+            this.timeSpan          = timeSpan;
+
+            try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+
+                // the two header records are not mapped
+                nbRecords = FastMath.max(0, (int) (channel.size() / recordSize) - 2);
+
+                // a single mapping is limited to 2GB, large files are split in several segments
+                final ByteOrder order = bigEndian ? ByteOrder.BIG_ENDIAN : ByteOrder.LITTLE_ENDIAN;
+                segments = new ByteBuffer[(nbRecords + recordsPerSegment - 1) / recordsPerSegment];
+                for (int i = 0; i < segments.length; ++i) {
+                    final long start  = (2L + (long) i * recordsPerSegment) * recordSize;
+                    final long length = (long) FastMath.min(recordsPerSegment, nbRecords - i * recordsPerSegment) * recordSize;
+                    segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, start, length).order(order);
+                }
+
+            }
+
+        }
+
+        /** Get the date stored in a record.
+         * @param record record index
+         * @param offset offset of the date within the record
+         * @return date stored in the record
+         */
+        private AbsoluteDate getRecordDate(final int record, final int offset) {
+            return toDate(segments[record / recordsPerSegment].
+                          getDouble((record % recordsPerSegment) * recordSize + offset),
+                          timeScale);
+        }
+
+        /** Find the chunk covering a date.
+         * @param body index of the body
+         * @param date date to locate
+         * @return chunk covering the date, or null if the date is not covered by the file
+         */
+        public Chunk locate(final int body, final AbsoluteDate date) {
+
+            if (nbRecords == 0) {
+                return null;
+            }
+
+            // records are contiguous, we can guess the record index and fix it if needed
+            final double recordDuration = Constants.JULIAN_DAY * timeSpan;
+            int record = (int) FastMath.floor(date.durationFrom(startEpoch) / recordDuration);
+            record = FastMath.max(0, FastMath.min(nbRecords - 1, record));
+            AbsoluteDate rangeStart = getRecordDate(record, DATA_START_RANGE_OFFSET);
+            while (record > 0 && rangeStart.compareTo(date) > 0) {
+                rangeStart = getRecordDate(--record, DATA_START_RANGE_OFFSET);
+            }
+            AbsoluteDate rangeEnd = getRecordDate(record, DATE_END_RANGE_OFFSET);
+            while (record < nbRecords - 1 && rangeEnd.compareTo(date) < 0) {
+                rangeStart = getRecordDate(++record, DATA_START_RANGE_OFFSET);
+                rangeEnd   = getRecordDate(record,   DATE_END_RANGE_OFFSET);
+            }
+            if (date.compareTo(rangeStart) < 0 || date.compareTo(rangeEnd) > 0) {
+                return null;
+            }
+
+            // select chunk within record, using the same chunks boundaries as stream-based loading
+            final int    first    = indices[body][0];
+            final int    nbCoeffs = indices[body][1];
+            final int    nbChunks = indices[body][2];
+            final double duration = Constants.JULIAN_DAY * (timeSpan / nbChunks);
+            final int    i        = FastMath.max(0,
+                                                 FastMath.min(nbChunks - 1,
+                                                              (int) FastMath.floor(date.durationFrom(rangeStart) / duration)));
+            final AbsoluteDate chunkStart = (i == 0) ? rangeStart : rangeStart.shiftedBy(i * duration);
+
+            return new Chunk(segments[record / recordsPerSegment],
+                             (record % recordsPerSegment) * recordSize + 8 * (first + components * i * nbCoeffs - 1),
+                             nbCoeffs, chunkStart, duration);
+
+        }
+
+        /** Get the position-velocity-acceleration at a specified date.
+         * <p>
+         * The Chebyshev polynomials are evaluated directly from the mapped file.
+         * </p>
+         * @param body index of the body
+         * @param date date at which position-velocity-acceleration is requested
+         * @return position-velocity-acceleration at specified date, or null
+         * if the date is not covered by the file
+         */
+        public PVCoordinates getPositionVelocityAcceleration(final int body, final AbsoluteDate date) {
+
+            final Chunk chunk = locate(body, date);
+            if (chunk == null) {
+                return null;
+            }
+            final ByteBuffer buffer = chunk.buffer;
+            final int        xBase  = chunk.base;
+            final int        yBase  = xBase + 8 * chunk.nbCoeffs;
+            final int        zBase  = yBase + 8 * chunk.nbCoeffs;
+
+            // normalize date
+            final double t = (2 * date.offsetFrom(chunk.start, timeScale) - chunk.duration) / chunk.duration;
+            final double twoT = 2 * t;
+
+            // initialize Chebyshev polynomials recursion
+            double pKm1 = 1;
+            double pK   = t;
+            double xP   = positionUnit * buffer.getDouble(xBase);
+            double yP   = positionUnit * buffer.getDouble(yBase);
+            double zP   = positionUnit * buffer.getDouble(zBase);
+
+            // initialize Chebyshev polynomials derivatives recursion
+            double qKm1 = 0;
+            double qK   = 1;
+            double xV   = 0;
+            double yV   = 0;
+            double zV   = 0;
+
+            // initialize Chebyshev polynomials second derivatives recursion
+            double rKm1 = 0;
+            double rK   = 0;
+            double xA   = 0;
+            double yA   = 0;
+            double zA   = 0;
+
+            // combine polynomials by applying coefficients
+            for (int k = 1; k < chunk.nbCoeffs; ++k) {
+
+                final double xC = positionUnit * buffer.getDouble(xBase + 8 * k);
+                final double yC = positionUnit * buffer.getDouble(yBase + 8 * k);
+                final double zC = positionUnit * buffer.getDouble(zBase + 8 * k);
+
+                // consider last computed polynomials on position
+                xP += xC * pK;
+                yP += yC * pK;
+                zP += zC * pK;
+
+                // consider last computed polynomials on velocity
+                xV += xC * qK;
+                yV += yC * qK;
+                zV += zC * qK;
+
+                // consider last computed polynomials on acceleration
+                xA += xC * rK;
+                yA += yC * rK;
+                zA += zC * rK;
+
+                // compute next Chebyshev polynomial value
+                final double pKm2 = pKm1;
+                pKm1 = pK;
+                pK   = twoT * pKm1 - pKm2;
+
+                // compute next Chebyshev polynomial derivative
+                final double qKm2 = qKm1;
+                qKm1 = qK;
+                qK   = twoT * qKm1 + 2 * pKm1 - qKm2;
+
+                // compute next Chebyshev polynomial second derivative
+                final double rKm2 = rKm1;
+                rKm1 = rK;
+                rK   = twoT * rKm1 + 4 * qKm1 - rKm2;
+
+            }
+
+            final double vScale = 2 / chunk.duration;
+            final double aScale = vScale * vScale;
+            return new PVCoordinates(new Vector3D(xP, yP, zP),
+                                     new Vector3D(xV * vScale, yV * vScale, zV * vScale),
+                                     new Vector3D(xA * aScale, yA * aScale, zA * aScale));
+
+        }
+
+        /** Build the Chebyshev polynomials covering a date.
+         * @param body index of the body
+         * @param date date to locate
+         * @return Chebyshev polynomials, or null if the date is not covered by the file
+         */
+        public PosVelChebyshev getChebyshev(final int body, final AbsoluteDate date) {
+
+            final Chunk chunk = locate(body, date);
+            if (chunk == null) {
+                return null;
+            }
+
+            final double[] xCoeffs = new double[chunk.nbCoeffs];
+            final double[] yCoeffs = new double[chunk.nbCoeffs];
+            final double[] zCoeffs = new double[chunk.nbCoeffs];
+            for (int k = 0; k < chunk.nbCoeffs; ++k) {
+                xCoeffs[k] = positionUnit * chunk.buffer.getDouble(chunk.base + 8 * k);
+                yCoeffs[k] = positionUnit * chunk.buffer.getDouble(chunk.base + 8 * (k +     chunk.nbCoeffs));
+                zCoeffs[k] = positionUnit * chunk.buffer.getDouble(chunk.base + 8 * (k + 2 * chunk.nbCoeffs));
+            }
+
+            return new PosVelChebyshev(chunk.start, timeScale, chunk.duration, xCoeffs, yCoeffs, zCoeffs);
+
+        }
+
+        /** Get the start date of the first record.
+         * @return start date of the first record, or null if file contains no records
+         */
+        public AbsoluteDate getFirstDate() {
+            return nbRecords == 0 ? null : getRecordDate(0, DATA_START_RANGE_OFFSET);
+        }
+
+        /** Get the end date of the last record.
+         * @return end date of the last record, or null if file contains no records
+         */
+        public AbsoluteDate getLastDate() {
+            return nbRecords == 0 ? null : getRecordDate(nbRecords - 1, DATE_END_RANGE_OFFSET);
+        }
+
+    }
+
+    /** Location of one chunk of Chebyshev coefficients in a mapped file. */
+    private static class Chunk {
+
+        /** Segment containing the chunk. */
+        private final ByteBuffer buffer;
+
+        /** Offset of the first X coefficient in the segment. */
+        private final int base;
+
+        /** Number of coefficients per component. */
+        private final int nbCoeffs;
+
+        /** Start of the validity range of the chunk. */
+        private final AbsoluteDate start;
+
+        /** Duration of the validity range of the chunk. */
+        private final double duration;
+
+        /** Simple constructor.
+         * @param buffer segment containing the chunk
+         * @param base offset of the first X coefficient in the segment
+         * @param nbCoeffs number of coefficients per component
+         * @param start start of the validity range of the chunk
+         * @param duration duration of the validity range of the chunk
+         */
+        Chunk(final ByteBuffer buffer, final int base, final int nbCoeffs,
+              final AbsoluteDate start, final double duration) {
+            this.buffer   = buffer;
+            this.base     = base;
+            this.nbCoeffs = nbCoeffs;
+            this.start    = start;
+            this.duration = duration;
+        }
+
+    }
+
+    /** Raw position-velocity provider using memory-mapped ephemeris files. */
+    private class MappedRawPVProvider implements RawPVProvider {
+
+        /** Index of the body in the Chebyshev coefficients indices table. */
+        private final int body;
+
+        /** Mapped files (lazily initialized). */
+        private volatile List<MappedEphemerisFile> files;
+
+        /** Fallback provider, used if some files cannot be mapped (set before {@link #files}). */
+        private volatile RawPVProvider fallback;
+
+        /** Simple constructor.
+         */
+        MappedRawPVProvider() {
+            this.body = getChebyshevIndex(loadType);
+        }
+
+        /** Get the mapped files.
+         * @return mapped files
+         * @exception OrekitException if files cannot be mapped
+         */
+        private List<MappedEphemerisFile> getFiles() throws OrekitException {
+            List<MappedEphemerisFile> mapped = files;
+            if (mapped == null) {
+                // double-checked lazy initialization, so the hot path does not lock
+                synchronized (this) {
+                    mapped = files;
+                    if (mapped == null) {
+                        final FilesMapper mapper = new FilesMapper();
+                        if (!DataProvidersManager.getInstance().feed(supportedNames, mapper)) {
+                            throw new OrekitException(OrekitMessages.NO_JPL_EPHEMERIDES_BINARY_FILES_FOUND);
+                        }
+                        if (!mapper.isComplete()) {
+                            fallback = new EphemerisRawPVProvider();
+                        }
+                        mapped = mapper.getFiles();
+                        files  = mapped;
+                    }
+                }
+            }
+            return mapped;
+        }
+
+        /** Create an exception for dates not covered by the mapped files.
+         * @param date date not covered
+         * @return exception
+         */
+        private OrekitException outOfRange(final AbsoluteDate date) {
+            AbsoluteDate first = AbsoluteDate.FUTURE_INFINITY;
+            AbsoluteDate last  = AbsoluteDate.PAST_INFINITY;
+            for (final MappedEphemerisFile file : files) {
+                if (file.getFirstDate() != null) {
+                    if (file.getFirstDate().compareTo(first) < 0) {
+                        first = file.getFirstDate();
+                    }
+                    if (file.getLastDate().compareTo(last) > 0) {
+                        last = file.getLastDate();
+                    }
+                }
+            }
+            return new OrekitException(OrekitMessages.OUT_OF_RANGE_EPHEMERIDES_DATE, date, first, last);
+        }
+
+        /** {@inheritDoc} */
+        public PVCoordinates getRawPV(final AbsoluteDate date) throws OrekitException {
+            for (final MappedEphemerisFile file : getFiles()) {
+                final PVCoordinates pv = file.getPositionVelocityAcceleration(body, date);
+                if (pv != null) {
+                    return pv;
+                }
+            }
+            if (fallback != null) {
+                return fallback.getRawPV(date);
+            }
+            throw outOfRange(date);
+        }
+
+        /** {@inheritDoc} */
+        public <T extends RealFieldElement<T>> FieldPVCoordinates<T> getRawPV(final FieldAbsoluteDate<T> date)
+            throws OrekitException {
+            for (final MappedEphemerisFile file : getFiles()) {
+                final PosVelChebyshev chebyshev = file.getChebyshev(body, date.toAbsoluteDate());
+                if (chebyshev != null) {
+                    return chebyshev.getPositionVelocityAcceleration(date);
+                }
+            }
+            if (fallback != null) {
+                return fallback.getRawPV(date);
+            }
+            throw outOfRange(date.toAbsoluteDate());
+        }
+
+    }
+
     /** Raw position-velocity provider providing always zero. */
     private static class ZeroRawPVProvider implements RawPVProvider {
 
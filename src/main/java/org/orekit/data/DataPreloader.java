@@ -0,0 +1,199 @@
+/* Copyright 2002-2016 CS Systèmes d'Information
+ * Licensed to CS Systèmes d'Information (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.data;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.util.FastMath;
+import org.orekit.bodies.CelestialBodyFactory;
+import org.orekit.errors.OrekitException;
+import org.orekit.errors.OrekitIllegalArgumentException;
+import org.orekit.frames.FramesFactory;
+import org.orekit.time.TimeScalesFactory;
+import org.orekit.utils.IERSConventions;
+
+/** Eager loader for data sets used by an application.
+ * <p>
+ * Data sets like Earth Orientation Parameters, leap seconds or planetary
+ * ephemerides are loaded lazily by the various factories the first time
+ * they are needed. This implies that the first computation performed by
+ * an application is much slower than the following ones. This class
+ * allows to trigger all these loadings at once, at application start,
+ * and to perform them concurrently as the different data sets are
+ * independent from each other.
+ * </p>
+ * <p>
+ * The UTC-TAI history is always loaded first, in the calling thread,
+ * as most other data sets depend on it. All other tasks are then run
+ * concurrently. Tasks should trigger loading through the thread-safe
+ * caching methods of the factories (for example {@link
+ * FramesFactory#getITRF(IERSConventions, boolean)} rather than {@link
+ * FramesFactory#getEOPHistory(IERSConventions, boolean)} which does not
+ * cache its result).
+ * </p>
+ * <pre>
+ * new DataPreloader().
+ *     addITRF(IERSConventions.IERS_2010, true).
+ *     addCelestialBodies(CelestialBodyFactory.SUN, CelestialBodyFactory.MOON).
+ *     addTask(() -&gt; gravityField = GravityFieldFactory.getNormalizedProvider(20, 20)).
+ *     preload(4);
+ * </pre>
+ * @author Luc Maisonobe
+ * @since 9.0
+ */
+public class DataPreloader {
+
+    /** Tasks to run concurrently. */
+    private final List<PreloadingTask> tasks;
+
+    /** Simple constructor.
+     * <p>
+     * The instance built does not contain any task yet, only
+     * UTC-TAI history will be loaded if {@link #preload(int)}
+     * is called directly.
+     * </p>
+     */
+    public DataPreloader() {
+        this.tasks = new ArrayList<PreloadingTask>();
+    }
+
+    /** Add a custom preloading task.
+     * @param task task to add
+     * @return the instance itself
+     */
+    public DataPreloader addTask(final PreloadingTask task) {
+        tasks.add(task);
+        return this;
+    }
+
+    /** Add preloading of an ITRF frame, including its Earth Orientation Parameters.
+     * @param conventions IERS conventions to apply
+     * @param simpleEOP if true, tidal effects are ignored when interpolating EOP
+     * @return the instance itself
+     * @see FramesFactory#getITRF(IERSConventions, boolean)
+     */
+    public DataPreloader addITRF(final IERSConventions conventions, final boolean simpleEOP) {
+        return addTask(() -> FramesFactory.getITRF(conventions, simpleEOP));
+    }
+
+    /** Add preloading of celestial bodies.
+     * <p>
+     * All bodies are loaded in one single task, as they generally share the same
+     * ephemerides file.
+     * </p>
+     * @param names names of the bodies (for example {@link CelestialBodyFactory#SUN})
+     * @return the instance itself
+     * @see CelestialBodyFactory#getBody(String)
+     */
+    public DataPreloader addCelestialBodies(final String... names) {
+        final String[] copy = names.clone();
+        return addTask(() -> {
+            for (final String name : copy) {
+                CelestialBodyFactory.getBody(name);
+            }
+        });
+    }
+
+    /** Load all data sets.
+     * @param threads maximum number of threads to use for concurrent loading
+     * @exception OrekitException if some data cannot be loaded
+     * @exception OrekitIllegalArgumentException if number of threads is not strictly positive
+     */
+    public void preload(final int threads) throws OrekitException {
+
+        if (threads < 1) {
+            throw new OrekitIllegalArgumentException(LocalizedCoreFormats.NUMBER_TOO_SMALL, threads, 1);
+        }
+
+        // leap seconds are needed by almost everything else
+        TimeScalesFactory.getUTC();
+
+        if (tasks.isEmpty()) {
+            return;
+        }
+
+        final ExecutorService executorService =
+                Executors.newFixedThreadPool(FastMath.min(threads, tasks.size()));
+        try {
+
+            final List<Future<Void>> futures = new ArrayList<Future<Void>>(tasks.size());
+            for (final PreloadingTask task : tasks) {
+                futures.add(executorService.submit(() -> {
+                    task.preload();
+                    return null;
+                }));
+            }
+
+            // wait for all tasks, reporting the first error encountered
+            OrekitException pendingException = null;
+            for (final Future<Void> future : futures) {
+                try {
+                    future.get();
+                } catch (ExecutionException ee) {
+                    if (pendingException == null) {
+                        pendingException = unwrap(ee);
+                    }
+                }
+            }
+            if (pendingException != null) {
+                throw pendingException;
+            }
+
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            throw new OrekitException(ie, LocalizedCoreFormats.SIMPLE_MESSAGE, ie.getLocalizedMessage());
+        } finally {
+            executorService.shutdownNow();
+        }
+
+    }
+
+    /** Unwrap the cause of a task failure.
+     * @param ee execution exception
+     * @return underlying Orekit exception
+     */
+    private OrekitException unwrap(final ExecutionException ee) {
+        final Throwable cause = ee.getCause();
+        if (cause instanceof OrekitException) {
+            return (OrekitException) cause;
+        } else if (cause instanceof RuntimeException) {
+            throw (RuntimeException) cause;
+        } else if (cause instanceof Error) {
+            throw (Error) cause;
+        } else {
+            return new OrekitException(cause, LocalizedCoreFormats.SIMPLE_MESSAGE, cause.getLocalizedMessage());
+        }
+    }
+
+    /** Interface for preloading tasks. */
+    @FunctionalInterface
+    public interface PreloadingTask {
+
+        /** Load the data.
+         * @exception OrekitException if data cannot be loaded
+         */
+        void preload() throws OrekitException;
+
+    }
+
+}
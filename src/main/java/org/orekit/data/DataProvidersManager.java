@@ -20,12 +20,11 @@ import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.text.ParseException;
-import java.util.ArrayList;
 import java.util.Collections;
-import java.util.Iterator;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.regex.Pattern;
 
 import org.orekit.errors.OrekitException;
@@ -79,8 +78,8 @@ public class DataProvidersManager {
      * </p>
      */
     private DataProvidersManager() {
-        providers = new ArrayList<DataProvider>();
-        loaded    = new LinkedHashSet<String>();
+        providers = new CopyOnWriteArrayList<DataProvider>();
+        loaded    = Collections.synchronizedSet(new LinkedHashSet<String>());
     }
 
     /** Get the unique instance.
@@ -170,14 +169,7 @@ public class DataProvidersManager {
      * @since 5.1
      */
     public DataProvider removeProvider(final DataProvider provider) {
-        for (final Iterator<DataProvider> iterator = providers.iterator(); iterator.hasNext();) {
-            final DataProvider current = iterator.next();
-            if (current == provider) {
-                iterator.remove();
-                return provider;
-            }
-        }
-        return null;
+        return providers.remove(provider) ? provider : null;
     }
 
     /** Remove all data providers.
@@ -219,17 +211,24 @@ public class DataProvidersManager {
         return Collections.unmodifiableList(providers);
     }
 
-    /** Get an unmodifiable view of the set of data file names that have been loaded.
+    /** Get an unmodifiable snapshot of the set of data file names that have been loaded.
      * <p>
      * The names returned are exactly the ones that were given to the {@link
      * DataLoader#loadData(InputStream, String) DataLoader.loadData} method.
      * </p>
-     * @return unmodifiable view of the set of data file names that have been loaded
+     * <p>
+     * The returned set is a copy, it is safe to iterate over it even if data
+     * is loaded concurrently by other threads, but it will not reflect data
+     * loaded after this method returns.
+     * </p>
+     * @return unmodifiable snapshot of the set of data file names that have been loaded
      * @see #feed(String, DataLoader)
      * @see #clearLoadedDataNames()
      */
     public Set<String> getLoadedDataNames() {
-        return Collections.unmodifiableSet(loaded);
+        synchronized (loaded) {
+            return Collections.unmodifiableSet(new LinkedHashSet<String>(loaded));
+        }
     }
 
     /** Clear the set of data file names that have been loaded.
@@ -255,6 +254,10 @@ public class DataProvidersManager {
      * stopped. If no provider is able to feed the data loader, then the last error
      * triggered is thrown.
      * </p>
+     * <p>
+     * This method can be called concurrently by several threads for different
+     * loaders, for example by a {@link DataPreloader}.
+     * </p>
      * @param supportedNames regular expression for file names supported by the visitor
      * @param loader data loader to use
      * @return true if some data has been loaded
@@ -267,8 +270,10 @@ public class DataProvidersManager {
         final Pattern supported = Pattern.compile(supportedNames);
 
         // set up a default configuration if no providers have been set
-        if (providers.isEmpty()) {
-            addDefaultProviders();
+        synchronized (providers) {
+            if (providers.isEmpty()) {
+                addDefaultProviders();
+            }
         }
 
         // monitor the data that the loader will load
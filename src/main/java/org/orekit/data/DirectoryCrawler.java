@@ -21,8 +21,10 @@ import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.text.ParseException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Comparator;
+import java.util.List;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.zip.GZIPInputStream;
@@ -50,6 +52,13 @@ import org.orekit.errors.OrekitMessages;
  * This is a simple application of the <code>visitor</code> design pattern for
  * directory hierarchy crawling.
  * </p>
+ * <p>
+ * The directories tree is walked only once, the first time the crawler is used.
+ * The list of files found is kept in an index that is reused for all subsequent
+ * loaders, as long as the directories are not modified (i.e. as long as no file
+ * is added, removed or renamed). The index can also be dropped explicitly by
+ * calling {@link #clearIndex()}.
+ * </p>
  * @see DataProvidersManager
  * @author Luc Maisonobe
  */
@@ -58,6 +67,9 @@ public class DirectoryCrawler implements DataProvider {
     /** Root directory. */
     private final File root;
 
+    /** Index of the directories tree (null if not built yet). */
+    private volatile Index index;
+
     /** Build a data files crawler.
      * @param root root of the directories tree (must be a directory)
      * @exception OrekitException if root is not a directory
@@ -66,14 +78,62 @@ public class DirectoryCrawler implements DataProvider {
         if (!root.isDirectory()) {
             throw new OrekitException(OrekitMessages.NOT_A_DIRECTORY, root.getAbsolutePath());
         }
-        this.root = root;
+        this.root  = root;
+        this.index = null;
+    }
+
+    /** Drop the index of the directories tree.
+     * <p>
+     * The index will be rebuilt the next time the crawler is used. There
+     * is no need to call this method when files are added, removed or renamed,
+     * as this is detected automatically. It may be useful for example if
+     * files in nested archives have been changed.
+     * </p>
+     * @since 9.0
+     */
+    public void clearIndex() {
+        index = null;
     }
 
     /** {@inheritDoc} */
     public boolean feed(final Pattern supported, final DataLoader visitor)
         throws OrekitException {
         try {
-            return feed(supported, visitor, root);
+
+            OrekitException delayedException = null;
+            boolean loaded = false;
+            for (final IndexEntry entry : getIndex().entries) {
+                try {
+                    if (visitor.stillAcceptsData()) {
+                        if (entry.archive != null) {
+
+                            // browse inside the zip/jar file
+                            loaded = entry.archive.feed(supported, visitor) || loaded;
+
+                        } else if (supported.matcher(entry.baseName).matches()) {
+
+                            // visit the current file
+                            InputStream input = new FileInputStream(entry.file);
+                            if (entry.gzip) {
+                                input = new GZIPInputStream(input);
+                            }
+                            visitor.loadData(input, entry.file.getPath());
+                            input.close();
+                            loaded = true;
+
+                        }
+                    }
+                } catch (OrekitException oe) {
+                    delayedException = oe;
+                }
+            }
+
+            if (!loaded && delayedException != null) {
+                throw delayedException;
+            }
+
+            return loaded;
+
         } catch (IOException ioe) {
             throw new OrekitException(ioe, new DummyLocalizable(ioe.getMessage()));
         } catch (ParseException pe) {
@@ -81,77 +141,113 @@ public class DirectoryCrawler implements DataProvider {
         }
     }
 
-    /** Feed a data file loader by browsing a directory hierarchy.
-     * @param supported pattern for file names supported by the visitor
-     * @param visitor data file visitor to feed
-     * @param directory current directory
-     * @exception OrekitException if some data is missing, duplicated
-     * or can't be read
-     * @return true if something has been loaded
-     * @exception IOException if data cannot be read
-     * @exception ParseException if data cannot be read
+    /** Get an up to date index of the directories tree.
+     * @return up to date index
      */
-    private boolean feed(final Pattern supported, final DataLoader visitor, final File directory)
-        throws OrekitException, IOException, ParseException {
-
-        // search in current directory
-        final File[] list = directory.listFiles();
-        Arrays.sort(list, new Comparator<File>() {
-            @Override
-            public int compare(final File o1, final File o2) {
-                return o1.compareTo(o2);
-            }
-        });
-
-        OrekitException delayedException = null;
-        boolean loaded = false;
-        for (int i = 0; i < list.length; ++i) {
-            try {
-                if (visitor.stillAcceptsData()) {
-                    if (list[i].isDirectory()) {
+    private synchronized Index getIndex() {
+        Index current = index;
+        if (current == null || !current.isUpToDate()) {
+            current = new Index(root);
+            index   = current;
+        }
+        return current;
+    }
 
-                        // recurse in the sub-directory
-                        loaded = feed(supported, visitor, list[i]) || loaded;
+    /** Index of a directories tree. */
+    private static class Index {
 
-                    } else if (ZIP_ARCHIVE_PATTERN.matcher(list[i].getName()).matches()) {
+        /** Indexed directories. */
+        private final List<File> directories;
 
-                        // browse inside the zip/jar file
-                        final DataProvider zipProvider = new ZipJarCrawler(list[i]);
-                        loaded = zipProvider.feed(supported, visitor) || loaded;
+        /** Last modification time of indexed directories. */
+        private final List<Long> stamps;
 
-                    } else {
+        /** Indexed files, in crawling order. */
+        private final List<IndexEntry> entries;
 
-                        // remove suffix from gzip files
-                        final Matcher gzipMatcher = GZIP_FILE_PATTERN.matcher(list[i].getName());
-                        final String baseName =
-                            gzipMatcher.matches() ? gzipMatcher.group(1) : list[i].getName();
-
-                        if (supported.matcher(baseName).matches()) {
+        /** Build the index of a directories tree.
+         * @param root root of the directories tree
+         */
+        Index(final File root) {
+            this.directories = new ArrayList<File>();
+            this.stamps      = new ArrayList<Long>();
+            this.entries     = new ArrayList<IndexEntry>();
+            addDirectory(root);
+        }
 
-                            // visit the current file
-                            InputStream input = new FileInputStream(list[i]);
-                            if (gzipMatcher.matches()) {
-                                input = new GZIPInputStream(input);
-                            }
-                            visitor.loadData(input, list[i].getPath());
-                            input.close();
-                            loaded = true;
+        /** Add a directory to the index.
+         * @param directory directory to add
+         */
+        private void addDirectory(final File directory) {
 
-                        }
+            directories.add(directory);
+            stamps.add(directory.lastModified());
 
+            final File[] list = directory.listFiles();
+            if (list != null) {
+                Arrays.sort(list, new Comparator<File>() {
+                    @Override
+                    public int compare(final File o1, final File o2) {
+                        return o1.compareTo(o2);
+                    }
+                });
+                for (final File child : list) {
+                    if (child.isDirectory()) {
+                        addDirectory(child);
+                    } else {
+                        entries.add(new IndexEntry(child));
                     }
                 }
-            } catch (OrekitException oe) {
-                delayedException = oe;
             }
 
         }
 
-        if (!loaded && delayedException != null) {
-            throw delayedException;
+        /** Check if the index is still up to date.
+         * @return true if no indexed directory has been modified since index creation
+         */
+        public boolean isUpToDate() {
+            for (int i = 0; i < directories.size(); ++i) {
+                if (directories.get(i).lastModified() != stamps.get(i)) {
+                    return false;
+                }
+            }
+            return true;
         }
 
-        return loaded;
+    }
+
+    /** Entry in the index of a directories tree. */
+    private static class IndexEntry {
+
+        /** Indexed file. */
+        private final File file;
+
+        /** Name of the file, without gzip suffix. */
+        private final String baseName;
+
+        /** Indicator for gzip-compressed files. */
+        private final boolean gzip;
+
+        /** Crawler for zip/jar archives (null for regular files). */
+        private final ZipJarCrawler archive;
+
+        /** Simple constructor.
+         * @param file indexed file
+         */
+        IndexEntry(final File file) {
+            this.file = file;
+            if (ZIP_ARCHIVE_PATTERN.matcher(file.getName()).matches()) {
+                this.baseName = file.getName();
+                this.gzip     = false;
+                this.archive  = new ZipJarCrawler(file);
+            } else {
+                // remove suffix from gzip files
+                final Matcher gzipMatcher = GZIP_FILE_PATTERN.matcher(file.getName());
+                this.gzip     = gzipMatcher.matches();
+                this.baseName = gzip ? gzipMatcher.group(1) : file.getName();
+                this.archive  = null;
+            }
+        }
 
     }
 
@@ -0,0 +1,415 @@
+/* Copyright 2002-2016 CS Systèmes d'Information
+ * Licensed to CS Systèmes d'Information (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.data;
+
+import java.util.Arrays;
+
+/** Allocation-free tokenizer for text lines in data files.
+ * <p>
+ * This class is intended to be used by data loaders that parse large
+ * files with one record per line, like gravity fields or IERS series.
+ * It splits lines in whitespace-separated tokens without creating any
+ * intermediate {@code String}, and parses numbers directly from the
+ * line characters. Fixed-column formats can use the static methods
+ * {@link #parseInt(CharSequence, int, int)} and {@link
+ * #parseDouble(CharSequence, int, int)} on the columns range.
+ * </p>
+ * <p>
+ * Real numbers are accepted both with the classical 'E' exponent marker
+ * and with the Fortran 'D' marker. Most numbers found in data files have
+ * less than 16 significant digits and small exponents, they are converted
+ * using a single correctly rounded floating point operation, hence
+ * giving exactly the same result as {@link Double#parseDouble(String)}.
+ * Other numbers are delegated to {@link Double#parseDouble(String)}.
+ * </p>
+ * <p>
+ * Instances of this class are mutable and <em>not</em> thread-safe,
+ * a loader should use one instance per parsed file.
+ * </p>
+ * @author Luc Maisonobe
+ * @since 9.0
+ */
+public class LineTokenizer {
+
+    /** Maximum number of significant digits accumulated in the fast path. */
+    private static final int MAX_DIGITS = 18;
+
+    /** Limit for exact representation of integers as doubles. */
+    private static final long MAX_EXACT_MANTISSA = 1L << 53;
+
+    /** Exactly representable powers of ten. */
+    private static final double[] POWERS_OF_TEN = {
+        1.0e0,  1.0e1,  1.0e2,  1.0e3,  1.0e4,  1.0e5,  1.0e6,  1.0e7,
+        1.0e8,  1.0e9,  1.0e10, 1.0e11, 1.0e12, 1.0e13, 1.0e14, 1.0e15,
+        1.0e16, 1.0e17, 1.0e18, 1.0e19, 1.0e20, 1.0e21, 1.0e22
+    };
+
+    /** Current line. */
+    private CharSequence line;
+
+    /** Number of tokens in current line. */
+    private int count;
+
+    /** Tokens start indices (inclusive). */
+    private int[] starts;
+
+    /** Tokens end indices (exclusive). */
+    private int[] ends;
+
+    /** Simple constructor.
+     */
+    public LineTokenizer() {
+        line   = "";
+        count  = 0;
+        starts = new int[16];
+        ends   = new int[16];
+    }
+
+    /** Reset the tokenizer with a new line.
+     * <p>
+     * The line is split in tokens separated by blank characters (spaces,
+     * tabs, carriage returns, line feeds and form feeds). Leading and
+     * trailing blanks are ignored.
+     * </p>
+     * @param newLine line to split
+     * @return the instance itself
+     */
+    public LineTokenizer reset(final CharSequence newLine) {
+        this.line  = newLine;
+        this.count = 0;
+        final int length = newLine.length();
+        int i = 0;
+        while (i < length) {
+            // skip blanks
+            while (i < length && isBlank(newLine.charAt(i))) {
+                ++i;
+            }
+            if (i < length) {
+                final int start = i;
+                while (i < length && !isBlank(newLine.charAt(i))) {
+                    ++i;
+                }
+                if (count == starts.length) {
+                    starts = Arrays.copyOf(starts, 2 * count);
+                    ends   = Arrays.copyOf(ends,   2 * count);
+                }
+                starts[count] = start;
+                ends[count]   = i;
+                ++count;
+            }
+        }
+        return this;
+    }
+
+    /** Get the current line.
+     * @return current line
+     */
+    public CharSequence getLine() {
+        return line;
+    }
+
+    /** Get the number of tokens in the current line.
+     * @return number of tokens in the current line
+     */
+    public int getTokensCount() {
+        return count;
+    }
+
+    /** Get a token as a string.
+     * <p>
+     * This method allocates a new string, it should be used only for
+     * tokens that must be kept, not for tokens that are just checked
+     * or parsed.
+     * </p>
+     * @param index index of the token
+     * @return token
+     */
+    public String getToken(final int index) {
+        checkIndex(index);
+        return line.subSequence(starts[index], ends[index]).toString();
+    }
+
+    /** Check if a token is equal to a reference string.
+     * @param index index of the token
+     * @param reference reference string
+     * @return true if token is equal to reference string
+     */
+    public boolean tokenEquals(final int index, final String reference) {
+        checkIndex(index);
+        final int start = starts[index];
+        final int end   = ends[index];
+        if (end - start != reference.length()) {
+            return false;
+        }
+        for (int i = start; i < end; ++i) {
+            if (line.charAt(i) != reference.charAt(i - start)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** Check if a token ends with a reference suffix.
+     * @param index index of the token
+     * @param suffix reference suffix
+     * @return true if token ends with reference suffix
+     */
+    public boolean tokenEndsWith(final int index, final String suffix) {
+        checkIndex(index);
+        final int offset = ends[index] - suffix.length();
+        if (offset < starts[index]) {
+            return false;
+        }
+        for (int i = 0; i < suffix.length(); ++i) {
+            if (line.charAt(offset + i) != suffix.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** Parse a token as an integer.
+     * @param index index of the token
+     * @return parsed integer
+     * @exception NumberFormatException if token cannot be parsed as an integer
+     */
+    public int parseInt(final int index) throws NumberFormatException {
+        checkIndex(index);
+        return parseInt(line, starts[index], ends[index]);
+    }
+
+    /** Parse a token as a double.
+     * @param index index of the token
+     * @return parsed double
+     * @exception NumberFormatException if token cannot be parsed as a double
+     */
+    public double parseDouble(final int index) throws NumberFormatException {
+        checkIndex(index);
+        return parseDouble(line, starts[index], ends[index]);
+    }
+
+    /** Check a token index.
+     * @param index index of the token
+     * @exception IndexOutOfBoundsException if index is out of range
+     */
+    private void checkIndex(final int index) throws IndexOutOfBoundsException {
+        if (index < 0 || index >= count) {
+            throw new IndexOutOfBoundsException(Integer.toString(index));
+        }
+    }
+
+    /** Parse an integer from a range of characters.
+     * <p>
+     * Leading and trailing blanks in the range are ignored, which
+     * allows this method to be used directly on fixed columns.
+     * </p>
+     * @param s characters sequence
+     * @param start start index of the range (inclusive)
+     * @param end end index of the range (exclusive)
+     * @return parsed integer
+     * @exception NumberFormatException if range cannot be parsed as an integer
+     */
+    public static int parseInt(final CharSequence s, final int start, final int end)
+        throws NumberFormatException {
+
+        int b = start;
+        int e = end;
+        while (b < e && isBlank(s.charAt(b))) {
+            ++b;
+        }
+        while (e > b && isBlank(s.charAt(e - 1))) {
+            --e;
+        }
+
+        int i = b;
+        boolean negative = false;
+        if (i < e && (s.charAt(i) == '-' || s.charAt(i) == '+')) {
+            negative = s.charAt(i) == '-';
+            ++i;
+        }
+        if (i == e || e - i > 9) {
+            // empty field or potential overflow, let the standard method handle it
+            return Integer.parseInt(s.subSequence(b, e).toString());
+        }
+
+        int value = 0;
+        for (; i < e; ++i) {
+            final char c = s.charAt(i);
+            if (c < '0' || c > '9') {
+                throw new NumberFormatException(s.subSequence(b, e).toString());
+            }
+            value = 10 * value + (c - '0');
+        }
+
+        return negative ? -value : value;
+
+    }
+
+    /** Parse a double from a range of characters.
+     * <p>
+     * Leading and trailing blanks in the range are ignored, which
+     * allows this method to be used directly on fixed columns. Both
+     * 'E' and 'D' (and their lower case counterparts) are accepted as
+     * exponent markers.
+     * </p>
+     * @param s characters sequence
+     * @param start start index of the range (inclusive)
+     * @param end end index of the range (exclusive)
+     * @return parsed double
+     * @exception NumberFormatException if range cannot be parsed as a double
+     */
+    public static double parseDouble(final CharSequence s, final int start, final int end)
+        throws NumberFormatException {
+
+        int b = start;
+        int e = end;
+        while (b < e && isBlank(s.charAt(b))) {
+            ++b;
+        }
+        while (e > b && isBlank(s.charAt(e - 1))) {
+            --e;
+        }
+
+        int i = b;
+        boolean negative = false;
+        if (i < e && (s.charAt(i) == '-' || s.charAt(i) == '+')) {
+            negative = s.charAt(i) == '-';
+            ++i;
+        }
+
+        // mantissa
+        long    mantissa = 0;
+        int     digits   = 0;
+        int     exponent = 0;
+        boolean seenDigit = false;
+        boolean seenDot   = false;
+        for (; i < e; ++i) {
+            final char c = s.charAt(i);
+            if (c >= '0' && c <= '9') {
+                seenDigit = true;
+                if (mantissa == 0 && c == '0') {
+                    // leading zero
+                    if (seenDot) {
+                        --exponent;
+                    }
+                } else if (digits < MAX_DIGITS) {
+                    mantissa = 10 * mantissa + (c - '0');
+                    ++digits;
+                    if (seenDot) {
+                        --exponent;
+                    }
+                } else {
+                    // too many significant digits for the fast path
+                    return fallback(s, b, e);
+                }
+            } else if (c == '.' && !seenDot) {
+                seenDot = true;
+            } else {
+                break;
+            }
+        }
+        if (!seenDigit) {
+            // this may be NaN, Infinity or simply an invalid field
+            return fallback(s, b, e);
+        }
+
+        // exponent
+        if (i < e) {
+            final char marker = s.charAt(i++);
+            if (marker != 'e' && marker != 'E' && marker != 'd' && marker != 'D') {
+                return fallback(s, b, e);
+            }
+            boolean negativeExponent = false;
+            if (i < e && (s.charAt(i) == '-' || s.charAt(i) == '+')) {
+                negativeExponent = s.charAt(i) == '-';
+                ++i;
+            }
+            if (i == e || e - i > 4) {
+                return fallback(s, b, e);
+            }
+            int explicit = 0;
+            for (; i < e; ++i) {
+                final char c = s.charAt(i);
+                if (c < '0' || c > '9') {
+                    return fallback(s, b, e);
+                }
+                explicit = 10 * explicit + (c - '0');
+            }
+            exponent += negativeExponent ? -explicit : explicit;
+        }
+
+        if (mantissa == 0) {
+            return negative ? -0.0 : 0.0;
+        }
+
+        if (mantissa < MAX_EXACT_MANTISSA && exponent >= -22 && exponent <= 22) {
+            // both the mantissa and the power of ten are exact,
+            // a single correctly rounded operation gives the correctly rounded result
+            final double value = (exponent < 0) ?
+                                 mantissa / POWERS_OF_TEN[-exponent] :
+                                 mantissa * POWERS_OF_TEN[exponent];
+            return negative ? -value : value;
+        }
+
+        return fallback(s, b, e);
+
+    }
+
+    /** Parse a double using the standard method.
+     * <p>
+     * Only the 'D' and 'd' characters that introduce an exponent, i.e. that
+     * are followed by a sign or a digit, are mapped to 'E' and 'e'. This
+     * preserves the Java {@code double} type suffix (as in {@code 1.0d})
+     * and hexadecimal digits, which {@link Double#parseDouble(String)} accepts.
+     * </p>
+     * @param s characters sequence
+     * @param start start index of the range (inclusive)
+     * @param end end index of the range (exclusive)
+     * @return parsed double
+     * @exception NumberFormatException if range cannot be parsed as a double
+     */
+    private static double fallback(final CharSequence s, final int start, final int end)
+        throws NumberFormatException {
+        final StringBuilder builder = new StringBuilder(end - start);
+        boolean hexadecimal = false;
+        for (int i = start; i < end; ++i) {
+            final char c = s.charAt(i);
+            hexadecimal |= c == 'x' || c == 'X';
+            builder.append(c);
+        }
+        if (!hexadecimal) {
+            for (int i = 0; i < builder.length() - 1; ++i) {
+                final char c    = builder.charAt(i);
+                final char next = builder.charAt(i + 1);
+                if ((c == 'D' || c == 'd') &&
+                    (next == '+' || next == '-' || (next >= '0' && next <= '9'))) {
+                    builder.setCharAt(i, c == 'D' ? 'E' : 'e');
+                }
+            }
+        }
+        return Double.parseDouble(builder.toString());
+    }
+
+    /** Check if a character is a blank.
+     * @param c character to check
+     * @return true if character is a blank
+     */
+    private static boolean isBlank(final char c) {
+        return c == ' ' || c == '\t' || c == '\r' || c == '\n' || c == '\f';
+    }
+
+}
@@ -527,6 +527,10 @@ public class PoissonSeriesParser {
         }
         final Pattern regularLinePattern = Pattern.compile(builder.toString());
 
+        // matchers are reused for all lines, and fields are parsed in place
+        final Matcher regularMatcher = regularLinePattern.matcher("");
+        final Matcher headerMatcher  = degreeSectionHeaderPattern.matcher("");
+
         try {
 
             // setup the reader
@@ -555,47 +559,46 @@ public class PoissonSeriesParser {
                 line = line.replace('\u2212', '-');
                 ++lineNumber;
 
-                final Matcher regularMatcher = regularLinePattern.matcher(line);
-                if (regularMatcher.matches()) {
+                if (regularMatcher.reset(line).matches()) {
                     // we have found a regular data line
 
                     if (expectedIndex > 0) {
                         // we are in a file were terms are numbered, we check the index
-                        if (Integer.parseInt(regularMatcher.group(1)) != expectedIndex) {
+                        if (parseInt(line, regularMatcher, 1) != expectedIndex) {
                             throw new OrekitException(OrekitMessages.UNABLE_TO_PARSE_LINE_IN_FILE,
                                                       lineNumber, name, regularMatcher.group());
                         }
                     }
 
                     // get the Doodson multipliers as well as the Doodson number
-                    final int cTau     = (firstDoodson < 0) ? 0 : Integer.parseInt(regularMatcher.group(firstDoodson));
-                    final int cS       = (firstDoodson < 0) ? 0 : Integer.parseInt(regularMatcher.group(firstDoodson + 1));
-                    final int cH       = (firstDoodson < 0) ? 0 : Integer.parseInt(regularMatcher.group(firstDoodson + 2));
-                    final int cP       = (firstDoodson < 0) ? 0 : Integer.parseInt(regularMatcher.group(firstDoodson + 3));
-                    final int cNprime  = (firstDoodson < 0) ? 0 : Integer.parseInt(regularMatcher.group(firstDoodson + 4));
-                    final int cPs      = (firstDoodson < 0) ? 0 : Integer.parseInt(regularMatcher.group(firstDoodson + 5));
+                    final int cTau     = (firstDoodson < 0) ? 0 : parseInt(line, regularMatcher, firstDoodson);
+                    final int cS       = (firstDoodson < 0) ? 0 : parseInt(line, regularMatcher, firstDoodson + 1);
+                    final int cH       = (firstDoodson < 0) ? 0 : parseInt(line, regularMatcher, firstDoodson + 2);
+                    final int cP       = (firstDoodson < 0) ? 0 : parseInt(line, regularMatcher, firstDoodson + 3);
+                    final int cNprime  = (firstDoodson < 0) ? 0 : parseInt(line, regularMatcher, firstDoodson + 4);
+                    final int cPs      = (firstDoodson < 0) ? 0 : parseInt(line, regularMatcher, firstDoodson + 5);
                     final int nDoodson = (doodson      < 0) ? 0 : Integer.parseInt(regularMatcher.group(doodson).replaceAll("[.,]", ""));
 
                     // get the tide multipler
-                    int cGamma   = (gamma < 0) ? 0 : Integer.parseInt(regularMatcher.group(gamma));
+                    int cGamma   = (gamma < 0) ? 0 : parseInt(line, regularMatcher, gamma);
 
                     // get the Delaunay multipliers
-                    int cL       = Integer.parseInt(regularMatcher.group(firstDelaunay));
-                    int cLPrime  = Integer.parseInt(regularMatcher.group(firstDelaunay + 1));
-                    int cF       = Integer.parseInt(regularMatcher.group(firstDelaunay + 2));
-                    int cD       = Integer.parseInt(regularMatcher.group(firstDelaunay + 3));
-                    int cOmega   = Integer.parseInt(regularMatcher.group(firstDelaunay + 4));
+                    int cL       = parseInt(line, regularMatcher, firstDelaunay);
+                    int cLPrime  = parseInt(line, regularMatcher, firstDelaunay + 1);
+                    int cF       = parseInt(line, regularMatcher, firstDelaunay + 2);
+                    int cD       = parseInt(line, regularMatcher, firstDelaunay + 3);
+                    int cOmega   = parseInt(line, regularMatcher, firstDelaunay + 4);
 
                     // get the planetary multipliers
-                    final int cMe      = (firstPlanetary < 0) ? 0 : Integer.parseInt(regularMatcher.group(firstPlanetary));
-                    final int cVe      = (firstPlanetary < 0) ? 0 : Integer.parseInt(regularMatcher.group(firstPlanetary + 1));
-                    final int cE       = (firstPlanetary < 0) ? 0 : Integer.parseInt(regularMatcher.group(firstPlanetary + 2));
-                    final int cMa      = (firstPlanetary < 0) ? 0 : Integer.parseInt(regularMatcher.group(firstPlanetary + 3));
-                    final int cJu      = (firstPlanetary < 0) ? 0 : Integer.parseInt(regularMatcher.group(firstPlanetary + 4));
-                    final int cSa      = (firstPlanetary < 0) ? 0 : Integer.parseInt(regularMatcher.group(firstPlanetary + 5));
-                    final int cUr      = (firstPlanetary < 0) ? 0 : Integer.parseInt(regularMatcher.group(firstPlanetary + 6));
-                    final int cNe      = (firstPlanetary < 0) ? 0 : Integer.parseInt(regularMatcher.group(firstPlanetary + 7));
-                    final int cPa      = (firstPlanetary < 0) ? 0 : Integer.parseInt(regularMatcher.group(firstPlanetary + 8));
+                    final int cMe      = (firstPlanetary < 0) ? 0 : parseInt(line, regularMatcher, firstPlanetary);
+                    final int cVe      = (firstPlanetary < 0) ? 0 : parseInt(line, regularMatcher, firstPlanetary + 1);
+                    final int cE       = (firstPlanetary < 0) ? 0 : parseInt(line, regularMatcher, firstPlanetary + 2);
+                    final int cMa      = (firstPlanetary < 0) ? 0 : parseInt(line, regularMatcher, firstPlanetary + 3);
+                    final int cJu      = (firstPlanetary < 0) ? 0 : parseInt(line, regularMatcher, firstPlanetary + 4);
+                    final int cSa      = (firstPlanetary < 0) ? 0 : parseInt(line, regularMatcher, firstPlanetary + 5);
+                    final int cUr      = (firstPlanetary < 0) ? 0 : parseInt(line, regularMatcher, firstPlanetary + 6);
+                    final int cNe      = (firstPlanetary < 0) ? 0 : parseInt(line, regularMatcher, firstPlanetary + 7);
+                    final int cPa      = (firstPlanetary < 0) ? 0 : parseInt(line, regularMatcher, firstPlanetary + 8);
 
                     if (nDoodson > 0) {
 
@@ -633,9 +636,9 @@ public class PoissonSeriesParser {
                     boolean nonZero = false;
                     for (int d = 0; d < sinCosColumns.length / 2; ++d) {
                         final double sinCoeff =
-                                parseCoefficient(regularMatcher, sinCosColumns[2 * d],     sinCosFactors[2 * d]);
+                                parseCoefficient(line, regularMatcher, sinCosColumns[2 * d],     sinCosFactors[2 * d]);
                         final double cosCoeff =
-                                parseCoefficient(regularMatcher, sinCosColumns[2 * d + 1], sinCosFactors[2 * d + 1]);
+                                parseCoefficient(line, regularMatcher, sinCosColumns[2 * d + 1], sinCosFactors[2 * d + 1]);
                         if (!Precision.equals(sinCoeff, 0.0, 0) || !Precision.equals(cosCoeff, 0.0, 0)) {
                             nonZero = true;
                             term.add(0, degree + d, sinCoeff, cosCoeff);
@@ -654,8 +657,7 @@ public class PoissonSeriesParser {
 
                 } else {
 
-                    final Matcher headerMatcher = degreeSectionHeaderPattern.matcher(line);
-                    if (headerMatcher.matches()) {
+                    if (headerMatcher.reset(line).matches()) {
 
                         // we have found a degree section header
                         final int nextDegree = Integer.parseInt(headerMatcher.group(1));
@@ -711,19 +713,31 @@ public class PoissonSeriesParser {
     }
 
     /** Parse a scaled coefficient.
+     * @param line line containing the coefficient
      * @param matcher line matcher holding the coefficient
      * @param group group number of the coefficient, or -1 if line does not contain coefficient
      * @param scale scaling factor to apply
      * @return scaled factor, or 0.0 if group is -1
      */
-    private double parseCoefficient(final Matcher matcher, final int group, final double scale) {
+    private double parseCoefficient(final CharSequence line, final Matcher matcher,
+                                    final int group, final double scale) {
         if (group < 0) {
             return 0.0;
         } else {
-            return scale * Double.parseDouble(matcher.group(group));
+            return scale * LineTokenizer.parseDouble(line, matcher.start(group), matcher.end(group));
         }
     }
 
+    /** Parse an integer field.
+     * @param line line containing the field
+     * @param matcher line matcher holding the field
+     * @param group group number of the field
+     * @return parsed integer
+     */
+    private int parseInt(final CharSequence line, final Matcher matcher, final int group) {
+        return LineTokenizer.parseInt(line, matcher.start(group), matcher.end(group));
+    }
+
     /** Compute Doodson number from Delaunay multipliers.
      * @param cGamma coefficient for γ = GMST + π tide parameter
      * @param cL coefficient for mean anomaly of the Moon
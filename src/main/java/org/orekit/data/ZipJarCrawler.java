@@ -24,12 +24,17 @@ import java.io.InputStream;
 import java.net.URISyntaxException;
 import java.net.URL;
 import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
 import java.util.Iterator;
+import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.zip.GZIPInputStream;
 import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
 import java.util.zip.ZipInputStream;
 
 import org.hipparchus.exception.DummyLocalizable;
@@ -57,6 +62,15 @@ import org.orekit.errors.OrekitException;
  * This is a simple application of the <code>visitor</code> design pattern for
  * zip entries browsing.
  * </p>
+ * <p>
+ * The names of the archive entries are kept in an index built the first time
+ * the crawler is used, so archives containing no entries supported by a loader
+ * are not even opened. For archives on the filesystem, the index is rebuilt
+ * automatically if the archive size or modification time change, and supported
+ * entries are read directly, without decompressing the other entries. For archives
+ * in classpath or on network, the index is built while streaming the archive the
+ * first time and is kept until {@link #clearIndex()} is called.
+ * </p>
  * @see DataProvidersManager
  * @author Luc Maisonobe
  */
@@ -77,6 +91,9 @@ public class ZipJarCrawler implements DataProvider {
     /** Prefix name of the zip. */
     private final String name;
 
+    /** Index of the archive entries (null if not built yet). */
+    private volatile Index index;
+
     /** Build a zip crawler for an archive file on filesystem.
      * @param file zip file to browse
      */
@@ -86,6 +103,7 @@ public class ZipJarCrawler implements DataProvider {
         this.classLoader = null;
         this.url         = null;
         this.name        = file.getAbsolutePath();
+        this.index       = null;
     }
 
     /** Build a zip crawler for an archive file in classpath.
@@ -115,6 +133,7 @@ public class ZipJarCrawler implements DataProvider {
             this.classLoader = classLoader;
             this.url         = null;
             this.name        = classLoader.getResource(resource).toURI().toString();
+            this.index       = null;
         } catch (URISyntaxException use) {
             throw new OrekitException(use, LocalizedCoreFormats.SIMPLE_MESSAGE, use.getMessage());
         }
@@ -131,29 +150,56 @@ public class ZipJarCrawler implements DataProvider {
             this.classLoader = null;
             this.url         = url;
             this.name        = url.toURI().toString();
+            this.index       = null;
         } catch (URISyntaxException use) {
             throw new OrekitException(use, LocalizedCoreFormats.SIMPLE_MESSAGE, use.getMessage());
         }
     }
 
+    /** Drop the index of the archive entries.
+     * <p>
+     * The index will be rebuilt the next time the crawler is used. There
+     * is no need to call this method for archives on the filesystem, as
+     * changes are detected automatically.
+     * </p>
+     * @since 9.0
+     */
+    public void clearIndex() {
+        index = null;
+    }
+
     /** {@inheritDoc} */
     public boolean feed(final Pattern supported, final DataLoader visitor)
         throws OrekitException {
 
         try {
 
+            if (file != null) {
+                return feedFromFile(supported, visitor);
+            }
+
+            final Index current = index;
+            if (current != null && !current.mayMatch(supported)) {
+                // no entry in the archive can be loaded
+                return false;
+            }
+
             // open the raw data stream
             Archive archive = null;
             try {
-                if (file != null) {
-                    archive = new Archive(new FileInputStream(file));
-                } else if (resource != null) {
+                if (resource != null) {
                     archive = new Archive(classLoader.getResourceAsStream(resource));
                 } else {
                     archive = new Archive(url.openConnection().getInputStream());
                 }
 
-                return feed(name, supported, visitor, archive);
+                final List<String> names = new ArrayList<String>();
+                final boolean loaded = feed(name, supported, visitor, archive, names);
+                if (current == null) {
+                    // all entries have been seen, we can build the index
+                    index = new Index(names, -1L, -1L);
+                }
+                return loaded;
 
             } finally {
                 if (archive != null) {
@@ -169,11 +215,101 @@ public class ZipJarCrawler implements DataProvider {
 
     }
 
+    /** Feed a data file loader by random access to the entries of a zip/jar on filesystem.
+     * @param supported pattern for file names supported by the visitor
+     * @param visitor data file visitor to use
+     * @exception OrekitException if some data is missing, duplicated
+     * or can't be read
+     * @return true if something has been loaded
+     * @exception IOException if data cannot be read
+     * @exception ParseException if data cannot be read
+     */
+    private boolean feedFromFile(final Pattern supported, final DataLoader visitor)
+        throws OrekitException, IOException, ParseException {
+
+        Index current = index;
+        if (current == null || !current.isUpToDate(file)) {
+            current = buildFileIndex();
+            index   = current;
+        }
+
+        if (!current.mayMatch(supported)) {
+            // no entry in the archive can be loaded
+            return false;
+        }
+
+        try (ZipFile zipFile = new ZipFile(file)) {
+
+            OrekitException delayedException = null;
+            boolean loaded = false;
+
+            for (final IndexEntry entry : current.entries) {
+                try {
+                    if (visitor.stillAcceptsData()) {
+
+                        final String   fullName = name + "!" + entry.name;
+                        final ZipEntry zipEntry = zipFile.getEntry(entry.name);
+
+                        if (entry.archive) {
+
+                            // recurse inside the archive entry
+                            try (Archive nested = new Archive(zipFile.getInputStream(zipEntry))) {
+                                loaded = feed(fullName, supported, visitor, nested, null) || loaded;
+                            }
+
+                        } else if (supported.matcher(entry.baseName).matches()) {
+
+                            // visit the current entry
+                            final InputStream raw    = zipFile.getInputStream(zipEntry);
+                            final InputStream stream = entry.gzip ? new GZIPInputStream(raw) : raw;
+                            visitor.loadData(stream, fullName);
+                            stream.close();
+                            loaded = true;
+
+                        }
+
+                    }
+                } catch (OrekitException oe) {
+                    delayedException = oe;
+                }
+            }
+
+            if (!loaded && delayedException != null) {
+                throw delayedException;
+            }
+            return loaded;
+
+        }
+
+    }
+
+    /** Build the index of a zip/jar on filesystem.
+     * @return index of the archive entries
+     * @exception IOException if archive central directory cannot be read
+     */
+    private Index buildFileIndex() throws IOException {
+        // get the stamps before reading, so changes during reading are detected later
+        final long size         = file.length();
+        final long lastModified = file.lastModified();
+        final List<String> names = new ArrayList<String>();
+        try (ZipFile zipFile = new ZipFile(file)) {
+            for (final Enumeration<? extends ZipEntry> e = zipFile.entries(); e.hasMoreElements();) {
+                final ZipEntry zipEntry = e.nextElement();
+                if (!zipEntry.isDirectory()) {
+                    names.add(zipEntry.getName());
+                }
+            }
+        }
+        return new Index(names, size, lastModified);
+    }
+
     /** Feed a data file loader by browsing the entries in a zip/jar.
      * @param prefix prefix to use for name
      * @param supported pattern for file names supported by the visitor
      * @param visitor data file visitor to use
      * @param archive archive to read
+     * @param names list where to add names of the non-directory entries
+     * (may be null if names are not needed)
      * @exception OrekitException if some data is missing, duplicated
      * or can't be read
      * @return true if something has been loaded
@@ -181,7 +317,8 @@ public class ZipJarCrawler implements DataProvider {
      * @exception ParseException if data cannot be read
      */
     private boolean feed(final String prefix, final Pattern supported,
-                         final DataLoader visitor, final Archive archive)
+                         final DataLoader visitor, final Archive archive,
+                         final List<String> names)
         throws OrekitException, IOException, ParseException {
 
         OrekitException delayedException = null;
@@ -192,6 +329,10 @@ public class ZipJarCrawler implements DataProvider {
 
             try {
 
+                if (names != null && !entry.isDirectory()) {
+                    names.add(entry.getName());
+                }
+
                 if (visitor.stillAcceptsData() && !entry.isDirectory()) {
 
                     final String fullName = prefix + "!" + entry.getName();
@@ -199,7 +340,7 @@ public class ZipJarCrawler implements DataProvider {
                     if (ZIP_ARCHIVE_PATTERN.matcher(entry.getName()).matches()) {
 
                         // recurse inside the archive entry
-                        loaded = feed(fullName, supported, visitor, new Archive(entry)) || loaded;
+                        loaded = feed(fullName, supported, visitor, new Archive(entry), null) || loaded;
 
                     } else {
 
@@ -244,6 +385,95 @@ public class ZipJarCrawler implements DataProvider {
 
     }
 
+    /** Index of archive entries. */
+    private static class Index {
+
+        /** Indexed entries, in archive order. */
+        private final List<IndexEntry> entries;
+
+        /** Archive size at index creation (-1 if unknown). */
+        private final long size;
+
+        /** Archive modification time at index creation (-1 if unknown). */
+        private final long lastModified;
+
+        /** Simple constructor.
+         * @param names names of the non-directory entries, in archive order
+         * @param size archive size at index creation (-1 if unknown)
+         * @param lastModified archive modification time at index creation (-1 if unknown)
+         */
+        Index(final List<String> names, final long size, final long lastModified) {
+            final List<IndexEntry> list = new ArrayList<IndexEntry>(names.size());
+            for (final String entryName : names) {
+                list.add(new IndexEntry(entryName));
+            }
+            this.entries      = Collections.unmodifiableList(list);
+            this.size         = size;
+            this.lastModified = lastModified;
+        }
+
+        /** Check if the index is still up to date with respect to an archive file.
+         * @param archiveFile archive file
+         * @return true if archive size and modification time did not change
+         */
+        public boolean isUpToDate(final File archiveFile) {
+            return archiveFile.length() == size && archiveFile.lastModified() == lastModified;
+        }
+
+        /** Check if some entry may be supported.
+         * @param supported pattern for file names supported by the visitor
+         * @return true if some entry is supported or is a nested archive
+         */
+        public boolean mayMatch(final Pattern supported) {
+            for (final IndexEntry entry : entries) {
+                if (entry.archive || supported.matcher(entry.baseName).matches()) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+    }
+
+    /** Entry in the index of an archive. */
+    private static class IndexEntry {
+
+        /** Full name of the entry in the archive. */
+        private final String name;
+
+        /** Name of the entry, without leading directories and gzip suffix. */
+        private final String baseName;
+
+        /** Indicator for gzip-compressed entries. */
+        private final boolean gzip;
+
+        /** Indicator for nested zip/jar archives. */
+        private final boolean archive;
+
+        /** Simple constructor.
+         * @param name full name of the entry in the archive
+         */
+        IndexEntry(final String name) {
+
+            this.name    = name;
+            this.archive = ZIP_ARCHIVE_PATTERN.matcher(name).matches();
+
+            // remove leading directories
+            String entryName = name;
+            final int lastSlash = entryName.lastIndexOf('/');
+            if (lastSlash >= 0) {
+                entryName = entryName.substring(lastSlash + 1);
+            }
+
+            // remove suffix from gzip entries
+            final Matcher gzipMatcher = GZIP_FILE_PATTERN.matcher(entryName);
+            this.gzip     = gzipMatcher.matches();
+            this.baseName = gzip ? gzipMatcher.group(1) : entryName;
+
+        }
+
+    }
+
     /** Local class wrapping a zip archive. */
     private static final class Archive implements Closeable, Iterable<Archive.EntryStream> {
 
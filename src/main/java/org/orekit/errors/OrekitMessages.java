@@ -187,7 +187,11 @@ public enum OrekitMessages implements Localizable {
     NULL_ARGUMENT("argument {0} cannot be null"),
     VALUE_NOT_FOUND("value {0} not found in {1}"),
     EPHEMERIS_FILE_NO_MULTI_SUPPORT("Ephemeris file format does not support multiple space objects"),
-    LOF_FRAME_NO_PROVIDER_FOR_FIELD("no FieldPVCoordinatesProvider for field {0} in LOF frame {1}");
+    LOF_FRAME_NO_PROVIDER_FOR_FIELD("no FieldPVCoordinatesProvider for field {0} in LOF frame {1}"),
+    NOT_A_SUPPORTED_COMPACT_EPHEMERIS_FILE("file {0} is not a supported compact ephemeris file"),
+    NOT_A_CSSI_SPACE_WEATHER_FILE("file {0} is not a CSSI space weather file"),
+    NO_PROPAGATORS_TO_PARALLELIZE("parallel propagation requires at least one propagator, but none were provided"),
+    NOT_ENOUGH_THREADS_FOR_PARALLEL_PROPAGATION("executor allows only {0} concurrent tasks, but {1} propagators must run simultaneously");
 
 
     // CHECKSTYLE: resume JavadocVariable check
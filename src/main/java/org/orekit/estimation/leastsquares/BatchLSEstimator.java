@@ -86,6 +86,15 @@ public class BatchLSEstimator {
     /** Counter for the iterations. */
     private Incrementor iterationsCounter;
 
+    /** Indicator for parallel evaluation of measurements. */
+    private boolean parallelEvaluation;
+
+    /** Threshold for reusing last propagation. */
+    private double propagationReuseThreshold;
+
+    /** Number of full propagations performed. */
+    private int propagationsCount;
+
     /** Simple constructor.
      * @param propagatorBuilder builder to user for propagation
      * @param optimizer solver for least squares problem
@@ -102,6 +111,8 @@ public class BatchLSEstimator {
         this.lsBuilder                      = new LeastSquaresBuilder();
         this.estimations                    = null;
         this.observer                       = null;
+        this.parallelEvaluation             = false;
+        this.propagationReuseThreshold      = 0.0;
 
         // our model computes value and Jacobian in one call,
         // so we don't use the lazy evaluation feature
@@ -168,6 +179,56 @@ public class BatchLSEstimator {
         lsBuilder.maxEvaluations(maxEvaluations);
     }
 
+    /** Enable or disable parallel evaluation of measurements.
+     * <p>
+     * When enabled, each model evaluation still performs one single propagation,
+     * but measurements estimation and Jacobian assembly are performed after
+     * propagation, in parallel, using the common fork-join pool. Results are
+     * the same as with sequential evaluation, regardless of the number of
+     * threads. This is mainly interesting for large sets of measurements,
+     * where these computations dominate the propagation cost.
+     * </p>
+     * <p>
+     * Measurements and their modifiers must support concurrent calls to
+     * {@link ObservedMeasurement#estimate(int, int, org.orekit.propagation.SpacecraftState)
+     * estimate}, which is the case for all the measurements provided by the library.
+     * Parallel evaluation is disabled by default.
+     * </p>
+     * @param parallelEvaluation if true, measurements are evaluated in parallel
+     * @since 9.0
+     */
+    public void setParallelEvaluation(final boolean parallelEvaluation) {
+        this.parallelEvaluation = parallelEvaluation;
+    }
+
+    /** Set the threshold for reusing the last propagation.
+     * <p>
+     * By default, each model evaluation performs a full propagation of the orbit
+     * and its Jacobians. When the correction with respect to the parameters used
+     * for the last full propagation is small, it is possible to skip propagation
+     * and instead linearly update the states at measurements dates using the state
+     * transition and parameters Jacobians recorded during the last propagation.
+     * This saves propagations in the last iterations, when the estimated parameters
+     * change only slightly.
+     * </p>
+     * <p>
+     * The threshold is applied to the orbital and propagator parameters
+     * {@link ParameterDriver#getNormalizedValue() normalized values}, using
+     * the same convention as {@link #setParametersConvergenceThreshold(double)},
+     * and should therefore be set to a value larger than the convergence
+     * threshold. Linearized evaluations are valid only as long as the corrections
+     * remain in the linear domain, so the threshold should not be too large.
+     * A value of 0 (the default) disables propagation reuse.
+     * </p>
+     * @param propagationReuseThreshold threshold on normalized parameters below
+     * which last propagation is reused
+     * @see #getPropagationsCount()
+     * @since 9.0
+     */
+    public void setPropagationReuseThreshold(final double propagationReuseThreshold) {
+        this.propagationReuseThreshold = propagationReuseThreshold;
+    }
+
     /** Get the orbital parameters supported by this estimator.
      * @param estimatedOnly if true, only estimated parameters are returned
      * @return orbital parameters supported by this estimator
@@ -337,6 +398,8 @@ public class BatchLSEstimator {
         };
         final Model model = new Model(propagatorBuilder, measurements, estimatedMeasurementsParameters,
                                       modelObserver);
+        model.setParallelEvaluation(parallelEvaluation);
+        model.setReuseThreshold(propagationReuseThreshold);
         lsBuilder.model(model);
 
         // add a validator for orbital parameters
@@ -374,6 +437,8 @@ public class BatchLSEstimator {
             throw new OrekitException(mrte);
         } catch (OrekitExceptionWrapper oew) {
             throw oew.getException();
+        } finally {
+            propagationsCount = model.getPropagationsCount();
         }
 
     }
@@ -408,6 +473,18 @@ public class BatchLSEstimator {
         return evaluationsCounter.getCount();
     }
 
+    /** Get the number of full propagations used for last estimation.
+     * <p>
+     * This number is lower than the {@link #getEvaluationsCount() number of evaluations}
+     * when {@link #setPropagationReuseThreshold(double) propagation reuse} is enabled.
+     * </p>
+     * @return number of full propagations used for last estimation
+     * @since 9.0
+     */
+    public int getPropagationsCount() {
+        return propagationsCount;
+    }
+
     /** Wrapper used to tap the various counters. */
     private class TappedLSProblem implements LeastSquaresProblem {
 
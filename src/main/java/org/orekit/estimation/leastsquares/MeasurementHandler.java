@@ -86,13 +86,18 @@ class MeasurementHandler implements OrekitStepHandler {
             final ObservedMeasurement<?> observed = next.getMeasurement();
 
             // estimate the theoretical measurement
-            final SpacecraftState         state     = interpolator.getInterpolatedState(next.getDate());
-            final EstimatedMeasurement<?> estimated = observed.estimate(model.getIterationsCount(),
-                                                                        model.getEvaluationsCount(),
-                                                                        state);
-
-            // fetch the evaluated measurement to the estimator
-            model.fetchEvaluatedMeasurement(index, estimated);
+            final SpacecraftState state = interpolator.getInterpolatedState(next.getDate());
+            if (model.isDeferredEvaluation()) {
+                // the measurement will be evaluated once propagation is over
+                model.deferMeasurement(index, observed, state);
+            } else {
+                final EstimatedMeasurement<?> estimated = observed.estimate(model.getIterationsCount(),
+                                                                            model.getEvaluationsCount(),
+                                                                            state);
+
+                // fetch the evaluated measurement to the estimator
+                model.fetchEvaluatedMeasurement(index, estimated);
+            }
 
             // prepare handling of next measurement
             ++number;
@@ -21,6 +21,7 @@ import java.util.HashMap;
 import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.IntStream;
 
 import org.hipparchus.linear.Array2DRowRealMatrix;
 import org.hipparchus.linear.ArrayRealVector;
@@ -28,6 +29,7 @@ import org.hipparchus.linear.MatrixUtils;
 import org.hipparchus.linear.RealMatrix;
 import org.hipparchus.linear.RealVector;
 import org.hipparchus.optim.nonlinear.vector.leastsquares.MultivariateJacobianFunction;
+import org.hipparchus.util.FastMath;
 import org.hipparchus.util.Incrementor;
 import org.hipparchus.util.Pair;
 import org.orekit.errors.OrekitException;
@@ -35,6 +37,8 @@ import org.orekit.errors.OrekitExceptionWrapper;
 import org.orekit.estimation.measurements.EstimatedMeasurement;
 import org.orekit.estimation.measurements.ObservedMeasurement;
 import org.orekit.orbits.Orbit;
+import org.orekit.orbits.OrbitType;
+import org.orekit.orbits.PositionAngle;
 import org.orekit.propagation.Propagator;
 import org.orekit.propagation.SpacecraftState;
 import org.orekit.propagation.conversion.NumericalPropagatorBuilder;
@@ -99,6 +103,21 @@ class Model implements MultivariateJacobianFunction {
     /** Model function Jacobian. */
     private RealMatrix jacobian;
 
+    /** Indicator for parallel evaluation of measurements. */
+    private boolean parallelEvaluation;
+
+    /** Measurements whose evaluation has been deferred after propagation. */
+    private final List<DeferredMeasurement> deferred;
+
+    /** Threshold for reusing last propagation (normalized parameters). */
+    private double reuseThreshold;
+
+    /** Evaluation point used for the last propagation. */
+    private RealVector propagationPoint;
+
+    /** Counter for the full propagations. */
+    private int propagationsCount;
+
     /** Simple constructor.
      * @param propagatorBuilder builder to user for propagation
      * @param measurements measurements
@@ -117,6 +136,11 @@ class Model implements MultivariateJacobianFunction {
         this.parameterColumns                = new HashMap<String, Integer>(estimatedMeasurementsParameters.getDrivers().size());
         this.evaluations                     = new IdentityHashMap<ObservedMeasurement<?>, EstimatedMeasurement<?>>(measurements.size());
         this.observer                        = observer;
+        this.parallelEvaluation              = false;
+        this.deferred                        = new ArrayList<DeferredMeasurement>();
+        this.reuseThreshold                  = 0.0;
+        this.propagationPoint                = null;
+        this.propagationsCount               = 0;
 
         // allocate vector and matrix
         int rows = 0;
@@ -164,6 +188,62 @@ class Model implements MultivariateJacobianFunction {
         this.iterationsCounter = iterationsCounter;
     }
 
+    /** Set the parallel evaluation of measurements.
+     * <p>
+     * When parallel evaluation is enabled, propagation only records the interpolated
+     * states at measurements dates. Once propagation is over, the measurements are
+     * estimated and the corresponding rows of the weighted residuals vector and of
+     * the Jacobian matrix are filled in parallel, in chunks of chronologically
+     * sorted measurements. As each measurement only writes its own rows, the
+     * results do not depend on the number of threads used.
+     * </p>
+     * <p>
+     * Parallel evaluation requires that measurements and their modifiers support
+     * concurrent calls to {@link ObservedMeasurement#estimate(int, int, SpacecraftState)},
+     * which is the case for all the measurements provided by the library.
+     * </p>
+     * @param parallelEvaluation if true, measurements are evaluated in parallel
+     * @since 9.0
+     */
+    void setParallelEvaluation(final boolean parallelEvaluation) {
+        this.parallelEvaluation = parallelEvaluation;
+    }
+
+    /** Set the threshold for reusing the last propagation.
+     * <p>
+     * When the orbital and propagator parameters of an evaluation point differ
+     * from the ones of the point used for the last full propagation by less than
+     * this threshold (using normalized parameters and L<sub>∞</sub> distance),
+     * the propagation is not performed again. The states at measurements dates
+     * are instead linearly updated from the recorded states, using the state
+     * transition and parameters Jacobians computed by the last propagation.
+     * </p>
+     * @param reuseThreshold threshold on normalized parameters below which
+     * last propagation is reused, 0 (the default) disables reuse
+     * @since 9.0
+     */
+    void setReuseThreshold(final double reuseThreshold) {
+        this.reuseThreshold = reuseThreshold;
+    }
+
+    /** Check if measurements evaluation is deferred after propagation.
+     * @return true if measurements evaluation is deferred after propagation
+     * @see #setParallelEvaluation(boolean)
+     * @see #setReuseThreshold(double)
+     * @since 9.0
+     */
+    boolean isDeferredEvaluation() {
+        return parallelEvaluation || reuseThreshold > 0;
+    }
+
+    /** Get the number of full propagations performed.
+     * @return number of full propagations performed
+     * @since 9.0
+     */
+    int getPropagationsCount() {
+        return propagationsCount;
+    }
+
     /** {@inheritDoc} */
     @Override
     public Pair<RealVector, RealMatrix> value(final RealVector point)
@@ -172,12 +252,10 @@ class Model implements MultivariateJacobianFunction {
 
             // set up the propagator
             final NumericalPropagator propagator = createPropagator(point);
-            configureDerivatives(propagator);
-            configureMeasurements(propagator, point);
             final Orbit orbit = propagator.getInitialState().getOrbit();
+            configureMeasurementsParameters(point);
 
             // reset value and Jacobian
-            evaluations.clear();
             value.set(0.0);
             for (int i = 0; i < jacobian.getRowDimension(); ++i) {
                 for (int j = 0; j < jacobian.getColumnDimension(); ++j) {
@@ -185,8 +263,26 @@ class Model implements MultivariateJacobianFunction {
                 }
             }
 
-            // run the propagation, gathering residuals on the fly
-            propagator.propagate(firstDate.shiftedBy(-1.0), lastDate.shiftedBy(+1.0));
+            if (canReusePropagation(point)) {
+                // linearly update the states recorded during last propagation
+                evaluations.clear();
+                evaluateDeferredMeasurements(point);
+            } else {
+
+                configureDerivatives(propagator);
+                configureMeasurements(propagator);
+                evaluations.clear();
+                deferred.clear();
+
+                // run the propagation, gathering residuals on the fly
+                propagator.propagate(firstDate.shiftedBy(-1.0), lastDate.shiftedBy(+1.0));
+                ++propagationsCount;
+                propagationPoint = point.copy();
+                if (isDeferredEvaluation()) {
+                    evaluateDeferredMeasurements(propagationPoint);
+                }
+
+            }
 
             observer.modelCalled(orbit, evaluations);
 
@@ -232,19 +328,22 @@ class Model implements MultivariateJacobianFunction {
 
     }
 
-    /** Configure the propagator to handle measurements.
-     * @param propagator {@link Propagator} to configure
+    /** Configure the measurements parameters.
      * @param point evaluation point
      * @exception OrekitException if measurements parameters cannot be set with the current point
      */
-    private void configureMeasurements(final Propagator propagator, final RealVector point)
+    private void configureMeasurementsParameters(final RealVector point)
         throws OrekitException {
-
-        // set up the measurement parameters
         int index = estimatedOrbitalParameters + estimatedPropagatorParameters.getNbParams();
         for (final ParameterDriver parameter : estimatedMeasurementsParameters.getDrivers()) {
             parameter.setNormalizedValue(point.getEntry(index++));
         }
+    }
+
+    /** Configure the propagator to handle measurements.
+     * @param propagator {@link Propagator} to configure
+     */
+    private void configureMeasurements(final Propagator propagator) {
 
         // set up measurements handler
         final List<PreCompensation> precompensated = new ArrayList<>();
@@ -280,6 +379,141 @@ class Model implements MultivariateJacobianFunction {
 
     }
 
+    /** Defer evaluation of a measurement until the end of propagation.
+     * @param index index of the measurement first component
+     * @param measurement observed measurement
+     * @param state interpolated state at measurement date
+     * @see #setParallelEvaluation(boolean)
+     * @since 9.0
+     */
+    void deferMeasurement(final int index, final ObservedMeasurement<?> measurement,
+                          final SpacecraftState state) {
+        deferred.add(new DeferredMeasurement(index, measurement, state));
+    }
+
+    /** Check if last propagation can be reused for an evaluation point.
+     * @param point evaluation point
+     * @return true if last propagation can be reused
+     */
+    private boolean canReusePropagation(final RealVector point) {
+        if (reuseThreshold <= 0 || propagationPoint == null) {
+            return false;
+        }
+        final int dimension = estimatedOrbitalParameters + estimatedPropagatorParameters.getNbParams();
+        for (int i = 0; i < dimension; ++i) {
+            if (FastMath.abs(point.getEntry(i) - propagationPoint.getEntry(i)) > reuseThreshold) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** Evaluate all measurements deferred during propagation.
+     * <p>
+     * If the evaluation point is not the one used for propagation, the recorded
+     * states are linearly updated before measurements are evaluated.
+     * </p>
+     * @param point evaluation point
+     * @exception OrekitExceptionWrapper if some measurement cannot be evaluated
+     */
+    private void evaluateDeferredMeasurements(final RealVector point) throws OrekitExceptionWrapper {
+
+        // changes in physical orbital and propagator parameters with respect to propagation
+        final double[] deltaY0 = new double[6];
+        final double[] deltaP  = new double[estimatedPropagatorParameters.getNbParams()];
+        boolean linearized = false;
+        int index = 0;
+        for (int j = 0; j < deltaY0.length; ++j) {
+            final ParameterDriver driver = propagatorBuilder.getOrbitalParametersDrivers().getDrivers().get(j);
+            if (driver.isSelected()) {
+                final double delta = point.getEntry(index) - propagationPoint.getEntry(index);
+                deltaY0[j] = delta * driver.getScale();
+                linearized = linearized || delta != 0;
+                ++index;
+            }
+        }
+        for (int j = 0; j < deltaP.length; ++j) {
+            final double delta = point.getEntry(index) - propagationPoint.getEntry(index);
+            deltaP[j] = delta * estimatedPropagatorParameters.getDrivers().get(j).getScale();
+            linearized = linearized || delta != 0;
+            ++index;
+        }
+        final boolean update = linearized;
+
+        final int iterationsNumber  = getIterationsCount();
+        final int evaluationsNumber = getEvaluationsCount();
+        final EstimatedMeasurement<?>[] estimated = new EstimatedMeasurement<?>[deferred.size()];
+
+        // each task writes only its own rows in value and Jacobian
+        IntStream indices = IntStream.range(0, deferred.size());
+        if (parallelEvaluation) {
+            indices = indices.parallel();
+        }
+        indices.forEach(k -> {
+            try {
+                final DeferredMeasurement d = deferred.get(k);
+                final SpacecraftState state = update ? linearUpdate(d.state, deltaY0, deltaP) : d.state;
+                estimated[k] = d.measurement.estimate(iterationsNumber, evaluationsNumber, state);
+                fillRows(d.index, estimated[k]);
+            } catch (OrekitException oe) {
+                throw new OrekitExceptionWrapper(oe);
+            }
+        });
+
+        // register evaluations sequentially, as the map is not thread-safe
+        for (final EstimatedMeasurement<?> evaluation : estimated) {
+            evaluations.put(evaluation.getObservedMeasurement(), evaluation);
+        }
+        if (reuseThreshold <= 0) {
+            // the states will not be reused
+            deferred.clear();
+        }
+
+    }
+
+    /** Linearly update a state recorded during propagation.
+     * <p>
+     * The Jacobians stored in the additional states are not updated,
+     * they remain the ones computed during propagation.
+     * </p>
+     * @param state state recorded during propagation
+     * @param deltaY0 change in initial orbital parameters
+     * @param deltaP change in estimated propagator parameters
+     * @return updated state
+     * @exception OrekitException if Jacobians cannot be retrieved
+     */
+    private SpacecraftState linearUpdate(final SpacecraftState state,
+                                         final double[] deltaY0, final double[] deltaP)
+        throws OrekitException {
+
+        final OrbitType     orbitType     = propagatorBuilder.getOrbitType();
+        final PositionAngle positionAngle = propagatorBuilder.getPositionAngle();
+        final double[] y = new double[6];
+        orbitType.mapOrbitToArray(state.getOrbit(), positionAngle, y);
+
+        // dY = dY/dY0 ΔY0 + dY/dP ΔP
+        final double[][] dYdY0 = new double[6][6];
+        mapper.getStateJacobian(state, dYdY0);
+        final double[][] dYdP = new double[6][deltaP.length];
+        if (deltaP.length > 0) {
+            mapper.getParametersJacobian(state, dYdP);
+        }
+        for (int i = 0; i < y.length; ++i) {
+            for (int j = 0; j < deltaY0.length; ++j) {
+                y[i] += dYdY0[i][j] * deltaY0[j];
+            }
+            for (int j = 0; j < deltaP.length; ++j) {
+                y[i] += dYdP[i][j] * deltaP[j];
+            }
+        }
+
+        final Orbit orbit = orbitType.mapArrayToOrbit(y, positionAngle, state.getDate(),
+                                                      state.getMu(), state.getFrame());
+        return new SpacecraftState(orbit, state.getAttitude(), state.getMass(),
+                                   state.getAdditionalStates());
+
+    }
+
     /** Fetch a measurement that was evaluated during propagation.
      * @param index index of the measurement first component
      * @param evaluation measurement evaluation
@@ -287,9 +521,24 @@ class Model implements MultivariateJacobianFunction {
      */
     void fetchEvaluatedMeasurement(final int index, final EstimatedMeasurement<?> evaluation)
         throws OrekitException {
+        evaluations.put(evaluation.getObservedMeasurement(), evaluation);
+        fillRows(index, evaluation);
+    }
+
+    /** Fill the weighted residuals and Jacobian rows corresponding to one measurement.
+     * <p>
+     * This method only reads shared data and only writes the rows
+     * corresponding to the measurement, so it can be called concurrently
+     * for different measurements.
+     * </p>
+     * @param index index of the measurement first component
+     * @param evaluation measurement evaluation
+     * @exception OrekitException if Jacobians cannot be computed
+     */
+    private void fillRows(final int index, final EstimatedMeasurement<?> evaluation)
+        throws OrekitException {
 
         // compute weighted residuals
-        evaluations.put(evaluation.getObservedMeasurement(), evaluation);
         final double[] evaluated = evaluation.getEstimatedValue();
         final double[] observed  = evaluation.getObservedMeasurement().getObservedValue();
         final double[] sigma     = evaluation.getObservedMeasurement().getTheoreticalStandardDeviation();
@@ -354,4 +603,30 @@ class Model implements MultivariateJacobianFunction {
 
     }
 
+    /** Container for a measurement whose evaluation is deferred. */
+    private static class DeferredMeasurement {
+
+        /** Index of the measurement first component. */
+        private final int index;
+
+        /** Observed measurement. */
+        private final ObservedMeasurement<?> measurement;
+
+        /** Interpolated state at measurement date. */
+        private final SpacecraftState state;
+
+        /** Simple constructor.
+         * @param index index of the measurement first component
+         * @param measurement observed measurement
+         * @param state interpolated state at measurement date
+         */
+        DeferredMeasurement(final int index, final ObservedMeasurement<?> measurement,
+                            final SpacecraftState state) {
+            this.index       = index;
+            this.measurement = measurement;
+            this.state       = state;
+        }
+
+    }
+
 }
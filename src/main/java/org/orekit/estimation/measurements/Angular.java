@@ -19,32 +19,49 @@ package org.orekit.estimation.measurements;
 import org.hipparchus.analysis.differentiation.DSFactory;
 import org.hipparchus.analysis.differentiation.DerivativeStructure;
 import org.hipparchus.geometry.euclidean.threed.FieldVector3D;
+import org.hipparchus.geometry.euclidean.threed.Rotation;
 import org.hipparchus.geometry.euclidean.threed.Vector3D;
+import org.hipparchus.util.FastMath;
 import org.hipparchus.util.MathUtils;
 import org.orekit.errors.OrekitException;
 import org.orekit.estimation.measurements.GroundStation.OffsetDerivatives;
-import org.orekit.frames.Frame;
 import org.orekit.frames.Transform;
 import org.orekit.propagation.SpacecraftState;
 import org.orekit.time.AbsoluteDate;
 import org.orekit.utils.AngularCoordinates;
+import org.orekit.utils.ParameterDriver;
 
 /** Class modeling an Azimuth-Elevation measurement from a ground station.
  * The motion of the spacecraft during the signal flight time is taken into
  * account. The date of the measurement corresponds to the reception on
  * ground of the reflected signal.
+ * <p>
+ * Partial derivatives are computed by default using {@link DerivativeStructure
+ * derivative structures}. An {@link #setAnalyticalDerivatives(boolean) analytical}
+ * evaluation, which gives the same values and derivatives but allocates far less
+ * temporary objects, can be selected to reduce memory pressure in large orbit
+ * determination problems.
+ * </p>
  *
  * @author Thierry Ceolin
  * @since 8.0
  */
 public class Angular extends AbstractMeasurement<Angular> {
 
+    /** Derivation orders for East, North and Zenith station offsets. */
+    private static final int[][] OFFSETS_ORDERS = new int[][] {
+        { 0, 0, 0, 1, 0, 0 }, { 0, 0, 0, 0, 1, 0 }, { 0, 0, 0, 0, 0, 1 }
+    };
+
     /** Ground station from which measurement is performed. */
     private final GroundStation station;
 
     /** Factory for the DerivativeStructure instances. */
     private final DSFactory factory;
 
+    /** Indicator for analytical derivatives evaluation. */
+    private boolean analyticalDerivatives;
+
     /** Simple constructor.
      * @param station ground station from which measurement is performed
      * @param date date of the measurement
@@ -63,6 +80,7 @@ public class Angular extends AbstractMeasurement<Angular> {
               station.getZenithOffsetDriver());
         this.station = station;
         this.factory = new DSFactory(6, 1);
+        this.analyticalDerivatives = false;
     }
 
     /** Get the ground station from which measurement is performed.
@@ -72,25 +90,46 @@ public class Angular extends AbstractMeasurement<Angular> {
         return station;
     }
 
+    /** Select the evaluation method for partial derivatives.
+     * @param analyticalDerivatives if true, partial derivatives are computed
+     * using hand-coded analytical expressions, otherwise they are computed
+     * using derivative structures
+     * @since 9.0
+     */
+    public void setAnalyticalDerivatives(final boolean analyticalDerivatives) {
+        this.analyticalDerivatives = analyticalDerivatives;
+    }
+
+    /** Check if partial derivatives are computed using analytical expressions.
+     * @return true if partial derivatives are computed using hand-coded
+     * analytical expressions, false if they are computed using derivative
+     * structures
+     * @since 9.0
+     */
+    public boolean isAnalyticalDerivatives() {
+        return analyticalDerivatives;
+    }
+
     /** {@inheritDoc} */
     @Override
     protected EstimatedMeasurement<Angular> theoreticalEvaluation(final int iteration, final int evaluation,
                                                                   final SpacecraftState state)
         throws OrekitException {
 
+        if (analyticalDerivatives) {
+            return analyticalEvaluation(iteration, evaluation, state);
+        }
+
         // take propagation time into account
-        // (if state has already been set up to pre-compensate propagation delay,
-        //  we will have offset == downlinkDelay and transitState will be
-        //  the same as state)
-        final Vector3D        stationP     = station.getOffsetFrame().getPVCoordinates(getDate(), state.getFrame()).getPosition();
-        final double          tauD         = station.signalTimeOfFlight(state.getPVCoordinates(), stationP, getDate());
-        final double          delta        = getDate().durationFrom(state.getDate());
-        final double          dt           = delta - tauD;
-        final SpacecraftState transitState = state.shiftedBy(dt);
+        // (the downlink geometry is shared with other measurements from the same station at the same date)
+        final GroundStation.Downlink downlink     = station.getDownlink(state, getDate());
+        final double                 tauD         = downlink.getDelay();
+        final double                 delta        = getDate().durationFrom(state.getDate());
+        final double                 dt           = delta - tauD;
+        final SpacecraftState        transitState = downlink.getTransitState();
 
         // transformation from inertial frame to station parent frame
-        final Frame     bodyFrame = station.getOffsetFrame().getParentShape().getBodyFrame();
-        final Transform iner2Body = state.getFrame().getTransformTo(bodyFrame, getDate());
+        final Transform iner2Body = downlink.getBodyToInertial().getInverse();
 
         // station topocentric frame (east-north-zenith) in station parent frame expressed as DerivativeStructures
         final OffsetDerivatives od = station.getOffsetDerivatives(factory, 3, 4, 5);
@@ -190,4 +229,107 @@ public class Angular extends AbstractMeasurement<Angular> {
         return estimated;
     }
 
+    /** Evaluate measurement and its partial derivatives using analytical expressions.
+     * <p>
+     * The station offset frame vectors derivatives are read from the
+     * {@link GroundStation#getOffsetDerivatives(DSFactory, int, int, int) cached}
+     * station values, no derivative structures are created.
+     * </p>
+     * @param iteration iteration number
+     * @param evaluation evaluations counter
+     * @param state orbital state at measurement date
+     * @return estimated measurement
+     * @exception OrekitException if value cannot be computed
+     */
+    private EstimatedMeasurement<Angular> analyticalEvaluation(final int iteration, final int evaluation,
+                                                               final SpacecraftState state)
+        throws OrekitException {
+
+        // take propagation time into account
+        final GroundStation.Downlink downlink     = station.getDownlink(state, getDate());
+        final double                 dt           = getDate().durationFrom(state.getDate()) - downlink.getDelay();
+        final SpacecraftState        transitState = downlink.getTransitState();
+
+        // station topocentric frame (east-north-zenith) and origin in station parent frame
+        final OffsetDerivatives od     = station.getOffsetDerivatives(factory, 3, 4, 5);
+        final Vector3D          east   = od.getEast().toVector3D();
+        final Vector3D          north  = od.getNorth().toVector3D();
+        final Vector3D          zenith = od.getZenith().toVector3D();
+        final Vector3D          qP     = od.getOrigin().toVector3D();
+
+        // station-satellite vector expressed in station parent frame
+        final Transform iner2Body = downlink.getBodyToInertial().getInverse();
+        final Vector3D  transitp  = iner2Body.transformPosition(transitState.getPVCoordinates().getPosition());
+        final Vector3D  staSat    = transitp.subtract(qP);
+
+        // topocentric coordinates
+        final double sE    = Vector3D.dotProduct(staSat, east);
+        final double sN    = Vector3D.dotProduct(staSat, north);
+        final double sZ    = Vector3D.dotProduct(staSat, zenith);
+        final double h2    = sE * sE + sN * sN;
+        final double r2    = staSat.getNormSq();
+        final double r     = FastMath.sqrt(r2);
+        final double sinEl = sZ / r;
+        final double cosEl = FastMath.sqrt(1 - sinEl * sinEl);
+
+        // prepare the estimation
+        final EstimatedMeasurement<Angular> estimated =
+                        new EstimatedMeasurement<>(this, iteration, evaluation, transitState);
+
+        // azimuth - elevation values
+        final double baseAzimuth = FastMath.atan2(sE, sN);
+        final double twoPiWrap   = MathUtils.normalizeAngle(baseAzimuth, getObservedValue()[0]) - baseAzimuth;
+        estimated.setEstimatedValue(baseAzimuth + twoPiWrap, FastMath.asin(sinEl));
+
+        // partial derivatives with respect to satellite position, first in station parent frame
+        // then in satellite inertial frame
+        final Rotation rotation = iner2Body.getInverse().getAngular().getRotation();
+        final Vector3D dAzOndP  = rotation.applyTo(new Vector3D(sN / h2, east, -sE / h2, north));
+        final Vector3D dElOndP  = rotation.applyTo(new Vector3D(1.0 / (r * cosEl), zenith,
+                                                                -sZ / (r2 * r * cosEl), staSat));
+        estimated.setStateDerivatives(new double[] {
+                                          dAzOndP.getX(), dAzOndP.getY(), dAzOndP.getZ(),
+                                          dAzOndP.getX() * dt, dAzOndP.getY() * dt, dAzOndP.getZ() * dt
+                                      }, new double[] {
+                                          dElOndP.getX(), dElOndP.getY(), dElOndP.getZ(),
+                                          dElOndP.getX() * dt, dElOndP.getY() * dt, dElOndP.getZ() * dt
+                                      });
+
+        // partial derivatives with respect to station offsets, which move both
+        // the station origin and the topocentric frame axes
+        final ParameterDriver[] drivers = new ParameterDriver[] {
+            station.getEastOffsetDriver(), station.getNorthOffsetDriver(), station.getZenithOffsetDriver()
+        };
+        for (int k = 0; k < drivers.length; ++k) {
+            if (drivers[k].isSelected()) {
+                final int[]    orders = OFFSETS_ORDERS[k];
+                final Vector3D dS     = partialDerivatives(od.getOrigin(), orders).negate();
+                final double   dE     = Vector3D.dotProduct(dS, east) +
+                                        Vector3D.dotProduct(staSat, partialDerivatives(od.getEast(), orders));
+                final double   dN     = Vector3D.dotProduct(dS, north) +
+                                        Vector3D.dotProduct(staSat, partialDerivatives(od.getNorth(), orders));
+                final double   dZ     = Vector3D.dotProduct(dS, zenith) +
+                                        Vector3D.dotProduct(staSat, partialDerivatives(od.getZenith(), orders));
+                final double   dR     = Vector3D.dotProduct(staSat, dS) / r;
+                estimated.setParameterDerivatives(drivers[k],
+                                                  (sN * dE - sE * dN) / h2,
+                                                  (dZ / r - sZ * dR / r2) / cosEl);
+            }
+        }
+
+        return estimated;
+
+    }
+
+    /** Extract partial derivatives of a vector.
+     * @param v vector with derivatives
+     * @param orders derivation orders
+     * @return partial derivatives of the vector coordinates
+     */
+    private static Vector3D partialDerivatives(final FieldVector3D<DerivativeStructure> v, final int[] orders) {
+        return new Vector3D(v.getX().getPartialDerivative(orders),
+                            v.getY().getPartialDerivative(orders),
+                            v.getZ().getPartialDerivative(orders));
+    }
+
 }
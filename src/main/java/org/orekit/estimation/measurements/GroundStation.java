@@ -16,11 +16,16 @@
  */
 package org.orekit.estimation.measurements;
 
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 import org.hipparchus.Field;
 import org.hipparchus.RealFieldElement;
 import org.hipparchus.analysis.differentiation.DSFactory;
 import org.hipparchus.analysis.differentiation.DerivativeStructure;
 import org.hipparchus.geometry.euclidean.threed.FieldVector3D;
+import org.hipparchus.geometry.euclidean.threed.Rotation;
 import org.hipparchus.geometry.euclidean.threed.Vector3D;
 import org.hipparchus.geometry.euclidean.twod.Vector2D;
 import org.hipparchus.util.FastMath;
@@ -30,15 +35,18 @@ import org.orekit.bodies.Ellipse;
 import org.orekit.bodies.GeodeticPoint;
 import org.orekit.bodies.OneAxisEllipsoid;
 import org.orekit.errors.OrekitException;
+import org.orekit.errors.OrekitExceptionWrapper;
 import org.orekit.errors.OrekitMessages;
 import org.orekit.frames.Frame;
 import org.orekit.frames.TopocentricFrame;
 import org.orekit.frames.Transform;
+import org.orekit.propagation.SpacecraftState;
 import org.orekit.time.AbsoluteDate;
 import org.orekit.time.FieldAbsoluteDate;
 import org.orekit.utils.Constants;
 import org.orekit.utils.ParameterDriver;
 import org.orekit.utils.ParameterObserver;
+import org.orekit.utils.TimeStampedAngularCoordinates;
 import org.orekit.utils.TimeStampedFieldPVCoordinates;
 import org.orekit.utils.TimeStampedPVCoordinates;
 
@@ -47,6 +55,12 @@ import org.orekit.utils.TimeStampedPVCoordinates;
  * This class adds a position offset parameter to a base {@link TopocentricFrame
  * topocentric frame}.
  * </p>
+ * <p>
+ * The geometry derived from the station position is cached, so it can be shared
+ * by all measurements using the station. The caches can be used concurrently by
+ * several threads evaluating measurements in parallel, but station offsets must
+ * not be changed while measurements are being evaluated.
+ * </p>
  * @author Luc Maisonobe
  * @since 8.0
  */
@@ -76,7 +90,13 @@ public class GroundStation {
     private final ParameterDriver zenithOffsetDriver;
 
     /** Offset frame associated with the station, taking offset parameter into account. */
-    private TopocentricFrame offsetFrame;
+    private volatile TopocentricFrame offsetFrame;
+
+    /** Last downlink geometry computed by each thread, shared by all measurements using this station. */
+    private final ThreadLocal<Downlink> lastDownlink;
+
+    /** Offset frame defining vectors with derivatives, indexed by offset frame and derivatives layout. */
+    private final Map<OffsetKey, OffsetDerivatives> offsetDerivatives;
 
     /** Simple constructor.
      * @param baseFrame base frame associated with the station
@@ -85,13 +105,18 @@ public class GroundStation {
     public GroundStation(final TopocentricFrame baseFrame)
         throws OrekitException {
 
-        this.baseFrame = baseFrame;
+        this.baseFrame         = baseFrame;
+        this.lastDownlink      = new ThreadLocal<Downlink>();
+        this.offsetDerivatives = new ConcurrentHashMap<OffsetKey, OffsetDerivatives>();
 
         final ParameterObserver resettingObserver = new ParameterObserver() {
             /** {@inheritDoc} */
             @Override
             public void valueChanged(final double previousValue, final ParameterDriver driver) {
                 offsetFrame = null;
+                offsetDerivatives.clear();
+                // transforms involving the station frame may have been cached
+                Frame.clearTransformCache();
             }
         };
 
@@ -151,7 +176,8 @@ public class GroundStation {
      * @exception OrekitException if offset frame cannot be computed for current offset values
      */
     public TopocentricFrame getOffsetFrame() throws OrekitException {
-        if (offsetFrame == null) {
+        TopocentricFrame frame = offsetFrame;
+        if (frame == null) {
             // lazy evaluation of offset frame, in body frame
             final BodyShape bodyShape    = baseFrame.getParentShape();
             final Frame     bodyFrame    = bodyShape.getBodyFrame();
@@ -163,11 +189,12 @@ public class GroundStation {
             final GeodeticPoint originGP = bodyShape.transform(origin, bodyFrame, null);
 
             // create a new topocentric frame at parameterized origin
-            offsetFrame = new TopocentricFrame(bodyShape, originGP,
-                                               baseFrame.getName() + OFFSET_SUFFIX);
+            frame = new TopocentricFrame(bodyShape, originGP,
+                                         baseFrame.getName() + OFFSET_SUFFIX);
+            offsetFrame = frame;
 
         }
-        return offsetFrame;
+        return frame;
     }
 
     /** Compute propagation delay on a link leg (either downlink or uplink).
@@ -202,6 +229,59 @@ public class GroundStation {
 
     }
 
+    /** Get the downlink leg geometry for a signal received by the station.
+     * <p>
+     * The last computed geometry is cached and reused as long as the signal arrival
+     * date and the spacecraft state do not change. This avoids recomputing frames
+     * transforms and light time when several measurements of different types share
+     * the same station and the same time stamp, as in tracking passes providing range,
+     * range-rate and angles together. The cache is reset when station offsets change.
+     * </p>
+     * <p>
+     * One geometry is cached for each thread. When measurements are evaluated in
+     * parallel, the cache is therefore hit only when measurements sharing the same
+     * time stamp happen to be evaluated successively by the same thread.
+     * </p>
+     * @param state spacecraft state, which may already be compensated for light time or not
+     * @param arrivalDate date at which the signal arrives to the station
+     * @return downlink leg geometry
+     * @exception OrekitException if some frame transforms cannot be computed
+     * @since 9.0
+     */
+    public Downlink getDownlink(final SpacecraftState state, final AbsoluteDate arrivalDate)
+        throws OrekitException {
+
+        final TopocentricFrame frame  = getOffsetFrame();
+        final Downlink         cached = lastDownlink.get();
+        if (cached != null && cached.frame == frame && cached.matches(state, arrivalDate)) {
+            return cached;
+        }
+
+        // station position in inertial frame at signal arrival
+        final Frame     bodyFrame      = frame.getParentShape().getBodyFrame();
+        final Vector3D  origin         = frame.getTransformTo(bodyFrame, (AbsoluteDate) null).
+                                         transformPosition(Vector3D.ZERO);
+        final Transform bodyToInertial = bodyFrame.getTransformTo(state.getFrame(), arrivalDate);
+        final TimeStampedPVCoordinates stationPV =
+                        bodyToInertial.transformPVCoordinates(new TimeStampedPVCoordinates(arrivalDate, origin,
+                                                                                           Vector3D.ZERO,
+                                                                                           Vector3D.ZERO));
+
+        // downlink delay and spacecraft state at signal emission
+        // (if state has already been set up to pre-compensate propagation delay,
+        //  we will have offset == delay and transitState will be the same as state)
+        final double          delay        = signalTimeOfFlight(state.getPVCoordinates(), stationPV.getPosition(),
+                                                                arrivalDate);
+        final double          offset       = arrivalDate.durationFrom(state.getDate());
+        final SpacecraftState transitState = state.shiftedBy(offset - delay);
+
+        final Downlink downlink = new Downlink(frame, state, arrivalDate, bodyToInertial,
+                                               stationPV, delay, transitState);
+        lastDownlink.set(downlink);
+        return downlink;
+
+    }
+
     /** Compute propagation delay on a link leg (either downlink or uplink).
      * @param adjustableEmitterPV position/velocity of emitter that may be adjusted
      * @param receiverPosition fixed position of receiver at {@code signalArrivalDate},
@@ -248,6 +328,9 @@ public class GroundStation {
      * So this method should not be used for stations less than 0.0001 degree from
      * either poles.
      * </p>
+     * <p>
+     * The vectors are cached for each derivatives layout until the station offsets change.
+     * </p>
      * @param factory factory for the derivatives
      * @param eastOffsetIndex index of the East offset in the set of
      * free parameters in derivatives computations
@@ -265,7 +348,46 @@ public class GroundStation {
                                                   final int zenithOffsetIndex)
         throws OrekitException {
 
+        // the vectors do not depend on date, they change only when offsets change
         final TopocentricFrame frame = getOffsetFrame();
+        final OffsetKey key = new OffsetKey(frame,
+                                            factory.getCompiler().getFreeParameters(),
+                                            factory.getCompiler().getOrder(),
+                                            eastOffsetIndex, northOffsetIndex, zenithOffsetIndex);
+        try {
+            return offsetDerivatives.computeIfAbsent(key, k -> {
+                try {
+                    return computeOffsetDerivatives(frame, factory,
+                                                    eastOffsetIndex, northOffsetIndex, zenithOffsetIndex);
+                } catch (OrekitException oe) {
+                    throw new OrekitExceptionWrapper(oe);
+                }
+            });
+        } catch (OrekitExceptionWrapper oew) {
+            throw oew.getException();
+        }
+
+    }
+
+    /** Compute the offset frame defining vectors with derivatives.
+     * @param frame offset frame
+     * @param factory factory for the derivatives
+     * @param eastOffsetIndex index of the East offset in the set of
+     * free parameters in derivatives computations
+     * @param northOffsetIndex index of the North offset in the set of
+     * free parameters in derivatives computations
+     * @param zenithOffsetIndex index of the Zenith offset in the set of
+     * free parameters in derivatives computations
+     * @return offset frame defining vectors with derivatives
+     * @exception OrekitException if some frame transforms cannot be computed
+     * or if the ground station is not defined on a {@link OneAxisEllipsoid ellipsoid}.
+     */
+    private OffsetDerivatives computeOffsetDerivatives(final TopocentricFrame frame,
+                                                       final DSFactory factory,
+                                                       final int eastOffsetIndex,
+                                                       final int northOffsetIndex,
+                                                       final int zenithOffsetIndex)
+        throws OrekitException {
 
         // offset frame origin
         final Transform offsetToBody = frame.getTransformTo(baseFrame.getParent(), (AbsoluteDate) null);
@@ -466,4 +588,227 @@ public class GroundStation {
 
     }
 
+    /** Container for downlink leg geometry.
+     * <p>
+     * This container holds the frames transforms, light time and spacecraft
+     * state at signal emission for one signal arrival date at the station.
+     * </p>
+     * @see GroundStation#getDownlink(SpacecraftState, AbsoluteDate)
+     * @since 9.0
+     */
+    public static class Downlink {
+
+        /** Offset frame used to compute the geometry. */
+        private final TopocentricFrame frame;
+
+        /** Spacecraft state used to compute the geometry. */
+        private final SpacecraftState state;
+
+        /** Signal arrival date. */
+        private final AbsoluteDate arrivalDate;
+
+        /** Transform from body frame to spacecraft state frame at signal arrival. */
+        private final Transform bodyToInertial;
+
+        /** Station position/velocity in spacecraft state frame at signal arrival. */
+        private final TimeStampedPVCoordinates stationPV;
+
+        /** Downlink delay. */
+        private final double delay;
+
+        /** Spacecraft state at signal emission. */
+        private final SpacecraftState transitState;
+
+        /** Simple constructor.
+         * @param frame offset frame used to compute the geometry
+         * @param state spacecraft state used to compute the geometry
+         * @param arrivalDate signal arrival date
+         * @param bodyToInertial transform from body frame to spacecraft state frame at signal arrival
+         * @param stationPV station position/velocity in spacecraft state frame at signal arrival
+         * @param delay downlink delay
+         * @param transitState spacecraft state at signal emission
+         */
+        private Downlink(final TopocentricFrame frame,
+                         final SpacecraftState state, final AbsoluteDate arrivalDate,
+                         final Transform bodyToInertial, final TimeStampedPVCoordinates stationPV,
+                         final double delay, final SpacecraftState transitState) {
+            this.frame          = frame;
+            this.state          = state;
+            this.arrivalDate    = arrivalDate;
+            this.bodyToInertial = bodyToInertial;
+            this.stationPV      = stationPV;
+            this.delay          = delay;
+            this.transitState   = transitState;
+        }
+
+        /** Get the signal arrival date.
+         * @return signal arrival date
+         */
+        public AbsoluteDate getArrivalDate() {
+            return arrivalDate;
+        }
+
+        /** Get the transform from body frame to spacecraft state frame at signal arrival.
+         * @return transform from body frame to spacecraft state frame at signal arrival
+         */
+        public Transform getBodyToInertial() {
+            return bodyToInertial;
+        }
+
+        /** Get the station position/velocity at signal arrival.
+         * @return station position/velocity in spacecraft state frame at signal arrival
+         */
+        public TimeStampedPVCoordinates getStationPV() {
+            return stationPV;
+        }
+
+        /** Get the downlink delay.
+         * @return <em>positive</em> delay between signal emission and signal reception dates
+         */
+        public double getDelay() {
+            return delay;
+        }
+
+        /** Get the spacecraft state at signal emission.
+         * @return spacecraft state at signal emission
+         */
+        public SpacecraftState getTransitState() {
+            return transitState;
+        }
+
+        /** Check if the geometry can be reused.
+         * @param other spacecraft state
+         * @param date signal arrival date
+         * @return true if the geometry was computed for the same state and arrival date
+         */
+        private boolean matches(final SpacecraftState other, final AbsoluteDate date) {
+
+            if (!arrivalDate.equals(date)) {
+                return false;
+            }
+            if (state == other) {
+                return true;
+            }
+
+            // states interpolated separately for each measurement are different
+            // instances, but they are equal if they come from the same propagation
+            if (state.getFrame() != other.getFrame() ||
+                state.getOrbit().getType() != other.getOrbit().getType() ||
+                state.getMu() != other.getMu() ||
+                state.getMass() != other.getMass() ||
+                !state.getDate().equals(other.getDate())) {
+                return false;
+            }
+            final TimeStampedPVCoordinates pv1 = state.getPVCoordinates();
+            final TimeStampedPVCoordinates pv2 = other.getPVCoordinates();
+            if (!(pv1.getPosition().equals(pv2.getPosition()) &&
+                  pv1.getVelocity().equals(pv2.getVelocity()) &&
+                  pv1.getAcceleration().equals(pv2.getAcceleration()))) {
+                return false;
+            }
+
+            final TimeStampedAngularCoordinates ac1 = state.getAttitude().getOrientation();
+            final TimeStampedAngularCoordinates ac2 = other.getAttitude().getOrientation();
+            final Rotation r1 = ac1.getRotation();
+            final Rotation r2 = ac2.getRotation();
+            if (r1.getQ0() != r2.getQ0() || r1.getQ1() != r2.getQ1() ||
+                r1.getQ2() != r2.getQ2() || r1.getQ3() != r2.getQ3() ||
+                !ac1.getRotationRate().equals(ac2.getRotationRate()) ||
+                !ac1.getRotationAcceleration().equals(ac2.getRotationAcceleration())) {
+                return false;
+            }
+
+            final Map<String, double[]> additional1 = state.getAdditionalStates();
+            final Map<String, double[]> additional2 = other.getAdditionalStates();
+            if (additional1.size() != additional2.size()) {
+                return false;
+            }
+            for (final Map.Entry<String, double[]> entry : additional1.entrySet()) {
+                if (!Arrays.equals(entry.getValue(), additional2.get(entry.getKey()))) {
+                    return false;
+                }
+            }
+
+            return true;
+
+        }
+
+    }
+
+    /** Key for offset derivatives cache.
+     * <p>
+     * This immutable key avoids boxing the derivatives layout in a generic list
+     * each time the cache is looked up.
+     * </p>
+     * @since 9.0
+     */
+    private static class OffsetKey {
+
+        /** Offset frame. */
+        private final TopocentricFrame frame;
+
+        /** Number of free parameters. */
+        private final int parameters;
+
+        /** Derivation order. */
+        private final int order;
+
+        /** Index of the East offset. */
+        private final int eastOffsetIndex;
+
+        /** Index of the North offset. */
+        private final int northOffsetIndex;
+
+        /** Index of the Zenith offset. */
+        private final int zenithOffsetIndex;
+
+        /** Simple constructor.
+         * @param frame offset frame
+         * @param parameters number of free parameters
+         * @param order derivation order
+         * @param eastOffsetIndex index of the East offset
+         * @param northOffsetIndex index of the North offset
+         * @param zenithOffsetIndex index of the Zenith offset
+         */
+        OffsetKey(final TopocentricFrame frame, final int parameters, final int order,
+                  final int eastOffsetIndex, final int northOffsetIndex, final int zenithOffsetIndex) {
+            this.frame             = frame;
+            this.parameters        = parameters;
+            this.order             = order;
+            this.eastOffsetIndex   = eastOffsetIndex;
+            this.northOffsetIndex  = northOffsetIndex;
+            this.zenithOffsetIndex = zenithOffsetIndex;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public boolean equals(final Object object) {
+            if (object == this) {
+                return true;
+            }
+            if (object instanceof OffsetKey) {
+                final OffsetKey other = (OffsetKey) object;
+                return frame             == other.frame            &&
+                       parameters        == other.parameters       &&
+                       order             == other.order            &&
+                       eastOffsetIndex   == other.eastOffsetIndex  &&
+                       northOffsetIndex  == other.northOffsetIndex &&
+                       zenithOffsetIndex == other.zenithOffsetIndex;
+            }
+            return false;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(frame) ^
+                   (parameters        << 24) ^
+                   (order             << 18) ^
+                   (eastOffsetIndex   << 12) ^
+                   (northOffsetIndex  <<  6) ^
+                   zenithOffsetIndex;
+        }
+
+    }
+
 }
@@ -25,8 +25,12 @@ import org.orekit.frames.Frame;
 import org.orekit.frames.Transform;
 import org.orekit.propagation.SpacecraftState;
 import org.orekit.time.AbsoluteDate;
+import org.orekit.utils.AngularCoordinates;
 import org.orekit.utils.Constants;
+import org.orekit.utils.PVCoordinates;
+import org.orekit.utils.ParameterDriver;
 import org.orekit.utils.TimeStampedFieldPVCoordinates;
+import org.orekit.utils.TimeStampedPVCoordinates;
 
 /** Class modeling a range measurement from a ground station.
  * <p>
@@ -39,6 +43,13 @@ import org.orekit.utils.TimeStampedFieldPVCoordinates;
  * account. The date of the measurement corresponds to the
  * reception on ground of the reflected signal.
  * </p>
+ * <p>
+ * Partial derivatives are computed by default using {@link DerivativeStructure
+ * derivative structures}. An {@link #setAnalyticalDerivatives(boolean) analytical}
+ * evaluation, which gives the same values and derivatives but allocates far less
+ * temporary objects, can be selected to reduce memory pressure in large orbit
+ * determination problems.
+ * </p>
  * @author Thierry Ceolin
  * @author Luc Maisonobe
  * @since 8.0
@@ -51,6 +62,9 @@ public class Range extends AbstractMeasurement<Range> {
     /** Factory for the DerivativeStructure instances. */
     private final DSFactory factory;
 
+    /** Indicator for analytical derivatives evaluation. */
+    private boolean analyticalDerivatives;
+
     /** Simple constructor.
      * @param station ground station from which measurement is performed
      * @param date date of the measurement
@@ -69,6 +83,7 @@ public class Range extends AbstractMeasurement<Range> {
               station.getZenithOffsetDriver());
         this.station = station;
         this.factory = new DSFactory(9, 1);
+        this.analyticalDerivatives = false;
     }
 
     /** Get the ground station from which measurement is performed.
@@ -78,12 +93,35 @@ public class Range extends AbstractMeasurement<Range> {
         return station;
     }
 
+    /** Select the evaluation method for partial derivatives.
+     * @param analyticalDerivatives if true, partial derivatives are computed
+     * using hand-coded analytical expressions, otherwise they are computed
+     * using derivative structures
+     * @since 9.0
+     */
+    public void setAnalyticalDerivatives(final boolean analyticalDerivatives) {
+        this.analyticalDerivatives = analyticalDerivatives;
+    }
+
+    /** Check if partial derivatives are computed using analytical expressions.
+     * @return true if partial derivatives are computed using hand-coded
+     * analytical expressions, false if they are computed using derivative
+     * structures
+     * @since 9.0
+     */
+    public boolean isAnalyticalDerivatives() {
+        return analyticalDerivatives;
+    }
+
     /** {@inheritDoc} */
     @Override
     protected EstimatedMeasurement<Range> theoreticalEvaluation(final int iteration, final int evaluation,
                                                                 final SpacecraftState state)
         throws OrekitException {
 
+        if (analyticalDerivatives) {
+            return analyticalEvaluation(iteration, evaluation, state);
+        }
 
         // Range derivatives are computed with respect to spacecraft state in inertial frame
         // and station position in station's offset frame
@@ -127,9 +165,11 @@ public class Range extends AbstractMeasurement<Range> {
         final Frame bodyframe = station.getOffsetFrame().getParentShape().getBodyFrame();
 
         // Station position in inertial frame at end of the downlink leg
+        // (the downlink geometry is shared with other measurements from the same station at the same date)
         final AbsoluteDate downlinkDate = getDate();
-        final Transform bodyToInertDownlink = bodyframe.getTransformTo(state.getFrame(), downlinkDate);
-        final FieldVector3D<DerivativeStructure> stationDownlink = bodyToInertDownlink.transformPosition(od.getOrigin());
+        final GroundStation.Downlink downlink = station.getDownlink(state, downlinkDate);
+        final FieldVector3D<DerivativeStructure> stationDownlink =
+                        downlink.getBodyToInertial().transformPosition(od.getOrigin());
 
         // Compute propagation times
         // (if state has already been set up to pre-compensate propagation delay,
@@ -142,7 +182,7 @@ public class Range extends AbstractMeasurement<Range> {
         // Transit state
         final double                delta        = downlinkDate.durationFrom(state.getDate());
         final DerivativeStructure   tauDMDelta   = tauD.negate().add(delta);
-        final SpacecraftState       transitState = state.shiftedBy(tauDMDelta.getValue());
+        final SpacecraftState       transitState = downlink.getTransitState();
 
         // Transit state position (re)computed with derivative structures
         final FieldVector3D<DerivativeStructure> transitStatePosition = pvaDS.shiftedBy(tauDMDelta).getPosition();
@@ -201,4 +241,115 @@ public class Range extends AbstractMeasurement<Range> {
 
     }
 
+    /** Evaluate measurement with analytical partial derivatives.
+     * <p>
+     * The computation follows exactly the same steps as the evaluation based on
+     * derivative structures, but the derivatives of the signal times of flight
+     * are computed from the implicit equations defining them:
+     * c &tau; = |receiver - emitter(t - &tau;)|.
+     * </p>
+     * @param iteration iteration number
+     * @param evaluation evaluation number
+     * @param state orbital state at measurement date
+     * @return theoretical value
+     * @exception OrekitException if value cannot be computed
+     */
+    private EstimatedMeasurement<Range> analyticalEvaluation(final int iteration, final int evaluation,
+                                                             final SpacecraftState state)
+        throws OrekitException {
+
+        final double c = Constants.SPEED_OF_LIGHT;
+        final TimeStampedPVCoordinates pva = state.getPVCoordinates();
+
+        // station position in body frame
+        final Frame    bodyframe = station.getOffsetFrame().getParentShape().getBodyFrame();
+        final Vector3D origin    = station.getOffsetFrame().getTransformTo(bodyframe, (AbsoluteDate) null).
+                                   transformPosition(Vector3D.ZERO);
+
+        // station position in inertial frame at end of the downlink leg and downlink delay
+        // (the downlink geometry is shared with other measurements from the same station at the same date)
+        final AbsoluteDate           downlinkDate    = getDate();
+        final GroundStation.Downlink downlink        = station.getDownlink(state, downlinkDate);
+        final Vector3D               stationDownlink = downlink.getStationPV().getPosition();
+        final double                 tauD            = downlink.getDelay();
+
+        // transit state
+        final double          delta        = downlinkDate.durationFrom(state.getDate());
+        final double          tauDMDelta   = delta - tauD;
+        final SpacecraftState transitState = downlink.getTransitState();
+        final PVCoordinates   transitPV    = pva.shiftedBy(tauDMDelta);
+
+        // station at start of the uplink leg
+        final double cOver2 = 0.5 * c;
+        final AbsoluteDate uplinkDate = downlinkDate.shiftedBy(-getObservedValue()[0] / cOver2);
+        final Transform bodyToInertUplink = bodyframe.getTransformTo(state.getFrame(), uplinkDate);
+        final TimeStampedPVCoordinates stationUplink =
+                        bodyToInertUplink.transformPVCoordinates(new TimeStampedPVCoordinates(uplinkDate, origin,
+                                                                                              Vector3D.ZERO,
+                                                                                              Vector3D.ZERO));
+
+        // uplink delay
+        final double tauU = station.signalTimeOfFlight(stationUplink, transitPV.getPosition(), transitState.getDate());
+
+        // prepare the evaluation
+        final EstimatedMeasurement<Range> estimated =
+                        new EstimatedMeasurement<Range>(this, iteration, evaluation, transitState);
+
+        // range value
+        estimated.setEstimatedValue((tauD + tauU) * cOver2);
+
+        // downlink line of sight, from spacecraft at transit to station
+        final Vector3D transitV = transitPV.getVelocity();
+        final Vector3D lineD    = stationDownlink.subtract(transitPV.getPosition()).normalize();
+        final double   kD       = 1.0 / (c - Vector3D.dotProduct(lineD, transitV));
+
+        // uplink line of sight, from station at emission to spacecraft at transit
+        final double   sigma     = transitState.getDate().durationFrom(uplinkDate) - tauU;
+        final PVCoordinates emitter = stationUplink.shiftedBy(sigma);
+        final Vector3D lineU     = transitPV.getPosition().subtract(emitter.getPosition()).normalize();
+        final double   kU        = 1.0 / (c - Vector3D.dotProduct(lineU, emitter.getVelocity()));
+        final double   uDotV     = Vector3D.dotProduct(lineU, transitV);
+
+        // range partial derivatives with respect to state
+        final double[] d           = lineD.toArray();
+        final double[] u           = lineU.toArray();
+        final double[] derivatives = new double[6];
+        for (int i = 0; i < 3; ++i) {
+            final double dTauDdP = -kD * d[i];
+            final double dTauDdV = tauDMDelta * dTauDdP;
+            derivatives[i]     = cOver2 * (dTauDdP + kU * (u[i] - uDotV * dTauDdP));
+            derivatives[i + 3] = cOver2 * (dTauDdV + kU * (tauDMDelta * u[i] - uDotV * dTauDdV));
+        }
+        estimated.setStateDerivatives(derivatives);
+
+        // range partial derivatives with respect to station position in offset topocentric frame
+        final ParameterDriver[] drivers = new ParameterDriver[] {
+            station.getEastOffsetDriver(), station.getNorthOffsetDriver(), station.getZenithOffsetDriver()
+        };
+        final Vector3D[] directions = new Vector3D[] {
+            station.getBaseFrame().getEast(), station.getBaseFrame().getNorth(), station.getBaseFrame().getZenith()
+        };
+        final Transform          bodyToInertDownlink = downlink.getBodyToInertial();
+        final AngularCoordinates angularUplink       = bodyToInertUplink.getAngular();
+        for (int k = 0; k < drivers.length; ++k) {
+            if (drivers[k].isSelected()) {
+
+                // downlink station motion due to offset (linear part of the transform)
+                final double dTauDdQ = kD * Vector3D.dotProduct(lineD, bodyToInertDownlink.transformVector(directions[k]));
+
+                // uplink station motion due to offset (linear part of the transform, including kinematics)
+                final PVCoordinates dStation =
+                        angularUplink.applyTo(new PVCoordinates(directions[k], Vector3D.ZERO, Vector3D.ZERO)).
+                        shiftedBy(sigma);
+                final double dTauUdQ = -kU * (uDotV * dTauDdQ + Vector3D.dotProduct(lineU, dStation.getPosition()));
+
+                estimated.setParameterDerivatives(drivers[k], cOver2 * (dTauDdQ + dTauUdQ));
+
+            }
+        }
+
+        return estimated;
+
+    }
+
 }
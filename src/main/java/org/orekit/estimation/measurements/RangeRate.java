@@ -88,16 +88,12 @@ public class RangeRate extends AbstractMeasurement<RangeRate> {
         throws OrekitException {
 
         // one-way (downlink) light time correction
-        // (if state has already been set up to pre-compensate propagation delay,
-        //  we will have offset == downlinkDelay and compensatedState will be
-        //  the same as state)
-        final Vector3D        stationP         = station.getOffsetFrame().getPVCoordinates(getDate(), state.getFrame()).getPosition();
-        final double          downlinkDelay    = station.signalTimeOfFlight(state.getPVCoordinates(), stationP, getDate());
-        final double          offset           = getDate().durationFrom(state.getDate());
-        final SpacecraftState compensatedState = state.shiftedBy(offset - downlinkDelay);
+        // (the downlink geometry is shared with other measurements from the same station at the same date)
+        final GroundStation.Downlink   downlink         = station.getDownlink(state, getDate());
+        final double                   downlinkDelay    = downlink.getDelay();
+        final SpacecraftState          compensatedState = downlink.getTransitState();
+        final TimeStampedPVCoordinates stationAtArrival = downlink.getStationPV();
 
-        final TimeStampedPVCoordinates stationAtArrival = station.getOffsetFrame().getPVCoordinates(getDate(),
-                                                                                                    state.getFrame());
         final EstimatedMeasurement<RangeRate> estimated =
                         oneWayTheoreticalEvaluation(iteration, evaluation, stationAtArrival, compensatedState);
         if (twoway) {
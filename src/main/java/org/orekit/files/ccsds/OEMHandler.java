@@ -0,0 +1,66 @@
+/* Copyright 2002-2016 CS Systèmes d'Information
+ * Licensed to CS Systèmes d'Information (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.files.ccsds;
+
+import org.orekit.errors.OrekitException;
+import org.orekit.files.ccsds.OEMFile.EphemeridesBlock;
+import org.orekit.utils.TimeStampedPVCoordinates;
+
+/** Handler for streaming OEM ephemeris data lines as they are parsed.
+ * <p>
+ * When this handler is used with {@link OEMParser#parse(java.io.BufferedReader,
+ * String, OEMHandler)}, data lines are not stored in the ephemerides blocks of
+ * the returned {@link OEMFile}, which only hold header, metadata and covariance
+ * data. This allows to process very large files in constant memory.
+ * </p>
+ * @see OEMParser#parse(java.io.BufferedReader, String, OEMHandler)
+ * @author Luc Maisonobe
+ * @since 9.0
+ */
+public interface OEMHandler {
+
+    /** Start a new ephemerides block.
+     * <p>
+     * This method is called once the block metadata have been parsed,
+     * before the first data line of the block.
+     * </p>
+     * @param block ephemerides block, with complete metadata
+     * @exception OrekitException if block cannot be handled
+     */
+    default void startBlock(EphemeridesBlock block) throws OrekitException {
+        // nothing by default
+    }
+
+    /** Handle one ephemeris data line.
+     * @param block ephemerides block the data line belongs to
+     * @param dataLine data line
+     * @exception OrekitException if data line cannot be handled
+     */
+    void handleDataLine(EphemeridesBlock block, TimeStampedPVCoordinates dataLine) throws OrekitException;
+
+    /** End the current ephemerides block.
+     * <p>
+     * This method is called after the last data line of the block.
+     * </p>
+     * @param block ephemerides block
+     * @exception OrekitException if block cannot be handled
+     */
+    default void endBlock(EphemeridesBlock block) throws OrekitException {
+        // nothing by default
+    }
+
+}
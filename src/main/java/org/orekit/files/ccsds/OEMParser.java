@@ -148,12 +148,34 @@ public class OEMParser extends ODMParser implements EphemerisFileParser {
     @Override
     public OEMFile parse(final BufferedReader reader, final String fileName)
             throws OrekitException {
+        return parse(reader, fileName, null);
+    }
+
+    /** Parse an OEM file, streaming the ephemeris data lines to a handler.
+     * <p>
+     * The data lines are provided to the handler as soon as they are parsed
+     * and are not stored in the ephemerides blocks of the returned file, so
+     * memory consumption does not depend on the number of data lines. The
+     * returned file holds header, metadata and covariance data.
+     * </p>
+     * @param reader reader containing the text data of the OEM file
+     * @param fileName name of the file, only used for error reporting
+     * @param handler handler for data lines (if null, data lines are stored
+     * in the returned file as in {@link #parse(BufferedReader, String)})
+     * @return parsed file, without ephemeris data lines if {@code handler} is not null
+     * @exception OrekitException if the file cannot be parsed or if the handler fails
+     * @since 9.0
+     */
+    public OEMFile parse(final BufferedReader reader, final String fileName,
+                         final OEMHandler handler)
+            throws OrekitException {
 
         try {
 
             // initialize internal data structures
             final ParseInfo pi = new ParseInfo();
             pi.fileName = fileName;
+            pi.handler  = handler;
             final OEMFile file = pi.file;
 
             // set the additional data that has been configured prior the parsing by the user.
@@ -211,7 +233,13 @@ public class OEMParser extends ODMParser implements EphemerisFileParser {
 
                     case META_STOP:
                         file.setMuUsed();
+                        if (handler != null) {
+                            handler.startBlock(pi.lastEphemeridesBlock);
+                        }
                         parseEphemeridesDataLines(reader, pi);
+                        if (handler != null) {
+                            handler.endBlock(pi.lastEphemeridesBlock);
+                        }
                         break;
 
                     case COVARIANCE_START:
@@ -277,7 +305,11 @@ public class OEMParser extends ODMParser implements EphemerisFileParser {
                         }
                         final TimeStampedPVCoordinates epDataLine =
                                 new TimeStampedPVCoordinates(date, position, velocity, acceleration);
-                        pi.lastEphemeridesBlock.getEphemeridesDataLines().add(epDataLine);
+                        if (pi.handler == null) {
+                            pi.lastEphemeridesBlock.getEphemeridesDataLines().add(epDataLine);
+                        } else {
+                            pi.handler.handleDataLine(pi.lastEphemeridesBlock, epDataLine);
+                        }
                         pi.lastEphemeridesBlock.updateHasAcceleration(acceleration != Vector3D.NaN);
                     } catch (NumberFormatException nfe) {
                         throw new OrekitException(OrekitMessages.UNABLE_TO_PARSE_LINE_IN_FILE,
@@ -418,6 +450,9 @@ public class OEMParser extends ODMParser implements EphemerisFileParser {
         /** Stored comments. */
         private List<String> commentTmp;
 
+        /** Handler for data lines (null if data lines are stored in file). */
+        private OEMHandler handler;
+
         /** Create a new {@link ParseInfo} object. */
         protected ParseInfo() {
             lineNumber = 0;
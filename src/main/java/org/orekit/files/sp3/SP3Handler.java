@@ -0,0 +1,50 @@
+/* Copyright 2002-2016 CS Systèmes d'Information
+ * Licensed to CS Systèmes d'Information (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.files.sp3;
+
+import org.orekit.errors.OrekitException;
+import org.orekit.files.sp3.SP3File.SP3Coordinate;
+
+/** Handler for streaming SP3 coordinates as they are parsed.
+ * <p>
+ * When this handler is used with {@link SP3Parser#parse(java.io.BufferedReader,
+ * String, SP3Handler)}, coordinates are not stored in the returned {@link SP3File},
+ * which only holds the header data. This allows to process very large files in
+ * constant memory.
+ * </p>
+ * @see SP3Parser#parse(java.io.BufferedReader, String, SP3Handler)
+ * @author Luc Maisonobe
+ * @since 9.0
+ */
+public interface SP3Handler {
+
+    /** Initialize the handler once the header has been parsed.
+     * @param header file holding header data only
+     * @exception OrekitException if handler cannot be initialized
+     */
+    default void init(SP3File header) throws OrekitException {
+        // nothing by default
+    }
+
+    /** Handle one coordinate.
+     * @param satelliteId satellite identifier
+     * @param coordinate coordinate
+     * @exception OrekitException if coordinate cannot be handled
+     */
+    void handleCoordinate(String satelliteId, SP3Coordinate coordinate) throws OrekitException;
+
+}
@@ -29,6 +29,7 @@ import java.util.function.Function;
 
 import org.hipparchus.geometry.euclidean.threed.Vector3D;
 import org.hipparchus.util.FastMath;
+import org.orekit.data.LineTokenizer;
 import org.orekit.errors.OrekitException;
 import org.orekit.errors.OrekitMessages;
 import org.orekit.files.general.EphemerisFileParser;
@@ -137,9 +138,34 @@ public class SP3Parser implements EphemerisFileParser {
     @Override
     public SP3File parse(final BufferedReader reader,
                          final String fileName) throws OrekitException, IOException {
+        return parse(reader, fileName, null);
+    }
+
+    /**
+     * Parse a SP3 file, streaming the coordinates to a handler.
+     *
+     * <p> The coordinates are provided to the handler as soon as they are parsed
+     * and are not stored in the returned file, so memory consumption does not
+     * depend on file size. The returned file only holds the header data.
+     *
+     * @param reader  containing the text data in the SP3 file.
+     * @param fileName path to file {@code reader} is reading from. It is only used
+     *                 for error reporting.
+     * @param handler handler for coordinates (if null, coordinates are stored
+     *                in the returned file as in {@link #parse(BufferedReader, String)})
+     * @return parsed file, holding only header data if {@code handler} is not null
+     * @throws OrekitException if the ephemeris file cannot be parsed or if
+     *                         the handler fails.
+     * @throws IOException     if {@code reader} throws one.
+     * @since 9.0
+     */
+    public SP3File parse(final BufferedReader reader, final String fileName,
+                         final SP3Handler handler)
+        throws OrekitException, IOException {
 
         // initialize internal data structures
         final ParseInfo pi = new ParseInfo();
+        pi.handler = handler;
 
         String line = null;
         int lineNumber = 1;
@@ -153,6 +179,10 @@ public class SP3Parser implements EphemerisFileParser {
                 }
             }
 
+            if (handler != null) {
+                handler.init(pi.file);
+            }
+
             // now handle the epoch/position/velocity entries
 
             boolean done = false;
@@ -385,20 +415,22 @@ public class SP3Parser implements EphemerisFileParser {
     /** Parses a single content line as read from the SP3 file.
      * @param line a string containing the line
      * @param pi the current {@link ParseInfo} object
+     * @throws OrekitException if coordinates handler fails
      */
-    private void parseContentLine(final String line, final ParseInfo pi) {
+    private void parseContentLine(final String line, final ParseInfo pi)
+        throws OrekitException {
         // EP and EV lines are ignored so far
 
         final SP3File file = pi.file;
 
         switch (line.charAt(0)) {
             case '*': {
-                final int year = Integer.parseInt(line.substring(3, 7).trim());
-                final int month = Integer.parseInt(line.substring(8, 10).trim());
-                final int day = Integer.parseInt(line.substring(11, 13).trim());
-                final int hour = Integer.parseInt(line.substring(14, 16).trim());
-                final int minute = Integer.parseInt(line.substring(17, 19).trim());
-                final double second = Double.parseDouble(line.substring(20, 31).trim());
+                final int year = LineTokenizer.parseInt(line, 3, 7);
+                final int month = LineTokenizer.parseInt(line, 8, 10);
+                final int day = LineTokenizer.parseInt(line, 11, 13);
+                final int hour = LineTokenizer.parseInt(line, 14, 16);
+                final int minute = LineTokenizer.parseInt(line, 17, 19);
+                final double second = LineTokenizer.parseDouble(line, 20, 31);
 
                 pi.latestEpoch = new AbsoluteDate(year, month, day,
                                                   hour, minute, second,
@@ -412,16 +444,16 @@ public class SP3Parser implements EphemerisFileParser {
                 if (!file.containsSatellite(satelliteId)) {
                     pi.latestPosition = null;
                 } else {
-                    final double x = Double.parseDouble(line.substring(4, 18).trim());
-                    final double y = Double.parseDouble(line.substring(18, 32).trim());
-                    final double z = Double.parseDouble(line.substring(32, 46).trim());
+                    final double x = LineTokenizer.parseDouble(line, 4, 18);
+                    final double y = LineTokenizer.parseDouble(line, 18, 32);
+                    final double z = LineTokenizer.parseDouble(line, 32, 46);
 
                     // the position values are in km and have to be converted to m
                     pi.latestPosition = new Vector3D(x * 1000, y * 1000, z * 1000);
 
                     // clock (microsec)
                     pi.latestClock =
-                            Double.parseDouble(line.substring(46, 60).trim()) * 1e6;
+                            LineTokenizer.parseDouble(line, 46, 60) * 1e6;
 
                     // the additional items are optional and not read yet
 
@@ -456,7 +488,7 @@ public class SP3Parser implements EphemerisFileParser {
                                 new SP3Coordinate(pi.latestEpoch,
                                                   pi.latestPosition,
                                                   pi.latestClock);
-                        file.addSatelliteCoordinate(satelliteId, coord);
+                        pi.addCoordinate(satelliteId, coord);
                     }
                 }
                 break;
@@ -466,16 +498,16 @@ public class SP3Parser implements EphemerisFileParser {
                 final String satelliteId = line.substring(1, 4).trim();
 
                 if (file.containsSatellite(satelliteId)) {
-                    final double xv = Double.parseDouble(line.substring(4, 18).trim());
-                    final double yv = Double.parseDouble(line.substring(18, 32).trim());
-                    final double zv = Double.parseDouble(line.substring(32, 46).trim());
+                    final double xv = LineTokenizer.parseDouble(line, 4, 18);
+                    final double yv = LineTokenizer.parseDouble(line, 18, 32);
+                    final double zv = LineTokenizer.parseDouble(line, 32, 46);
 
                     // the velocity values are in dm/s and have to be converted to m/s
                     final Vector3D velocity = new Vector3D(xv / 10d, yv / 10d, zv / 10d);
 
                     // clock rate in file is 1e-4 us / s
                     final double clockRateChange =
-                            Double.parseDouble(line.substring(46, 60).trim()) * 1e10;
+                            LineTokenizer.parseDouble(line, 46, 60) * 1e10;
 
                     // the additional items are optional and not read yet
 
@@ -500,7 +532,7 @@ public class SP3Parser implements EphemerisFileParser {
                                               velocity,
                                               pi.latestClock,
                                               clockRateChange);
-                    file.addSatelliteCoordinate(satelliteId, coord);
+                    pi.addCoordinate(satelliteId, coord);
                 }
                 break;
             }
@@ -569,6 +601,9 @@ public class SP3Parser implements EphemerisFileParser {
         /** The base for clock/rate. */
         //private double clockBase;
 
+        /** Handler for coordinates (null if coordinates are stored in file). */
+        private SP3Handler handler;
+
         /** Create a new {@link ParseInfo} object. */
         protected ParseInfo() {
             file = new SP3File(mu, interpolationSamples, frameBuilder);
@@ -580,6 +615,21 @@ public class SP3Parser implements EphemerisFileParser {
             maxSatellites = 0;
             //posVelBase = 2d;
             //clockBase = 2d;
+            handler = null;
+        }
+
+        /** Add a coordinate, either to the file or to the handler.
+         * @param satelliteId satellite identifier
+         * @param coord coordinate
+         * @throws OrekitException if handler fails
+         */
+        private void addCoordinate(final String satelliteId, final SP3Coordinate coord)
+            throws OrekitException {
+            if (handler == null) {
+                file.addSatelliteCoordinate(satelliteId, coord);
+            } else {
+                handler.handleCoordinate(satelliteId, coord);
+            }
         }
     }
 }
@@ -0,0 +1,505 @@
+/* Copyright 2002-2016 CS Systèmes d'Information
+ * Licensed to CS Systèmes d'Information (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.forces.drag.atmosphere;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.hipparchus.RealFieldElement;
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.geometry.euclidean.threed.FieldVector3D;
+import org.hipparchus.geometry.euclidean.threed.Vector3D;
+import org.hipparchus.util.FastMath;
+import org.hipparchus.util.MathUtils;
+import org.orekit.bodies.BodyShape;
+import org.orekit.bodies.GeodeticPoint;
+import org.orekit.errors.OrekitException;
+import org.orekit.errors.OrekitIllegalArgumentException;
+import org.orekit.frames.Frame;
+import org.orekit.frames.Transform;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.time.FieldAbsoluteDate;
+import org.orekit.utils.PVCoordinatesProvider;
+import org.orekit.utils.TimeStampedPVCoordinates;
+
+/** Atmosphere decorator caching and interpolating density from another model.
+ * <p>
+ * Physical atmosphere models like {@link DTM2000}, {@link JB2008} or
+ * {@link NRLMSISE00} are expensive to evaluate, and drag force evaluates
+ * them at each integrator stage. This decorator computes the density of the
+ * underlying model only at the nodes of a regular grid in date, altitude,
+ * latitude and local solar time, and interpolates between them. As the grid
+ * nodes are shared by all the cells surrounding them and as satellites visit
+ * the same cells again and again, the underlying model ends up being called
+ * far less often than the decorator itself.
+ * </p>
+ * <p>
+ * Interpolation is multi-linear on the logarithm of density, so the
+ * exponential decrease with altitude is well represented even with coarse
+ * altitude steps. Accuracy is checked once for each grid cell, when it is
+ * first visited: the underlying model is evaluated at the first point requested
+ * within the cell, at the cell center and at the centers of its 8 facets, and
+ * compared with the interpolated values. If the relative error at any of these
+ * check points exceeds half the configured tolerance, all requests within this
+ * cell are delegated to the underlying model. As multi-linear interpolation
+ * errors are largest near the centers of cells and facets, the margin ensures
+ * the tolerance is met in the whole cell as long as the model is smooth at cell
+ * scale. It is not a strict bound for models exhibiting sharp variations inside
+ * a cell, so the grid steps must be consistent with the model variations.
+ * </p>
+ * <p>
+ * Local solar time requires the Sun position. It is computed once and then
+ * extrapolated linearly for nearby dates, so all stages of an integration
+ * step share the same Sun evaluation.
+ * </p>
+ * <p>
+ * The grid nodes in date must be consistent with the time sampling of the
+ * solar activity data used by the underlying model (typically 3 hours for
+ * geomagnetic indices), as interpolation smoothes out the jumps of these data.
+ * </p>
+ * <p>
+ * This class is thread-safe if the underlying model is thread-safe.
+ * Field-based densities are not cached, they are directly delegated to
+ * the underlying model.
+ * </p>
+ * @author Luc Maisonobe
+ * @since 9.0
+ */
+public class CachedAtmosphere implements Atmosphere {
+
+    /** Serializable UID. */
+    private static final long serialVersionUID = 20170305L;
+
+    /** Maximum time span for Sun position extrapolation (s). */
+    private static final double SUN_EXTRAPOLATION = 600.0;
+
+    /** Maximum number of grid nodes kept in cache. */
+    private static final int MAX_NODES = 200000;
+
+    /** Normalized coordinates of the points used to check cells accuracy (center and facets centers). */
+    private static final double[][] CHECK_POINTS = new double[][] {
+        { 0.5, 0.5, 0.5, 0.5 },
+        { 0.0, 0.5, 0.5, 0.5 }, { 1.0, 0.5, 0.5, 0.5 },
+        { 0.5, 0.0, 0.5, 0.5 }, { 0.5, 1.0, 0.5, 0.5 },
+        { 0.5, 0.5, 0.0, 0.5 }, { 0.5, 0.5, 1.0, 0.5 },
+        { 0.5, 0.5, 0.5, 0.0 }, { 0.5, 0.5, 0.5, 1.0 }
+    };
+
+    /** Underlying atmosphere model. */
+    private final Atmosphere raw;
+
+    /** Body shape model. */
+    private final BodyShape earth;
+
+    /** Sun position provider. */
+    private final PVCoordinatesProvider sun;
+
+    /** Grid step in date (s). */
+    private final double timeStep;
+
+    /** Grid step in altitude (m). */
+    private final double altitudeStep;
+
+    /** Number of grid steps in latitude. */
+    private final int latitudeSteps;
+
+    /** Number of grid steps in local solar time. */
+    private final int localTimeSteps;
+
+    /** Relative tolerance on density. */
+    private final double tolerance;
+
+    /** Cached densities at grid nodes. */
+    private final transient Map<Node, Double> nodes;
+
+    /** Cached cells (null logarithms of density are used for cells delegating to raw model). */
+    private final transient Map<Node, Cell> cells;
+
+    /** Last Sun position. */
+    private transient volatile SunPosition lastSun;
+
+    /** Simple constructor.
+     * <p>
+     * The latitude and local time steps are adjusted (reduced) so an
+     * integer number of steps cover exactly the full range.
+     * </p>
+     * @param raw underlying atmosphere model
+     * @param earth body shape model
+     * @param sun Sun position provider
+     * @param timeStep grid step in date (s)
+     * @param altitudeStep grid step in altitude (m)
+     * @param latitudeStep grid step in latitude (rad)
+     * @param localTimeStep grid step in local solar time (rad, with 0 at midnight)
+     * @param tolerance relative tolerance on density, above which
+     * the underlying model is used directly (checked with a margin
+     * at sample points in each cell, see class documentation)
+     */
+    public CachedAtmosphere(final Atmosphere raw, final BodyShape earth, final PVCoordinatesProvider sun,
+                            final double timeStep, final double altitudeStep,
+                            final double latitudeStep, final double localTimeStep,
+                            final double tolerance) {
+        checkStrictlyPositive(timeStep);
+        checkStrictlyPositive(altitudeStep);
+        checkStrictlyPositive(latitudeStep);
+        checkStrictlyPositive(localTimeStep);
+        checkStrictlyPositive(tolerance);
+        this.raw            = raw;
+        this.earth          = earth;
+        this.sun            = sun;
+        this.timeStep       = timeStep;
+        this.altitudeStep   = altitudeStep;
+        this.latitudeSteps  = (int) FastMath.ceil(FastMath.PI / latitudeStep);
+        this.localTimeSteps = (int) FastMath.ceil(MathUtils.TWO_PI / localTimeStep);
+        this.tolerance      = tolerance;
+        this.nodes          = new ConcurrentHashMap<Node, Double>();
+        this.cells          = new ConcurrentHashMap<Node, Cell>();
+    }
+
+    /** Check a parameter is strictly positive.
+     * @param value value to check
+     */
+    private static void checkStrictlyPositive(final double value) {
+        if (!(value > 0)) {
+            throw new OrekitIllegalArgumentException(LocalizedCoreFormats.NUMBER_TOO_SMALL_BOUND_EXCLUDED,
+                                                     value, 0.0);
+        }
+    }
+
+    /** Get the underlying atmosphere model.
+     * @return underlying atmosphere model
+     */
+    public Atmosphere getRawAtmosphere() {
+        return raw;
+    }
+
+    /** Clear the cache.
+     */
+    public void clearCache() {
+        cells.clear();
+        nodes.clear();
+        lastSun = null;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Frame getFrame() {
+        return raw.getFrame();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public double getDensity(final AbsoluteDate date, final Vector3D position, final Frame frame)
+        throws OrekitException {
+
+        // convert position and Sun to body frame, sharing the same transform
+        final Frame     bodyFrame = earth.getBodyFrame();
+        final Transform toBody    = frame.getTransformTo(bodyFrame, date);
+        final Vector3D  pBody     = toBody.transformPosition(position);
+        final Vector3D  sBody     = toBody.transformPosition(getSunPosition(date, frame));
+
+        // grid coordinates
+        final GeodeticPoint gp = earth.transform(pBody, bodyFrame, date);
+        final double hl = FastMath.PI + FastMath.atan2(sBody.getX() * pBody.getY() - sBody.getY() * pBody.getX(),
+                                                       sBody.getX() * pBody.getX() + sBody.getY() * pBody.getY());
+        final double t  = date.durationFrom(AbsoluteDate.J2000_EPOCH) / timeStep;
+        final double a  = gp.getAltitude() / altitudeStep;
+        final double la = (gp.getLatitude() + 0.5 * FastMath.PI) * latitudeSteps / FastMath.PI;
+        final double lt = hl * localTimeSteps / MathUtils.TWO_PI;
+        final int    it = (int) FastMath.floor(t);
+        final int    ia = (int) FastMath.floor(a);
+        final int    il = FastMath.min((int) FastMath.floor(la), latitudeSteps - 1);
+        final int    ih = FastMath.min((int) FastMath.floor(lt), localTimeSteps - 1);
+
+        final Node key  = new Node(it, ia, il, ih);
+        final Cell cell = cells.get(key);
+        if (cell == null) {
+            // first visit to this cell, the reference value is used to check interpolation accuracy
+            final double reference = raw.getDensity(date, position, frame);
+            final Cell   newCell   = buildCell(key, reference,
+                                               t - it, a - ia, la - il, lt - ih);
+            cells.putIfAbsent(key, newCell);
+            return reference;
+        } else if (cell.logRho == null) {
+            // interpolation is not accurate enough in this cell
+            return raw.getDensity(date, position, frame);
+        } else {
+            return FastMath.exp(cell.interpolate(t - it, a - ia, la - il, lt - ih));
+        }
+
+    }
+
+    /** Build a cell.
+     * @param key cell key (i.e. key of its lowest node)
+     * @param reference reference density at check point
+     * @param wt normalized date of the check point within the cell
+     * @param wa normalized altitude of the check point within the cell
+     * @param wl normalized latitude of the check point within the cell
+     * @param wh normalized local solar time of the check point within the cell
+     * @return new cell
+     */
+    private Cell buildCell(final Node key, final double reference,
+                           final double wt, final double wa, final double wl, final double wh) {
+        try {
+            final double[] logRho = new double[16];
+            for (int k = 0; k < logRho.length; ++k) {
+                final double rho = getNodeDensity(new Node(key.t + (k & 0x1),
+                                                           key.a + ((k >> 1) & 0x1),
+                                                           key.l + ((k >> 2) & 0x1),
+                                                           (key.h + ((k >> 3) & 0x1)) % localTimeSteps));
+                if (!(rho > 0)) {
+                    // logarithmic interpolation is not possible
+                    return new Cell(null);
+                }
+                logRho[k] = FastMath.log(rho);
+            }
+            final Cell cell = new Cell(logRho);
+
+            // check accuracy at the point that triggered the cell creation
+            if (!isAccurate(cell, reference, wt, wa, wl, wh)) {
+                return new Cell(null);
+            }
+
+            // check accuracy where multi-linear interpolation errors are largest
+            for (final double[] w : CHECK_POINTS) {
+                final double rho = computeDensity(key.t + w[0], key.a + w[1], key.l + w[2], key.h + w[3]);
+                if (!isAccurate(cell, rho, w[0], w[1], w[2], w[3])) {
+                    return new Cell(null);
+                }
+            }
+
+            return cell;
+
+        } catch (OrekitException oe) {
+            // some nodes are out of the validity domain of the underlying model
+            return new Cell(null);
+        }
+    }
+
+    /** Check interpolation accuracy at one point.
+     * @param cell cell to check
+     * @param reference reference density at check point
+     * @param wt normalized date of the check point within the cell
+     * @param wa normalized altitude of the check point within the cell
+     * @param wl normalized latitude of the check point within the cell
+     * @param wh normalized local solar time of the check point within the cell
+     * @return true if interpolation error is below half the tolerance
+     */
+    private boolean isAccurate(final Cell cell, final double reference,
+                               final double wt, final double wa, final double wl, final double wh) {
+        final double interpolated = FastMath.exp(cell.interpolate(wt, wa, wl, wh));
+        return FastMath.abs(interpolated - reference) <= 0.5 * tolerance * reference;
+    }
+
+    /** Get the density at a grid node.
+     * @param node grid node
+     * @return density at node
+     * @exception OrekitException if density cannot be computed
+     */
+    private double getNodeDensity(final Node node) throws OrekitException {
+
+        final Double cached = nodes.get(node);
+        if (cached != null) {
+            return cached;
+        }
+
+        final double rho = computeDensity(node.t, node.a, node.l, node.h);
+
+        if (nodes.size() >= MAX_NODES) {
+            // prevent unbounded memory growth for very long propagations
+            cells.clear();
+            nodes.clear();
+        }
+        nodes.put(node, rho);
+
+        return rho;
+
+    }
+
+    /** Compute the density of the underlying model at some grid coordinates.
+     * @param t grid coordinate in date
+     * @param a grid coordinate in altitude
+     * @param l grid coordinate in latitude
+     * @param h grid coordinate in local solar time
+     * @return density of the underlying model
+     * @exception OrekitException if density cannot be computed
+     */
+    private double computeDensity(final double t, final double a, final double l, final double h)
+        throws OrekitException {
+        final AbsoluteDate date      = AbsoluteDate.J2000_EPOCH.shiftedBy(t * timeStep);
+        final Frame        bodyFrame = earth.getBodyFrame();
+        final Vector3D     sBody     = sun.getPVCoordinates(date, bodyFrame).getPosition();
+        final double       hl        = h * MathUtils.TWO_PI / localTimeSteps;
+        final GeodeticPoint gp       = new GeodeticPoint(l * FastMath.PI / latitudeSteps - 0.5 * FastMath.PI,
+                                                         sBody.getAlpha() + hl - FastMath.PI,
+                                                         a * altitudeStep);
+        return raw.getDensity(date, earth.transform(gp), bodyFrame);
+    }
+
+    /** Get the Sun position.
+     * @param date current date
+     * @param frame frame in which Sun position is requested
+     * @return Sun position in specified frame
+     * @exception OrekitException if Sun position cannot be computed
+     */
+    private Vector3D getSunPosition(final AbsoluteDate date, final Frame frame)
+        throws OrekitException {
+        SunPosition current = lastSun;
+        if (current == null || current.frame != frame ||
+            FastMath.abs(date.durationFrom(current.pv.getDate())) > SUN_EXTRAPOLATION) {
+            current = new SunPosition(frame, sun.getPVCoordinates(date, frame));
+            lastSun = current;
+        }
+        return current.pv.shiftedBy(date.durationFrom(current.pv.getDate())).getPosition();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public <T extends RealFieldElement<T>> T getDensity(final FieldAbsoluteDate<T> date,
+                                                        final FieldVector3D<T> position,
+                                                        final Frame frame)
+        throws OrekitException {
+        return raw.getDensity(date, position, frame);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Vector3D getVelocity(final AbsoluteDate date, final Vector3D position, final Frame frame)
+        throws OrekitException {
+        return raw.getVelocity(date, position, frame);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public <T extends RealFieldElement<T>> FieldVector3D<T> getVelocity(final FieldAbsoluteDate<T> date,
+                                                                        final FieldVector3D<T> position,
+                                                                        final Frame frame)
+        throws OrekitException {
+        return raw.getVelocity(date, position, frame);
+    }
+
+    /** Replace the deserialized instance, so caches are rebuilt.
+     * @return replacement instance, with empty caches
+     */
+    private Object readResolve() {
+        return new CachedAtmosphere(raw, earth, sun, timeStep, altitudeStep,
+                                    FastMath.PI / latitudeSteps, MathUtils.TWO_PI / localTimeSteps,
+                                    tolerance);
+    }
+
+    /** Key for grid nodes and cells. */
+    private static class Node {
+
+        /** Index in date. */
+        private final int t;
+
+        /** Index in altitude. */
+        private final int a;
+
+        /** Index in latitude. */
+        private final int l;
+
+        /** Index in local solar time. */
+        private final int h;
+
+        /** Simple constructor.
+         * @param t index in date
+         * @param a index in altitude
+         * @param l index in latitude
+         * @param h index in local solar time
+         */
+        Node(final int t, final int a, final int l, final int h) {
+            this.t = t;
+            this.a = a;
+            this.l = l;
+            this.h = h;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public boolean equals(final Object object) {
+            if (object instanceof Node) {
+                final Node other = (Node) object;
+                return t == other.t && a == other.a && l == other.l && h == other.h;
+            }
+            return false;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public int hashCode() {
+            return ((t * 31 + a) * 31 + l) * 31 + h;
+        }
+
+    }
+
+    /** Grid cell. */
+    private static class Cell {
+
+        /** Logarithms of densities at the 16 cell corners (null if cell delegates to raw model). */
+        private final double[] logRho;
+
+        /** Simple constructor.
+         * @param logRho logarithms of densities at the 16 cell corners,
+         * the index bits correspond to date, altitude, latitude and
+         * local solar time (null if cell delegates to raw model)
+         */
+        Cell(final double[] logRho) {
+            this.logRho = logRho;
+        }
+
+        /** Interpolate logarithm of density.
+         * @param wt normalized date within the cell
+         * @param wa normalized altitude within the cell
+         * @param wl normalized latitude within the cell
+         * @param wh normalized local solar time within the cell
+         * @return interpolated logarithm of density
+         */
+        double interpolate(final double wt, final double wa, final double wl, final double wh) {
+            double sum = 0;
+            for (int k = 0; k < logRho.length; ++k) {
+                final double w = (((k & 0x1) == 0) ? 1 - wt : wt) *
+                                 (((k & 0x2) == 0) ? 1 - wa : wa) *
+                                 (((k & 0x4) == 0) ? 1 - wl : wl) *
+                                 (((k & 0x8) == 0) ? 1 - wh : wh);
+                sum += w * logRho[k];
+            }
+            return sum;
+        }
+
+    }
+
+    /** Container for Sun position. */
+    private static class SunPosition {
+
+        /** Frame in which Sun position is defined. */
+        private final Frame frame;
+
+        /** Sun position-velocity. */
+        private final TimeStampedPVCoordinates pv;
+
+        /** Simple constructor.
+         * @param frame frame in which Sun position is defined
+         * @param pv Sun position-velocity
+         */
+        SunPosition(final Frame frame, final TimeStampedPVCoordinates pv) {
+            this.frame = frame;
+            this.pv    = pv;
+        }
+
+    }
+
+}
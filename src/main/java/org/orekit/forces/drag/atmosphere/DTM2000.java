@@ -20,7 +20,6 @@ import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
-import java.util.Arrays;
 import java.util.Calendar;
 import java.util.GregorianCalendar;
 
@@ -89,6 +88,16 @@ import org.orekit.utils.PVCoordinatesProvider;
  * All these data can be found on the <a href="http://sec.noaa.gov/Data/index.html">
  * NOAA (National Oceanic and Atmospheric Administration) website.</a>
  * </p>
+ * <p>
+ * Instances of this class are thread-safe and lock-free: all intermediate
+ * values are stored in a local context for each evaluation, so a single
+ * instance can be shared by several threads. The additional model outputs
+ * are available in the {@link Result} returned by the {@code compute} methods.
+ * The legacy getters like {@link #getTinf()} are intended for single-thread
+ * use only, they reflect the last call to the legacy {@link #getDensity(int,
+ * double, double, double, double, double, double, double, double) getDensity}
+ * method with initial entries.
+ * </p>
  *
  *
  * @author R. Biancale, S. Bruinsma: original fortran routine
@@ -115,7 +124,7 @@ public class DTM2000 implements Atmosphere {
     public static final int ATOMIC_NITROGEN = 6;
 
     /** Serializable UID. */
-    private static final long serialVersionUID = -8901940398967553588L;
+    private static final long serialVersionUID = 20170301L;
 
     // Constants :
 
@@ -180,108 +189,6 @@ public class DTM2000 implements Atmosphere {
     private static double[] t0   = null;
     private static double[] tp   = null;
 
-    /** Partial derivatives. */
-    private double[] dtt;
-    private double[] dh;
-    private double[] dhe;
-    private double[] dox;
-    private double[] daz2;
-    private double[] do2;
-    private double[] daz;
-    private double[] dt0;
-    private double[] dtp;
-
-    // CHECKSTYLE: resume JavadocVariable check
-
-    /** Number of days in current year. */
-    private int cachedDay;
-
-    /** Instant solar flux. f[1] = instantaneous flux; f[2] = 0. (not used). */
-    private double[] cachedF = new double[3];
-
-    /** Mean solar flux. fbar[1] = mean flux; fbar[2] = 0. (not used). */
-    private double[] cachedFbar = new double[3];
-
-    /** Kp coefficients.
-     * <ul>
-     *   <li>akp[1] = 3-hourly kp</li>
-     *   <li>akp[2] = 0 (not used)</li>
-     *   <li>akp[3] = mean kp of last 24 hours</li>
-     *   <li>akp[4] = 0 (not used)</li>
-     * </ul>
-     */
-    private double[] akp = new double[5];
-
-    /** Geodetic altitude in km (minimum altitude: 120 km). */
-    private double cachedAlti;
-
-    /** Local solar time (rad). */
-    private double cachedHl;
-
-    /** Geodetic Latitude (rad). */
-    private double alat;
-
-    /** Geodetic longitude (rad). */
-    private double xlon;
-
-    /** Temperature at altitude z (K). */
-    private double tz;
-
-    /** Exospheric temperature. */
-    private double tinf;
-
-    /** Vertical gradient of T a 120 km. */
-    private double tp120;
-
-    /** Total density (g/cm3). */
-    private double ro;
-
-    /** Mean atomic mass. */
-    private double wmm;
-
-    /** Partial densities in (g/cm3).
-     * d(1) = hydrogen
-     * d(2) = helium
-     * d(3) = atomic oxygen
-     * d(4) = molecular nitrogen
-     * d(5) = molecular oxygen
-     * d(6) = atomic nitrogen
-     */
-    private double[] d = new double[7];
-
-    // CHECKSTYLE: stop JavadocVariable check
-
-    /** Legendre coefficients. */
-    private double p10;
-    private double p20;
-    private double p30;
-    private double p40;
-    private double p50;
-    private double p60;
-    private double p11;
-    private double p21;
-    private double p31;
-    private double p41;
-    private double p51;
-    private double p22;
-    private double p32;
-    private double p42;
-    private double p52;
-    private double p62;
-    private double p33;
-    private double p10mg;
-    private double p20mg;
-    private double p40mg;
-
-    /** Local time intermediate values. */
-    private double hl0;
-    private double ch;
-    private double sh;
-    private double c2h;
-    private double s2h;
-    private double c3h;
-    private double s3h;
-
     // CHECKSTYLE: resume JavadocVariable check
 
     /** Sun position. */
@@ -293,6 +200,9 @@ public class DTM2000 implements Atmosphere {
     /** Earth body shape. */
     private BodyShape earth;
 
+    /** Result of the last legacy computation with initial entries (for the legacy getters, not serialized). */
+    private transient Result lastResult;
+
     /** Simple constructor for independent computation.
      * @param parameters the solar and magnetic activity data
      * @param sun the sun position
@@ -314,26 +224,6 @@ public class DTM2000 implements Atmosphere {
         this.sun = sun;
         this.inputParams = parameters;
 
-        dtt  = new double[tt.length];
-        dh   = new double[tt.length];
-        dhe  = new double[tt.length];
-        dox  = new double[tt.length];
-        daz2 = new double[tt.length];
-        do2  = new double[tt.length];
-        daz  = new double[tt.length];
-        dt0  = new double[tt.length];
-        dtp  = new double[tt.length];
-
-        Arrays.fill(dtt,  Double.NaN);
-        Arrays.fill(dh,   Double.NaN);
-        Arrays.fill(dhe,  Double.NaN);
-        Arrays.fill(dox,  Double.NaN);
-        Arrays.fill(daz2, Double.NaN);
-        Arrays.fill(do2,  Double.NaN);
-        Arrays.fill(daz,  Double.NaN);
-        Arrays.fill(dt0,  Double.NaN);
-        Arrays.fill(dtp,  Double.NaN);
-
     }
 
     /** {@inheritDoc} */
@@ -342,6 +232,14 @@ public class DTM2000 implements Atmosphere {
     }
 
     /** Get the local density with initial entries.
+     * <p>
+     * The other outputs of the model are also available through the legacy
+     * getters like {@link #getTinf()}. As these getters rely on the last result
+     * stored by this method, they are intended for single-thread use only. When
+     * the instance is shared between several threads, {@link
+     * #compute(int, double, double, double, double, double, double, double, double)}
+     * should be used instead, it does not store anything in the instance.
+     * </p>
      * @param day day of year
      * @param alti altitude in meters
      * @param lon local longitude (rad)
@@ -354,136 +252,107 @@ public class DTM2000 implements Atmosphere {
      * @return the local density (kg/m³)
      * @exception OrekitException if altitude is outside of supported range
      */
-    public synchronized double getDensity(final int day,
-                                          final double alti, final double lon, final double lat,
-                                          final double hl, final double f, final double fbar,
-                                          final double akp3, final double akp24)
+    public double getDensity(final int day,
+                             final double alti, final double lon, final double lat,
+                             final double hl, final double f, final double fbar,
+                             final double akp3, final double akp24)
+        throws OrekitException {
+        final Result result = compute(day, alti, lon, lat, hl, f, fbar, akp3, akp24);
+        lastResult = result;
+        return result.getDensity();
+    }
+
+    /** Compute all model outputs with initial entries.
+     * <p>
+     * This method is thread-safe and lock-free, all intermediate values
+     * are local to the call.
+     * </p>
+     * @param day day of year
+     * @param alti altitude in meters
+     * @param lon local longitude (rad)
+     * @param lat local latitude (rad)
+     * @param hl local solar time in rad (O hr = 0 rad)
+     * @param f instantaneous solar flux (F10.7)
+     * @param fbar mean solar flux (F10.7)
+     * @param akp3 3 hrs geomagnetic activity index (1-9)
+     * @param akp24 Mean of last 24 hrs geomagnetic activity index (1-9)
+     * @return model outputs
+     * @exception OrekitException if altitude is outside of supported range
+     * @since 9.0
+     */
+    public Result compute(final int day,
+                          final double alti, final double lon, final double lat,
+                          final double hl, final double f, final double fbar,
+                          final double akp3, final double akp24)
         throws OrekitException {
         final double threshold = 120000;
         if (alti < threshold) {
             throw new OrekitException(OrekitMessages.ALTITUDE_BELOW_ALLOWED_THRESHOLD,
                                       alti, threshold);
         }
-        this.cachedDay  = day;
-        this.cachedAlti = alti / 1000;
-        xlon = lon;
-        alat = lat;
-        this.cachedHl = hl;
-        this.cachedF[1] = f;
-        this.cachedFbar[1] = fbar;
-        akp[1] = akp3;
-        akp[3] = akp24;
-        computation();
-        return ro * 1000;
+        return computation(new Context(day, alti / 1000, lon, lat, hl, f, fbar, akp3, akp24));
     }
 
-
     /** Computes output vales once the inputs are set.
+     * @param ctx computation context
+     * @return model outputs
      */
-    private synchronized void computation() {
-        ro = 0.0;
+    private Result computation(final Context ctx) {
 
         final double zlb = ZLB0; // + dzlb ??
 
-        // compute Legendre polynomials wrt geographic pole
-        final double c = FastMath.sin(alat);
-        final double c2 = c * c;
-        final double c4 = c2 * c2;
-        final double s = FastMath.cos(alat);
-        final double s2 = s * s;
-        p10 = c;
-        p20 = 1.5 * c2 - 0.5;
-        p30 = c * (2.5 * c2 - 1.5);
-        p40 = 4.375 * c4 - 3.75 * c2 + 0.375;
-        p50 = c * (7.875 * c4 - 8.75 * c2 + 1.875);
-        p60 = (5.5 * c * p50 - 2.5 * p40) / 3.0;
-        p11 = s;
-        p21 = 3.0 * c * s;
-        p31 = s * (7.5 * c2 - 1.5);
-        p41 = c * s * (17.5 * c2 - 7.5);
-        p51 = s * (39.375 * c4 - 26.25 * c2 + 1.875);
-        p22 = 3.0 * s2;
-        p32 = 15.0 * c * s2;
-        p42 = s2 * (52.5 * c2 - 7.5);
-        p52 = 3.0 * c * p42 - 2.0 * p32;
-        p62 = 2.75 * c * p52 - 1.75 * p42;
-        p33 = 15.0 * s * s2;
-
-        // compute Legendre polynomials wrt magnetic pole (79N, 71W)
-        final double clmlmg = FastMath.cos(xlon - XLMG);
-        final double cmg  = s * CPMG * clmlmg + c * SPMG;
-        final double cmg2 = cmg * cmg;
-        final double cmg4 = cmg2 * cmg2;
-        p10mg = cmg;
-        p20mg = 1.5 * cmg2 - 0.5;
-        p40mg = 4.375 * cmg4 - 3.75 * cmg2 + 0.375;
-
-        // local time
-        hl0 = cachedHl;
-        ch  = FastMath.cos(hl0);
-        sh  = FastMath.sin(hl0);
-        c2h = ch * ch - sh * sh;
-        s2h = 2.0 * ch * sh;
-        c3h = c2h * ch - s2h * sh;
-        s3h = s2h * ch + c2h * sh;
+        // partial derivatives, shared by all g functions evaluations
+        // as each evaluation uses only the elements it has set itself
+        final double[] da = new double[NLATM + 1];
 
         //  compute function g(l) / tinf, t120, tp120
         int kleq = 1;
-        final double gdelt = gFunction(tt, dtt, 1, kleq);
-        dtt[1] = 1.0 + gdelt;
-        tinf   = tt[1] * dtt[1];
+        final double gdelt = gFunction(ctx, tt, da, 1, kleq);
+        final double tinf  = tt[1] * (1.0 + gdelt);
 
         kleq = 0; // equinox
 
-        if ((cachedDay < 59) || (cachedDay > 284)) {
+        if ((ctx.day < 59) || (ctx.day > 284)) {
             kleq = -1; // north winter
         }
-        if ((cachedDay > 99) && (cachedDay < 244)) {
+        if ((ctx.day > 99) && (ctx.day < 244)) {
             kleq = 1; // north summer
         }
 
-        final double gdelt0 =  gFunction(t0, dt0, 0, kleq);
-        dt0[1] = (t0[1] + gdelt0) / t0[1];
+        final double gdelt0 =  gFunction(ctx, t0, da, 0, kleq);
         final double t120 = t0[1] + gdelt0;
-        final double gdeltp = gFunction(tp, dtp, 0, kleq);
-        dtp[1] = (tp[1] + gdeltp) / tp[1];
-        tp120 = tp[1] + gdeltp;
+        final double gdeltp = gFunction(ctx, tp, da, 0, kleq);
+        final double tp120 = tp[1] + gdeltp;
 
         // compute n(z) concentrations: H, He, O, N2, O2, N
         final double sigma   = tp120 / (tinf - t120);
-        final double dzeta   = (RE + zlb) / (RE + cachedAlti);
-        final double zeta    = (cachedAlti - zlb) * dzeta;
+        final double dzeta   = (RE + zlb) / (RE + ctx.alti);
+        final double zeta    = (ctx.alti - zlb) * dzeta;
         final double sigzeta = sigma * zeta;
         final double expsz   = FastMath.exp(-sigzeta);
-        tz = tinf - (tinf - t120) * expsz;
+        final double tz = tinf - (tinf - t120) * expsz;
 
         final double[] dbase = new double[7];
 
         kleq = 1;
 
-        final double gdelh = gFunction(h, dh, 0, kleq);
-        dh[1] = FastMath.exp(gdelh);
-        dbase[1] = h[1] * dh[1];
+        final double gdelh = gFunction(ctx, h, da, 0, kleq);
+        dbase[1] = h[1] * FastMath.exp(gdelh);
 
-        final double gdelhe = gFunction(he, dhe, 0, kleq);
-        dhe[1] = FastMath.exp(gdelhe);
-        dbase[2] = he[1] * dhe[1];
+        final double gdelhe = gFunction(ctx, he, da, 0, kleq);
+        dbase[2] = he[1] * FastMath.exp(gdelhe);
 
-        final double gdelo = gFunction(o, dox, 1, kleq);
-        dox[1] = FastMath.exp(gdelo);
-        dbase[3] = o[1] * dox[1];
+        final double gdelo = gFunction(ctx, o, da, 1, kleq);
+        dbase[3] = o[1] * FastMath.exp(gdelo);
 
-        final double gdelaz2 = gFunction(az2, daz2, 1, kleq);
-        daz2[1] = FastMath.exp(gdelaz2);
-        dbase[4] = az2[1] * daz2[1];
+        final double gdelaz2 = gFunction(ctx, az2, da, 1, kleq);
+        dbase[4] = az2[1] * FastMath.exp(gdelaz2);
 
-        final double gdelo2 = gFunction(o2, do2, 1, kleq);
-        do2[1] = FastMath.exp(gdelo2);
-        dbase[5] = o2[1] * do2[1];
+        final double gdelo2 = gFunction(ctx, o2, da, 1, kleq);
+        dbase[5] = o2[1] * FastMath.exp(gdelo2);
 
-        final double gdelaz = gFunction(az, daz, 1, kleq);
-        daz[1] = FastMath.exp(gdelaz);
-        dbase[6] = az[1] * daz[1];
+        final double gdelaz = gFunction(ctx, az, da, 1, kleq);
+        dbase[6] = az[1] * FastMath.exp(gdelaz);
 
         final double zlbre  = 1.0 + zlb / RE;
         final double glb    = (GSURF / (zlbre * zlbre)) / (sigma * RGAS * tinf);
@@ -491,7 +360,9 @@ public class DTM2000 implements Atmosphere {
 
         final double[] cc = new double[7];
         final double[] fz = new double[7];
+        final double[] d  = new double[7];
 
+        double ro = 0.0;
         for (int i = 1; i <= 6; i++) {
             final double gamma = MA[i] * glb;
             final double upapg = 1.0 + ALEFA[i] + gamma;
@@ -505,27 +376,30 @@ public class DTM2000 implements Atmosphere {
         }
 
         // mean atomic mass
-        wmm = ro / (VMA[1] * (cc[1] + cc[2] + cc[3] + cc[4] + cc[5] + cc[6]));
+        final double wmm = ro / (VMA[1] * (cc[1] + cc[2] + cc[3] + cc[4] + cc[5] + cc[6]));
+
+        return new Result(tz, tinf, ro, wmm, d);
 
     }
 
     /** Computation of function G.
+     * @param ctx computation context
      * @param a vector of coefficients for computation
      * @param da vector of partial derivatives
      * @param ff0 coefficient flag (1 for Ox, Az, He, T°; 0 for H and tp120)
      * @param kle_eq season indicator flag (summer, winter, equinox)
      * @return value of G
      */
-    private synchronized double gFunction(final double[] a, final double[] da,
-                                          final int ff0, final int kle_eq) {
+    private double gFunction(final Context ctx, final double[] a, final double[] da,
+                             final int ff0, final int kle_eq) {
 
         final double[] fmfb   = new double[3];
         final double[] fbm150 = new double[3];
 
         // latitude terms
-        da[2]  = p20;
-        da[3]  = p40;
-        da[74] = p10;
+        da[2]  = ctx.p20;
+        da[3]  = ctx.p40;
+        da[74] = ctx.p10;
         double a74 = a[74];
         double a77 = a[77];
         double a78 = a[78];
@@ -537,62 +411,62 @@ public class DTM2000 implements Atmosphere {
         }
         if (kle_eq == 0 ) {
             // equinox
-            a74 = semestrialCorrection(a74);
-            a77 = semestrialCorrection(a77);
-            a78 = semestrialCorrection(a78);
+            a74 = semestrialCorrection(ctx, a74);
+            a77 = semestrialCorrection(ctx, a77);
+            a78 = semestrialCorrection(ctx, a78);
         }
-        da[77] = p30;
-        da[78] = p50;
-        da[79] = p60;
+        da[77] = ctx.p30;
+        da[78] = ctx.p50;
+        da[79] = ctx.p60;
 
         // flux terms
-        fmfb[1]   = cachedF[1] - cachedFbar[1];
-        fmfb[2]   = cachedF[2] - cachedFbar[2];
-        fbm150[1] = cachedFbar[1] - 150.0;
-        fbm150[2] = cachedFbar[2];
+        fmfb[1]   = ctx.f[1] - ctx.fbar[1];
+        fmfb[2]   = ctx.f[2] - ctx.fbar[2];
+        fbm150[1] = ctx.fbar[1] - 150.0;
+        fbm150[2] = ctx.fbar[2];
         da[4]     = fmfb[1];
         da[6]     = fbm150[1];
         da[4]     = da[4] + a[70] * fmfb[2];
         da[6]     = da[6] + a[71] * fbm150[2];
-        da[70]    = fmfb[2] * (a[4] + 2.0 * a[5] * da[4] + a[82] * p10 +
-                               a[83] * p20 + a[84] * p30);
-        da[71]    = fbm150[2] * (a[6] + 2.0 * a[69] * da[6] + a[85] * p10 +
-                                 a[86] * p20 + a[87] * p30);
+        da[70]    = fmfb[2] * (a[4] + 2.0 * a[5] * da[4] + a[82] * ctx.p10 +
+                               a[83] * ctx.p20 + a[84] * ctx.p30);
+        da[71]    = fbm150[2] * (a[6] + 2.0 * a[69] * da[6] + a[85] * ctx.p10 +
+                                 a[86] * ctx.p20 + a[87] * ctx.p30);
         da[5]     = da[4] * da[4];
         da[69]    = da[6] * da[6];
-        da[82]    = da[4] * p10;
-        da[83]    = da[4] * p20;
-        da[84]    = da[4] * p30;
-        da[85]    = da[6] * p20;
-        da[86]    = da[6] * p30;
-        da[87]    = da[6] * p40;
+        da[82]    = da[4] * ctx.p10;
+        da[83]    = da[4] * ctx.p20;
+        da[84]    = da[4] * ctx.p30;
+        da[85]    = da[6] * ctx.p20;
+        da[86]    = da[6] * ctx.p30;
+        da[87]    = da[6] * ctx.p40;
 
         // Kp terms
         final int ikp  = 62;
         final int ikpm = 67;
-        final double c2fi = 1.0 - p10mg * p10mg;
-        final double dkp  = akp[1] + (a[ikp] + c2fi * a[ikp + 1]) * akp[2];
-        double dakp = a[7] + a[8] * p20mg + a[68] * p40mg +
-                      2.0 * dkp * (a[60] + a[61] * p20mg +
+        final double c2fi = 1.0 - ctx.p10mg * ctx.p10mg;
+        final double dkp  = ctx.akp[1] + (a[ikp] + c2fi * a[ikp + 1]) * ctx.akp[2];
+        double dakp = a[7] + a[8] * ctx.p20mg + a[68] * ctx.p40mg +
+                      2.0 * dkp * (a[60] + a[61] * ctx.p20mg +
                                    a[75] * 2.0 * dkp * dkp);
-        da[ikp] = dakp * akp[2];
+        da[ikp] = dakp * ctx.akp[2];
         da[ikp + 1] = da[ikp] * c2fi;
-        final double dkpm  = akp[3] + a[ikpm] * akp[4];
-        final double dakpm = a[64] + a[65] * p20mg + a[72] * p40mg +
-                             2.0 * dkpm * (a[66] + a[73] * p20mg +
+        final double dkpm  = ctx.akp[3] + a[ikpm] * ctx.akp[4];
+        final double dakpm = a[64] + a[65] * ctx.p20mg + a[72] * ctx.p40mg +
+                             2.0 * dkpm * (a[66] + a[73] * ctx.p20mg +
                                            a[76] * 2.0 * dkpm * dkpm);
-        da[ikpm] = dakpm * akp[4];
+        da[ikpm] = dakpm * ctx.akp[4];
         da[7]    = dkp;
-        da[8]    = p20mg * dkp;
-        da[68]   = p40mg * dkp;
+        da[8]    = ctx.p20mg * dkp;
+        da[68]   = ctx.p40mg * dkp;
         da[60]   = dkp * dkp;
-        da[61]   = p20mg * da[60];
+        da[61]   = ctx.p20mg * da[60];
         da[75]   = da[60] * da[60];
         da[64]   = dkpm;
-        da[65]   = p20mg * dkpm;
-        da[72]   = p40mg * dkpm;
+        da[65]   = ctx.p20mg * dkpm;
+        da[72]   = ctx.p40mg * dkpm;
         da[66]   = dkpm * dkpm;
-        da[73]   = p20mg * da[66];
+        da[73]   = ctx.p20mg * da[66];
         da[76]   = da[66] * da[66];
 
         // non-periodic g(l) function
@@ -609,43 +483,43 @@ public class DTM2000 implements Atmosphere {
              a[72] * da[72] + a[73] * da[73] + a[75] * da[75] +
              a[76] * da[76] + a78   * da[78] + a[79] * da[79];
 //      termes annuels symetriques en latitude
-        da[9]  = FastMath.cos(ROT * (cachedDay - a[11]));
-        da[10] = p20 * da[9];
+        da[9]  = FastMath.cos(ROT * (ctx.day - a[11]));
+        da[10] = ctx.p20 * da[9];
 //      termes semi-annuels symetriques en latitude
-        da[12] = FastMath.cos(ROT2 * (cachedDay - a[14]));
-        da[13] = p20 * da[12];
+        da[12] = FastMath.cos(ROT2 * (ctx.day - a[14]));
+        da[13] = ctx.p20 * da[12];
 //      termes annuels non symetriques en latitude
-        final double coste = FastMath.cos(ROT * (cachedDay - a[18]));
-        da[15] = p10 * coste;
-        da[16] = p30 * coste;
-        da[17] = p50 * coste;
+        final double coste = FastMath.cos(ROT * (ctx.day - a[18]));
+        da[15] = ctx.p10 * coste;
+        da[16] = ctx.p30 * coste;
+        da[17] = ctx.p50 * coste;
 //      terme  semi-annuel  non symetrique  en latitude
-        final double cos2te = FastMath.cos(ROT2 * (cachedDay - a[20]));
-        da[19] = p10 * cos2te;
-        da[39] = p30 * cos2te;
-        da[59] = p50 * cos2te;
+        final double cos2te = FastMath.cos(ROT2 * (ctx.day - a[20]));
+        da[19] = ctx.p10 * cos2te;
+        da[39] = ctx.p30 * cos2te;
+        da[59] = ctx.p50 * cos2te;
 //      termes diurnes [et couples annuel]
-        da[21] = p11 * ch;
-        da[22] = p31 * ch;
-        da[23] = p51 * ch;
+        da[21] = ctx.p11 * ctx.ch;
+        da[22] = ctx.p31 * ctx.ch;
+        da[23] = ctx.p51 * ctx.ch;
         da[24] = da[21] * coste;
-        da[25] = p21 * ch * coste;
-        da[26] = p11 * sh;
-        da[27] = p31 * sh;
-        da[28] = p51 * sh;
+        da[25] = ctx.p21 * ctx.ch * coste;
+        da[26] = ctx.p11 * ctx.sh;
+        da[27] = ctx.p31 * ctx.sh;
+        da[28] = ctx.p51 * ctx.sh;
         da[29] = da[26] * coste;
-        da[30] = p21 * sh * coste;
+        da[30] = ctx.p21 * ctx.sh * coste;
 //      termes semi-diurnes [et couples annuel]
-        da[31] = p22 * c2h;
-        da[37] = p42 * c2h;
-        da[32] = p32 * c2h * coste;
-        da[33] = p22 * s2h;
-        da[38] = p42 * s2h;
-        da[34] = p32 * s2h * coste;
-        da[88] = p32 * c2h;
-        da[89] = p32 * s2h;
-        da[90] = p52 * c2h;
-        da[91] = p52 * s2h;
+        da[31] = ctx.p22 * ctx.c2h;
+        da[37] = ctx.p42 * ctx.c2h;
+        da[32] = ctx.p32 * ctx.c2h * coste;
+        da[33] = ctx.p22 * ctx.s2h;
+        da[38] = ctx.p42 * ctx.s2h;
+        da[34] = ctx.p32 * ctx.s2h * coste;
+        da[88] = ctx.p32 * ctx.c2h;
+        da[89] = ctx.p32 * ctx.s2h;
+        da[90] = ctx.p52 * ctx.c2h;
+        da[91] = ctx.p52 * ctx.s2h;
         double a88 = a[88];
         double a89 = a[89];
         double a90 = a[90];
@@ -657,16 +531,16 @@ public class DTM2000 implements Atmosphere {
             a91 = -a91;
         }
         if (kle_eq == 0) {             //equinox
-            a88 = semestrialCorrection(a88);
-            a89 = semestrialCorrection(a89);
-            a90 = semestrialCorrection(a90);
-            a91 = semestrialCorrection(a91);
+            a88 = semestrialCorrection(ctx, a88);
+            a89 = semestrialCorrection(ctx, a89);
+            a90 = semestrialCorrection(ctx, a90);
+            a91 = semestrialCorrection(ctx, a91);
         }
-        da[92] = p62 * c2h;
-        da[93] = p62 * s2h;
+        da[92] = ctx.p62 * ctx.c2h;
+        da[93] = ctx.p62 * ctx.s2h;
 //      termes ter-diurnes
-        da[35] = p33 * c3h;
-        da[36] = p33 * s3h;
+        da[35] = ctx.p33 * ctx.c3h;
+        da[36] = ctx.p33 * ctx.s3h;
 //      fonction g[l] periodique
         double fp = a[9]  * da[9]  + a[10] * da[10] + a[12] * da[12] + a[13] * da[13] +
                     a[15] * da[15] + a[16] * da[16] + a[17] * da[17] + a[19] * da[19] +
@@ -678,39 +552,39 @@ public class DTM2000 implements Atmosphere {
                     a88   * da[88] + a89   * da[89] + a90   * da[90] + a91   * da[91] +
                     a[92] * da[92] + a[93] * da[93];
 //      termes d'activite magnetique
-        da[40] = p10 * coste * dkp;
-        da[41] = p30 * coste * dkp;
-        da[42] = p50 * coste * dkp;
-        da[43] = p11 * ch * dkp;
-        da[44] = p31 * ch * dkp;
-        da[45] = p51 * ch * dkp;
-        da[46] = p11 * sh * dkp;
-        da[47] = p31 * sh * dkp;
-        da[48] = p51 * sh * dkp;
+        da[40] = ctx.p10 * coste * dkp;
+        da[41] = ctx.p30 * coste * dkp;
+        da[42] = ctx.p50 * coste * dkp;
+        da[43] = ctx.p11 * ctx.ch * dkp;
+        da[44] = ctx.p31 * ctx.ch * dkp;
+        da[45] = ctx.p51 * ctx.ch * dkp;
+        da[46] = ctx.p11 * ctx.sh * dkp;
+        da[47] = ctx.p31 * ctx.sh * dkp;
+        da[48] = ctx.p51 * ctx.sh * dkp;
 
 //      fonction g[l] periodique supplementaire
         fp += a[40] * da[40] + a[41] * da[41] + a[42] * da[42] + a[43] * da[43] +
               a[44] * da[44] + a[45] * da[45] + a[46] * da[46] + a[47] * da[47] +
               a[48] * da[48];
 
-        dakp = (a[40] * p10 + a[41] * p30 + a[42] * p50) * coste +
-               (a[43] * p11 + a[44] * p31 + a[45] * p51) * ch +
-               (a[46] * p11 + a[47] * p31 + a[48] * p51) * sh;
-        da[ikp] += dakp * akp[2];
-        da[ikp + 1] = da[ikp] + dakp * c2fi * akp[2];
+        dakp = (a[40] * ctx.p10 + a[41] * ctx.p30 + a[42] * ctx.p50) * coste +
+               (a[43] * ctx.p11 + a[44] * ctx.p31 + a[45] * ctx.p51) * ctx.ch +
+               (a[46] * ctx.p11 + a[47] * ctx.p31 + a[48] * ctx.p51) * ctx.sh;
+        da[ikp] += dakp * ctx.akp[2];
+        da[ikp + 1] = da[ikp] + dakp * c2fi * ctx.akp[2];
 //      termes de longitude
-        final double clfl = FastMath.cos(xlon);
-        da[49] = p11 * clfl;
-        da[50] = p21 * clfl;
-        da[51] = p31 * clfl;
-        da[52] = p41 * clfl;
-        da[53] = p51 * clfl;
-        final double slfl = FastMath.sin(xlon);
-        da[54] = p11 * slfl;
-        da[55] = p21 * slfl;
-        da[56] = p31 * slfl;
-        da[57] = p41 * slfl;
-        da[58] = p51 * slfl;
+        final double clfl = FastMath.cos(ctx.xlon);
+        da[49] = ctx.p11 * clfl;
+        da[50] = ctx.p21 * clfl;
+        da[51] = ctx.p31 * clfl;
+        da[52] = ctx.p41 * clfl;
+        da[53] = ctx.p51 * clfl;
+        final double slfl = FastMath.sin(ctx.xlon);
+        da[54] = ctx.p11 * slfl;
+        da[55] = ctx.p21 * slfl;
+        da[56] = ctx.p31 * slfl;
+        da[57] = ctx.p41 * slfl;
+        da[58] = ctx.p51 * slfl;
 
 //      fonction g[l] periodique supplementaire
         fp += a[49] * da[49] + a[50] * da[50] + a[51] * da[51] + a[52] * da[52] +
@@ -724,18 +598,19 @@ public class DTM2000 implements Atmosphere {
 
 
     /** Apply a correction coefficient to the given parameter.
+     * @param ctx computation context
      * @param param the parameter to correct
      * @return the corrected parameter
      */
-    private synchronized double semestrialCorrection(final double param) {
+    private static double semestrialCorrection(final Context ctx, final double param) {
         final int debeq_pr = 59;
         final int debeq_au = 244;
         final double result;
-        if (cachedDay >= 100) {
-            final double xmult  = (cachedDay - debeq_au) / 40.0;
+        if (ctx.day >= 100) {
+            final double xmult  = (ctx.day - debeq_au) / 40.0;
             result = param - 2.0 * param * xmult;
         } else {
-            final double xmult  = (cachedDay - debeq_pr) / 40.0;
+            final double xmult  = (ctx.day - debeq_pr) / 40.0;
             result = 2.0 * param * xmult - param;
         }
         return result;
@@ -807,43 +682,57 @@ public class DTM2000 implements Atmosphere {
 
     /** Get the current exospheric temperature above input position.
      * {@link #getDensity(int, double, double, double, double, double, double, double, double) getDensity}
-     * method <b>must</b> be called before calling this function.
+     * method <b>must</b> be called before calling this function, in the same thread.
+     * This getter is intended for single-thread use only.
      * @return the exospheric temperature (K)
+     * @see Result#getTinf()
      */
     public double getTinf() {
-        return tinf;
+        return getLastResult().getTinf();
     }
 
     /** Get the local temperature.
      * {@link #getDensity(int, double, double, double, double, double, double, double, double) getDensity}
-     * method <b>must</b> be called before calling this function.
+     * method <b>must</b> be called before calling this function, in the same thread.
+     * This getter is intended for single-thread use only.
      * @return the temperature at altitude z (K)
+     * @see Result#getT()
      */
     public double getT() {
-        return tz;
+        return getLastResult().getT();
     }
 
     /** Get the local mean atomic mass.
      * {@link #getDensity(int, double, double, double, double, double, double, double, double) getDensity}
-     * method <b>must</b> be called before calling this function.
+     * method <b>must</b> be called before calling this function, in the same thread.
+     * This getter is intended for single-thread use only.
      * @return the local mean atomic mass
+     * @see Result#getMam()
      */
     public double getMam() {
-        return wmm;
+        return getLastResult().getMam();
     }
 
     /** Get the local partial density of the selected element.
      * {@link #getDensity(int, double, double, double, double, double, double, double, double) getDensity}
-     * method <b>must</b> be called before calling this function.
+     * method <b>must</b> be called before calling this function, in the same thread.
+     * This getter is intended for single-thread use only.
      * @param identifier one of the six elements : {@link #HYDROGEN}, {@link #HELIUM},
      * {@link #ATOMIC_OXYGEN}, {@link #MOLECULAR_NITROGEN},  {@link #MOLECULAR_OXYGEN}, {@link #ATOMIC_NITROGEN}
      * @return the local partial density (kg/m³)
+     * @see Result#getPartialDensities(int)
      */
     public double getPartialDensities(final int identifier) {
-        if (identifier < 1 || identifier > 6) {
-            throw new IllegalArgumentException("element identifier is not correct");
-        }
-        return d[identifier] * 1000;
+        return getLastResult().getPartialDensities(identifier);
+    }
+
+    /** Get the result of the last legacy computation.
+     * @return result of the last legacy computation, or a result with all fields set
+     * to zero if no such computation has been performed since construction or deserialization
+     */
+    private Result getLastResult() {
+        final Result result = lastResult;
+        return (result == null) ? new Result(0.0, 0.0, 0.0, 0.0, new double[7]) : result;
     }
 
     /** Get the local density.
@@ -857,7 +746,25 @@ public class DTM2000 implements Atmosphere {
     public double getDensity(final AbsoluteDate date, final Vector3D position,
                              final Frame frame)
         throws OrekitException {
+        return compute(date, position, frame).getDensity();
+    }
 
+    /** Compute all model outputs.
+     * <p>
+     * This method is thread-safe and lock-free, all intermediate values
+     * are local to the call.
+     * </p>
+     * @param date current date
+     * @param position current position in frame
+     * @param frame the frame in which is defined the position
+     * @return model outputs
+     * @exception OrekitException if date is out of range of solar activity model
+     * or if some frame conversion cannot be performed
+     * @since 9.0
+     */
+    public Result compute(final AbsoluteDate date, final Vector3D position,
+                          final Frame frame)
+        throws OrekitException {
         // check if data are available :
         if ((date.compareTo(inputParams.getMaxDate()) > 0) ||
             (date.compareTo(inputParams.getMinDate()) < 0)) {
@@ -886,9 +793,9 @@ public class DTM2000 implements Atmosphere {
                 sunPos.getX() * pEcef.getX() + sunPos.getY() * pEcef.getY());
 
         // get current solar activity data and compute
-        return getDensity(day, alti, lon, lat, hl, inputParams.getInstantFlux(date),
-                          inputParams.getMeanFlux(date), inputParams.getThreeHourlyKP(date),
-                          inputParams.get24HoursKp(date));
+        return compute(day, alti, lon, lat, hl, inputParams.getInstantFlux(date),
+                       inputParams.getMeanFlux(date), inputParams.getThreeHourlyKP(date),
+                       inputParams.get24HoursKp(date));
 
     }
 
@@ -901,4 +808,214 @@ public class DTM2000 implements Atmosphere {
         throw new UnsupportedOperationException();
     }
 
+    /** Outputs of the DTM2000 model for one point. */
+    public static class Result {
+
+        /** Temperature at altitude z (K). */
+        private final double tz;
+
+        /** Exospheric temperature. */
+        private final double tinf;
+
+        /** Total density (g/cm3). */
+        private final double ro;
+
+        /** Mean atomic mass. */
+        private final double wmm;
+
+        /** Partial densities in (g/cm3), indexed by element identifier. */
+        private final double[] d;
+
+        /** Simple constructor.
+         * @param tz temperature at altitude z (K)
+         * @param tinf exospheric temperature (K)
+         * @param ro total density (g/cm3)
+         * @param wmm mean atomic mass
+         * @param d partial densities in (g/cm3), indexed by element identifier
+         */
+        Result(final double tz, final double tinf, final double ro, final double wmm, final double[] d) {
+            this.tz   = tz;
+            this.tinf = tinf;
+            this.ro   = ro;
+            this.wmm  = wmm;
+            this.d    = d;
+        }
+
+        /** Get the local density.
+         * @return local density (kg/m³)
+         */
+        public double getDensity() {
+            return ro * 1000;
+        }
+
+        /** Get the exospheric temperature above input position.
+         * @return the exospheric temperature (K)
+         */
+        public double getTinf() {
+            return tinf;
+        }
+
+        /** Get the local temperature.
+         * @return the temperature at altitude z (K)
+         */
+        public double getT() {
+            return tz;
+        }
+
+        /** Get the local mean atomic mass.
+         * @return the local mean atomic mass
+         */
+        public double getMam() {
+            return wmm;
+        }
+
+        /** Get the local partial density of the selected element.
+         * @param identifier one of the six elements : {@link #HYDROGEN}, {@link #HELIUM},
+         * {@link #ATOMIC_OXYGEN}, {@link #MOLECULAR_NITROGEN},  {@link #MOLECULAR_OXYGEN}, {@link #ATOMIC_NITROGEN}
+         * @return the local partial density (kg/m³)
+         */
+        public double getPartialDensities(final int identifier) {
+            if (identifier < 1 || identifier > 6) {
+                throw new IllegalArgumentException("element identifier is not correct");
+            }
+            return d[identifier] * 1000;
+        }
+
+    }
+
+    /** Local context for one model evaluation. */
+    private static class Context {
+
+        /** Number of days in current year. */
+        private final int day;
+
+        /** Geodetic altitude in km (minimum altitude: 120 km). */
+        private final double alti;
+
+        /** Geodetic longitude (rad). */
+        private final double xlon;
+
+        /** Instant solar flux. f[1] = instantaneous flux; f[2] = 0. (not used). */
+        private final double[] f;
+
+        /** Mean solar flux. fbar[1] = mean flux; fbar[2] = 0. (not used). */
+        private final double[] fbar;
+
+        /** Kp coefficients.
+         * <ul>
+         *   <li>akp[1] = 3-hourly kp</li>
+         *   <li>akp[2] = 0 (not used)</li>
+         *   <li>akp[3] = mean kp of last 24 hours</li>
+         *   <li>akp[4] = 0 (not used)</li>
+         * </ul>
+         */
+        private final double[] akp;
+
+        // CHECKSTYLE: stop JavadocVariable check
+
+        /** Legendre coefficients. */
+        private final double p10;
+        private final double p20;
+        private final double p30;
+        private final double p40;
+        private final double p50;
+        private final double p60;
+        private final double p11;
+        private final double p21;
+        private final double p31;
+        private final double p41;
+        private final double p51;
+        private final double p22;
+        private final double p32;
+        private final double p42;
+        private final double p52;
+        private final double p62;
+        private final double p33;
+        private final double p10mg;
+        private final double p20mg;
+        private final double p40mg;
+
+        /** Local time intermediate values. */
+        private final double ch;
+        private final double sh;
+        private final double c2h;
+        private final double s2h;
+        private final double c3h;
+        private final double s3h;
+
+        // CHECKSTYLE: resume JavadocVariable check
+
+        /** Simple constructor.
+         * @param day day of year
+         * @param alti altitude in kilometers
+         * @param lon local longitude (rad)
+         * @param lat local latitude (rad)
+         * @param hl local solar time in rad (O hr = 0 rad)
+         * @param f instantaneous solar flux (F10.7)
+         * @param fbar mean solar flux (F10.7)
+         * @param akp3 3 hrs geomagnetic activity index (1-9)
+         * @param akp24 Mean of last 24 hrs geomagnetic activity index (1-9)
+         */
+        Context(final int day, final double alti, final double lon, final double lat,
+                final double hl, final double f, final double fbar,
+                final double akp3, final double akp24) {
+
+            this.day  = day;
+            this.alti = alti;
+            this.xlon = lon;
+            this.f    = new double[] {
+                0.0, f, 0.0
+            };
+            this.fbar = new double[] {
+                0.0, fbar, 0.0
+            };
+            this.akp  = new double[] {
+                0.0, akp3, 0.0, akp24, 0.0
+            };
+
+            // compute Legendre polynomials wrt geographic pole
+            final double c = FastMath.sin(lat);
+            final double c2 = c * c;
+            final double c4 = c2 * c2;
+            final double s = FastMath.cos(lat);
+            final double s2 = s * s;
+            p10 = c;
+            p20 = 1.5 * c2 - 0.5;
+            p30 = c * (2.5 * c2 - 1.5);
+            p40 = 4.375 * c4 - 3.75 * c2 + 0.375;
+            p50 = c * (7.875 * c4 - 8.75 * c2 + 1.875);
+            p60 = (5.5 * c * p50 - 2.5 * p40) / 3.0;
+            p11 = s;
+            p21 = 3.0 * c * s;
+            p31 = s * (7.5 * c2 - 1.5);
+            p41 = c * s * (17.5 * c2 - 7.5);
+            p51 = s * (39.375 * c4 - 26.25 * c2 + 1.875);
+            p22 = 3.0 * s2;
+            p32 = 15.0 * c * s2;
+            p42 = s2 * (52.5 * c2 - 7.5);
+            p52 = 3.0 * c * p42 - 2.0 * p32;
+            p62 = 2.75 * c * p52 - 1.75 * p42;
+            p33 = 15.0 * s * s2;
+
+            // compute Legendre polynomials wrt magnetic pole (79N, 71W)
+            final double clmlmg = FastMath.cos(xlon - XLMG);
+            final double cmg  = s * CPMG * clmlmg + c * SPMG;
+            final double cmg2 = cmg * cmg;
+            final double cmg4 = cmg2 * cmg2;
+            p10mg = cmg;
+            p20mg = 1.5 * cmg2 - 0.5;
+            p40mg = 4.375 * cmg4 - 3.75 * cmg2 + 0.375;
+
+            // local time
+            ch  = FastMath.cos(hl);
+            sh  = FastMath.sin(hl);
+            c2h = ch * ch - sh * sh;
+            s2h = 2.0 * ch * sh;
+            c3h = c2h * ch - s2h * sh;
+            s3h = s2h * ch + c2h * sh;
+
+        }
+
+    }
+
 }
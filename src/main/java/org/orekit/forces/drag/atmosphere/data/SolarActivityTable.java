@@ -0,0 +1,444 @@
+/* Copyright 2002-2016 CS Systèmes d'Information
+ * Licensed to CS Systèmes d'Information (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.forces.drag.atmosphere.data;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hipparchus.util.FastMath;
+import org.orekit.data.DataLoader;
+import org.orekit.data.DataProvidersManager;
+import org.orekit.data.LineTokenizer;
+import org.orekit.errors.OrekitException;
+import org.orekit.errors.OrekitMessages;
+import org.orekit.forces.drag.atmosphere.DTM2000InputParameters;
+import org.orekit.forces.drag.atmosphere.NRLMSISE00InputParameters;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.time.DateComponents;
+import org.orekit.time.TimeComponents;
+import org.orekit.time.TimeScale;
+import org.orekit.time.TimeScalesFactory;
+import org.orekit.utils.Constants;
+
+/** Indexed table of daily and 3-hourly solar activity data.
+ * <p>
+ * The data are stored in primitive arrays indexed by the number of days since
+ * the first day in the table, so all look-ups are performed in constant time
+ * without any date components conversions. Daily values are the observed F10.7
+ * solar flux, its 81 days average centered on current day and the daily A<sub>p</sub>
+ * geomagnetic index. 3-hourly values are the K<sub>p</sub> and A<sub>p</sub>
+ * geomagnetic indices.
+ * </p>
+ * <p>
+ * Tables can be loaded from CelesTrak <a href="https://celestrak.com/SpaceData/">CSSI
+ * space weather files</a> (observed and daily predicted sections are used, monthly
+ * predicted section is ignored), or built by sampling {@link
+ * MarshallSolarActivityFutureEstimation MSAFE} data. As tables are serializable
+ * and contain only primitive arrays, they can also be saved and reloaded quickly.
+ * </p>
+ * <p>
+ * As NRLMSISE-00 needs geomagnetic indices up to 57 hours before current date
+ * and DTM2000 and NRLMSISE-00 need solar flux of the previous day, the {@link
+ * #getMinDate() minimum date} is the start of the fourth day in the table.
+ * </p>
+ * <p>
+ * Instances of this class are immutable, hence thread-safe.
+ * </p>
+ * @author Luc Maisonobe
+ * @since 9.0
+ */
+public class SolarActivityTable implements DTM2000InputParameters, NRLMSISE00InputParameters {
+
+    /** Serializable UID. */
+    private static final long serialVersionUID = 20170307L;
+
+    /** Number of 3-hours intervals in one day. */
+    private static final int SLOTS = 8;
+
+    /** Number of days at table start reserved for look-back. */
+    private static final int LOOK_BACK = 3;
+
+    /** Start of the first day in the table. */
+    private final AbsoluteDate start;
+
+    /** Offsets of days starts with respect to table start (one more element than days). */
+    private final double[] dayStart;
+
+    /** Daily observed F10.7 flux. */
+    private final double[] dailyFlux;
+
+    /** 81 days average of observed F10.7 flux, centered on current day. */
+    private final double[] averageFlux;
+
+    /** Daily A<sub>p</sub> index. */
+    private final double[] dailyAp;
+
+    /** 3-hourly K<sub>p</sub> index. */
+    private final double[] kp;
+
+    /** 3-hourly A<sub>p</sub> index. */
+    private final double[] ap;
+
+    /** Simple constructor.
+     * @param firstDay first day in the table
+     * @param dailyFlux daily observed F10.7 flux
+     * @param averageFlux 81 days average of observed F10.7 flux, centered on current day
+     * @param dailyAp daily A<sub>p</sub> index
+     * @param kp 3-hourly K<sub>p</sub> index (8 entries per day)
+     * @param ap 3-hourly A<sub>p</sub> index (8 entries per day)
+     * @exception OrekitException if UTC time scale cannot be retrieved
+     */
+    private SolarActivityTable(final DateComponents firstDay,
+                               final double[] dailyFlux, final double[] averageFlux,
+                               final double[] dailyAp, final double[] kp, final double[] ap)
+        throws OrekitException {
+        final TimeScale utc = TimeScalesFactory.getUTC();
+        this.start    = new AbsoluteDate(firstDay, TimeComponents.H00, utc);
+        this.dayStart = new double[dailyFlux.length + 1];
+        for (int i = 1; i < dayStart.length; ++i) {
+            // use actual UTC days, as some days contain leap seconds
+            dayStart[i] = new AbsoluteDate(new DateComponents(firstDay, i), TimeComponents.H00, utc).durationFrom(start);
+        }
+        this.dailyFlux   = dailyFlux;
+        this.averageFlux = averageFlux;
+        this.dailyAp     = dailyAp;
+        this.kp          = kp;
+        this.ap          = ap;
+    }
+
+    /** Load a table from CSSI space weather data.
+     * <p>
+     * Only the first file matching the supported names is loaded.
+     * </p>
+     * @param supportedNames regular expression for supported files names
+     * (for example "^SW-All\\.txt$")
+     * @return loaded table
+     * @exception OrekitException if no data can be loaded
+     */
+    public static SolarActivityTable loadCSSI(final String supportedNames)
+        throws OrekitException {
+        final CSSILoader loader = new CSSILoader();
+        DataProvidersManager.getInstance().feed(supportedNames, loader);
+        if (loader.firstDay == null) {
+            throw new OrekitException(OrekitMessages.UNABLE_TO_FIND_FILE, supportedNames);
+        }
+        return loader.build();
+    }
+
+    /** Build a table by sampling Marshall Solar Activity Future Estimation data.
+     * <p>
+     * MSAFE data are monthly estimates that do not distinguish between daily and
+     * average flux nor between 3-hourly and daily indices. Fluxes are sampled at
+     * noon of each day and K<sub>p</sub> indices at the middle of each 3-hours
+     * interval, A<sub>p</sub> indices being retrieved by inverting the conversion
+     * used by {@link MarshallSolarActivityFutureEstimation#get24HoursKp(AbsoluteDate)}.
+     * </p>
+     * @param msafe MSAFE data
+     * @return table sampling MSAFE data
+     * @exception OrekitException if data cannot be loaded
+     */
+    public static SolarActivityTable fromMSAFE(final MarshallSolarActivityFutureEstimation msafe)
+        throws OrekitException {
+
+        // the MSAFE range starts at a month start, at 00:00 UTC
+        final TimeScale      utc      = TimeScalesFactory.getUTC();
+        final DateComponents firstDay = msafe.getMinDate().getComponents(utc).getDate();
+        final DateComponents lastDay  = msafe.getMaxDate().getComponents(utc).getDate();
+        final int            days     = lastDay.getMJD() - firstDay.getMJD();
+
+        final double[] flux  = new double[days];
+        final double[] daily = new double[days];
+        final double[] kp    = new double[SLOTS * days];
+        final double[] ap    = new double[SLOTS * days];
+        for (int i = 0; i < days; ++i) {
+            final AbsoluteDate midnight = new AbsoluteDate(new DateComponents(firstDay, i), TimeComponents.H00, utc);
+            flux[i] = msafe.getMeanFlux(midnight.shiftedBy(0.5 * Constants.JULIAN_DAY));
+            double sum = 0;
+            for (int j = 0; j < SLOTS; ++j) {
+                final int k = SLOTS * i + j;
+                kp[k] = msafe.get24HoursKp(midnight.shiftedBy((j + 0.5) * Constants.JULIAN_DAY / SLOTS));
+                ap[k] = FastMath.sinh(kp[k] / 1.89) / 0.154;
+                sum  += ap[k];
+            }
+            daily[i] = sum / SLOTS;
+        }
+
+        return new SolarActivityTable(firstDay, flux, flux.clone(), daily, kp, ap);
+
+    }
+
+    /** {@inheritDoc}
+     * <p>
+     * The minimum date is the start of the fourth day in the table.
+     * </p>
+     */
+    @Override
+    public AbsoluteDate getMinDate() {
+        return start.shiftedBy(dayStart[LOOK_BACK]);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public AbsoluteDate getMaxDate() {
+        return start.shiftedBy(dayStart[dayStart.length - 1]);
+    }
+
+    /** Get the index of the 3-hours interval containing a date.
+     * @param date current date
+     * @return index of the 3-hours interval containing date
+     * @exception OrekitException if date is out of range
+     */
+    private int getSlot(final AbsoluteDate date) throws OrekitException {
+
+        final double dt   = date.durationFrom(start);
+        final int    last = dayStart.length - 1;
+        if (dt < dayStart[LOOK_BACK] || dt > dayStart[last]) {
+            throw new OrekitException(OrekitMessages.NO_SOLAR_ACTIVITY_AT_DATE,
+                                      date, getMinDate(), getMaxDate());
+        }
+
+        // guess the day assuming there are no leap seconds, then fix it
+        int day = FastMath.min((int) FastMath.floor(dt / Constants.JULIAN_DAY), last - 1);
+        while (dt < dayStart[day]) {
+            --day;
+        }
+        while (day < last - 1 && dt >= dayStart[day + 1]) {
+            ++day;
+        }
+
+        final double slotDuration = (dayStart[day + 1] - dayStart[day]) / SLOTS;
+        final int    slot         = (int) FastMath.floor((dt - dayStart[day]) / slotDuration);
+        return SLOTS * day + FastMath.min(slot, SLOTS - 1);
+
+    }
+
+    /** Get the observed F10.7 flux for previous day.
+     * @param date current date
+     * @return observed F10.7 flux for previous day
+     * @exception OrekitException if the date is out of range of available data
+     */
+    @Override
+    public double getDailyFlux(final AbsoluteDate date) throws OrekitException {
+        return dailyFlux[getSlot(date) / SLOTS - 1];
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public double getAverageFlux(final AbsoluteDate date) throws OrekitException {
+        return averageFlux[getSlot(date) / SLOTS];
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public double[] getAp(final AbsoluteDate date) throws OrekitException {
+        final int slot = getSlot(date);
+        return new double[] {
+            dailyAp[slot / SLOTS],
+            ap[slot],
+            ap[slot - 1],
+            ap[slot - 2],
+            ap[slot - 3],
+            average(ap, slot - 11, slot - 4),
+            average(ap, slot - 19, slot - 12)
+        };
+    }
+
+    /** {@inheritDoc}
+     * <p>
+     * The instantaneous flux is the observed F10.7 flux for previous day.
+     * </p>
+     */
+    @Override
+    public double getInstantFlux(final AbsoluteDate date) throws OrekitException {
+        return getDailyFlux(date);
+    }
+
+    /** {@inheritDoc}
+     * <p>
+     * The mean flux is the 81 days average of observed F10.7 flux,
+     * centered on current day.
+     * </p>
+     */
+    @Override
+    public double getMeanFlux(final AbsoluteDate date) throws OrekitException {
+        return getAverageFlux(date);
+    }
+
+    /** {@inheritDoc}
+     * <p>
+     * The index returned is the one of the 3-hours interval containing the date.
+     * </p>
+     */
+    @Override
+    public double getThreeHourlyKP(final AbsoluteDate date) throws OrekitException {
+        return kp[getSlot(date)];
+    }
+
+    /** {@inheritDoc}
+     * <p>
+     * The index returned is the average of the eight 3-hours indices
+     * ending with the interval containing the date.
+     * </p>
+     */
+    @Override
+    public double get24HoursKp(final AbsoluteDate date) throws OrekitException {
+        final int slot = getSlot(date);
+        return average(kp, slot - (SLOTS - 1), slot);
+    }
+
+    /** Compute the average of array elements.
+     * @param array array containing the elements
+     * @param first index of first element to average
+     * @param last index of last element to average (included)
+     * @return average of elements between first and last (included)
+     */
+    private static double average(final double[] array, final int first, final int last) {
+        double sum = 0;
+        for (int i = first; i <= last; ++i) {
+            sum += array[i];
+        }
+        return sum / (last - first + 1);
+    }
+
+    /** Loader for CSSI space weather files. */
+    private static class CSSILoader implements DataLoader {
+
+        /** Minimum number of fields in data lines. */
+        private static final int MIN_FIELDS = 33;
+
+        /** First day in file. */
+        private DateComponents firstDay;
+
+        /** Daily observed F10.7 flux. */
+        private final List<Double> dailyFlux;
+
+        /** 81 days average of observed F10.7 flux, centered on current day. */
+        private final List<Double> averageFlux;
+
+        /** Daily A<sub>p</sub> index. */
+        private final List<Double> dailyAp;
+
+        /** 3-hourly K<sub>p</sub> and A<sub>p</sub> indices. */
+        private final List<double[]> indices;
+
+        /** Simple constructor.
+         */
+        CSSILoader() {
+            dailyFlux   = new ArrayList<Double>();
+            averageFlux = new ArrayList<Double>();
+            dailyAp     = new ArrayList<Double>();
+            indices     = new ArrayList<double[]>();
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public boolean stillAcceptsData() {
+            return firstDay == null;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public void loadData(final InputStream input, final String name)
+            throws IOException, OrekitException {
+
+            // the data lines have the following form (there are 33 fields, some lines may be longer):
+            // yyyy mm dd BSRN ND Kp*8 Sum Ap*8 Avg Cp C9 ISN F10.7Adj Q Ctr81Adj Lst81Adj F10.7Obs Ctr81Obs Lst81Obs
+            // 2003 03 12 2314 12 30 23 20 17 13 17 20 27 167  15   9   7   6   5   6   7  12   8 0.4 2  93 136.6 0 127.6 125.4 133.2 125.8 124.1
+            final BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+            final LineTokenizer  tokenizer = new LineTokenizer();
+            boolean inData = false;
+            DateComponents expected = null;
+            int lineNumber = 0;
+            for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                ++lineNumber;
+                tokenizer.reset(line);
+                if (tokenizer.getTokensCount() == 2 && tokenizer.tokenEquals(0, "BEGIN")) {
+                    inData = tokenizer.tokenEquals(1, "OBSERVED") || tokenizer.tokenEquals(1, "DAILY_PREDICTED");
+                } else if (tokenizer.getTokensCount() == 2 && tokenizer.tokenEquals(0, "END")) {
+                    inData = false;
+                } else if (inData && tokenizer.getTokensCount() > 0) {
+                    try {
+                        if (tokenizer.getTokensCount() < MIN_FIELDS) {
+                            throw new OrekitException(OrekitMessages.UNABLE_TO_PARSE_LINE_IN_FILE,
+                                                      lineNumber, name, line);
+                        }
+                        final DateComponents day = new DateComponents(tokenizer.parseInt(0),
+                                                                      tokenizer.parseInt(1),
+                                                                      tokenizer.parseInt(2));
+                        if (expected == null) {
+                            firstDay = day;
+                        } else if (!day.equals(expected)) {
+                            // the table must not have any gaps
+                            throw new OrekitException(OrekitMessages.UNABLE_TO_PARSE_LINE_IN_FILE,
+                                                      lineNumber, name, line);
+                        }
+                        expected = new DateComponents(day, 1);
+
+                        // 3-hourly Kp (given as tenths) and Ap indices
+                        final double[] dayIndices = new double[2 * SLOTS];
+                        for (int j = 0; j < SLOTS; ++j) {
+                            dayIndices[j]         = 0.1 * tokenizer.parseInt(5 + j);
+                            dayIndices[SLOTS + j] = tokenizer.parseInt(14 + j);
+                        }
+                        indices.add(dayIndices);
+                        dailyAp.add(tokenizer.parseDouble(22));
+                        dailyFlux.add(tokenizer.parseDouble(30));
+                        averageFlux.add(tokenizer.parseDouble(31));
+
+                    } catch (NumberFormatException nfe) {
+                        throw new OrekitException(OrekitMessages.UNABLE_TO_PARSE_LINE_IN_FILE,
+                                                  lineNumber, name, line);
+                    }
+                }
+            }
+
+            if (dailyFlux.size() <= LOOK_BACK) {
+                throw new OrekitException(OrekitMessages.NOT_A_CSSI_SPACE_WEATHER_FILE, name);
+            }
+
+        }
+
+        /** Build the table.
+         * @return table containing loaded data
+         * @exception OrekitException if UTC time scale cannot be retrieved
+         */
+        public SolarActivityTable build() throws OrekitException {
+            final int days = dailyFlux.size();
+            final double[] flux    = new double[days];
+            final double[] average = new double[days];
+            final double[] daily   = new double[days];
+            final double[] kp      = new double[SLOTS * days];
+            final double[] ap      = new double[SLOTS * days];
+            for (int i = 0; i < days; ++i) {
+                flux[i]    = dailyFlux.get(i);
+                average[i] = averageFlux.get(i);
+                daily[i]   = dailyAp.get(i);
+                final double[] dayIndices = indices.get(i);
+                System.arraycopy(dayIndices, 0,     kp, SLOTS * i, SLOTS);
+                System.arraycopy(dayIndices, SLOTS, ap, SLOTS * i, SLOTS);
+            }
+            return new SolarActivityTable(firstDay, flux, average, daily, kp, ap);
+        }
+
+    }
+
+}
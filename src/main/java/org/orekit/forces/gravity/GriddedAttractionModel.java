@@ -0,0 +1,507 @@
+/* Copyright 2002-2016 CS Systèmes d'Information
+ * Licensed to CS Systèmes d'Information (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.forces.gravity;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.stream.Stream;
+
+import org.hipparchus.Field;
+import org.hipparchus.RealFieldElement;
+import org.hipparchus.analysis.differentiation.DerivativeStructure;
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.geometry.euclidean.threed.FieldRotation;
+import org.hipparchus.geometry.euclidean.threed.FieldVector3D;
+import org.hipparchus.geometry.euclidean.threed.Vector3D;
+import org.hipparchus.util.FastMath;
+import org.orekit.errors.OrekitException;
+import org.orekit.errors.OrekitIllegalArgumentException;
+import org.orekit.forces.AbstractForceModel;
+import org.orekit.frames.Frame;
+import org.orekit.frames.Transform;
+import org.orekit.propagation.FieldSpacecraftState;
+import org.orekit.propagation.SpacecraftState;
+import org.orekit.propagation.events.EventDetector;
+import org.orekit.propagation.events.FieldEventDetector;
+import org.orekit.propagation.numerical.FieldTimeDerivativesEquations;
+import org.orekit.propagation.numerical.TimeDerivativesEquations;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.utils.ParameterDriver;
+
+/** Gravity field model interpolating the non-central acceleration on a grid.
+ * <p>
+ * This model wraps a {@link HolmesFeatherstoneAttractionModel} and trades memory
+ * for speed: the gradient of the non-central part of the field is sampled on
+ * an Earth-fixed grid made of spherical shells between a minimum and a maximum
+ * radius, with a regular step in latitude and longitude. Accelerations are then
+ * interpolated using 4 points Lagrange polynomials along each grid axis, which
+ * involves only 64 grid nodes regardless of the degree of the underlying field.
+ * This is intended for dense sampling of the same region of space, typically
+ * Monte-Carlo runs of hundreds of nearly identical low Earth orbit trajectories.
+ * </p>
+ * <p>
+ * The grid is split in tiles (covering all shells for a range of latitudes
+ * and longitudes) that are built lazily, only when a position within the tile
+ * is first requested. Tiles are shared between all threads using the model.
+ * When a tile is built, the exact model is also evaluated at a few check points
+ * located between grid nodes, where interpolation error is largest, and the
+ * {@link #getMaxAbsoluteError() maximum absolute} and {@link #getMaxRelativeError()
+ * maximum relative} errors encountered so far are made available to users.
+ * </p>
+ * <p>
+ * Latitude nodes are located at cells centers, so no node lies exactly on a pole
+ * where the exact model is singular. The grid is padded with two latitude rows
+ * beyond each pole, which are the rows on the other side of the pole, half a turn
+ * away in longitude. This way, interpolation stencils are always centered on the
+ * interpolated point, even in the polar cells, and no extrapolation is needed.
+ * The check points include the cells surrounding the poles.
+ * </p>
+ * <p>
+ * Positions outside of the shells range are computed using the exact model.
+ * Time-dependent parts of the field (if any) are frozen at the reference date
+ * provided at construction. The central attraction coefficient is handled
+ * exactly, as the non-central acceleration is proportional to it, so the model
+ * shares its {@link #getParametersDrivers() parameters drivers} with the exact
+ * model. Partial derivatives with respect to state or parameters are not
+ * interpolated, they are delegated to the exact model.
+ * </p>
+ * @author Luc Maisonobe
+ * @since 9.0
+ */
+public class GriddedAttractionModel extends AbstractForceModel {
+
+    /** Number of grid cells per tile along latitude and longitude. */
+    private static final int TILE_SIZE = 16;
+
+    /** Step between check points along latitude and longitude (in cells). */
+    private static final int CHECK_STEP = 4;
+
+    /** Exact model. */
+    private final HolmesFeatherstoneAttractionModel exact;
+
+    /** Rotating body frame. */
+    private final Frame bodyFrame;
+
+    /** Reference date for time-dependent fields. */
+    private final AbsoluteDate referenceDate;
+
+    /** Central attraction coefficient driver. */
+    private final ParameterDriver muDriver;
+
+    /** Minimum radius of the grid. */
+    private final double minRadius;
+
+    /** Maximum radius of the grid. */
+    private final double maxRadius;
+
+    /** Number of radial nodes. */
+    private final int radialNodes;
+
+    /** Radial step. */
+    private final double radialStep;
+
+    /** Number of latitude nodes. */
+    private final int latitudeNodes;
+
+    /** Latitude step. */
+    private final double latitudeStep;
+
+    /** Number of longitude nodes. */
+    private final int longitudeNodes;
+
+    /** Longitude step. */
+    private final double longitudeStep;
+
+    /** Number of tiles along longitude. */
+    private final int longitudeTiles;
+
+    /** Tiles, built on demand. */
+    private final AtomicReferenceArray<Tile> tiles;
+
+    /** Maximum absolute error found at check points. */
+    private volatile double maxAbsoluteError;
+
+    /** Maximum relative error found at check points. */
+    private volatile double maxRelativeError;
+
+    /** Simple constructor.
+     * @param centralBodyFrame rotating body frame (must be the frame used by the exact model)
+     * @param exact exact model
+     * @param referenceDate date at which time-dependent parts of the field are frozen
+     * @param minRadius minimum radius of the grid shells (m)
+     * @param maxRadius maximum radius of the grid shells (m)
+     * @param radialNodes number of grid shells (at least 4)
+     * @param angularStep approximate latitude and longitude step (rad), must be
+     * small enough to have at least 4 latitude nodes
+     * @exception OrekitException if central attraction coefficient driver cannot be retrieved
+     */
+    public GriddedAttractionModel(final Frame centralBodyFrame,
+                                  final HolmesFeatherstoneAttractionModel exact,
+                                  final AbsoluteDate referenceDate,
+                                  final double minRadius, final double maxRadius, final int radialNodes,
+                                  final double angularStep)
+        throws OrekitException {
+
+        if (radialNodes < 4) {
+            throw new OrekitIllegalArgumentException(LocalizedCoreFormats.NUMBER_TOO_SMALL, radialNodes, 4);
+        }
+        if (maxRadius <= minRadius) {
+            throw new OrekitIllegalArgumentException(LocalizedCoreFormats.NUMBER_TOO_SMALL_BOUND_EXCLUDED,
+                                                     maxRadius, minRadius);
+        }
+        if (angularStep > 0.25 * FastMath.PI) {
+            throw new OrekitIllegalArgumentException(LocalizedCoreFormats.NUMBER_TOO_LARGE,
+                                                     angularStep, 0.25 * FastMath.PI);
+        }
+
+        this.exact         = exact;
+        this.bodyFrame     = centralBodyFrame;
+        this.referenceDate = referenceDate;
+        this.muDriver      = exact.getParameterDriver(NewtonianAttraction.CENTRAL_ATTRACTION_COEFFICIENT);
+
+        this.minRadius     = minRadius;
+        this.maxRadius     = maxRadius;
+        this.radialNodes   = radialNodes;
+        this.radialStep    = (maxRadius - minRadius) / (radialNodes - 1);
+
+        // latitude nodes are at cells centers, so poles (where the exact model is singular) are avoided
+        this.latitudeNodes  = (int) FastMath.ceil(FastMath.PI / angularStep);
+        this.latitudeStep   = FastMath.PI / latitudeNodes;
+        this.longitudeNodes = 2 * latitudeNodes;
+        this.longitudeStep  = 2 * FastMath.PI / longitudeNodes;
+
+        // latitude stencils base nodes range from -1 (south pole cell) to latitudeNodes - 1 (north pole cell)
+        final int latitudeTiles = (latitudeNodes + TILE_SIZE) / TILE_SIZE;
+        this.longitudeTiles     = (longitudeNodes + TILE_SIZE - 1) / TILE_SIZE;
+        this.tiles              = new AtomicReferenceArray<Tile>(latitudeTiles * longitudeTiles);
+
+        this.maxAbsoluteError = 0.0;
+        this.maxRelativeError = 0.0;
+
+    }
+
+    /** Get the total number of tiles in the grid.
+     * @return total number of tiles in the grid
+     */
+    public int getTotalTiles() {
+        return tiles.length();
+    }
+
+    /** Get the number of tiles already built.
+     * @return number of tiles already built
+     */
+    public int getBuiltTiles() {
+        int built = 0;
+        for (int i = 0; i < tiles.length(); ++i) {
+            if (tiles.get(i) != null) {
+                ++built;
+            }
+        }
+        return built;
+    }
+
+    /** Get the maximum absolute interpolation error found at check points.
+     * <p>
+     * The error is the norm of the difference between interpolated and exact
+     * accelerations, at check points of the tiles built so far.
+     * </p>
+     * @return maximum absolute interpolation error (m/s²)
+     */
+    public double getMaxAbsoluteError() {
+        return maxAbsoluteError;
+    }
+
+    /** Get the maximum relative interpolation error found at check points.
+     * <p>
+     * The error is the norm of the difference between interpolated and exact
+     * accelerations, divided by the norm of the exact non-central acceleration,
+     * at check points of the tiles built so far.
+     * </p>
+     * @return maximum relative interpolation error
+     */
+    public double getMaxRelativeError() {
+        return maxRelativeError;
+    }
+
+    /** Compute the gradient of the non-central part of the gravity field.
+     * @param position position at which gravity field is desired in body frame
+     * @return gradient of the non-central part of the gravity field
+     * @exception OrekitException if a tile cannot be built
+     */
+    public double[] gradient(final Vector3D position) throws OrekitException {
+
+        final double r = position.getNorm();
+        if (r < minRadius || r > maxRadius) {
+            // we are outside of the grid
+            return exact.gradient(referenceDate, position);
+        }
+
+        // radial stencil
+        final double fR = (r - minRadius) / radialStep;
+        final int    bR = FastMath.max(1, FastMath.min(radialNodes - 3, (int) FastMath.floor(fR)));
+        final double[] wR = lagrangeWeights(fR - bR);
+
+        // latitude stencil (padding rows beyond the poles allow stencils to remain centered)
+        final double fLat = (FastMath.asin(position.getZ() / r) + 0.5 * FastMath.PI) / latitudeStep - 0.5;
+        final int    bLat = FastMath.max(-1, FastMath.min(latitudeNodes - 1, (int) FastMath.floor(fLat)));
+        final double[] wLat = lagrangeWeights(fLat - bLat);
+
+        // longitude stencil
+        final double fLon  = (FastMath.atan2(position.getY(), position.getX()) + FastMath.PI) / longitudeStep;
+        final double iLon  = FastMath.floor(fLon);
+        final int    bLon  = ((int) iLon) % longitudeNodes;
+        final double[] wLon = lagrangeWeights(fLon - iLon);
+
+        // interpolate
+        final Tile tile = getTile((bLat + 1) / TILE_SIZE, bLon / TILE_SIZE);
+        final double[] g = tile.interpolate(bR, wR, bLat, wLat, bLon, wLon);
+        final double mu = muDriver.getValue();
+        g[0] *= mu;
+        g[1] *= mu;
+        g[2] *= mu;
+        return g;
+
+    }
+
+    /** Get a tile, building it if needed.
+     * @param latitudeTile index of the tile along latitude
+     * @param longitudeTile index of the tile along longitude
+     * @return tile
+     * @exception OrekitException if tile cannot be built
+     */
+    private Tile getTile(final int latitudeTile, final int longitudeTile) throws OrekitException {
+        final int index = latitudeTile * longitudeTiles + longitudeTile;
+        final Tile tile = tiles.get(index);
+        if (tile != null) {
+            return tile;
+        }
+
+        // build a new tile; if another thread builds the same tile concurrently, only one is kept
+        final Tile built = new Tile(latitudeTile, longitudeTile);
+        return tiles.compareAndSet(index, null, built) ? built : tiles.get(index);
+
+    }
+
+    /** Compute the 4 points Lagrange weights for nodes at -1, 0, 1 and 2.
+     * @param t interpolation abscissa
+     * @return weights for the 4 nodes
+     */
+    private static double[] lagrangeWeights(final double t) {
+        final double tP1 = t + 1;
+        final double tM1 = t - 1;
+        final double tM2 = t - 2;
+        return new double[] {
+            -t * tM1 * tM2 / 6, tP1 * tM1 * tM2 / 2, -tP1 * t * tM2 / 2, tP1 * t * tM1 / 6
+        };
+    }
+
+    /** Update the errors found at check points.
+     * @param absolute absolute error
+     * @param relative relative error
+     */
+    private synchronized void updateErrors(final double absolute, final double relative) {
+        maxAbsoluteError = FastMath.max(maxAbsoluteError, absolute);
+        maxRelativeError = FastMath.max(maxRelativeError, relative);
+    }
+
+    /** Get a grid node position in body frame.
+     * <p>
+     * Latitude indices before 0 or after the last latitude node correspond
+     * to padding rows beyond the poles, on the opposite meridian.
+     * </p>
+     * @param iR radial index
+     * @param iLat latitude index (may be fractional for check points)
+     * @param iLon longitude index (may be fractional for check points)
+     * @return node position
+     */
+    private Vector3D nodePosition(final double iR, final double iLat, final double iLon) {
+        return new Vector3D(iLon * longitudeStep - FastMath.PI,
+                            (iLat + 0.5) * latitudeStep - 0.5 * FastMath.PI).
+               scalarMultiply(minRadius + iR * radialStep);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void addContribution(final SpacecraftState s, final TimeDerivativesEquations adder)
+        throws OrekitException {
+
+        // get the position in body frame
+        final Transform fromBodyFrame = bodyFrame.getTransformTo(s.getFrame(), s.getDate());
+        final Transform toBodyFrame   = fromBodyFrame.getInverse();
+        final Vector3D position       = toBodyFrame.transformPosition(s.getPVCoordinates().getPosition());
+
+        // gradient of the non-central part of the gravity field
+        final Vector3D gInertial = fromBodyFrame.transformVector(new Vector3D(gradient(position)));
+        adder.addXYZAcceleration(gInertial.getX(), gInertial.getY(), gInertial.getZ());
+
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public <T extends RealFieldElement<T>> void addContribution(final FieldSpacecraftState<T> s,
+                                                                final FieldTimeDerivativesEquations<T> adder)
+        throws OrekitException {
+        exact.addContribution(s, adder);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public FieldVector3D<DerivativeStructure> accelerationDerivatives(final AbsoluteDate date, final Frame frame,
+                                                                      final FieldVector3D<DerivativeStructure> position,
+                                                                      final FieldVector3D<DerivativeStructure> velocity,
+                                                                      final FieldRotation<DerivativeStructure> rotation,
+                                                                      final DerivativeStructure mass)
+        throws OrekitException {
+        return exact.accelerationDerivatives(date, frame, position, velocity, rotation, mass);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public FieldVector3D<DerivativeStructure> accelerationDerivatives(final SpacecraftState s, final String paramName)
+        throws OrekitException {
+        return exact.accelerationDerivatives(s, paramName);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Stream<EventDetector> getEventsDetectors() {
+        return Stream.empty();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public <T extends RealFieldElement<T>> Stream<FieldEventDetector<T>> getFieldEventsDetectors(final Field<T> field) {
+        return Stream.empty();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public ParameterDriver[] getParametersDrivers() {
+        return exact.getParametersDrivers();
+    }
+
+    /** Grid tile covering all shells for a range of latitudes and longitudes. */
+    private class Tile {
+
+        /** Index of the first latitude node stored. */
+        private final int latitudeStart;
+
+        /** Number of latitude nodes stored. */
+        private final int latitudeSize;
+
+        /** Index of the first longitude node stored. */
+        private final int longitudeStart;
+
+        /** Number of longitude nodes stored. */
+        private final int longitudeSize;
+
+        /** Gradients divided by central attraction coefficient, in body frame. */
+        private final double[] values;
+
+        /** Simple constructor.
+         * @param latitudeTile index of the tile along latitude
+         * @param longitudeTile index of the tile along longitude
+         * @exception OrekitException if exact model cannot be evaluated
+         */
+        Tile(final int latitudeTile, final int longitudeTile) throws OrekitException {
+
+            // the tile handles stencils starting at latitude nodes from TILE_SIZE * index - 1
+            // and at longitude nodes from TILE_SIZE * index, it must therefore store one node
+            // before and two nodes after its range (including padding rows beyond the poles)
+            final int firstBase   = TILE_SIZE * latitudeTile - 1;
+            final int lastBase    = FastMath.min(latitudeNodes - 1, firstBase + TILE_SIZE - 1);
+            final int latitudeEnd = lastBase + 2;
+            latitudeStart  = firstBase - 1;
+            latitudeSize   = latitudeEnd - latitudeStart + 1;
+            longitudeStart = TILE_SIZE * longitudeTile - 1;
+            longitudeSize  = TILE_SIZE + 3;
+            values         = new double[3 * radialNodes * latitudeSize * longitudeSize];
+
+            // sample exact model
+            final double mu = muDriver.getValue();
+            int k = 0;
+            for (int iR = 0; iR < radialNodes; ++iR) {
+                for (int iLat = latitudeStart; iLat <= latitudeEnd; ++iLat) {
+                    for (int iLon = longitudeStart; iLon < longitudeStart + longitudeSize; ++iLon) {
+                        final double[] g = exact.gradient(referenceDate, nodePosition(iR, iLat, iLon));
+                        values[k++] = g[0] / mu;
+                        values[k++] = g[1] / mu;
+                        values[k++] = g[2] / mu;
+                    }
+                }
+            }
+
+            // check interpolation error in the middle of some cells,
+            // always including the two rows of cells surrounding each pole
+            // (in the pole cells, the check point is halfway between the last node and the pole)
+            double absolute = 0;
+            double relative = 0;
+            final int firstLon = TILE_SIZE * longitudeTile;
+            final int lastLon  = FastMath.min(longitudeNodes - 1, TILE_SIZE * (longitudeTile + 1) - 1);
+            final double[] half = lagrangeWeights(0.5);
+            for (int iLat = firstBase; iLat <= lastBase; ++iLat) {
+                if ((iLat + 1) % CHECK_STEP != 0 && iLat > 0 && iLat < latitudeNodes - 2) {
+                    continue;
+                }
+                final double tLat = (iLat < 0) ? 0.75 : ((iLat == latitudeNodes - 1) ? 0.25 : 0.5);
+                final double[] wLat = lagrangeWeights(tLat);
+                for (int iR = 1; iR < radialNodes - 2; ++iR) {
+                    for (int iLon = firstLon; iLon <= lastLon; iLon += CHECK_STEP) {
+                        final Vector3D g  = new Vector3D(exact.gradient(referenceDate,
+                                                                        nodePosition(iR + 0.5, iLat + tLat, iLon + 0.5)));
+                        final Vector3D gi = new Vector3D(mu, new Vector3D(interpolate(iR, half, iLat, wLat, iLon, half)));
+                        final double error = Vector3D.distance(g, gi);
+                        absolute = FastMath.max(absolute, error);
+                        relative = FastMath.max(relative, error / g.getNorm());
+                    }
+                }
+            }
+            updateErrors(absolute, relative);
+
+        }
+
+        /** Interpolate gradient.
+         * @param bR radial index of stencil base node
+         * @param wR radial weights
+         * @param bLat latitude index of stencil base node
+         * @param wLat latitude weights
+         * @param bLon longitude index of stencil base node
+         * @param wLon longitude weights
+         * @return interpolated gradient divided by central attraction coefficient
+         */
+        public double[] interpolate(final int bR, final double[] wR,
+                                    final int bLat, final double[] wLat,
+                                    final int bLon, final double[] wLon) {
+            final double[] g = new double[3];
+            for (int i = 0; i < 4; ++i) {
+                for (int j = 0; j < 4; ++j) {
+                    final double wij = wR[i] * wLat[j];
+                    int k = 3 * (((bR - 1 + i) * latitudeSize + bLat - 1 + j - latitudeStart) * longitudeSize +
+                                 bLon - 1 - longitudeStart);
+                    for (int l = 0; l < 4; ++l) {
+                        final double w = wij * wLon[l];
+                        g[0] += w * values[k++];
+                        g[1] += w * values[k++];
+                        g[2] += w * values[k++];
+                    }
+                }
+            }
+            return g;
+        }
+
+    }
+
+}
@@ -18,6 +18,9 @@ package org.orekit.forces.gravity;
 
 
 import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Stream;
 
 import org.hipparchus.Field;
@@ -74,8 +77,18 @@ import org.orekit.utils.ParameterObserver;
  * are precomputed and stored for greater performance. This caching was suggested in the
  * paper but not used due to the large memory requirements. Since 2002, even low end
  * computers and mobile devices do have sufficient memory so this caching has become
- * feasible nowadays.
+ * feasible nowadays. As the recursion coefficients depend only on the maximum degree,
+ * they are shared between all instances using the same degree.
+ * </p>
  * <p>
+ * The working arrays used by the recursions are allocated once for each thread
+ * using an instance and reused afterwards, so computing the field, its gradient
+ * or its Hessian does not allocate these arrays at each call. Instances remain
+ * thread-safe. Evaluations are not allocation-free though: the returned Cartesian
+ * gradient and Hessian arrays belong to the caller and are created at each call,
+ * as well as the {@link SphericalCoordinates} instance (and its internal Jacobian
+ * and Hessian matrices) used to convert them from spherical coordinates.
+ * </p>
  * @author Luc Maisonobe
  * @since 6.0
  */
@@ -88,6 +101,10 @@ public class HolmesFeatherstoneAttractionModel extends AbstractForceModel implem
      */
     private static final int SCALING = 930;
 
+    /** Shared recursion coefficients, indexed by degree. */
+    private static final Map<Integer, RecursionCoefficients> COEFFICIENTS =
+            new ConcurrentHashMap<Integer, RecursionCoefficients>();
+
     /** Central attraction scaling factor.
      * <p>
      * We use a power of 2 to avoid numeric noise introduction
@@ -120,6 +137,9 @@ public class HolmesFeatherstoneAttractionModel extends AbstractForceModel implem
     /** Scaled sectorial Pbar<sub>m,m</sub>/u<sup>m</sup> &times; 2<sup>-SCALING</sup>. */
     private final double[] sectorial;
 
+    /** Thread-confined working arrays. */
+    private final ThreadLocal<Workspace> workspace;
+
     /** Factory for the DerivativeStructure instances. */
     private final DSFactory factory;
 
@@ -151,37 +171,17 @@ public class HolmesFeatherstoneAttractionModel extends AbstractForceModel implem
         this.mu        = provider.getMu();
         this.bodyFrame = centralBodyFrame;
 
-        // the pre-computed arrays hold coefficients from triangular arrays in a single
-        // storing neither diagonal elements (n = m) nor the non-diagonal element n=1, m=0
+        // the recursion coefficients depend only on degree, they are shared between instances
         final int degree = provider.getMaxDegree();
-        final int size = FastMath.max(0, degree * (degree + 1) / 2 - 1);
-        gnmOj = new double[size];
-        hnmOj = new double[size];
-        enm   = new double[size];
-
-        // pre-compute the recursion coefficients corresponding to equations 19 and 22
-        // from Holmes and Featherstone paper
-        // for cache efficiency, elements are stored in the same order they will be used
-        // later on, i.e. from rightmost column to leftmost column
-        int index = 0;
-        for (int m = degree; m >= 0; --m) {
-            final int j = (m == 0) ? 2 : 1;
-            for (int n = FastMath.max(2, m + 1); n <= degree; ++n) {
-                final double f = (n - m) * (n + m + 1);
-                gnmOj[index] = 2 * (m + 1) / FastMath.sqrt(j * f);
-                hnmOj[index] = FastMath.sqrt((n + m + 2) * (n - m - 1) / (j * f));
-                enm[index]   = FastMath.sqrt(f / j);
-                ++index;
-            }
-        }
+        final RecursionCoefficients coefficients =
+                COEFFICIENTS.computeIfAbsent(degree, d -> new RecursionCoefficients(d));
+        gnmOj     = coefficients.gnmOj;
+        hnmOj     = coefficients.hnmOj;
+        enm       = coefficients.enm;
+        sectorial = coefficients.sectorial;
 
-        // scaled sectorial terms corresponding to equation 28 in Holmes and Featherstone paper
-        sectorial    = new double[degree + 1];
-        sectorial[0] = FastMath.scalb(1.0, -SCALING);
-        sectorial[1] = FastMath.sqrt(3) * sectorial[0];
-        for (int m = 2; m < sectorial.length; ++m) {
-            sectorial[m] = FastMath.sqrt((2 * m + 1) / (2.0 * m)) * sectorial[m - 1];
-        }
+        final int order = provider.getMaxOrder();
+        workspace = ThreadLocal.withInitial(() -> new Workspace(degree, order));
 
         factory = new DSFactory(1, 1);
 
@@ -216,10 +216,11 @@ public class HolmesFeatherstoneAttractionModel extends AbstractForceModel implem
         final int order  = provider.getMaxOrder();
         final NormalizedSphericalHarmonics harmonics = provider.onDate(date);
 
-        // allocate the columns for recursion
-        double[] pnm0Plus2 = new double[degree + 1];
-        double[] pnm0Plus1 = new double[degree + 1];
-        double[] pnm0      = new double[degree + 1];
+        // retrieve the columns for recursion
+        final Workspace ws = workspace.get().reset();
+        double[] pnm0Plus2 = ws.pnm0Plus2;
+        double[] pnm0Plus1 = ws.pnm0Plus1;
+        double[] pnm0      = ws.pnm0;
 
         // compute polar coordinates
         final double x   = position.getX();
@@ -236,10 +237,10 @@ public class HolmesFeatherstoneAttractionModel extends AbstractForceModel implem
         final double tOu = z / rho;
 
         // compute distance powers
-        final double[] aOrN = createDistancePowersArray(provider.getAe() / r);
+        final double[] aOrN = fillDistancePowersArray(provider.getAe() / r, ws.aOrN);
 
         // compute longitude cosines/sines
-        final double[][] cosSinLambda = createCosSinArrays(position.getX() / rho, position.getY() / rho);
+        final double[][] cosSinLambda = fillCosSinArrays(position.getX() / rho, position.getY() / rho, ws.cosSin);
 
         // outer summation over order
         int    index = 0;
@@ -295,11 +296,12 @@ public class HolmesFeatherstoneAttractionModel extends AbstractForceModel implem
         final int order  = provider.getMaxOrder();
         final NormalizedSphericalHarmonics harmonics = provider.onDate(date);
 
-        // allocate the columns for recursion
-        double[] pnm0Plus2  = new double[degree + 1];
-        double[] pnm0Plus1  = new double[degree + 1];
-        double[] pnm0       = new double[degree + 1];
-        final double[] pnm1 = new double[degree + 1];
+        // retrieve the columns for recursion
+        final Workspace ws  = workspace.get().reset();
+        double[] pnm0Plus2  = ws.pnm0Plus2;
+        double[] pnm0Plus1  = ws.pnm0Plus1;
+        double[] pnm0       = ws.pnm0;
+        final double[] pnm1 = ws.pnm1;
 
         // compute polar coordinates
         final double x    = position.getX();
@@ -317,15 +319,15 @@ public class HolmesFeatherstoneAttractionModel extends AbstractForceModel implem
         final double tOu  = z / rho;
 
         // compute distance powers
-        final double[] aOrN = createDistancePowersArray(provider.getAe() / r);
+        final double[] aOrN = fillDistancePowersArray(provider.getAe() / r, ws.aOrN);
 
         // compute longitude cosines/sines
-        final double[][] cosSinLambda = createCosSinArrays(position.getX() / rho, position.getY() / rho);
+        final double[][] cosSinLambda = fillCosSinArrays(position.getX() / rho, position.getY() / rho, ws.cosSin);
 
         // outer summation over order
         int    index = 0;
         double value = 0;
-        final double[] gradient = new double[3];
+        final double[] gradient = ws.gradient;
         for (int m = degree; m >= 0; --m) {
 
             // compute tesseral terms with derivatives
@@ -552,13 +554,14 @@ public class HolmesFeatherstoneAttractionModel extends AbstractForceModel implem
         final int order  = provider.getMaxOrder();
         final NormalizedSphericalHarmonics harmonics = provider.onDate(date);
 
-        // allocate the columns for recursion
-        double[] pnm0Plus2  = new double[degree + 1];
-        double[] pnm0Plus1  = new double[degree + 1];
-        double[] pnm0       = new double[degree + 1];
-        double[] pnm1Plus1  = new double[degree + 1];
-        double[] pnm1       = new double[degree + 1];
-        final double[] pnm2 = new double[degree + 1];
+        // retrieve the columns for recursion
+        final Workspace ws  = workspace.get().reset();
+        double[] pnm0Plus2  = ws.pnm0Plus2;
+        double[] pnm0Plus1  = ws.pnm0Plus1;
+        double[] pnm0       = ws.pnm0;
+        double[] pnm1Plus1  = ws.pnm1Plus1;
+        double[] pnm1       = ws.pnm1;
+        final double[] pnm2 = ws.pnm2;
 
         // compute polar coordinates
         final double x    = position.getX();
@@ -576,16 +579,16 @@ public class HolmesFeatherstoneAttractionModel extends AbstractForceModel implem
         final double tOu  = z / rho;
 
         // compute distance powers
-        final double[] aOrN = createDistancePowersArray(provider.getAe() / r);
+        final double[] aOrN = fillDistancePowersArray(provider.getAe() / r, ws.aOrN);
 
         // compute longitude cosines/sines
-        final double[][] cosSinLambda = createCosSinArrays(position.getX() / rho, position.getY() / rho);
+        final double[][] cosSinLambda = fillCosSinArrays(position.getX() / rho, position.getY() / rho, ws.cosSin);
 
         // outer summation over order
         int    index = 0;
         double value = 0;
-        final double[]   gradient = new double[3];
-        final double[][] hessian  = new double[3][3];
+        final double[]   gradient = ws.gradient;
+        final double[][] hessian  = ws.hessian;
         for (int m = degree; m >= 0; --m) {
 
             // compute tesseral terms
@@ -733,12 +736,12 @@ public class HolmesFeatherstoneAttractionModel extends AbstractForceModel implem
 
     /** Compute a/r powers array.
      * @param aOr a/r
-     * @return array containing (a/r)<sup>n</sup>
+     * @param aOrN array to fill with (a/r)<sup>n</sup>
+     * @return filled array
      */
-    private double[] createDistancePowersArray(final double aOr) {
+    private double[] fillDistancePowersArray(final double aOr, final double[] aOrN) {
 
         // initialize array
-        final double[] aOrN = new double[provider.getMaxDegree() + 1];
         aOrN[0] = 1;
         aOrN[1] = aOr;
 
@@ -778,13 +781,14 @@ public class HolmesFeatherstoneAttractionModel extends AbstractForceModel implem
     /** Compute longitude cosines and sines.
      * @param cosLambda cos(λ)
      * @param sinLambda sin(λ)
-     * @return array containing cos(m &times; λ) in row 0
+     * @param cosSin array to fill with cos(m &times; λ) in row 0
      * and sin(m &times; λ) in row 1
+     * @return filled array
      */
-    private double[][] createCosSinArrays(final double cosLambda, final double sinLambda) {
+    private double[][] fillCosSinArrays(final double cosLambda, final double sinLambda,
+                                        final double[][] cosSin) {
 
         // initialize arrays
-        final double[][] cosSin = new double[2][provider.getMaxOrder() + 1];
         cosSin[0][0] = 1;
         cosSin[1][0] = 0;
         if (provider.getMaxOrder() > 0) {
@@ -1154,4 +1158,132 @@ public class HolmesFeatherstoneAttractionModel extends AbstractForceModel implem
         return parametersDrivers.clone();
     }
 
+    /** Recursion coefficients for one maximum degree. */
+    private static class RecursionCoefficients {
+
+        /** Recursion coefficients g<sub>n,m</sub>/√j. */
+        private final double[] gnmOj;
+
+        /** Recursion coefficients h<sub>n,m</sub>/√j. */
+        private final double[] hnmOj;
+
+        /** Recursion coefficients e<sub>n,m</sub>. */
+        private final double[] enm;
+
+        /** Scaled sectorial Pbar<sub>m,m</sub>/u<sup>m</sup> &times; 2<sup>-SCALING</sup>. */
+        private final double[] sectorial;
+
+        /** Simple constructor.
+         * @param degree maximum degree
+         */
+        RecursionCoefficients(final int degree) {
+
+            // the pre-computed arrays hold coefficients from triangular arrays in a single
+            // storing neither diagonal elements (n = m) nor the non-diagonal element n=1, m=0
+            final int size = FastMath.max(0, degree * (degree + 1) / 2 - 1);
+            gnmOj = new double[size];
+            hnmOj = new double[size];
+            enm   = new double[size];
+
+            // pre-compute the recursion coefficients corresponding to equations 19 and 22
+            // from Holmes and Featherstone paper
+            // for cache efficiency, elements are stored in the same order they will be used
+            // later on, i.e. from rightmost column to leftmost column
+            int index = 0;
+            for (int m = degree; m >= 0; --m) {
+                final int j = (m == 0) ? 2 : 1;
+                for (int n = FastMath.max(2, m + 1); n <= degree; ++n) {
+                    final double f = (n - m) * (n + m + 1);
+                    gnmOj[index] = 2 * (m + 1) / FastMath.sqrt(j * f);
+                    hnmOj[index] = FastMath.sqrt((n + m + 2) * (n - m - 1) / (j * f));
+                    enm[index]   = FastMath.sqrt(f / j);
+                    ++index;
+                }
+            }
+
+            // scaled sectorial terms corresponding to equation 28 in Holmes and Featherstone paper
+            sectorial    = new double[degree + 1];
+            sectorial[0] = FastMath.scalb(1.0, -SCALING);
+            sectorial[1] = FastMath.sqrt(3) * sectorial[0];
+            for (int m = 2; m < sectorial.length; ++m) {
+                sectorial[m] = FastMath.sqrt((2 * m + 1) / (2.0 * m)) * sectorial[m - 1];
+            }
+
+        }
+
+    }
+
+    /** Working arrays for one thread. */
+    private static class Workspace {
+
+        /** Column for scaled P<sub>n,m+2</sub>/u<sup>m+2</sup>. */
+        private final double[] pnm0Plus2;
+
+        /** Column for scaled P<sub>n,m+1</sub>/u<sup>m+1</sup>. */
+        private final double[] pnm0Plus1;
+
+        /** Column for scaled P<sub>n,m</sub>/u<sup>m</sup>. */
+        private final double[] pnm0;
+
+        /** Column for scaled dP<sub>n,m+1</sub>/u<sup>m+1</sup>. */
+        private final double[] pnm1Plus1;
+
+        /** Column for scaled dP<sub>n,m</sub>/u<sup>m</sup>. */
+        private final double[] pnm1;
+
+        /** Column for scaled d²P<sub>n,m</sub>/u<sup>m</sup>. */
+        private final double[] pnm2;
+
+        /** Distance powers (a/r)<sup>n</sup>. */
+        private final double[] aOrN;
+
+        /** Longitude cosines and sines. */
+        private final double[][] cosSin;
+
+        /** Spherical gradient. */
+        private final double[] gradient;
+
+        /** Spherical Hessian. */
+        private final double[][] hessian;
+
+        /** Simple constructor.
+         * @param degree maximum degree
+         * @param order maximum order
+         */
+        Workspace(final int degree, final int order) {
+            pnm0Plus2 = new double[degree + 1];
+            pnm0Plus1 = new double[degree + 1];
+            pnm0      = new double[degree + 1];
+            pnm1Plus1 = new double[degree + 1];
+            pnm1      = new double[degree + 1];
+            pnm2      = new double[degree + 1];
+            aOrN      = new double[degree + 1];
+            cosSin    = new double[2][order + 1];
+            gradient  = new double[3];
+            hessian   = new double[3][3];
+        }
+
+        /** Reset the arrays that are accumulated or partially filled by recursions.
+         * <p>
+         * Recursions rely on elements that are never set (corresponding to
+         * n &lt; m + 2) being zero, as in freshly allocated arrays.
+         * </p>
+         * @return the instance itself
+         */
+        Workspace reset() {
+            Arrays.fill(pnm0Plus2, 0.0);
+            Arrays.fill(pnm0Plus1, 0.0);
+            Arrays.fill(pnm0,      0.0);
+            Arrays.fill(pnm1Plus1, 0.0);
+            Arrays.fill(pnm1,      0.0);
+            Arrays.fill(pnm2,      0.0);
+            Arrays.fill(gradient,  0.0);
+            for (final double[] row : hessian) {
+                Arrays.fill(row, 0.0);
+            }
+            return this;
+        }
+
+    }
+
 }
@@ -27,6 +27,7 @@ import java.util.Locale;
 
 import org.hipparchus.util.FastMath;
 import org.hipparchus.util.Precision;
+import org.orekit.data.LineTokenizer;
 import org.orekit.errors.OrekitException;
 import org.orekit.errors.OrekitMessages;
 import org.orekit.utils.Constants;
@@ -97,18 +98,19 @@ public class EGMFormatReader extends PotentialCoefficientsReader {
         final BufferedReader r = new BufferedReader(new InputStreamReader(input, "UTF-8"));
         final List<List<Double>> c = new ArrayList<List<Double>>();
         final List<List<Double>> s = new ArrayList<List<Double>>();
+        final LineTokenizer tab = new LineTokenizer();
         boolean okFields = true;
         for (String line = r.readLine(); okFields && line != null; line = r.readLine()) {
             if (line.length() >= 15) {
 
                 // get the fields defining the current the potential terms
-                final String[] tab = line.trim().split("\\s+");
-                if (tab.length != 6) {
+                tab.reset(line);
+                if (tab.getTokensCount() != 6) {
                     okFields = false;
                 }
 
-                final int i = Integer.parseInt(tab[0]);
-                final int j = Integer.parseInt(tab[1]);
+                final int i = tab.parseInt(0);
+                final int j = tab.parseInt(1);
                 if (i <= getMaxParseDegree() && j <= getMaxParseOrder()) {
                     for (int k = 0; k <= i; ++k) {
                         extendListOfLists(c, k, FastMath.min(k, getMaxParseOrder()),
@@ -116,8 +118,8 @@ public class EGMFormatReader extends PotentialCoefficientsReader {
                         extendListOfLists(s, k, FastMath.min(k, getMaxParseOrder()),
                                           missingCoefficientsAllowed() ? 0.0 : Double.NaN);
                     }
-                    parseCoefficient(tab[2], c, i, j, "C", name);
-                    parseCoefficient(tab[3], s, i, j, "S", name);
+                    parseCoefficient(tab.parseDouble(2), c, i, j, "C", name);
+                    parseCoefficient(tab.parseDouble(3), s, i, j, "S", name);
                 }
 
             }
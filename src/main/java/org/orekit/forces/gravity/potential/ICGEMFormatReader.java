@@ -28,6 +28,7 @@ import java.util.Map;
 
 import org.hipparchus.util.FastMath;
 import org.hipparchus.util.Precision;
+import org.orekit.data.LineTokenizer;
 import org.orekit.errors.OrekitException;
 import org.orekit.errors.OrekitMessages;
 import org.orekit.errors.OrekitParseException;
@@ -203,6 +204,7 @@ public class ICGEMFormatReader extends PotentialCoefficientsReader {
         tideSystem = TideSystem.UNKNOWN;
 
         final BufferedReader r = new BufferedReader(new InputStreamReader(input, "UTF-8"));
+        final LineTokenizer tokenizer = new LineTokenizer();
         boolean inHeader = true;
         double[][] c               = null;
         double[][] s               = null;
@@ -211,66 +213,67 @@ public class ICGEMFormatReader extends PotentialCoefficientsReader {
         for (String line = r.readLine(); line != null; line = r.readLine()) {
             try {
                 ++lineNumber;
-                if (line.trim().length() == 0) {
+                final LineTokenizer tab = tokenizer.reset(line);
+                if (tab.getTokensCount() == 0) {
                     continue;
                 }
-                final String[] tab = line.split("\\s+");
                 if (inHeader) {
-                    if ((tab.length == 2) && PRODUCT_TYPE.equals(tab[0])) {
-                        if (!GRAVITY_FIELD.equals(tab[1])) {
+                    if ((tab.getTokensCount() == 2) && tab.tokenEquals(0, PRODUCT_TYPE)) {
+                        if (!tab.tokenEquals(1, GRAVITY_FIELD)) {
                             throw new OrekitParseException(OrekitMessages.UNABLE_TO_PARSE_LINE_IN_FILE,
                                                            lineNumber, name, line);
                         }
-                    } else if ((tab.length == 2) && tab[0].endsWith(GRAVITY_CONSTANT)) {
-                        setMu(parseDouble(tab[1]));
-                    } else if ((tab.length == 2) && REFERENCE_RADIUS.equals(tab[0])) {
-                        setAe(parseDouble(tab[1]));
-                    } else if ((tab.length == 2) && MAX_DEGREE.equals(tab[0])) {
+                    } else if ((tab.getTokensCount() == 2) && tab.tokenEndsWith(0, GRAVITY_CONSTANT)) {
+                        setMu(tab.parseDouble(1));
+                    } else if ((tab.getTokensCount() == 2) && tab.tokenEquals(0, REFERENCE_RADIUS)) {
+                        setAe(tab.parseDouble(1));
+                    } else if ((tab.getTokensCount() == 2) && tab.tokenEquals(0, MAX_DEGREE)) {
 
-                        final int degree = FastMath.min(getMaxParseDegree(), Integer.parseInt(tab[1]));
+                        final int degree = FastMath.min(getMaxParseDegree(), tab.parseInt(1));
                         final int order  = FastMath.min(getMaxParseOrder(), degree);
                         c = buildTriangularArray(degree, order, missingCoefficientsAllowed() ? 0.0 : Double.NaN);
                         s = buildTriangularArray(degree, order, missingCoefficientsAllowed() ? 0.0 : Double.NaN);
 
-                    } else if ((tab.length == 2) && TIDE_SYSTEM_INDICATOR.equals(tab[0])) {
-                        if (ZERO_TIDE.equals(tab[1])) {
+                    } else if ((tab.getTokensCount() == 2) && tab.tokenEquals(0, TIDE_SYSTEM_INDICATOR)) {
+                        if (tab.tokenEquals(1, ZERO_TIDE)) {
                             tideSystem = TideSystem.ZERO_TIDE;
-                        } else if (TIDE_FREE.equals(tab[1])) {
+                        } else if (tab.tokenEquals(1, TIDE_FREE)) {
                             tideSystem = TideSystem.TIDE_FREE;
-                        } else if (TIDE_UNKNOWN.equals(tab[1])) {
+                        } else if (tab.tokenEquals(1, TIDE_UNKNOWN)) {
                             tideSystem = TideSystem.UNKNOWN;
                         } else {
                             throw new OrekitParseException(OrekitMessages.UNABLE_TO_PARSE_LINE_IN_FILE,
                                                            lineNumber, name, line);
                         }
-                    } else if ((tab.length == 2) && NORMALIZATION_INDICATOR.equals(tab[0])) {
-                        if (NORMALIZED.equals(tab[1])) {
+                    } else if ((tab.getTokensCount() == 2) && tab.tokenEquals(0, NORMALIZATION_INDICATOR)) {
+                        if (tab.tokenEquals(1, NORMALIZED)) {
                             normalized = true;
-                        } else if (UNNORMALIZED.equals(tab[1])) {
+                        } else if (tab.tokenEquals(1, UNNORMALIZED)) {
                             normalized = false;
                         } else {
                             throw new OrekitParseException(OrekitMessages.UNABLE_TO_PARSE_LINE_IN_FILE,
                                                            lineNumber, name, line);
                         }
-                    } else if ((tab.length == 2) && END_OF_HEADER.equals(tab[0])) {
+                    } else if ((tab.getTokensCount() == 2) && tab.tokenEquals(0, END_OF_HEADER)) {
                         inHeader = false;
                     }
                 } else {
-                    if ((tab.length == 7 && GFC.equals(tab[0])) || (tab.length == 8 && GFCT.equals(tab[0]))) {
+                    if ((tab.getTokensCount() == 7 && tab.tokenEquals(0, GFC)) || (tab.getTokensCount() == 8 && tab.tokenEquals(0, GFCT))) {
 
-                        final int i = Integer.parseInt(tab[1]);
-                        final int j = Integer.parseInt(tab[2]);
+                        final int i = tab.parseInt(1);
+                        final int j = tab.parseInt(2);
                         if (i < c.length && j < c[i].length) {
 
-                            parseCoefficient(tab[3], c, i, j, "C", name);
-                            parseCoefficient(tab[4], s, i, j, "S", name);
+                            parseCoefficient(tab.parseDouble(3), c, i, j, "C", name);
+                            parseCoefficient(tab.parseDouble(4), s, i, j, "S", name);
                             okCoeffs = true;
 
-                            if (tab.length == 8) {
+                            if (tab.getTokensCount() == 8) {
                                 // check the reference date (format yyyymmdd)
-                                final DateComponents localRef = new DateComponents(Integer.parseInt(tab[7].substring(0, 4)),
-                                                                                   Integer.parseInt(tab[7].substring(4, 6)),
-                                                                                   Integer.parseInt(tab[7].substring(6, 8)));
+                                final String t0 = tab.getToken(7);
+                                final DateComponents localRef = new DateComponents(Integer.parseInt(t0.substring(0, 4)),
+                                                                                   Integer.parseInt(t0.substring(4, 6)),
+                                                                                   Integer.parseInt(t0.substring(6, 8)));
                                 if (referenceDate == null) {
                                     // first reference found, store it
                                     referenceDate = localRef;
@@ -281,28 +284,28 @@ public class ICGEMFormatReader extends PotentialCoefficientsReader {
                             }
 
                         }
-                    } else if (tab.length == 7 && (DOT.equals(tab[0]) || TRND.equals(tab[0]))) {
+                    } else if (tab.getTokensCount() == 7 && (tab.tokenEquals(0, DOT) || tab.tokenEquals(0, TRND))) {
 
-                        final int i = Integer.parseInt(tab[1]);
-                        final int j = Integer.parseInt(tab[2]);
+                        final int i = tab.parseInt(1);
+                        final int j = tab.parseInt(2);
                         if (i < c.length && j < c[i].length) {
 
                             // store the secular trend coefficients
                             extendListOfLists(cTrend, i, j, 0.0);
                             extendListOfLists(sTrend, i, j, 0.0);
-                            parseCoefficient(tab[3], cTrend, i, j, "Ctrend", name);
-                            parseCoefficient(tab[4], sTrend, i, j, "Strend", name);
+                            parseCoefficient(tab.parseDouble(3), cTrend, i, j, "Ctrend", name);
+                            parseCoefficient(tab.parseDouble(4), sTrend, i, j, "Strend", name);
 
                         }
 
-                    } else if (tab.length == 8 && (ASIN.equals(tab[0]) || ACOS.equals(tab[0]))) {
+                    } else if (tab.getTokensCount() == 8 && (tab.tokenEquals(0, ASIN) || tab.tokenEquals(0, ACOS))) {
 
-                        final int i = Integer.parseInt(tab[1]);
-                        final int j = Integer.parseInt(tab[2]);
+                        final int i = tab.parseInt(1);
+                        final int j = tab.parseInt(2);
                         if (i < c.length && j < c[i].length) {
 
                             // extract arrays corresponding to period
-                            final Double period = Double.valueOf(tab[7]);
+                            final Double period = Double.valueOf(tab.parseDouble(7));
                             if (!cCos.containsKey(period)) {
                                 cCos.put(period, new ArrayList<List<Double>>());
                                 cSin.put(period, new ArrayList<List<Double>>());
@@ -319,12 +322,12 @@ public class ICGEMFormatReader extends PotentialCoefficientsReader {
                             extendListOfLists(cSinPeriod, i, j, 0.0);
                             extendListOfLists(sCosPeriod, i, j, 0.0);
                             extendListOfLists(sSinPeriod, i, j, 0.0);
-                            if (ACOS.equals(tab[0])) {
-                                parseCoefficient(tab[3], cCosPeriod, i, j, "Ccos", name);
-                                parseCoefficient(tab[4], sCosPeriod, i, j, "SCos", name);
+                            if (tab.tokenEquals(0, ACOS)) {
+                                parseCoefficient(tab.parseDouble(3), cCosPeriod, i, j, "Ccos", name);
+                                parseCoefficient(tab.parseDouble(4), sCosPeriod, i, j, "SCos", name);
                             } else {
-                                parseCoefficient(tab[3], cSinPeriod, i, j, "Csin", name);
-                                parseCoefficient(tab[4], sSinPeriod, i, j, "Ssin", name);
+                                parseCoefficient(tab.parseDouble(3), cSinPeriod, i, j, "Csin", name);
+                                parseCoefficient(tab.parseDouble(4), sSinPeriod, i, j, "Ssin", name);
                             }
 
                         }
@@ -22,11 +22,11 @@ import java.text.ParseException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
-import java.util.Locale;
 
 import org.hipparchus.util.FastMath;
 import org.hipparchus.util.Precision;
 import org.orekit.data.DataLoader;
+import org.orekit.data.LineTokenizer;
 import org.orekit.errors.OrekitException;
 import org.orekit.errors.OrekitMessages;
 
@@ -381,7 +381,7 @@ public abstract class PotentialCoefficientsReader implements DataLoader {
      * @return the double value of {@code string}.
      */
     protected static double parseDouble(final String string) {
-        return Double.parseDouble(string.toUpperCase(Locale.ENGLISH).replace('D', 'E'));
+        return LineTokenizer.parseDouble(string, 0, string.length());
     }
 
     /** Build a coefficients row.
@@ -442,7 +442,23 @@ public abstract class PotentialCoefficientsReader implements DataLoader {
                                     final int i, final int j,
                                     final String cName, final String name)
         throws OrekitException {
-        final double value    = parseDouble(field);
+        parseCoefficient(parseDouble(field), list, i, j, cName, name);
+    }
+
+    /** Parse a coefficient.
+     * @param value coefficient value
+     * @param list list where to put the coefficient
+     * @param i first index in the list
+     * @param j second index in the list
+     * @param cName name of the coefficient
+     * @param name name of the file
+     * @exception OrekitException if the coefficient is already set
+     * @since 9.0
+     */
+    protected void parseCoefficient(final double value, final List<List<Double>> list,
+                                    final int i, final int j,
+                                    final String cName, final String name)
+        throws OrekitException {
         final double oldValue = list.get(i).get(j);
         if (Double.isNaN(oldValue) || Precision.equals(oldValue, 0.0, 0)) {
             // the coefficient was not already initialized
@@ -466,7 +482,23 @@ public abstract class PotentialCoefficientsReader implements DataLoader {
                                     final int i, final int j,
                                     final String cName, final String name)
         throws OrekitException {
-        final double value    = parseDouble(field);
+        parseCoefficient(parseDouble(field), array, i, j, cName, name);
+    }
+
+    /** Parse a coefficient.
+     * @param value coefficient value
+     * @param array array where to put the coefficient
+     * @param i first index in the list
+     * @param j second index in the list
+     * @param cName name of the coefficient
+     * @param name name of the file
+     * @exception OrekitException if the coefficient is already set
+     * @since 9.0
+     */
+    protected void parseCoefficient(final double value, final double[][] array,
+                                    final int i, final int j,
+                                    final String cName, final String name)
+        throws OrekitException {
         final double oldValue = array[i][j];
         if (Double.isNaN(oldValue) || Precision.equals(oldValue, 0.0, 0)) {
             // the coefficient was not already initialized
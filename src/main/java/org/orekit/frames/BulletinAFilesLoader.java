@@ -32,6 +32,7 @@ import java.util.regex.Pattern;
 import org.hipparchus.util.FastMath;
 import org.orekit.data.DataLoader;
 import org.orekit.data.DataProvidersManager;
+import org.orekit.data.LineTokenizer;
 import org.orekit.errors.OrekitException;
 import org.orekit.errors.OrekitInternalError;
 import org.orekit.errors.OrekitMessages;
@@ -327,21 +328,18 @@ class BulletinAFilesLoader implements EOPHistoryLoader {
             return header.matcher(line).matches();
         }
 
-        /** Get the data fields from a line.
+        /** Match a line against the data format.
+         * <p>
+         * The fields are not extracted as strings, they should
+         * be parsed in place using the groups boundaries.
+         * </p>
          * @param line line to parse
-         * @return extracted fields, or null if line does not match data format
+         * @return matcher holding the fields as groups 1 to n,
+         * or null if line does not match data format
          */
-        public String[] getFields(final String line) {
+        public Matcher matchData(final String line) {
             final Matcher matcher = data.matcher(line);
-            if (matcher.matches()) {
-                final String[] fields = new String[matcher.groupCount()];
-                for (int i = 0; i < fields.length; ++i) {
-                    fields[i] = matcher.group(i + 1);
-                }
-                return fields;
-            } else {
-                return null;
-            }
+            return matcher.matches() ? matcher : null;
         }
 
     };
@@ -568,17 +566,17 @@ class BulletinAFilesLoader implements EOPHistoryLoader {
             boolean inValuesPart = false;
             for (line = reader.readLine(); line != null; line = reader.readLine()) {
                 lineNumber++;
-                final String[] fields = section.getFields(line);
+                final Matcher fields = section.matchData(line);
                 if (fields != null) {
 
                     // we are within the values part
                     inValuesPart = true;
 
                     // this is a data line, build an entry from the extracted fields
-                    final int year  = Integer.parseInt(fields[0]);
-                    final int month = Integer.parseInt(fields[1]);
-                    final int day   = Integer.parseInt(fields[2]);
-                    final int mjd   = Integer.parseInt(fields[3]);
+                    final int year  = parseInt(fields, 1);
+                    final int month = parseInt(fields, 2);
+                    final int day   = parseInt(fields, 3);
+                    final int mjd   = parseInt(fields, 4);
                     final DateComponents dc = new DateComponents(DateComponents.MODIFIED_JULIAN_EPOCH, mjd);
                     if ((dc.getYear() % 100) != (year % 100) ||
                          dc.getMonth() != month ||
@@ -607,9 +605,9 @@ class BulletinAFilesLoader implements EOPHistoryLoader {
                         // or the new parsed data is from a more recent file
                         // in both case, we should update the array
                         eop[0] = firstMJD;
-                        eop[1] = Double.parseDouble(fields[4]);
-                        eop[2] = Double.parseDouble(fields[5]);
-                        eop[3] = Double.parseDouble(fields[6]);
+                        eop[1] = parseDouble(fields, 5);
+                        eop[2] = parseDouble(fields, 6);
+                        eop[3] = parseDouble(fields, 7);
                     }
 
                 } else if (inValuesPart) {
@@ -638,14 +636,14 @@ class BulletinAFilesLoader implements EOPHistoryLoader {
             boolean inValuesPart = false;
             for (line = reader.readLine(); line != null; line = reader.readLine()) {
                 lineNumber++;
-                final String[] fields = section.getFields(line);
+                final Matcher fields = section.matchData(line);
                 if (fields != null) {
 
                     // we are within the values part
                     inValuesPart = true;
 
                     // this is a data line, build an entry from the extracted fields
-                    final int mjd = Integer.parseInt(fields[0]);
+                    final int mjd = parseInt(fields, 1);
                     mjdMin = FastMath.min(mjdMin, mjd);
                     mjdMax = FastMath.max(mjdMax, mjd);
 
@@ -664,11 +662,11 @@ class BulletinAFilesLoader implements EOPHistoryLoader {
                         // in both case, we should update the array
                         pole[0] = firstMJD;
                         if (isNonRotatingOrigin) {
-                            pole[1] = Double.parseDouble(fields[1]);
-                            pole[2] = Double.parseDouble(fields[2]);
+                            pole[1] = parseDouble(fields, 2);
+                            pole[2] = parseDouble(fields, 3);
                         } else {
-                            pole[3] = Double.parseDouble(fields[1]);
-                            pole[4] = Double.parseDouble(fields[2]);
+                            pole[3] = parseDouble(fields, 2);
+                            pole[4] = parseDouble(fields, 3);
                         }
                     }
 
@@ -683,6 +681,24 @@ class BulletinAFilesLoader implements EOPHistoryLoader {
 
         }
 
+        /** Parse an integer field from current line.
+         * @param matcher matcher for current line
+         * @param group group number of the field
+         * @return parsed integer
+         */
+        private int parseInt(final Matcher matcher, final int group) {
+            return LineTokenizer.parseInt(line, matcher.start(group), matcher.end(group));
+        }
+
+        /** Parse a real field from current line.
+         * @param matcher matcher for current line
+         * @param group group number of the field
+         * @return parsed real
+         */
+        private double parseDouble(final Matcher matcher, final int group) {
+            return LineTokenizer.parseDouble(line, matcher.start(group), matcher.end(group));
+        }
+
     }
 
 }
@@ -31,6 +31,7 @@ import java.util.regex.Pattern;
 import org.hipparchus.util.FastMath;
 import org.orekit.data.DataLoader;
 import org.orekit.data.DataProvidersManager;
+import org.orekit.data.LineTokenizer;
 import org.orekit.errors.OrekitException;
 import org.orekit.errors.OrekitMessages;
 import org.orekit.time.AbsoluteDate;
@@ -381,7 +382,7 @@ class BulletinBFilesLoader implements EOPHistoryLoader {
                     matcher = SECTION_1_DATA_OLD_FORMAT.matcher(line);
                     if (matcher.matches()) {
                         // this is a data line, build an entry from the extracted fields
-                        final int mjd = Integer.parseInt(matcher.group(1));
+                        final int mjd = parseInt(matcher, 1);
                         mjdMin = FastMath.min(mjdMin, mjd);
                         mjdMax = FastMath.max(mjdMax, mjd);
                     } else {
@@ -417,11 +418,11 @@ class BulletinBFilesLoader implements EOPHistoryLoader {
                 final Matcher matcher = SECTION_2_DATA_OLD_FORMAT.matcher(line);
                 if (matcher.matches()) {
                     // this is a data line, build an entry from the extracted fields
-                    final int    mjd   = Integer.parseInt(matcher.group(1));
-                    final double x     = Double.parseDouble(matcher.group(2)) * Constants.ARC_SECONDS_TO_RADIANS;
-                    final double y     = Double.parseDouble(matcher.group(3)) * Constants.ARC_SECONDS_TO_RADIANS;
-                    final double dtu1  = Double.parseDouble(matcher.group(4));
-                    final double lod   = Double.parseDouble(matcher.group(5)) * MILLI_SECONDS_TO_SECONDS;
+                    final int    mjd   = parseInt(matcher, 1);
+                    final double x     = parseDouble(matcher, 2) * Constants.ARC_SECONDS_TO_RADIANS;
+                    final double y     = parseDouble(matcher, 3) * Constants.ARC_SECONDS_TO_RADIANS;
+                    final double dtu1  = parseDouble(matcher, 4);
+                    final double lod   = parseDouble(matcher, 5) * MILLI_SECONDS_TO_SECONDS;
                     if (mjd >= mjdMin) {
                         final AbsoluteDate mjdDate =
                                 new AbsoluteDate(new DateComponents(DateComponents.MODIFIED_JULIAN_EPOCH, mjd),
@@ -430,14 +431,14 @@ class BulletinBFilesLoader implements EOPHistoryLoader {
                         final double[] nro;
                         if (isNonRotatingOrigin) {
                             nro = new double[] {
-                                Double.parseDouble(matcher.group(6)) * MILLI_ARC_SECONDS_TO_RADIANS,
-                                Double.parseDouble(matcher.group(7)) * MILLI_ARC_SECONDS_TO_RADIANS
+                                parseDouble(matcher, 6) * MILLI_ARC_SECONDS_TO_RADIANS,
+                                parseDouble(matcher, 7) * MILLI_ARC_SECONDS_TO_RADIANS
                             };
                             equinox = converter.toEquinox(mjdDate, nro[0], nro[1]);
                         } else {
                             equinox = new double[] {
-                                Double.parseDouble(matcher.group(6)) * MILLI_ARC_SECONDS_TO_RADIANS,
-                                Double.parseDouble(matcher.group(7)) * MILLI_ARC_SECONDS_TO_RADIANS
+                                parseDouble(matcher, 6) * MILLI_ARC_SECONDS_TO_RADIANS,
+                                parseDouble(matcher, 7) * MILLI_ARC_SECONDS_TO_RADIANS
                             };
                             nro = converter.toNonRotating(mjdDate, equinox[0], equinox[1]);
                         }
@@ -475,21 +476,21 @@ class BulletinBFilesLoader implements EOPHistoryLoader {
                     matcher = SECTION_1_DATA_NEW_FORMAT.matcher(line);
                     if (matcher.matches()) {
                         // this is a data line, build an entry from the extracted fields
-                        final int year  = Integer.parseInt(matcher.group(1));
-                        final int month = Integer.parseInt(matcher.group(2));
-                        final int day   = Integer.parseInt(matcher.group(3));
-                        final int mjd   = Integer.parseInt(matcher.group(4));
+                        final int year  = parseInt(matcher, 1);
+                        final int month = parseInt(matcher, 2);
+                        final int day   = parseInt(matcher, 3);
+                        final int mjd   = parseInt(matcher, 4);
                         if (new DateComponents(year, month, day).getMJD() != mjd) {
                             throw new OrekitException(OrekitMessages.INCONSISTENT_DATES_IN_IERS_FILE,
                                                       name, year, month, day, mjd);
                         }
                         mjdMin = FastMath.min(mjdMin, mjd);
                         mjdMax = FastMath.max(mjdMax, mjd);
-                        final double x    = Double.parseDouble(matcher.group(5)) * MILLI_ARC_SECONDS_TO_RADIANS;
-                        final double y    = Double.parseDouble(matcher.group(6)) * MILLI_ARC_SECONDS_TO_RADIANS;
-                        final double dtu1 = Double.parseDouble(matcher.group(7)) * MILLI_SECONDS_TO_SECONDS;
-                        final double dx   = Double.parseDouble(matcher.group(8)) * MILLI_ARC_SECONDS_TO_RADIANS;
-                        final double dy   = Double.parseDouble(matcher.group(9)) * MILLI_ARC_SECONDS_TO_RADIANS;
+                        final double x    = parseDouble(matcher, 5) * MILLI_ARC_SECONDS_TO_RADIANS;
+                        final double y    = parseDouble(matcher, 6) * MILLI_ARC_SECONDS_TO_RADIANS;
+                        final double dtu1 = parseDouble(matcher, 7) * MILLI_SECONDS_TO_SECONDS;
+                        final double dx   = parseDouble(matcher, 8) * MILLI_ARC_SECONDS_TO_RADIANS;
+                        final double dy   = parseDouble(matcher, 9) * MILLI_ARC_SECONDS_TO_RADIANS;
                         fieldsMap.put(mjd,
                                       new double[] {
                                           dtu1, Double.NaN, x, y, dx, dy
@@ -519,9 +520,9 @@ class BulletinBFilesLoader implements EOPHistoryLoader {
                 final Matcher matcher = SECTION_3_DATA_NEW_FORMAT.matcher(line);
                 if (matcher.matches()) {
                     // this is a data line, build an entry from the extracted fields
-                    final int    mjd = Integer.parseInt(matcher.group(1));
+                    final int    mjd = parseInt(matcher, 1);
                     if (mjd >= mjdMin) {
-                        final double lod = Double.parseDouble(matcher.group(2)) * MILLI_SECONDS_TO_SECONDS;
+                        final double lod = parseDouble(matcher, 2) * MILLI_SECONDS_TO_SECONDS;
                         final double[] array = fieldsMap.get(mjd);
                         if (array == null) {
                             throw notifyUnexpectedErrorEncountered(name);
@@ -549,6 +550,24 @@ class BulletinBFilesLoader implements EOPHistoryLoader {
                                        name, loaderName);
         }
 
+        /** Parse an integer field from current line.
+         * @param matcher matcher for current line
+         * @param group group number of the field
+         * @return parsed integer
+         */
+        private int parseInt(final Matcher matcher, final int group) {
+            return LineTokenizer.parseInt(line, matcher.start(group), matcher.end(group));
+        }
+
+        /** Parse a real field from current line.
+         * @param matcher matcher for current line
+         * @param group group number of the field
+         * @return parsed real
+         */
+        private double parseDouble(final Matcher matcher, final int group) {
+            return LineTokenizer.parseDouble(line, matcher.start(group), matcher.end(group));
+        }
+
     }
 
 }
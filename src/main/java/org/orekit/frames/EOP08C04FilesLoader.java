@@ -28,6 +28,7 @@ import java.util.regex.Pattern;
 
 import org.orekit.data.DataLoader;
 import org.orekit.data.DataProvidersManager;
+import org.orekit.data.LineTokenizer;
 import org.orekit.errors.OrekitException;
 import org.orekit.errors.OrekitMessages;
 import org.orekit.time.AbsoluteDate;
@@ -175,6 +176,12 @@ class EOP08C04FilesLoader implements EOPHistoryLoader {
         /** Indicator for Non-Rotating Origin. */
         private boolean isNonRotatingOrigin;
 
+        /** Matcher for data lines, reused for all lines. */
+        private final Matcher dataMatcher;
+
+        /** Tokenizer for data lines. */
+        private final LineTokenizer tokenizer;
+
         /** Simple constructor.
          * @param converter converter to use
          */
@@ -184,6 +191,8 @@ class EOP08C04FilesLoader implements EOPHistoryLoader {
             this.lineNumber          = 0;
             this.inHeader            = true;
             this.isNonRotatingOrigin = false;
+            this.dataMatcher         = DATA_LINE_PATTERN.matcher("");
+            this.tokenizer           = new LineTokenizer();
         }
 
         /** {@inheritDoc} */
@@ -217,14 +226,14 @@ class EOP08C04FilesLoader implements EOPHistoryLoader {
                     }
                 }
 
-                if (DATA_LINE_PATTERN.matcher(line).matches()) {
+                if (dataMatcher.reset(line).matches()) {
                     inHeader = false;
                     // this is a data line, build an entry from the extracted fields
-                    final String[] fields = line.split(" +");
-                    final DateComponents dc = new DateComponents(Integer.parseInt(fields[YEAR_FIELD]),
-                                                                 Integer.parseInt(fields[MONTH_FIELD]),
-                                                                 Integer.parseInt(fields[DAY_FIELD]));
-                    final int    mjd   = Integer.parseInt(fields[MJD_FIELD]);
+                    final LineTokenizer fields = tokenizer.reset(line);
+                    final DateComponents dc = new DateComponents(fields.parseInt(YEAR_FIELD),
+                                                                 fields.parseInt(MONTH_FIELD),
+                                                                 fields.parseInt(DAY_FIELD));
+                    final int    mjd   = fields.parseInt(MJD_FIELD);
                     if (dc.getMJD() != mjd) {
                         throw new OrekitException(OrekitMessages.INCONSISTENT_DATES_IN_IERS_FILE,
                                                   name, dc.getYear(), dc.getMonth(), dc.getDay(), mjd);
@@ -232,22 +241,22 @@ class EOP08C04FilesLoader implements EOPHistoryLoader {
                     final AbsoluteDate date = new AbsoluteDate(dc, TimeScalesFactory.getUTC());
 
                     // the first six fields are consistent with the expected format
-                    final double x     = Double.parseDouble(fields[POLE_X_FIELD]) * Constants.ARC_SECONDS_TO_RADIANS;
-                    final double y     = Double.parseDouble(fields[POLE_Y_FIELD]) * Constants.ARC_SECONDS_TO_RADIANS;
-                    final double dtu1  = Double.parseDouble(fields[UT1_UTC_FIELD]);
-                    final double lod   = Double.parseDouble(fields[LOD_FIELD]);
+                    final double x     = fields.parseDouble(POLE_X_FIELD) * Constants.ARC_SECONDS_TO_RADIANS;
+                    final double y     = fields.parseDouble(POLE_Y_FIELD) * Constants.ARC_SECONDS_TO_RADIANS;
+                    final double dtu1  = fields.parseDouble(UT1_UTC_FIELD);
+                    final double lod   = fields.parseDouble(LOD_FIELD);
                     final double[] equinox;
                     final double[] nro;
                     if (isNonRotatingOrigin) {
                         nro = new double[] {
-                            Double.parseDouble(fields[NUT_0_FIELD]) * Constants.ARC_SECONDS_TO_RADIANS,
-                            Double.parseDouble(fields[NUT_1_FIELD]) * Constants.ARC_SECONDS_TO_RADIANS
+                            fields.parseDouble(NUT_0_FIELD) * Constants.ARC_SECONDS_TO_RADIANS,
+                            fields.parseDouble(NUT_1_FIELD) * Constants.ARC_SECONDS_TO_RADIANS
                         };
                         equinox = converter.toEquinox(date, nro[0], nro[1]);
                     } else {
                         equinox = new double[] {
-                            Double.parseDouble(fields[NUT_0_FIELD]) * Constants.ARC_SECONDS_TO_RADIANS,
-                            Double.parseDouble(fields[NUT_1_FIELD]) * Constants.ARC_SECONDS_TO_RADIANS
+                            fields.parseDouble(NUT_0_FIELD) * Constants.ARC_SECONDS_TO_RADIANS,
+                            fields.parseDouble(NUT_1_FIELD) * Constants.ARC_SECONDS_TO_RADIANS
                         };
                         nro = converter.toNonRotating(date, equinox[0], equinox[1]);
                     }
@@ -0,0 +1,289 @@
+/* Copyright 2002-2016 CS Systèmes d'Information
+ * Licensed to CS Systèmes d'Information (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.frames;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.zip.CRC32;
+
+import org.hipparchus.exception.DummyLocalizable;
+import org.orekit.data.DataProvidersManager;
+import org.orekit.errors.OrekitException;
+import org.orekit.time.DateComponents;
+import org.orekit.time.OffsetModel;
+import org.orekit.time.TimeScalesFactory;
+import org.orekit.utils.IERSConventions;
+
+/** Binary snapshot of loaded Earth Orientation Parameters and UTC-TAI offsets.
+ * <p>
+ * Parsing the IERS bulletins and the UTC-TAI history at each application
+ * start may take a noticeable time. This class allows to {@link #write(File)
+ * write} the already parsed data once in a compact binary form, and to {@link
+ * #load(File) load} it back at next start, registering loaders in {@link
+ * FramesFactory} and {@link TimeScalesFactory} that simply return the
+ * stored entries.
+ * </p>
+ * <p>
+ * The snapshot stores the names of the data files that were loaded by the
+ * {@link DataProvidersManager} when it was written, together with a checksum
+ * of their content. A snapshot is considered stale and is ignored if any
+ * of these files has been changed or removed since then. As all files
+ * loaded so far are monitored, the snapshot should preferably be written
+ * before other data (gravity fields, ephemerides...) are loaded, otherwise
+ * changes in these unrelated files will also invalidate the snapshot.
+ * </p>
+ * <p>
+ * Nutation and precession series are not part of the snapshot, as they are
+ * read from resources bundled with the library and not from the configurable
+ * data providers.
+ * </p>
+ * @author Luc Maisonobe
+ * @since 9.0
+ */
+public class EOPSnapshot {
+
+    /** Magic number identifying snapshot files. */
+    private static final int MAGIC = 0x4f454f50;
+
+    /** Format version. */
+    private static final int VERSION = 1;
+
+    /** Separator between archive name and entry name. */
+    private static final String ARCHIVE_SEPARATOR = "!";
+
+    /** Size of the buffer used for checksum computation. */
+    private static final int BUFFER_SIZE = 8192;
+
+    /** Private constructor for utility class. */
+    private EOPSnapshot() {
+    }
+
+    /** Write a snapshot of the currently loaded data.
+     * <p>
+     * The UTC-TAI offsets and Earth Orientation Parameters for all {@link
+     * IERSConventions IERS conventions} are loaded (if not already loaded)
+     * using the current configuration. Conventions for which no EOP can
+     * be loaded are silently ignored.
+     * </p>
+     * @param file file to write
+     * @exception OrekitException if UTC-TAI offsets cannot be loaded or
+     * snapshot cannot be written
+     */
+    public static void write(final File file) throws OrekitException {
+
+        // make sure everything is loaded before looking at loaded data names
+        final List<OffsetModel> offsets = TimeScalesFactory.getUTC().getBaseOffsets();
+        final Map<IERSConventions, List<EOPEntry>> entries =
+                new EnumMap<IERSConventions, List<EOPEntry>>(IERSConventions.class);
+        for (final IERSConventions conventions : IERSConventions.values()) {
+            try {
+                entries.put(conventions, FramesFactory.getEOPHistory(conventions, true).getEntries());
+            } catch (OrekitException oe) {
+                // no EOP available for these conventions
+                entries.put(conventions, Collections.<EOPEntry>emptyList());
+            }
+        }
+        final SortedSet<String> sources =
+                new TreeSet<String>(DataProvidersManager.getInstance().getLoadedDataNames());
+
+        try (DataOutputStream out =
+                new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
+
+            // header
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(checksum(sources));
+            out.writeInt(sources.size());
+            for (final String source : sources) {
+                out.writeUTF(source);
+            }
+
+            // UTC-TAI offsets
+            out.writeInt(offsets.size());
+            for (final OffsetModel offset : offsets) {
+                final DateComponents start = offset.getStart();
+                out.writeInt(start.getYear());
+                out.writeInt(start.getMonth());
+                out.writeInt(start.getDay());
+                out.writeInt(offset.getMJDRef());
+                out.writeDouble(offset.getOffset());
+                out.writeDouble(offset.getSlope());
+            }
+
+            // Earth Orientation Parameters
+            out.writeInt(entries.size());
+            for (final Map.Entry<IERSConventions, List<EOPEntry>> entry : entries.entrySet()) {
+                out.writeUTF(entry.getKey().name());
+                out.writeInt(entry.getValue().size());
+                for (final EOPEntry eop : entry.getValue()) {
+                    out.writeInt(eop.getMjd());
+                    out.writeDouble(eop.getUT1MinusUTC());
+                    out.writeDouble(eop.getLOD());
+                    out.writeDouble(eop.getX());
+                    out.writeDouble(eop.getY());
+                    out.writeDouble(eop.getDdPsi());
+                    out.writeDouble(eop.getDdEps());
+                    out.writeDouble(eop.getDx());
+                    out.writeDouble(eop.getDy());
+                }
+            }
+
+        } catch (IOException ioe) {
+            throw new OrekitException(ioe, new DummyLocalizable(ioe.getMessage()));
+        }
+
+    }
+
+    /** Load a snapshot and register it as the source of UTC-TAI offsets and EOP.
+     * <p>
+     * If the snapshot is valid and up to date, all previously configured
+     * {@link TimeScalesFactory#clearUTCTAIOffsetsLoaders() UTC-TAI offsets loaders}
+     * and {@link FramesFactory#clearEOPHistoryLoaders() EOP history loaders} are
+     * replaced by loaders that provide the snapshot content. If the snapshot is
+     * missing, corrupted or stale, nothing is changed and the regular loaders
+     * will be used. In both cases, this method must be called before the UTC
+     * scale or any Earth frame is first used.
+     * </p>
+     * @param file snapshot file
+     * @return true if the snapshot was loaded, false if it was missing,
+     * corrupted or stale
+     */
+    public static boolean load(final File file) {
+
+        if (!file.isFile()) {
+            return false;
+        }
+
+        final List<OffsetModel> offsets = new ArrayList<OffsetModel>();
+        final Map<IERSConventions, double[][]> entries =
+                new EnumMap<IERSConventions, double[][]>(IERSConventions.class);
+        try (DataInputStream in =
+                new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+
+            // header
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                return false;
+            }
+            final long checksum = in.readLong();
+            final SortedSet<String> sources = new TreeSet<String>();
+            for (int n = in.readInt(); n > 0; --n) {
+                sources.add(in.readUTF());
+            }
+            if (checksum(sources) != checksum) {
+                // some data files have changed since the snapshot was written
+                return false;
+            }
+
+            // UTC-TAI offsets
+            for (int n = in.readInt(); n > 0; --n) {
+                final DateComponents start = new DateComponents(in.readInt(), in.readInt(), in.readInt());
+                offsets.add(new OffsetModel(start, in.readInt(), in.readDouble(), in.readDouble()));
+            }
+
+            // Earth Orientation Parameters
+            for (int n = in.readInt(); n > 0; --n) {
+                final IERSConventions conventions = IERSConventions.valueOf(in.readUTF());
+                final double[][] raw = new double[in.readInt()][9];
+                for (final double[] row : raw) {
+                    row[0] = in.readInt();
+                    for (int i = 1; i < row.length; ++i) {
+                        row[i] = in.readDouble();
+                    }
+                }
+                entries.put(conventions, raw);
+            }
+
+        } catch (IOException | IllegalArgumentException e) {
+            // truncated file or unknown conventions
+            return false;
+        }
+
+        // the UTC scale modifies the list it is built from, so we provide a fresh copy
+        TimeScalesFactory.clearUTCTAIOffsetsLoaders();
+        TimeScalesFactory.addUTCTAIOffsetsLoader(() -> new ArrayList<OffsetModel>(offsets));
+
+        // EOP entries are built lazily, as they need the UTC scale
+        FramesFactory.clearEOPHistoryLoaders();
+        for (final Map.Entry<IERSConventions, double[][]> entry : entries.entrySet()) {
+            if (entry.getValue().length > 0) {
+                final double[][] raw = entry.getValue();
+                FramesFactory.addEOPHistoryLoader(entry.getKey(), (converter, history) -> {
+                    for (final double[] row : raw) {
+                        history.add(new EOPEntry((int) row[0], row[1], row[2], row[3], row[4],
+                                                 row[5], row[6], row[7], row[8]));
+                    }
+                });
+            }
+        }
+
+        return true;
+
+    }
+
+    /** Compute the checksum of data sources.
+     * <p>
+     * Entries from archives are checked by computing the checksum of the
+     * complete archive file. Sources that do not correspond to local files
+     * (classpath resources, network resources) are checked only by name.
+     * </p>
+     * @param sources names of the data sources
+     * @return checksum of the sources
+     * @exception IOException if some source cannot be read
+     */
+    private static long checksum(final SortedSet<String> sources) throws IOException {
+
+        // identify the local files to check
+        final SortedSet<String> names = new TreeSet<String>();
+        for (final String source : sources) {
+            final int index = source.indexOf(ARCHIVE_SEPARATOR);
+            names.add(index < 0 ? source : source.substring(0, index));
+        }
+
+        final CRC32  crc    = new CRC32();
+        final byte[] buffer = new byte[BUFFER_SIZE];
+        for (final String name : names) {
+            crc.update(name.getBytes(StandardCharsets.UTF_8));
+            final File source = new File(name);
+            if (source.isFile()) {
+                try (InputStream is = new FileInputStream(source)) {
+                    for (int n = is.read(buffer); n >= 0; n = is.read(buffer)) {
+                        crc.update(buffer, 0, n);
+                    }
+                }
+            }
+        }
+
+        return crc.getValue();
+
+    }
+
+}
@@ -19,6 +19,7 @@ package org.orekit.frames;
 import java.io.Serializable;
 
 import org.hipparchus.RealFieldElement;
+import org.hipparchus.exception.LocalizedCoreFormats;
 import org.orekit.errors.OrekitException;
 import org.orekit.errors.OrekitIllegalArgumentException;
 import org.orekit.errors.OrekitMessages;
@@ -249,6 +250,29 @@ public class Frame implements Serializable {
             return Transform.IDENTITY;
         }
 
+        if (date == null || !TransformCache.isEnabled()) {
+            return buildTransformTo(destination, date);
+        }
+
+        final TransformCache cache = TransformCache.getInstance();
+        Transform transform = cache.get(this, destination, date);
+        if (transform == null) {
+            transform = buildTransformTo(destination, date);
+            cache.put(this, destination, date, transform);
+        }
+        return transform;
+
+    }
+
+    /** Build the transform from the instance to another frame, without caching.
+     * @param destination destination frame to which we want to transform vectors
+     * @param date the date (can be null if it is sure than no date dependent frame is used)
+     * @return transform from the instance to the destination frame
+     * @exception OrekitException if some frame specific error occurs
+     */
+    private Transform buildTransformTo(final Frame destination, final AbsoluteDate date)
+        throws OrekitException {
+
         // common ancestor to both frames in the frames tree
         final Frame common = findCommon(this, destination);
 
@@ -271,6 +295,43 @@ public class Frame implements Serializable {
 
     }
 
+    /** Set the size of the per-thread transforms cache.
+     * <p>
+     * When the size is strictly positive, each thread memoises the last
+     * transforms computed by {@link #getTransformTo(Frame, AbsoluteDate)},
+     * keyed by source frame, destination frame and date. This is useful
+     * when the same transforms are rebuilt several times at the same date,
+     * as in force models and measurements derivatives evaluations. Caching
+     * is disabled by default.
+     * </p>
+     * <p>
+     * Caching assumes transforms depend only on date. Updates of {@link
+     * UpdatableFrame} instances and changes of ground stations position
+     * offsets parameters during orbit determination clear the caches
+     * automatically, but if some frames depend on other mutable state
+     * (for example Earth Orientation Parameters reloaded after frames
+     * have been used), {@link #clearTransformCache()} must be called
+     * after each change of this state.
+     * </p>
+     * @param size maximum number of transforms cached by each thread,
+     * 0 to disable caching
+     * @since 9.0
+     */
+    public static void setTransformCacheSize(final int size) {
+        if (size < 0) {
+            throw new OrekitIllegalArgumentException(LocalizedCoreFormats.NUMBER_TOO_SMALL, size, 0);
+        }
+        TransformCache.setMaxSize(size);
+    }
+
+    /** Clear the transforms cached by all threads.
+     * @see #setTransformCacheSize(int)
+     * @since 9.0
+     */
+    public static void clearTransformCache() {
+        TransformCache.invalidate();
+    }
+
     /** Get the transform from the instance to another frame.
      * @param destination destination frame to which we want to transform vectors
      * @param date the date (can be null if it is sure than no date dependent frame is used)
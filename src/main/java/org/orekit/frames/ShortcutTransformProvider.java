@@ -0,0 +1,99 @@
+/* Copyright 2002-2016 CS Systèmes d'Information
+ * Licensed to CS Systèmes d'Information (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.frames;
+
+import org.hipparchus.RealFieldElement;
+import org.orekit.errors.OrekitException;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.time.FieldAbsoluteDate;
+
+/** Transform provider fusing the whole chain between two frames.
+ * <p>
+ * This provider computes directly the transform from a source frame to
+ * a destination frame, regardless of the number of intermediate frames
+ * between them in the frames tree. It is intended to be used as the
+ * provider of a new frame attached directly to the source frame and
+ * equivalent to the destination frame, typically after having been
+ * wrapped in a {@link ShiftingTransformProvider} or an {@link
+ * InterpolatingTransformProvider}, so the complete chain is evaluated
+ * only at grid points:
+ * </p>
+ * <pre>
+ * final Frame gcrf = FramesFactory.getGCRF();
+ * final Frame itrf = FramesFactory.getITRF(IERSConventions.IERS_2010, true);
+ * final Frame fastITRF =
+ *     new Frame(gcrf,
+ *               new ShiftingTransformProvider(new ShortcutTransformProvider(gcrf, itrf),
+ *                                             CartesianDerivativesFilter.USE_PVA,
+ *                                             AngularDerivativesFilter.USE_R,
+ *                                             AbsoluteDate.PAST_INFINITY, AbsoluteDate.FUTURE_INFINITY,
+ *                                             6, Constants.JULIAN_DAY / 24,
+ *                                             OrekitConfiguration.getCacheSlotsNumber(),
+ *                                             Constants.JULIAN_YEAR, 30 * Constants.JULIAN_DAY),
+ *               "fast ITRF");
+ * </pre>
+ * @author Luc Maisonobe
+ * @since 9.0
+ */
+public class ShortcutTransformProvider implements TransformProvider {
+
+    /** Serializable UID. */
+    private static final long serialVersionUID = 20170612L;
+
+    /** Source frame. */
+    private final Frame source;
+
+    /** Destination frame. */
+    private final Frame destination;
+
+    /** Simple constructor.
+     * @param source source frame
+     * @param destination destination frame
+     */
+    public ShortcutTransformProvider(final Frame source, final Frame destination) {
+        this.source      = source;
+        this.destination = destination;
+    }
+
+    /** Get the source frame.
+     * @return source frame
+     */
+    public Frame getSource() {
+        return source;
+    }
+
+    /** Get the destination frame.
+     * @return destination frame
+     */
+    public Frame getDestination() {
+        return destination;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Transform getTransform(final AbsoluteDate date) throws OrekitException {
+        return source.getTransformTo(destination, date);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public <T extends RealFieldElement<T>> FieldTransform<T> getTransform(final FieldAbsoluteDate<T> date)
+        throws OrekitException {
+        return source.getTransformTo(destination, date);
+    }
+
+}
@@ -0,0 +1,183 @@
+/* Copyright 2002-2016 CS Systèmes d'Information
+ * Licensed to CS Systèmes d'Information (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.frames;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.orekit.time.AbsoluteDate;
+
+/** Per-thread memoisation of transforms between frames.
+ * <p>
+ * The cache is keyed by source frame, destination frame and date, and
+ * keeps only the most recently used transforms (LRU policy). Each thread
+ * has its own small cache, so no synchronization is needed on lookup.
+ * </p>
+ * <p>
+ * The cache is disabled by default. It is enabled by calling
+ * {@link Frame#setTransformCacheSize(int)} with a strictly positive size.
+ * It relies on the assumption that transforms only depend on date. This
+ * holds for all frames built by {@link FramesFactory}. Updates of {@link
+ * UpdatableFrame} instances and changes of ground stations offsets parameter
+ * drivers automatically invalidate all caches, but frames
+ * whose transforms depend on other mutable state (for example frames
+ * following a propagator that is reset) must call {@link
+ * Frame#clearTransformCache()} after each change.
+ * </p>
+ * @author Luc Maisonobe
+ * @since 9.0
+ */
+final class TransformCache {
+
+    /** Generation counter, incremented each time cached transforms become invalid. */
+    private static final AtomicLong GENERATION = new AtomicLong();
+
+    /** Per-thread caches. */
+    private static final ThreadLocal<TransformCache> CACHES =
+            ThreadLocal.withInitial(() -> new TransformCache());
+
+    /** Maximum number of transforms per thread (0 means caching is disabled). */
+    private static volatile int maxSize = 0;
+
+    /** Cached transforms, in least recently used order. */
+    private final Map<Key, Transform> transforms;
+
+    /** Generation of the cached transforms. */
+    private long generation;
+
+    /** Simple constructor.
+     */
+    private TransformCache() {
+        this.transforms = new LinkedHashMap<Key, Transform>(16, 0.75f, true) {
+
+            /** Serializable UID. */
+            private static final long serialVersionUID = 20170612L;
+
+            /** {@inheritDoc} */
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<Key, Transform> eldest) {
+                return size() > maxSize;
+            }
+
+        };
+        this.generation = GENERATION.get();
+    }
+
+    /** Set the maximum number of transforms cached by each thread.
+     * @param size maximum number of transforms cached by each thread,
+     * 0 to disable caching
+     */
+    static void setMaxSize(final int size) {
+        maxSize = size;
+        invalidate();
+    }
+
+    /** Check if caching is enabled.
+     * @return true if caching is enabled
+     */
+    static boolean isEnabled() {
+        return maxSize > 0;
+    }
+
+    /** Invalidate the transforms cached by all threads.
+     */
+    static void invalidate() {
+        GENERATION.incrementAndGet();
+    }
+
+    /** Get the cache for the current thread.
+     * @return cache for the current thread
+     */
+    static TransformCache getInstance() {
+        final TransformCache cache = CACHES.get();
+        final long current = GENERATION.get();
+        if (cache.generation != current) {
+            cache.transforms.clear();
+            cache.generation = current;
+        }
+        return cache;
+    }
+
+    /** Get a cached transform.
+     * @param source source frame
+     * @param destination destination frame
+     * @param date date of the transform
+     * @return cached transform, or null if transform is not cached
+     */
+    Transform get(final Frame source, final Frame destination, final AbsoluteDate date) {
+        return transforms.get(new Key(source, destination, date));
+    }
+
+    /** Store a transform.
+     * @param source source frame
+     * @param destination destination frame
+     * @param date date of the transform
+     * @param transform transform to store
+     */
+    void put(final Frame source, final Frame destination, final AbsoluteDate date,
+             final Transform transform) {
+        transforms.put(new Key(source, destination, date), transform);
+    }
+
+    /** Key for cached transforms. */
+    private static class Key {
+
+        /** Source frame. */
+        private final Frame source;
+
+        /** Destination frame. */
+        private final Frame destination;
+
+        /** Date of the transform. */
+        private final AbsoluteDate date;
+
+        /** Simple constructor.
+         * @param source source frame
+         * @param destination destination frame
+         * @param date date of the transform
+         */
+        Key(final Frame source, final Frame destination, final AbsoluteDate date) {
+            this.source      = source;
+            this.destination = destination;
+            this.date        = date;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public boolean equals(final Object other) {
+            if (other == this) {
+                return true;
+            }
+            if (other instanceof Key) {
+                final Key key = (Key) other;
+                return source == key.source && destination == key.destination &&
+                       date.equals(key.date);
+            }
+            return false;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public int hashCode() {
+            return 31 * (31 * System.identityHashCode(source) + System.identityHashCode(destination)) +
+                   date.hashCode();
+        }
+
+    }
+
+}
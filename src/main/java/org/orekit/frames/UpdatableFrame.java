@@ -178,6 +178,9 @@ public class UpdatableFrame extends Frame {
         // update the existing provider from parent to self
         ((UpdatableProvider) getTransformProvider()).setTransform(parentToSelf);
 
+        // transforms cached before the update are not valid anymore
+        TransformCache.invalidate();
+
     }
 
     /** Local provider for transforms. */
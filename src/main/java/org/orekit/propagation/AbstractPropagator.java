@@ -64,6 +64,9 @@ public abstract class AbstractPropagator implements Propagator {
     /** Initial state. */
     private SpacecraftState initialState;
 
+    /** Indicator for sharing interpolated states between events detectors. */
+    private boolean eventsStatesSharing;
+
     /** Build a new instance.
      */
     protected AbstractPropagator() {
@@ -71,6 +74,7 @@ public abstract class AbstractPropagator implements Propagator {
         stepHandler              = null;
         fixedStepSize            = Double.NaN;
         additionalStateProviders = new ArrayList<AdditionalStateProvider>();
+        eventsStatesSharing      = false;
     }
 
     /** Set a start date.
@@ -244,6 +248,39 @@ public abstract class AbstractPropagator implements Propagator {
         return stepHandler;
     }
 
+    /** Set the sharing of interpolated states between events detectors.
+     * <p>
+     * Events detectors evaluate their switching functions at check dates
+     * that often coincide, for example when many detectors share the same
+     * maximum checking interval. When sharing is enabled, the state at each
+     * date is interpolated only once per step and the same instance is
+     * provided to all detectors, which can then benefit from memoised
+     * computations like the {@link org.orekit.frames.Frame#setTransformCacheSize(int)
+     * frames transforms cache}. This is especially useful with many
+     * ground stations visibility detectors. Sharing is disabled by default.
+     * </p>
+     * <p>
+     * As all states interpolated during a step are preserved until the step
+     * is completed, sharing increases memory consumption when steps are long
+     * with respect to the detectors maximum checking interval.
+     * </p>
+     * @param sharing if true, interpolated states are shared between detectors
+     * @see #isEventsStatesSharing()
+     * @since 9.0
+     */
+    public void setEventsStatesSharing(final boolean sharing) {
+        this.eventsStatesSharing = sharing;
+    }
+
+    /** Check if interpolated states are shared between events detectors.
+     * @return true if interpolated states are shared between events detectors
+     * @see #setEventsStatesSharing(boolean)
+     * @since 9.0
+     */
+    public boolean isEventsStatesSharing() {
+        return eventsStatesSharing;
+    }
+
     /** {@inheritDoc} */
     public abstract BoundedPropagator getGeneratedEphemeris();
 
@@ -0,0 +1,640 @@
+/* Copyright 2002-2016 CS Systèmes d'Information
+ * Licensed to CS Systèmes d'Information (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.propagation;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.orekit.errors.OrekitException;
+import org.orekit.errors.OrekitInternalError;
+import org.orekit.errors.OrekitMessages;
+import org.orekit.propagation.sampling.MultiSatStepHandler;
+import org.orekit.propagation.sampling.OrekitStepHandler;
+import org.orekit.propagation.sampling.OrekitStepInterpolator;
+import org.orekit.time.AbsoluteDate;
+
+/** This class provides a way to propagate simultaneously several orbits.
+ *
+ * <p>
+ * Multi-satellites propagation is based on multi-threading. Therefore,
+ * care must be taken so that all propagators can be run in a multi-thread
+ * context. This implies that all propagators are built independently and
+ * that they rely on force models that are also built independently. An
+ * obvious mistake would be to reuse a maneuver force model, as these models
+ * need to cache the firing/not-firing status. Objects used by all propagators
+ * and which are thread-safe (frames, time scales, celestial bodies, Earth
+ * orientation parameters...) can be shared, which is the whole point: the
+ * caches behind them are populated once for all satellites.
+ * </p>
+ * <p>
+ * Each propagator is run in its own thread, as a propagator waits for the
+ * other ones between its steps. By default, a dedicated thread pool is created
+ * for each propagation, so the number of threads used is equal to the number
+ * of propagators. Users who need to control thread creation can {@link
+ * #PropagatorsParallelizer(List, MultiSatStepHandler, ExecutorService) provide
+ * their own executor}, which must be able to run all propagators simultaneously.
+ * The propagators are set in
+ * {@link Propagator#setMasterMode(OrekitStepHandler) master mode} by this class,
+ * so any step handler or operating mode previously set up by users is lost,
+ * and they are reset to {@link Propagator#setSlaveMode() slave mode} when
+ * the multi-satellites propagation ends.
+ * The steps of all propagators are synchronized, i.e. the global step handler
+ * is called with interpolators that all cover the same time range, which is
+ * the intersection of the underlying propagators steps. Each propagator is
+ * therefore allowed to use its own step size and the global step handler sees
+ * a merged time-ordered sequence.
+ * </p>
+ * <p>
+ * If one propagator stops early (typically because an event detector returned
+ * {@link org.orekit.propagation.events.handlers.EventHandler.Action#STOP STOP}),
+ * the global propagation is stopped for all satellites at the same date.
+ * </p>
+ * @author Luc Maisonobe
+ * @since 9.0
+ */
+public class PropagatorsParallelizer {
+
+    /** Waiting time to check if propagation threads are still alive (ms). */
+    private static final long POLL_DELAY = 100;
+
+    /** Underlying propagators. */
+    private final List<Propagator> propagators;
+
+    /** Global step handler. */
+    private final MultiSatStepHandler globalHandler;
+
+    /** User-provided executor (null if a dedicated executor is created for each propagation). */
+    private final ExecutorService executor;
+
+    /** Simple constructor.
+     * <p>
+     * A dedicated thread pool with one thread per propagator is created
+     * at each propagation and shut down at the end of the propagation.
+     * </p>
+     * @param propagators list of propagators to use
+     * @param globalHandler global handler for managing all spacecrafts
+     * simultaneously
+     */
+    public PropagatorsParallelizer(final List<Propagator> propagators,
+                                   final MultiSatStepHandler globalHandler) {
+        this(propagators, globalHandler, null);
+    }
+
+    /** Simple constructor with user-provided executor.
+     * <p>
+     * As each propagator waits for the other ones between its steps, the
+     * executor must be able to run as many tasks simultaneously as there are
+     * propagators, otherwise propagation would never end. This is checked
+     * at propagation start for {@link ThreadPoolExecutor} and {@link ForkJoinPool}
+     * instances. Propagation tasks are stopped by explicit signals rather than
+     * by interruptions, so executors that do not interrupt cancelled tasks can
+     * be used too. The
+     * executor is not shut down by this class, it can be reused for several
+     * propagations.
+     * </p>
+     * @param propagators list of propagators to use
+     * @param globalHandler global handler for managing all spacecrafts
+     * simultaneously
+     * @param executor executor running the propagation tasks (if null,
+     * a dedicated thread pool is created for each propagation)
+     */
+    public PropagatorsParallelizer(final List<Propagator> propagators,
+                                   final MultiSatStepHandler globalHandler,
+                                   final ExecutorService executor) {
+        this.propagators   = new ArrayList<Propagator>(propagators);
+        this.globalHandler = globalHandler;
+        this.executor      = executor;
+    }
+
+    /** Get an unmodifiable list of the underlying mono-satellite propagators.
+     * @return unmodifiable list of the underlying mono-satellite propagators
+     */
+    public List<Propagator> getPropagators() {
+        return Collections.unmodifiableList(propagators);
+    }
+
+    /** Propagate from a start date towards a target date.
+     * @param start start date from which orbit state should be propagated
+     * @param target target date to which orbit state should be propagated
+     * @return propagated states, in the same order as the propagators
+     * @exception OrekitException if state cannot be propagated
+     */
+    public List<SpacecraftState> propagate(final AbsoluteDate start, final AbsoluteDate target)
+        throws OrekitException {
+
+        if (propagators.isEmpty()) {
+            throw new OrekitException(OrekitMessages.NO_PROPAGATORS_TO_PARALLELIZE);
+        }
+
+        if (propagators.size() == 1) {
+            // special handling when only one propagator is used
+            final Propagator propagator = propagators.get(0);
+            try {
+                propagator.setMasterMode(new SinglePropagatorHandler(globalHandler));
+                return Collections.singletonList(propagator.propagate(start, target));
+            } finally {
+                propagator.setSlaveMode();
+            }
+        }
+
+        final boolean isForward = target.compareTo(start) >= 0;
+
+        final int capacity;
+        if (executor instanceof ThreadPoolExecutor) {
+            capacity = ((ThreadPoolExecutor) executor).getMaximumPoolSize();
+        } else if (executor instanceof ForkJoinPool) {
+            capacity = ((ForkJoinPool) executor).getParallelism();
+        } else {
+            capacity = Integer.MAX_VALUE;
+        }
+        if (capacity < propagators.size()) {
+            throw new OrekitException(OrekitMessages.NOT_ENOUGH_THREADS_FOR_PARALLEL_PROPAGATION,
+                                      capacity, propagators.size());
+        }
+
+        // start all propagators in concurrent threads
+        final ExecutorService            executorService = (executor == null) ?
+                                                           Executors.newFixedThreadPool(propagators.size()) :
+                                                           executor;
+        final List<PropagatorMonitoring> monitors        = new ArrayList<PropagatorMonitoring>(propagators.size());
+        try {
+
+            for (final Propagator propagator : propagators) {
+                monitors.add(new PropagatorMonitoring(propagator, start, target, executorService));
+            }
+
+            // initialize the global step handler
+            final List<SpacecraftState> initialStates = new ArrayList<SpacecraftState>(monitors.size());
+            for (final PropagatorMonitoring monitor : monitors) {
+                initialStates.add(monitor.retrieve().initialState);
+            }
+            globalHandler.init(initialStates, target);
+
+            // main loop
+            AbsoluteDate                  previousDate = start;
+            List<OrekitStepInterpolator>  restricted   = null;
+            boolean                       isLast       = false;
+            while (!isLast) {
+
+                // select the earliest ending step among all propagators
+                PropagatorMonitoring selected = null;
+                for (final PropagatorMonitoring monitor : monitors) {
+                    monitor.retrieveStepIfNeeded();
+                    if (selected == null ||
+                        isBefore(monitor.step.currentDate, selected.step.currentDate, isForward)) {
+                        selected = monitor;
+                    }
+                }
+                final AbsoluteDate currentDate = selected.step.currentDate;
+
+                // the global step is the last one as soon as one propagator stops at the common date
+                for (final PropagatorMonitoring monitor : monitors) {
+                    isLast |= monitor.step.isLast && monitor.step.currentDate.compareTo(currentDate) == 0;
+                }
+
+                // restrict all steps to a common time range
+                restricted = new ArrayList<OrekitStepInterpolator>(monitors.size());
+                for (final PropagatorMonitoring monitor : monitors) {
+                    restricted.add(new RestrictedInterpolator(monitor.step.interpolator,
+                                                              previousDate, currentDate));
+                }
+                globalHandler.handleStep(restricted, isLast);
+
+                if (!isLast) {
+                    // let the propagators whose step has been fully handled go on
+                    for (final PropagatorMonitoring monitor : monitors) {
+                        if (monitor.step.currentDate.compareTo(currentDate) == 0) {
+                            monitor.release();
+                        }
+                    }
+                }
+
+                previousDate = currentDate;
+
+            }
+
+            // extract the final states
+            final List<SpacecraftState> finalStates = new ArrayList<SpacecraftState>(restricted.size());
+            for (final OrekitStepInterpolator interpolator : restricted) {
+                finalStates.add(interpolator.getCurrentState());
+            }
+            return finalStates;
+
+        } finally {
+            // stop all remaining propagation tasks and wait for them to unwind
+            for (final PropagatorMonitoring monitor : monitors) {
+                monitor.stop();
+            }
+            if (executor == null) {
+                executorService.shutdown();
+            }
+            for (final Propagator propagator : propagators) {
+                propagator.setSlaveMode();
+            }
+        }
+
+    }
+
+    /** Check dates ordering.
+     * @param date1 first date
+     * @param date2 second date
+     * @param isForward if true, propagation is forward
+     * @return true if date1 is strictly before date2 with respect to propagation direction
+     */
+    private static boolean isBefore(final AbsoluteDate date1, final AbsoluteDate date2,
+                                    final boolean isForward) {
+        final int cmp = date1.compareTo(date2);
+        return isForward ? cmp < 0 : cmp > 0;
+    }
+
+    /** Local exception used to stop a propagation thread. */
+    private static class PropagationStopped extends RuntimeException {
+
+        /** Serializable UID. */
+        private static final long serialVersionUID = 20170323L;
+
+        /** Simple constructor.
+         */
+        PropagationStopped() {
+            super();
+        }
+
+    }
+
+    /** Container for messages sent from propagation threads to the main thread. */
+    private static class Message {
+
+        /** Initial state (null for step messages). */
+        private final SpacecraftState initialState;
+
+        /** Step interpolator (null for initialization messages). */
+        private final OrekitStepInterpolator interpolator;
+
+        /** Step end date (null for initialization messages). */
+        private final AbsoluteDate currentDate;
+
+        /** Indicator for last step. */
+        private final boolean isLast;
+
+        /** Build an initialization message.
+         * @param initialState initial state
+         */
+        Message(final SpacecraftState initialState) {
+            this.initialState = initialState;
+            this.interpolator = null;
+            this.currentDate  = null;
+            this.isLast       = false;
+        }
+
+        /** Build a step message.
+         * @param interpolator step interpolator
+         * @param isLast if true, this is the last step
+         * @exception OrekitException if step end state cannot be computed
+         */
+        Message(final OrekitStepInterpolator interpolator, final boolean isLast)
+            throws OrekitException {
+            this.initialState = null;
+            this.interpolator = interpolator;
+            this.currentDate  = interpolator.getCurrentState().getDate();
+            this.isLast       = isLast;
+        }
+
+    }
+
+    /** Monitor for one propagation thread. */
+    private static class PropagatorMonitoring {
+
+        /** Queue for messages from propagation thread to main thread. */
+        private final SynchronousQueue<Message> toMain;
+
+        /** Queue for release signals from main thread to propagation thread. */
+        private final SynchronousQueue<Boolean> toPropagator;
+
+        /** Propagation result. */
+        private final Future<SpacecraftState> future;
+
+        /** Indicator for task start (or cancellation before start). */
+        private final AtomicBoolean started;
+
+        /** Indicator for stop request from main thread. */
+        private volatile boolean stopped;
+
+        /** Latch released when the propagation task ends. */
+        private final CountDownLatch ended;
+
+        /** Current step (null if it must be retrieved). */
+        private Message step;
+
+        /** Simple constructor.
+         * @param propagator managed propagator
+         * @param start start date from which orbit state should be propagated
+         * @param target target date to which orbit state should be propagated
+         * @param executorService service for running propagation threads
+         */
+        PropagatorMonitoring(final Propagator propagator,
+                             final AbsoluteDate start, final AbsoluteDate target,
+                             final ExecutorService executorService) {
+
+            this.toMain       = new SynchronousQueue<Message>();
+            this.toPropagator = new SynchronousQueue<Boolean>();
+            this.started      = new AtomicBoolean(false);
+            this.stopped      = false;
+            this.ended        = new CountDownLatch(1);
+            this.step         = null;
+
+            propagator.setMasterMode(new OrekitStepHandler() {
+
+                /** {@inheritDoc} */
+                @Override
+                public void init(final SpacecraftState s0, final AbsoluteDate t) {
+                    send(new Message(s0));
+                }
+
+                /** {@inheritDoc} */
+                @Override
+                public void handleStep(final OrekitStepInterpolator interpolator, final boolean isLast)
+                    throws OrekitException {
+                    send(new Message(interpolator, isLast));
+                    try {
+                        // the interpolator must remain valid until the main thread is done with it
+                        Boolean signal = null;
+                        while (signal == null) {
+                            checkStopped();
+                            signal = toPropagator.poll(POLL_DELAY, TimeUnit.MILLISECONDS);
+                        }
+                        if (!signal) {
+                            throw new PropagationStopped();
+                        }
+                    } catch (InterruptedException ie) {
+                        Thread.currentThread().interrupt();
+                        throw new PropagationStopped();
+                    }
+                }
+
+                /** Send a message to the main thread.
+                 * @param message message to send
+                 */
+                private void send(final Message message) {
+                    try {
+                        boolean sent = false;
+                        while (!sent) {
+                            checkStopped();
+                            sent = toMain.offer(message, POLL_DELAY, TimeUnit.MILLISECONDS);
+                        }
+                    } catch (InterruptedException ie) {
+                        Thread.currentThread().interrupt();
+                        throw new PropagationStopped();
+                    }
+                }
+
+                /** Check if the main thread requested the propagation to stop.
+                 */
+                private void checkStopped() {
+                    if (stopped) {
+                        throw new PropagationStopped();
+                    }
+                }
+
+            });
+
+            this.future = executorService.submit(() -> {
+                if (!started.compareAndSet(false, true)) {
+                    // the task has been stopped before it started
+                    return null;
+                }
+                try {
+                    return propagator.propagate(start, target);
+                } finally {
+                    ended.countDown();
+                }
+            });
+
+        }
+
+        /** Stop the propagation task and wait for it to unwind.
+         * <p>
+         * The task is not interrupted, as some executors (for example
+         * {@link ForkJoinPool}) do not interrupt cancelled tasks. It is
+         * rather signaled to stop, either immediately if it is waiting
+         * for a release or at its next check of the stop indicator.
+         * </p>
+         */
+        public void stop() {
+            stopped = true;
+            future.cancel(false);
+            // wake up the task if it is currently waiting for a release
+            toPropagator.offer(Boolean.FALSE);
+            if (!started.compareAndSet(false, true)) {
+                // the task did start, wait until it ends
+                try {
+                    ended.await();
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+
+        /** Retrieve the next step if the current one has been released.
+         * @exception OrekitException if propagation thread failed
+         */
+        public void retrieveStepIfNeeded() throws OrekitException {
+            if (step == null) {
+                step = retrieve();
+            }
+        }
+
+        /** Let the propagation thread go on with its next step.
+         * @exception OrekitException if main thread is interrupted
+         */
+        public void release() throws OrekitException {
+            step = null;
+            try {
+                toPropagator.put(Boolean.TRUE);
+            } catch (InterruptedException ie) {
+                Thread.currentThread().interrupt();
+                throw new OrekitException(ie, LocalizedCoreFormats.SIMPLE_MESSAGE, ie.getLocalizedMessage());
+            }
+        }
+
+        /** Retrieve next message from propagation thread.
+         * @return next message
+         * @exception OrekitException if propagation thread failed
+         */
+        public Message retrieve() throws OrekitException {
+            try {
+                while (true) {
+                    final Message message = toMain.poll(POLL_DELAY, TimeUnit.MILLISECONDS);
+                    if (message != null) {
+                        return message;
+                    }
+                    if (future.isDone()) {
+                        // the propagation thread ended before sending the expected message,
+                        // this can only happen if it failed
+                        future.get();
+                        throw new OrekitInternalError(null);
+                    }
+                }
+            } catch (InterruptedException ie) {
+                Thread.currentThread().interrupt();
+                throw new OrekitException(ie, LocalizedCoreFormats.SIMPLE_MESSAGE, ie.getLocalizedMessage());
+            } catch (ExecutionException ee) {
+                final Throwable cause = ee.getCause();
+                if (cause instanceof OrekitException) {
+                    throw (OrekitException) cause;
+                } else if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                } else if (cause instanceof Error) {
+                    throw (Error) cause;
+                } else {
+                    throw new OrekitException(cause, LocalizedCoreFormats.SIMPLE_MESSAGE, cause.getLocalizedMessage());
+                }
+            }
+        }
+
+    }
+
+    /** Interpolator restricted to a sub-range of an underlying step. */
+    private static class RestrictedInterpolator implements OrekitStepInterpolator {
+
+        /** Underlying interpolator. */
+        private final OrekitStepInterpolator raw;
+
+        /** Restricted previous state. */
+        private final SpacecraftState previousState;
+
+        /** Interpolation indicator for previous state. */
+        private final boolean previousInterpolated;
+
+        /** Restricted current state. */
+        private final SpacecraftState currentState;
+
+        /** Interpolation indicator for current state. */
+        private final boolean currentInterpolated;
+
+        /** Simple constructor.
+         * @param raw underlying interpolator
+         * @param previousDate start of the restricted range
+         * @param currentDate end of the restricted range
+         * @exception OrekitException if states cannot be interpolated
+         */
+        RestrictedInterpolator(final OrekitStepInterpolator raw,
+                               final AbsoluteDate previousDate, final AbsoluteDate currentDate)
+            throws OrekitException {
+
+            this.raw = raw;
+
+            final SpacecraftState rawPrevious = raw.getPreviousState();
+            if (rawPrevious.getDate().compareTo(previousDate) == 0) {
+                previousState        = rawPrevious;
+                previousInterpolated = raw.isPreviousStateInterpolated();
+            } else {
+                previousState        = raw.getInterpolatedState(previousDate);
+                previousInterpolated = true;
+            }
+
+            final SpacecraftState rawCurrent = raw.getCurrentState();
+            if (rawCurrent.getDate().compareTo(currentDate) == 0) {
+                currentState        = rawCurrent;
+                currentInterpolated = raw.isCurrentStateInterpolated();
+            } else {
+                currentState        = raw.getInterpolatedState(currentDate);
+                currentInterpolated = true;
+            }
+
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public SpacecraftState getPreviousState() {
+            return previousState;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public boolean isPreviousStateInterpolated() {
+            return previousInterpolated;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public SpacecraftState getCurrentState() {
+            return currentState;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public boolean isCurrentStateInterpolated() {
+            return currentInterpolated;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public SpacecraftState getInterpolatedState(final AbsoluteDate date)
+            throws OrekitException {
+            return raw.getInterpolatedState(date);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public boolean isForward() {
+            return raw.isForward();
+        }
+
+    }
+
+    /** Adapter from mono-satellite step handler to multi-satellites step handler. */
+    private static class SinglePropagatorHandler implements OrekitStepHandler {
+
+        /** Global handler. */
+        private final MultiSatStepHandler globalHandler;
+
+        /** Simple constructor.
+         * @param globalHandler global handler to call
+         */
+        SinglePropagatorHandler(final MultiSatStepHandler globalHandler) {
+            this.globalHandler = globalHandler;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public void init(final SpacecraftState s0, final AbsoluteDate t)
+            throws OrekitException {
+            globalHandler.init(Collections.singletonList(s0), t);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public void handleStep(final OrekitStepInterpolator interpolator, final boolean isLast)
+            throws OrekitException {
+            globalHandler.handleStep(Collections.singletonList(interpolator), isLast);
+        }
+
+    }
+
+}
@@ -22,7 +22,9 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.PriorityQueue;
 import java.util.Queue;
 
@@ -336,6 +338,23 @@ public abstract class AbstractAnalyticalPropagator extends AbstractPropagator {
         return pvProvider;
     }
 
+    /** {@inheritDoc}
+     * <p>
+     * This implementation only extrapolates the orbit at each date, it does not
+     * compute attitude, mass or additional states. Beware that events detectors
+     * and step handlers are ignored, so states resets triggered by events (for
+     * example impulse maneuvers) are not taken into account.
+     * </p>
+     */
+    @Override
+    public void getPVCoordinates(final AbsoluteDate[] dates, final Frame frame,
+                                 final double[] positions, final double[] velocities)
+        throws OrekitException {
+        for (int i = 0; i < dates.length; ++i) {
+            propagateOrbit(dates[i]).getPVCoordinates(frame).store(i, positions, velocities);
+        }
+    }
+
     /** Reset an intermediate state.
      * @param state new intermediate state to consider
      * @param forward if true, the intermediate state is valid for
@@ -541,6 +560,9 @@ public abstract class AbstractAnalyticalPropagator extends AbstractPropagator {
         /** Forward propagation indicator. */
         private final boolean forward;
 
+        /** States already interpolated in this step (null if sharing is disabled). */
+        private final Map<AbsoluteDate, SpacecraftState> sharedStates;
+
         /** Simple constructor.
          * @param isForward integration direction indicator
          * @param previousState start of the step
@@ -552,6 +574,13 @@ public abstract class AbstractAnalyticalPropagator extends AbstractPropagator {
             this.forward             = isForward;
             this.previousState   = previousState;
             this.currentState    = currentState;
+            if (isEventsStatesSharing()) {
+                this.sharedStates = new HashMap<>();
+                sharedStates.put(previousState.getDate(), previousState);
+                sharedStates.put(currentState.getDate(),  currentState);
+            } else {
+                this.sharedStates = null;
+            }
         }
 
         /** {@inheritDoc} */
@@ -580,11 +609,24 @@ public abstract class AbstractAnalyticalPropagator extends AbstractPropagator {
         public SpacecraftState getInterpolatedState(final AbsoluteDate date)
             throws OrekitException {
 
+            if (sharedStates != null) {
+                final SpacecraftState shared = sharedStates.get(date);
+                if (shared != null) {
+                    // the state has already been interpolated for another detector
+                    return shared;
+                }
+            }
+
             // compute the basic spacecraft state
             final SpacecraftState basicState = basicPropagate(date);
 
             // add the additional states
-            return updateAdditionalStates(basicState);
+            final SpacecraftState state = updateAdditionalStates(basicState);
+            if (sharedStates != null) {
+                sharedStates.put(date, state);
+            }
+
+            return state;
 
         }
 
@@ -0,0 +1,731 @@
+/* Copyright 2002-2016 CS Systèmes d'Information
+ * Licensed to CS Systèmes d'Information (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.propagation.analytical;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.hipparchus.analysis.interpolation.HermiteInterpolator;
+import org.hipparchus.exception.DummyLocalizable;
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.exception.MathIllegalArgumentException;
+import org.hipparchus.geometry.euclidean.threed.Rotation;
+import org.hipparchus.geometry.euclidean.threed.Vector3D;
+import org.hipparchus.util.FastMath;
+import org.orekit.attitudes.Attitude;
+import org.orekit.attitudes.AttitudeProvider;
+import org.orekit.errors.OrekitException;
+import org.orekit.errors.OrekitIllegalArgumentException;
+import org.orekit.errors.OrekitMessages;
+import org.orekit.frames.Frame;
+import org.orekit.orbits.CartesianOrbit;
+import org.orekit.orbits.Orbit;
+import org.orekit.propagation.BoundedPropagator;
+import org.orekit.propagation.SpacecraftState;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.time.ChronologicalComparator;
+import org.orekit.time.DateTimeComponents;
+import org.orekit.time.TimeScale;
+import org.orekit.time.TimeScalesFactory;
+import org.orekit.utils.AngularDerivativesFilter;
+import org.orekit.utils.CartesianDerivativesFilter;
+import org.orekit.utils.TimeStampedAngularCoordinates;
+import org.orekit.utils.TimeStampedPVCoordinates;
+
+/** Memory-efficient ephemeris backed by a primitive {@code double} buffer.
+ * <p>
+ * This class is similar to {@link Ephemeris}, but instead of keeping the
+ * full {@link SpacecraftState} objects in memory, it stores only one row of
+ * primitive values for each tabulated state: date offset, position, velocity,
+ * acceleration, mass, optionally attitude quaternion and rotation rate,
+ * and additional states. This reduces memory consumption by roughly one order
+ * of magnitude, which is important for long ephemerides of large constellations.
+ * </p>
+ * <p>
+ * Any other {@link BoundedPropagator}, like {@link
+ * org.orekit.propagation.integration.IntegratedEphemeris IntegratedEphemeris},
+ * can be converted to a compact ephemeris by sampling it, for example using an
+ * {@link org.orekit.propagation.sampling.OrekitFixedStepHandler OrekitFixedStepHandler}.
+ * </p>
+ * <p>
+ * The buffer may be allocated on the Java heap or off-heap, and the ephemeris
+ * may be {@link #write(File) written} to a file and {@link #read(File, Frame)
+ * read} back later, possibly by another process. Reading memory-maps the file,
+ * so only the parts of the ephemeris that are really used are loaded in memory.
+ * </p>
+ * <p>
+ * Interpolation uses the same Hermite interpolation as {@link
+ * SpacecraftState#interpolate(AbsoluteDate, java.util.stream.Stream)} for a
+ * sample of states with {@link CartesianOrbit Cartesian orbits}: position, velocity
+ * and acceleration are used for orbit interpolation, rotation and rotation rate
+ * are used for attitude interpolation, mass and additional states are interpolated
+ * component-wise. As orbits are stored in Cartesian form, the interpolated states
+ * always contain {@link CartesianOrbit Cartesian orbits}, regardless of the orbit
+ * type of the tabulated states. If attitude is not stored, the interpolated states
+ * have the same default attitude as states built from orbit only, unless an
+ * {@link #setAttitudeProvider(AttitudeProvider) attitude provider} is set.
+ * </p>
+ * <p>
+ * Instances of this class are guaranteed to be immutable, as long as the attitude
+ * provider is not changed after construction.
+ * </p>
+ * @see Ephemeris
+ * @author Luc Maisonobe
+ * @since 9.0
+ */
+public class CompactEphemeris extends AbstractAnalyticalPropagator implements BoundedPropagator {
+
+    /** Magic number for compact ephemeris files. */
+    private static final int MAGIC = 0x43455048;
+
+    /** File format version. */
+    private static final int VERSION = 1;
+
+    /** Size of the header prefix (magic number, version and header length). */
+    private static final int PREFIX_SIZE = 12;
+
+    /** Number of rows written at once. */
+    private static final int ROWS_PER_CHUNK = 1024;
+
+    /** Index of date offset in rows. */
+    private static final int T = 0;
+
+    /** Index of position in rows. */
+    private static final int P = 1;
+
+    /** Index of velocity in rows. */
+    private static final int V = 4;
+
+    /** Index of acceleration in rows. */
+    private static final int A = 7;
+
+    /** Index of mass in rows. */
+    private static final int MASS = 10;
+
+    /** Index of attitude quaternion in rows. */
+    private static final int Q = 11;
+
+    /** Index of rotation rate in rows. */
+    private static final int RATE = 15;
+
+    /** Size of the orbital part of rows. */
+    private static final int ORBIT_SIZE = 11;
+
+    /** Size of the attitude part of rows. */
+    private static final int ATTITUDE_SIZE = 7;
+
+    /** First date in range. */
+    private final AbsoluteDate minDate;
+
+    /** Last date in range. */
+    private final AbsoluteDate maxDate;
+
+    /** Reference frame. */
+    private final Frame frame;
+
+    /** Central attraction coefficient. */
+    private final double mu;
+
+    /** Number of points to use in interpolation. */
+    private final int interpolationPoints;
+
+    /** Indicator for stored attitude. */
+    private final boolean storeAttitude;
+
+    /** Names of the additional states. */
+    private final String[] additional;
+
+    /** Dimensions of the additional states. */
+    private final int[] dimensions;
+
+    /** Index of first additional state in rows. */
+    private final int additionalIndex;
+
+    /** Size of one row. */
+    private final int rowSize;
+
+    /** Number of tabulated states. */
+    private final int size;
+
+    /** Tabulated data, one row per state. */
+    private final DoubleBuffer data;
+
+    /** Constructor with tabulated states.
+     * <p>
+     * States that are not in the ephemeris frame are converted to it. States
+     * do not need to be sorted.
+     * </p>
+     * @param states tabulated states
+     * @param interpolationPoints number of points to use in interpolation
+     * @param storeAttitude if true, tabulated attitudes are stored
+     * @param offHeap if true, data are stored in a direct buffer outside of the Java heap
+     * @exception OrekitException if some states have incompatible additional states
+     * @exception MathIllegalArgumentException if the number of states is smaller than
+     * the number of points to use in interpolation
+     */
+    public CompactEphemeris(final List<SpacecraftState> states, final int interpolationPoints,
+                            final boolean storeAttitude, final boolean offHeap)
+        throws OrekitException, MathIllegalArgumentException {
+
+        super(DEFAULT_LAW);
+
+        if (states.size() < interpolationPoints) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.INSUFFICIENT_DIMENSION,
+                                                   states.size(), interpolationPoints);
+        }
+
+        final List<SpacecraftState> sorted = new ArrayList<SpacecraftState>(states);
+        sorted.sort(new ChronologicalComparator());
+        final SpacecraftState s0 = sorted.get(0);
+
+        // check all states handle the same additional states
+        final Set<String> names0 = s0.getAdditionalStates().keySet();
+        final String[] names     = names0.toArray(new String[names0.size()]);
+        final int[]    dims      = new int[names.length];
+        for (int i = 0; i < names.length; ++i) {
+            dims[i] = s0.getAdditionalState(names[i]).length;
+        }
+        for (final SpacecraftState state : sorted) {
+            s0.ensureCompatibleAdditionalStates(state);
+        }
+
+        this.minDate             = s0.getDate();
+        this.maxDate             = sorted.get(sorted.size() - 1).getDate();
+        this.frame               = s0.getFrame();
+        this.mu                  = s0.getMu();
+        this.interpolationPoints = interpolationPoints;
+        this.storeAttitude       = storeAttitude;
+        this.additional          = names;
+        this.dimensions          = dims;
+        this.additionalIndex     = storeAttitude ? ORBIT_SIZE + ATTITUDE_SIZE : ORBIT_SIZE;
+        this.rowSize             = additionalIndex + sum(dims);
+        this.size                = sorted.size();
+
+        // allocate storage
+        final long bytes = ((long) size) * rowSize * Double.BYTES;
+        if (bytes > Integer.MAX_VALUE) {
+            throw new OrekitIllegalArgumentException(LocalizedCoreFormats.NUMBER_TOO_LARGE,
+                                                     size, Integer.MAX_VALUE / (rowSize * Double.BYTES));
+        }
+        this.data = offHeap ?
+                    ByteBuffer.allocateDirect((int) bytes).asDoubleBuffer() :
+                    DoubleBuffer.allocate(size * rowSize);
+
+        // fill up storage
+        for (int i = 0; i < size; ++i) {
+            final SpacecraftState state = sorted.get(i);
+            final int base = i * rowSize;
+            data.put(base + T, state.getDate().durationFrom(minDate));
+            final TimeStampedPVCoordinates pv = state.getPVCoordinates(frame);
+            putVector(base + P, pv.getPosition());
+            putVector(base + V, pv.getVelocity());
+            putVector(base + A, pv.getAcceleration());
+            data.put(base + MASS, state.getMass());
+            if (storeAttitude) {
+                final TimeStampedAngularCoordinates ac =
+                        state.getAttitude().withReferenceFrame(frame).getOrientation();
+                final Rotation r = ac.getRotation();
+                data.put(base + Q,     r.getQ0());
+                data.put(base + Q + 1, r.getQ1());
+                data.put(base + Q + 2, r.getQ2());
+                data.put(base + Q + 3, r.getQ3());
+                putVector(base + RATE, ac.getRotationRate());
+            }
+            int index = base + additionalIndex;
+            for (final String name : names) {
+                for (final double a : state.getAdditionalState(name)) {
+                    data.put(index++, a);
+                }
+            }
+        }
+
+        // user needs to explicitly set attitude provider if they want to use one
+        setAttitudeProvider(null);
+
+    }
+
+    /** Constructor from already stored data.
+     * @param minDate first date in range
+     * @param maxDate last date in range
+     * @param frame reference frame
+     * @param mu central attraction coefficient
+     * @param interpolationPoints number of points to use in interpolation
+     * @param storeAttitude indicator for stored attitude
+     * @param additional names of the additional states
+     * @param dimensions dimensions of the additional states
+     * @param size number of tabulated states
+     * @param data tabulated data, one row per state
+     */
+    private CompactEphemeris(final AbsoluteDate minDate, final AbsoluteDate maxDate,
+                             final Frame frame, final double mu, final int interpolationPoints,
+                             final boolean storeAttitude, final String[] additional,
+                             final int[] dimensions, final int size, final DoubleBuffer data) {
+        super(DEFAULT_LAW);
+        this.minDate             = minDate;
+        this.maxDate             = maxDate;
+        this.frame               = frame;
+        this.mu                  = mu;
+        this.interpolationPoints = interpolationPoints;
+        this.storeAttitude       = storeAttitude;
+        this.additional          = additional.clone();
+        this.dimensions          = dimensions.clone();
+        this.additionalIndex     = storeAttitude ? ORBIT_SIZE + ATTITUDE_SIZE : ORBIT_SIZE;
+        this.rowSize             = additionalIndex + sum(dimensions);
+        this.size                = size;
+        this.data                = data;
+        setAttitudeProvider(null);
+    }
+
+    /** Compute the sum of array elements.
+     * @param array array to sum
+     * @return sum of array elements
+     */
+    private static int sum(final int[] array) {
+        int s = 0;
+        for (final int a : array) {
+            s += a;
+        }
+        return s;
+    }
+
+    /** Store a vector in the data buffer.
+     * @param index index of the first component
+     * @param v vector to store
+     */
+    private void putVector(final int index, final Vector3D v) {
+        data.put(index,     v.getX());
+        data.put(index + 1, v.getY());
+        data.put(index + 2, v.getZ());
+    }
+
+    /** Retrieve a vector from the data buffer.
+     * @param index index of the first component
+     * @return vector
+     */
+    private Vector3D getVector(final int index) {
+        return new Vector3D(data.get(index), data.get(index + 1), data.get(index + 2));
+    }
+
+    /** Get the first date of the range.
+     * @return the first date of the range
+     */
+    public AbsoluteDate getMinDate() {
+        return minDate;
+    }
+
+    /** Get the last date of the range.
+     * @return the last date of the range
+     */
+    public AbsoluteDate getMaxDate() {
+        return maxDate;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Frame getFrame() {
+        return frame;
+    }
+
+    /** Get the number of tabulated states.
+     * @return number of tabulated states
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /** Check if attitude is stored.
+     * @return true if attitude is stored
+     */
+    public boolean isAttitudeStored() {
+        return storeAttitude;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public SpacecraftState basicPropagate(final AbsoluteDate date) throws OrekitException {
+
+        final double t     = date.durationFrom(minDate);
+        final int    start = findStart(t);
+
+        // extract sample
+        final List<TimeStampedAngularCoordinates> attitudeSample =
+                new ArrayList<TimeStampedAngularCoordinates>(interpolationPoints);
+        final HermiteInterpolator scalarsInterpolator = new HermiteInterpolator();
+        for (int i = start; i < start + interpolationPoints; ++i) {
+            final int base = i * rowSize;
+            final double ti = data.get(base + T);
+            if (storeAttitude) {
+                final AbsoluteDate di = minDate.shiftedBy(ti);
+                final Rotation     r  = new Rotation(data.get(base + Q),     data.get(base + Q + 1),
+                                                     data.get(base + Q + 2), data.get(base + Q + 3),
+                                                     false);
+                attitudeSample.add(new TimeStampedAngularCoordinates(di, r, getVector(base + RATE), Vector3D.ZERO));
+            }
+            final double[] values = new double[rowSize - additionalIndex + 1];
+            values[0] = data.get(base + MASS);
+            for (int j = 1; j < values.length; ++j) {
+                values[j] = data.get(base + additionalIndex + j - 1);
+            }
+            scalarsInterpolator.addSamplePoint(ti - t, values);
+        }
+
+        // perform interpolation
+        final CartesianOrbit orbit   = interpolateOrbit(date, start);
+        final double[]       scalars = scalarsInterpolator.value(0);
+        final Map<String, double[]> interpolatedAdditional;
+        if (additional.length == 0) {
+            interpolatedAdditional = null;
+        } else {
+            interpolatedAdditional = new HashMap<String, double[]>(additional.length);
+            int index = 1;
+            for (int i = 0; i < additional.length; ++i) {
+                final double[] value = new double[dimensions[i]];
+                System.arraycopy(scalars, index, value, 0, value.length);
+                interpolatedAdditional.put(additional[i], value);
+                index += value.length;
+            }
+        }
+
+        final AttitudeProvider attitudeProvider = getAttitudeProvider();
+        if (attitudeProvider != null) {
+            return new SpacecraftState(orbit, attitudeProvider.getAttitude(orbit, date, frame),
+                                       scalars[0], interpolatedAdditional);
+        } else if (storeAttitude) {
+            final TimeStampedAngularCoordinates ac =
+                    TimeStampedAngularCoordinates.interpolate(date, AngularDerivativesFilter.USE_RR, attitudeSample);
+            return new SpacecraftState(orbit, new Attitude(frame, ac), scalars[0], interpolatedAdditional);
+        } else {
+            return new SpacecraftState(orbit, scalars[0], interpolatedAdditional);
+        }
+
+    }
+
+    /** Interpolate orbit.
+     * @param date interpolation date
+     * @param start index of the first tabulated state to use
+     * @return interpolated orbit
+     */
+    private CartesianOrbit interpolateOrbit(final AbsoluteDate date, final int start) {
+        final List<TimeStampedPVCoordinates> sample = new ArrayList<TimeStampedPVCoordinates>(interpolationPoints);
+        for (int i = start; i < start + interpolationPoints; ++i) {
+            final int base = i * rowSize;
+            sample.add(new TimeStampedPVCoordinates(minDate.shiftedBy(data.get(base + T)),
+                                                    getVector(base + P), getVector(base + V), getVector(base + A)));
+        }
+        return new CartesianOrbit(TimeStampedPVCoordinates.interpolate(date, CartesianDerivativesFilter.USE_PVA, sample),
+                                  frame, mu);
+    }
+
+    /** Find the first tabulated state to use for interpolation.
+     * <p>
+     * The selection of interpolation points is the same as in {@link
+     * org.orekit.utils.ImmutableTimeStampedCache#getNeighbors(AbsoluteDate)}.
+     * </p>
+     * @param t offset of the interpolation date with respect to first date
+     * @return index of the first tabulated state to use
+     * @exception OrekitException if date is outside of the ephemeris range
+     */
+    private int findStart(final double t) throws OrekitException {
+
+        if (t < data.get(T)) {
+            throw new OrekitException(OrekitMessages.UNABLE_TO_GENERATE_NEW_DATA_BEFORE, minDate);
+        } else if (t > data.get((size - 1) * rowSize + T)) {
+            throw new OrekitException(OrekitMessages.UNABLE_TO_GENERATE_NEW_DATA_AFTER, maxDate);
+        }
+
+        // find the last state at or before date
+        int low  = 0;
+        int high = size - 1;
+        while (low < high) {
+            final int mid = (low + high + 1) >>> 1;
+            if (data.get(mid * rowSize + T) <= t) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+
+        // force unbalanced range if necessary
+        return FastMath.min(FastMath.max(0, low - (interpolationPoints - 1) / 2),
+                            size - interpolationPoints);
+
+    }
+
+    /** {@inheritDoc} */
+    protected Orbit propagateOrbit(final AbsoluteDate date) throws OrekitException {
+        return interpolateOrbit(date, findStart(date.durationFrom(minDate)));
+    }
+
+    /** {@inheritDoc} */
+    protected double getMass(final AbsoluteDate date) throws OrekitException {
+        return basicPropagate(date).getMass();
+    }
+
+    /** {@inheritDoc} */
+    public TimeStampedPVCoordinates getPVCoordinates(final AbsoluteDate date, final Frame f)
+        throws OrekitException {
+        return propagate(date).getPVCoordinates(f);
+    }
+
+    /** Try (and fail) to reset the initial state.
+     * <p>
+     * This method always throws an exception, as ephemerides cannot be reset.
+     * </p>
+     * @param state new initial state to consider
+     * @exception OrekitException always thrown as ephemerides cannot be reset
+     */
+    public void resetInitialState(final SpacecraftState state)
+        throws OrekitException {
+        throw new OrekitException(OrekitMessages.NON_RESETABLE_STATE);
+    }
+
+    /** {@inheritDoc} */
+    protected void resetIntermediateState(final SpacecraftState state, final boolean forward)
+        throws OrekitException {
+        throw new OrekitException(OrekitMessages.NON_RESETABLE_STATE);
+    }
+
+    /** {@inheritDoc} */
+    public SpacecraftState getInitialState() throws OrekitException {
+        return basicPropagate(getMinDate());
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean isAdditionalStateManaged(final String name) {
+
+        // the additional state may be managed by a specific provider in the base class
+        if (super.isAdditionalStateManaged(name)) {
+            return true;
+        }
+
+        // the additional state may be managed in the states sample
+        for (final String a : additional) {
+            if (a.equals(name)) {
+                return true;
+            }
+        }
+
+        return false;
+
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public String[] getManagedAdditionalStates() {
+        final String[] upperManaged = super.getManagedAdditionalStates();
+        final String[] managed = new String[upperManaged.length + additional.length];
+        System.arraycopy(upperManaged, 0, managed, 0, upperManaged.length);
+        System.arraycopy(additional, 0, managed, upperManaged.length, additional.length);
+        return managed;
+    }
+
+    /** Write the ephemeris to a file.
+     * <p>
+     * The file can be read back using {@link #read(File, Frame)}.
+     * The attitude provider, if any, is not written.
+     * </p>
+     * @param file file to write
+     * @exception OrekitException if file cannot be written
+     */
+    public void write(final File file) throws OrekitException {
+        try (FileChannel channel = FileChannel.open(file.toPath(),
+                                                    StandardOpenOption.CREATE,
+                                                    StandardOpenOption.TRUNCATE_EXISTING,
+                                                    StandardOpenOption.WRITE)) {
+
+            // header
+            final TimeScale tai = TimeScalesFactory.getTAI();
+            final ByteArrayOutputStream bos = new ByteArrayOutputStream();
+            final DataOutputStream header = new DataOutputStream(bos);
+            header.writeUTF(frame.getName());
+            header.writeDouble(mu);
+            writeDate(header, minDate.getComponents(tai));
+            writeDate(header, maxDate.getComponents(tai));
+            header.writeInt(interpolationPoints);
+            header.writeBoolean(storeAttitude);
+            header.writeInt(size);
+            header.writeInt(additional.length);
+            for (int i = 0; i < additional.length; ++i) {
+                header.writeUTF(additional[i]);
+                header.writeInt(dimensions[i]);
+            }
+            header.flush();
+
+            // data are aligned on double size boundaries
+            final ByteBuffer prefix = ByteBuffer.allocate(dataOffset(bos.size()));
+            prefix.putInt(MAGIC);
+            prefix.putInt(VERSION);
+            prefix.putInt(bos.size());
+            prefix.put(bos.toByteArray());
+            prefix.rewind();
+            writeFully(channel, prefix);
+
+            // tabulated data
+            final ByteBuffer chunk = ByteBuffer.allocate(ROWS_PER_CHUNK * rowSize * Double.BYTES);
+            for (int start = 0; start < size; start += ROWS_PER_CHUNK) {
+                final int rows = FastMath.min(ROWS_PER_CHUNK, size - start);
+                chunk.clear();
+                for (int i = start * rowSize; i < (start + rows) * rowSize; ++i) {
+                    chunk.putDouble(data.get(i));
+                }
+                chunk.flip();
+                writeFully(channel, chunk);
+            }
+
+        } catch (IOException ioe) {
+            throw new OrekitException(ioe, new DummyLocalizable(ioe.getMessage()));
+        }
+    }
+
+    /** Read an ephemeris from a file.
+     * <p>
+     * The file is memory-mapped, so the tabulated data are not loaded in the Java heap.
+     * </p>
+     * @param file file to read, as written by {@link #write(File)}
+     * @param frame reference frame of the ephemeris (its name must match the one
+     * of the frame used when the file was written)
+     * @return ephemeris read from file
+     * @exception OrekitException if file cannot be read, is not a compact ephemeris
+     * file or if the frame does not match
+     */
+    public static CompactEphemeris read(final File file, final Frame frame)
+        throws OrekitException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+
+            if (channel.size() < PREFIX_SIZE || channel.size() > Integer.MAX_VALUE) {
+                throw new OrekitException(OrekitMessages.NOT_A_SUPPORTED_COMPACT_EPHEMERIS_FILE,
+                                          file.getAbsolutePath());
+            }
+            final MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+
+            // header
+            if (mapped.getInt() != MAGIC || mapped.getInt() != VERSION) {
+                throw new OrekitException(OrekitMessages.NOT_A_SUPPORTED_COMPACT_EPHEMERIS_FILE,
+                                          file.getAbsolutePath());
+            }
+            final byte[] headerBytes = new byte[mapped.getInt()];
+            mapped.get(headerBytes);
+            final DataInputStream header = new DataInputStream(new ByteArrayInputStream(headerBytes));
+            final String frameName = header.readUTF();
+            if (!frameName.equals(frame.getName())) {
+                throw new OrekitException(OrekitMessages.FRAMES_MISMATCH, frameName, frame.getName());
+            }
+            final double       mu                  = header.readDouble();
+            final TimeScale    tai                 = TimeScalesFactory.getTAI();
+            final AbsoluteDate minDate             = readDate(header, tai);
+            final AbsoluteDate maxDate             = readDate(header, tai);
+            final int          interpolationPoints = header.readInt();
+            final boolean      storeAttitude       = header.readBoolean();
+            final int          size                = header.readInt();
+            final String[]     additional          = new String[header.readInt()];
+            final int[]        dimensions          = new int[additional.length];
+            for (int i = 0; i < additional.length; ++i) {
+                additional[i] = header.readUTF();
+                dimensions[i] = header.readInt();
+            }
+
+            // tabulated data
+            mapped.position(dataOffset(headerBytes.length));
+            final DoubleBuffer data = mapped.slice().asDoubleBuffer();
+            final int rowSize = (storeAttitude ? ORBIT_SIZE + ATTITUDE_SIZE : ORBIT_SIZE) + sum(dimensions);
+            if (size < interpolationPoints || ((long) size) * rowSize != data.capacity()) {
+                throw new OrekitException(OrekitMessages.NOT_A_SUPPORTED_COMPACT_EPHEMERIS_FILE,
+                                          file.getAbsolutePath());
+            }
+
+            return new CompactEphemeris(minDate, maxDate, frame, mu, interpolationPoints,
+                                        storeAttitude, additional, dimensions, size, data);
+
+        } catch (BufferUnderflowException | IllegalArgumentException e) {
+            // truncated or corrupted file
+            throw new OrekitException(OrekitMessages.NOT_A_SUPPORTED_COMPACT_EPHEMERIS_FILE,
+                                      file.getAbsolutePath());
+        } catch (IOException ioe) {
+            throw new OrekitException(ioe, new DummyLocalizable(ioe.getMessage()));
+        }
+    }
+
+    /** Compute the offset of tabulated data in files.
+     * @param headerLength length of the header
+     * @return offset of tabulated data, aligned on double size boundaries
+     */
+    private static int dataOffset(final int headerLength) {
+        final int raw = PREFIX_SIZE + headerLength;
+        return Double.BYTES * ((raw + Double.BYTES - 1) / Double.BYTES);
+    }
+
+    /** Write a buffer completely to a channel.
+     * @param channel channel to write to
+     * @param buffer buffer to write
+     * @exception IOException if buffer cannot be written
+     */
+    private static void writeFully(final FileChannel channel, final ByteBuffer buffer)
+        throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    /** Write a date in a header.
+     * @param header header to write to
+     * @param components date components in TAI
+     * @exception IOException if date cannot be written
+     */
+    private static void writeDate(final DataOutputStream header, final DateTimeComponents components)
+        throws IOException {
+        header.writeInt(components.getDate().getYear());
+        header.writeInt(components.getDate().getMonth());
+        header.writeInt(components.getDate().getDay());
+        header.writeInt(components.getTime().getHour());
+        header.writeInt(components.getTime().getMinute());
+        header.writeDouble(components.getTime().getSecond());
+    }
+
+    /** Read a date from a header.
+     * @param header header to read from
+     * @param tai TAI time scale
+     * @return date read
+     * @exception IOException if date cannot be read
+     */
+    private static AbsoluteDate readDate(final DataInputStream header, final TimeScale tai)
+        throws IOException {
+        final int    year   = header.readInt();
+        final int    month  = header.readInt();
+        final int    day    = header.readInt();
+        final int    hour   = header.readInt();
+        final int    minute = header.readInt();
+        final double second = header.readDouble();
+        return new AbsoluteDate(year, month, day, hour, minute, second, tai);
+    }
+
+}
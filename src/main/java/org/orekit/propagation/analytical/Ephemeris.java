@@ -147,7 +147,10 @@ public class Ephemeris extends AbstractAnalyticalPropagator implements BoundedPr
 
     /** {@inheritDoc} */
     protected Orbit propagateOrbit(final AbsoluteDate date) throws OrekitException {
-        return basicPropagate(date).getOrbit();
+        // interpolate only the orbits, as in SpacecraftState.interpolate
+        final List<Orbit> neighbors =
+                cache.getNeighbors(date).map(state -> state.getOrbit()).collect(Collectors.toList());
+        return neighbors.get(0).interpolate(date, neighbors);
     }
 
     /** {@inheritDoc} */
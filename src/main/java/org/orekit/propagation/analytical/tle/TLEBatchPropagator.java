@@ -0,0 +1,208 @@
+/* Copyright 2002-2016 CS Systèmes d'Information
+ * Licensed to CS Systèmes d'Information (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.propagation.analytical.tle;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.IntUnaryOperator;
+import java.util.stream.IntStream;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.orekit.errors.OrekitException;
+import org.orekit.errors.OrekitIllegalArgumentException;
+import org.orekit.frames.Frame;
+import org.orekit.frames.FramesFactory;
+import org.orekit.time.AbsoluteDate;
+
+/** Batch propagator for large sets of TLE.
+ * <p>
+ * This class is devoted to catalog-wide computations (screening, conjunction
+ * pre-filtering, visibility sweeps ...) where thousands of TLE must be propagated
+ * to the same dates. The underlying {@link TLEPropagator SGP4/SDP4} models are
+ * selected and initialized only once at construction, and propagation results
+ * are stored directly in caller-provided flat arrays, so no {@link
+ * org.orekit.utils.PVCoordinates}, {@link org.orekit.orbits.Orbit} or {@link
+ * org.orekit.propagation.SpacecraftState} objects are allocated per satellite.
+ * The results are exactly the same as the ones computed by {@link
+ * TLEPropagator#getPVCoordinates(AbsoluteDate)}.
+ * </p>
+ * <p>
+ * Coordinates are stored in {@link FramesFactory#getTEME() TEME} frame, in
+ * flat arrays with interleaved coordinates (an array-of-structures layout,
+ * with separate arrays for positions and velocities): position of satellite
+ * {@code k} is stored in elements {@code 3k}, {@code 3k+1} and {@code 3k+2}
+ * of the positions array, and similarly for velocities.
+ * </p>
+ * <p>
+ * Propagation of satellites that cannot be propagated at some date (typically
+ * decayed objects with too large eccentricity) does not interrupt the batch,
+ * the corresponding coordinates are simply set to NaN and the number of such
+ * failures is returned.
+ * </p>
+ * <p>
+ * As the underlying SGP4/SDP4 models hold intermediate results, instances
+ * of this class are <em>not</em> thread-safe. They can however dispatch
+ * the satellites to several threads by themselves, using the {@code parallel}
+ * flag of the propagation methods.
+ * </p>
+ * @see TLEPropagator
+ * @author Luc Maisonobe
+ * @since 9.0
+ */
+public class TLEBatchPropagator {
+
+    /** Underlying propagators. */
+    private final List<TLEPropagator> propagators;
+
+    /** TEME frame. */
+    private final Frame teme;
+
+    /** Simple constructor.
+     * @param tles TLE to propagate
+     * @exception OrekitException if some underlying model cannot be initialized
+     */
+    public TLEBatchPropagator(final List<TLE> tles) throws OrekitException {
+        final List<TLEPropagator> list = new ArrayList<TLEPropagator>(tles.size());
+        for (final TLE tle : tles) {
+            list.add(TLEPropagator.selectExtrapolator(tle));
+        }
+        this.propagators = Collections.unmodifiableList(list);
+        this.teme        = FramesFactory.getTEME();
+    }
+
+    /** Get the number of satellites.
+     * @return number of satellites
+     */
+    public int getSize() {
+        return propagators.size();
+    }
+
+    /** Get one of the TLE.
+     * @param index index of the satellite
+     * @return TLE for the satellite
+     */
+    public TLE getTLE(final int index) {
+        return propagators.get(index).getTLE();
+    }
+
+    /** Get the frame in which coordinates are computed.
+     * @return TEME frame
+     */
+    public Frame getFrame() {
+        return teme;
+    }
+
+    /** Propagate all satellites to one date.
+     * @param date target date
+     * @param positions array where TEME positions (m) will be stored, its size must
+     * be at least 3 times the {@link #getSize() number of satellites}
+     * @param velocities array where TEME velocities (m/s) will be stored, its size must
+     * be at least 3 times the {@link #getSize() number of satellites}
+     * @param parallel if true, satellites are dispatched to several threads
+     * @return number of satellites that could not be propagated (their coordinates are set to NaN)
+     */
+    public int propagate(final AbsoluteDate date,
+                         final double[] positions, final double[] velocities,
+                         final boolean parallel) {
+        checkDimension(positions);
+        checkDimension(velocities);
+        return run(k -> propagate(k, date, positions, velocities), parallel);
+    }
+
+    /** Propagate all satellites to a time grid.
+     * <p>
+     * When the {@code parallel} flag is set, each thread handles all dates
+     * for a subset of the satellites, so the computation of one satellite
+     * is never split between threads.
+     * </p>
+     * @param dates target dates
+     * @param positions arrays where TEME positions (m) will be stored, one array for
+     * each date, each array size must be at least 3 times the {@link #getSize() number of satellites}
+     * @param velocities arrays where TEME velocities (m/s) will be stored, one array for
+     * each date, each array size must be at least 3 times the {@link #getSize() number of satellites}
+     * @param parallel if true, satellites are dispatched to several threads
+     * @return number of (satellite, date) pairs that could not be propagated
+     * (their coordinates are set to NaN)
+     */
+    public int propagate(final AbsoluteDate[] dates,
+                         final double[][] positions, final double[][] velocities,
+                         final boolean parallel) {
+        if (positions.length != dates.length) {
+            throw new OrekitIllegalArgumentException(LocalizedCoreFormats.DIMENSIONS_MISMATCH,
+                                                     positions.length, dates.length);
+        }
+        if (velocities.length != dates.length) {
+            throw new OrekitIllegalArgumentException(LocalizedCoreFormats.DIMENSIONS_MISMATCH,
+                                                     velocities.length, dates.length);
+        }
+        for (int j = 0; j < dates.length; ++j) {
+            checkDimension(positions[j]);
+            checkDimension(velocities[j]);
+        }
+        return run(k -> {
+            int failures = 0;
+            for (int j = 0; j < dates.length; ++j) {
+                failures += propagate(k, dates[j], positions[j], velocities[j]);
+            }
+            return failures;
+        }, parallel);
+    }
+
+    /** Run a task for all satellites.
+     * @param task task to run, returning a number of failures
+     * @param parallel if true, satellites are dispatched to several threads
+     * @return total number of failures
+     */
+    private int run(final IntUnaryOperator task, final boolean parallel) {
+        final IntStream indices = IntStream.range(0, propagators.size());
+        return (parallel ? indices.parallel() : indices).map(task).sum();
+    }
+
+    /** Propagate one satellite.
+     * @param k index of the satellite
+     * @param date target date
+     * @param positions array where TEME positions (m) will be stored
+     * @param velocities array where TEME velocities (m/s) will be stored
+     * @return 0 if propagation succeeded, 1 if it failed
+     */
+    private int propagate(final int k, final AbsoluteDate date,
+                          final double[] positions, final double[] velocities) {
+        final int offset = 3 * k;
+        try {
+            propagators.get(k).fillPVCoordinates(date, positions, velocities, offset);
+            return 0;
+        } catch (OrekitException oe) {
+            for (int i = offset; i < offset + 3; ++i) {
+                positions[i]  = Double.NaN;
+                velocities[i] = Double.NaN;
+            }
+            return 1;
+        }
+    }
+
+    /** Check an array dimension.
+     * @param array array to check
+     */
+    private void checkDimension(final double[] array) {
+        if (array.length < 3 * propagators.size()) {
+            throw new OrekitIllegalArgumentException(LocalizedCoreFormats.DIMENSIONS_MISMATCH,
+                                                     array.length, 3 * propagators.size());
+        }
+    }
+
+}
@@ -154,6 +154,24 @@ public abstract class TLEPropagator extends AbstractAnalyticalPropagator {
     /** 3/2 * C1. */
     protected double t2cof;
 
+    /** Last computed TEME position along X (m). */
+    private double xPos;
+
+    /** Last computed TEME position along Y (m). */
+    private double yPos;
+
+    /** Last computed TEME position along Z (m). */
+    private double zPos;
+
+    /** Last computed TEME velocity along X (m/s). */
+    private double xVel;
+
+    /** Last computed TEME velocity along Y (m/s). */
+    private double yVel;
+
+    /** Last computed TEME velocity along Z (m/s). */
+    private double zVel;
+
     // CHECKSTYLE: resume VisibilityModifierCheck
 
     /** TLE frame. */
@@ -240,7 +258,35 @@ public abstract class TLEPropagator extends AbstractAnalyticalPropagator {
         sxpPropagate(date.durationFrom(tle.getDate()) / 60.0);
 
         // Compute PV with previous calculated parameters
-        return computePVCoordinates();
+        computePVCoordinates();
+        return new PVCoordinates(new Vector3D(xPos, yPos, zPos), new Vector3D(xVel, yVel, zVel));
+
+    }
+
+    /** Get the extrapolated position and velocity from an initial TLE, without allocating objects.
+     * <p>
+     * This method is intended for batch propagation of large catalogs,
+     * where the coordinates are stored in flat primitive arrays.
+     * </p>
+     * @param date the final date
+     * @param position array where the TEME position (m) should be stored
+     * @param velocity array where the TEME velocity (m/s) should be stored
+     * @param offset index in the arrays of the first coordinate to store
+     * @exception OrekitException if propagation cannot be performed at given date
+     * @see TLEBatchPropagator
+     * @since 9.0
+     */
+    void fillPVCoordinates(final AbsoluteDate date,
+                           final double[] position, final double[] velocity, final int offset)
+        throws OrekitException {
+        sxpPropagate(date.durationFrom(tle.getDate()) / 60.0);
+        computePVCoordinates();
+        position[offset]     = xPos;
+        position[offset + 1] = yPos;
+        position[offset + 2] = zPos;
+        velocity[offset]     = xVel;
+        velocity[offset + 1] = yVel;
+        velocity[offset + 2] = zVel;
     }
 
     /** Computation of the first commons parameters.
@@ -334,11 +380,14 @@ public abstract class TLEPropagator extends AbstractAnalyticalPropagator {
     }
 
     /** Retrieves the position and velocity.
-     * @return the computed PVCoordinates.
+     * <p>
+     * The TEME coordinates are stored in the instance, so both the regular
+     * and the batch propagation can use them without intermediate objects.
+     * </p>
      * @exception OrekitException if current orbit is out of supported range
      * (too large eccentricity, too low perigee ...)
      */
-    private PVCoordinates computePVCoordinates() throws OrekitException {
+    private void computePVCoordinates() throws OrekitException {
 
         // Long period periodics
         final double axn = e * FastMath.cos(omega);
@@ -436,7 +485,9 @@ public abstract class TLEPropagator extends AbstractAnalyticalPropagator {
 
         // Position and velocity
         final double cr = 1000 * rk * TLEConstants.EARTH_RADIUS;
-        final Vector3D pos = new Vector3D(cr * ux, cr * uy, cr * uz);
+        xPos = cr * ux;
+        yPos = cr * uy;
+        zPos = cr * uz;
 
         final double rdot   = TLEConstants.XKE * FastMath.sqrt(a) * esinE / r;
         final double rfdot  = TLEConstants.XKE * FastMath.sqrt(pl) / r;
@@ -448,11 +499,9 @@ public abstract class TLEPropagator extends AbstractAnalyticalPropagator {
         final double vz     = sinik * cosuk;
 
         final double cv = 1000.0 * TLEConstants.EARTH_RADIUS / 60.0;
-        final Vector3D vel = new Vector3D(cv * (rdotk * ux + rfdotk * vx),
-                                          cv * (rdotk * uy + rfdotk * vy),
-                                          cv * (rdotk * uz + rfdotk * vz));
-
-        return new PVCoordinates(pos, vel);
+        xVel = cv * (rdotk * ux + rfdotk * vx);
+        yVel = cv * (rdotk * uy + rfdotk * vy);
+        zVel = cv * (rdotk * uz + rfdotk * vz);
 
     }
 
@@ -0,0 +1,239 @@
+/* Copyright 2002-2016 CS Systèmes d'Information
+ * Licensed to CS Systèmes d'Information (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.propagation.events;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.geometry.euclidean.threed.Vector3D;
+import org.hipparchus.util.FastMath;
+import org.orekit.errors.OrekitException;
+import org.orekit.errors.OrekitIllegalArgumentException;
+import org.orekit.errors.OrekitMessages;
+import org.orekit.frames.Frame;
+import org.orekit.frames.TopocentricFrame;
+import org.orekit.propagation.SpacecraftState;
+import org.orekit.propagation.events.handlers.EventHandler;
+import org.orekit.propagation.events.handlers.StopOnDecreasing;
+
+/** Detector for visibility from a network of ground stations.
+ * <p>
+ * This detector is equivalent to an {@link BooleanDetector#or(EventDetector...)
+ * or combination} of one {@link ElevationDetector} per station, but evaluates all
+ * stations in one pass: the spacecraft position is transformed only once in the
+ * body frame shared by all stations, and the elevations are then computed from
+ * stations positions and zenith directions pre-computed in this body frame. This
+ * is much faster than independent detectors when the network contains many stations.
+ * </p>
+ * <p>
+ * The switching function is positive when the spacecraft is above the minimum
+ * elevation for at least one station, so increasing events correspond to the
+ * network acquiring the spacecraft and decreasing events correspond to the
+ * network losing it. The stations involved can be identified using {@link
+ * #getElevations(SpacecraftState)}.
+ * </p>
+ * <p>
+ * As the switching function is the maximum of the stations switching functions,
+ * this detector only sees the network as a whole. It does <em>not</em> provide
+ * per-station passes: when the visibility periods of several stations overlap,
+ * they are merged in one single network pass, and the rise and set of a station
+ * occurring while another station still sees the spacecraft do not trigger any
+ * event. Users who need individual passes must use one {@link ElevationDetector}
+ * per station instead.
+ * </p>
+ * <p>The default implementation behavior is to {@link
+ * org.orekit.propagation.events.handlers.EventHandler.Action#CONTINUE continue}
+ * propagation at acquisition and to {@link
+ * org.orekit.propagation.events.handlers.EventHandler.Action#STOP stop} propagation
+ * at loss. This can be changed by calling
+ * {@link #withHandler(EventHandler)} after construction.</p>
+ * @see ElevationDetector
+ * @author Luc Maisonobe
+ * @since 9.0
+ */
+public class NetworkVisibilityDetector extends AbstractDetector<NetworkVisibilityDetector> {
+
+    /** Serializable UID. */
+    private static final long serialVersionUID = 20170613L;
+
+    /** Ground stations. */
+    private final List<TopocentricFrame> stations;
+
+    /** Minimum elevation. */
+    private final double minElevation;
+
+    /** Body frame shared by all stations. */
+    private final Frame bodyFrame;
+
+    /** Stations positions in body frame (x, y, z for each station). */
+    private final double[] origins;
+
+    /** Stations zenith directions in body frame (x, y, z for each station). */
+    private final double[] zeniths;
+
+    /** Build a new instance.
+     * <p>
+     * Uses default values for maximal checking interval ({@link #DEFAULT_MAXCHECK})
+     * and convergence threshold ({@link #DEFAULT_THRESHOLD}), and 0 minimum elevation.
+     * </p>
+     * @param stations ground stations (must all share the same body frame)
+     * @see #withConstantElevation(double)
+     */
+    public NetworkVisibilityDetector(final List<TopocentricFrame> stations) {
+        this(DEFAULT_MAXCHECK, DEFAULT_THRESHOLD, stations);
+    }
+
+    /** Build a new instance.
+     * @param maxCheck maximum checking interval (s)
+     * @param threshold convergence threshold (s)
+     * @param stations ground stations (must all share the same body frame)
+     * @see #withConstantElevation(double)
+     */
+    public NetworkVisibilityDetector(final double maxCheck, final double threshold,
+                                     final List<TopocentricFrame> stations) {
+        this(maxCheck, threshold, DEFAULT_MAX_ITER, new StopOnDecreasing<NetworkVisibilityDetector>(),
+             0.0, new ArrayList<>(stations));
+    }
+
+    /** Private constructor with full parameters.
+     * <p>
+     * This constructor is private as users are expected to use the builder
+     * API with the various {@code withXxx()} methods to set up the instance
+     * in a readable manner without using a huge amount of parameters.
+     * </p>
+     * @param maxCheck maximum checking interval (s)
+     * @param threshold convergence threshold (s)
+     * @param maxIter maximum number of iterations in the event time search
+     * @param handler event handler to call at event occurrences
+     * @param minElevation minimum elevation (rad)
+     * @param stations ground stations (must all share the same body frame)
+     */
+    private NetworkVisibilityDetector(final double maxCheck, final double threshold,
+                                      final int maxIter, final EventHandler<? super NetworkVisibilityDetector> handler,
+                                      final double minElevation, final List<TopocentricFrame> stations) {
+
+        super(maxCheck, threshold, maxIter, handler);
+
+        if (stations.isEmpty()) {
+            throw new OrekitIllegalArgumentException(LocalizedCoreFormats.NUMBER_TOO_SMALL, 0, 1);
+        }
+
+        this.stations     = stations;
+        this.minElevation = minElevation;
+        this.bodyFrame    = stations.get(0).getParent();
+        this.origins      = new double[3 * stations.size()];
+        this.zeniths      = new double[3 * stations.size()];
+
+        for (int i = 0; i < stations.size(); ++i) {
+            final TopocentricFrame station = stations.get(i);
+            if (station.getParent() != bodyFrame) {
+                throw new OrekitIllegalArgumentException(OrekitMessages.FRAMES_MISMATCH,
+                                                         station.getParent().getName(),
+                                                         bodyFrame.getName());
+            }
+            final Vector3D origin = station.getParentShape().transform(station.getPoint());
+            final Vector3D zenith = station.getZenith();
+            origins[3 * i]     = origin.getX();
+            origins[3 * i + 1] = origin.getY();
+            origins[3 * i + 2] = origin.getZ();
+            zeniths[3 * i]     = zenith.getX();
+            zeniths[3 * i + 1] = zenith.getY();
+            zeniths[3 * i + 2] = zenith.getZ();
+        }
+
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected NetworkVisibilityDetector create(final double newMaxCheck, final double newThreshold,
+                                               final int newMaxIter,
+                                               final EventHandler<? super NetworkVisibilityDetector> newHandler) {
+        return new NetworkVisibilityDetector(newMaxCheck, newThreshold, newMaxIter, newHandler,
+                                             minElevation, stations);
+    }
+
+    /** Setup the minimum elevation for detection.
+     * @param newMinElevation minimum elevation for visibility in radians (rad)
+     * @return a new detector with updated configuration (the instance is not changed)
+     * @see #getMinElevation()
+     */
+    public NetworkVisibilityDetector withConstantElevation(final double newMinElevation) {
+        return new NetworkVisibilityDetector(getMaxCheckInterval(), getThreshold(), getMaxIterationCount(),
+                                             getHandler(), newMinElevation, stations);
+    }
+
+    /** Get the minimum elevation.
+     * @return minimum elevation (rad)
+     */
+    public double getMinElevation() {
+        return minElevation;
+    }
+
+    /** Get the ground stations.
+     * @return unmodifiable view of the ground stations
+     */
+    public List<TopocentricFrame> getStations() {
+        return Collections.unmodifiableList(stations);
+    }
+
+    /** Compute the elevations of the spacecraft with respect to all stations.
+     * @param s spacecraft state
+     * @return elevations (rad), in the same order as {@link #getStations()}
+     * @exception OrekitException if spacecraft position cannot be computed in body frame
+     */
+    public double[] getElevations(final SpacecraftState s) throws OrekitException {
+        final Vector3D p = s.getPVCoordinates(bodyFrame).getPosition();
+        final double[] elevations = new double[stations.size()];
+        for (int i = 0; i < elevations.length; ++i) {
+            elevations[i] = elevation(p, i);
+        }
+        return elevations;
+    }
+
+    /** Compute the value of the switching function.
+     * This function measures the difference between the largest elevation
+     * among all stations and the minimum elevation.
+     * @param s the current state information: date, kinematics, attitude
+     * @return value of the switching function
+     * @exception OrekitException if spacecraft position cannot be computed in body frame
+     */
+    @Override
+    public double g(final SpacecraftState s) throws OrekitException {
+        final Vector3D p = s.getPVCoordinates(bodyFrame).getPosition();
+        double max = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < stations.size(); ++i) {
+            max = FastMath.max(max, elevation(p, i));
+        }
+        return max - minElevation;
+    }
+
+    /** Compute the elevation with respect to one station.
+     * @param p spacecraft position in body frame
+     * @param i index of the station
+     * @return elevation (rad)
+     */
+    private double elevation(final Vector3D p, final int i) {
+        final double dx = p.getX() - origins[3 * i];
+        final double dy = p.getY() - origins[3 * i + 1];
+        final double dz = p.getZ() - origins[3 * i + 2];
+        final double up = dx * zeniths[3 * i] + dy * zeniths[3 * i + 1] + dz * zeniths[3 * i + 2];
+        return FastMath.asin(up / FastMath.sqrt(dx * dx + dy * dy + dz * dz));
+    }
+
+}
@@ -0,0 +1,312 @@
+/* Copyright 2002-2016 CS Systèmes d'Information
+ * Licensed to CS Systèmes d'Information (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.propagation.events;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hipparchus.analysis.UnivariateFunction;
+import org.hipparchus.analysis.solvers.AllowedSolution;
+import org.hipparchus.analysis.solvers.BracketedUnivariateSolver;
+import org.hipparchus.analysis.solvers.BracketingNthOrderBrentSolver;
+import org.hipparchus.geometry.euclidean.threed.Vector3D;
+import org.hipparchus.util.FastMath;
+import org.orekit.errors.OrekitException;
+import org.orekit.errors.OrekitExceptionWrapper;
+import org.orekit.errors.OrekitIllegalArgumentException;
+import org.orekit.errors.OrekitMessages;
+import org.orekit.frames.Frame;
+import org.orekit.frames.TopocentricFrame;
+import org.orekit.orbits.Orbit;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.utils.Constants;
+import org.orekit.utils.PVCoordinatesProvider;
+
+/** Finder for ground station visibility windows, using analytic bounds to prune the search.
+ * <p>
+ * Finding passes with an {@link ElevationDetector} requires a small maximum checking
+ * interval throughout the search, even when the spacecraft is far below the horizon.
+ * This finder uses conservative bounds on spacecraft radius and velocity to compute,
+ * at each check date where the spacecraft is not visible, the minimum time needed
+ * for the spacecraft to enter the station visibility cone. Intervals shorter than
+ * this time are skipped without evaluating the spacecraft position, and the regular
+ * fixed step scan followed by a root search is used only near candidate passes.
+ * The events found are the same as those found by an {@link ElevationDetector}
+ * with the same maximum checking interval and convergence threshold.
+ * </p>
+ * <p>
+ * The visibility cone of the station for a spacecraft at radius r is bounded by
+ * the Earth-centered angle λ<sub>max</sub> = acos(R<sub>s</sub> cos(e) / r<sub>max</sub>) - e,
+ * where R<sub>s</sub> is the station distance to body center and e the minimum elevation,
+ * reduced by the angle between zenith and station radial direction.
+ * The direction of the spacecraft as seen from body center rotates with respect
+ * to the body at most at ω<sub>max</sub> = v<sub>max</sub> / r<sub>min</sub> + ω<sub>body</sub>.
+ * The bounds must hold throughout the search interval, otherwise passes may be missed.
+ * </p>
+ * <p>
+ * Instances of this class are not thread-safe, as they count the evaluations performed.
+ * </p>
+ * @see ElevationDetector
+ * @author Luc Maisonobe
+ * @since 9.0
+ */
+public class VisibilityFinder {
+
+    /** Default maximum number of iterations in the root search. */
+    public static final int DEFAULT_MAX_ITER = 100;
+
+    /** Station. */
+    private final TopocentricFrame station;
+
+    /** Minimum elevation. */
+    private final double minElevation;
+
+    /** Station position in body frame. */
+    private final Vector3D stationPosition;
+
+    /** Largest Earth-centered angle between station and a visible spacecraft. */
+    private final double maxAngle;
+
+    /** Largest angular rate of spacecraft direction with respect to body frame. */
+    private final double maxAngularRate;
+
+    /** Maximum checking interval. */
+    private final double maxCheck;
+
+    /** Convergence threshold. */
+    private final double threshold;
+
+    /** Number of elevation evaluations performed during last search. */
+    private int evaluations;
+
+    /** Number of elevation evaluations pruned during last search. */
+    private int pruned;
+
+    /** Simple constructor.
+     * @param station station
+     * @param minElevation minimum elevation (rad)
+     * @param minRadius lower bound of spacecraft distance to body center (m)
+     * @param maxRadius upper bound of spacecraft distance to body center (m)
+     * @param maxVelocity upper bound of spacecraft velocity norm in inertial frame (m/s)
+     * @param bodyRotationRate upper bound of body rotation rate (rad/s)
+     * @param maxCheck maximum checking interval (s)
+     * @param threshold convergence threshold (s)
+     */
+    public VisibilityFinder(final TopocentricFrame station, final double minElevation,
+                            final double minRadius, final double maxRadius,
+                            final double maxVelocity, final double bodyRotationRate,
+                            final double maxCheck, final double threshold) {
+
+        this.station         = station;
+        this.minElevation    = minElevation;
+        this.stationPosition = station.getParentShape().transform(station.getPoint());
+        this.maxCheck        = maxCheck;
+        this.threshold       = threshold;
+
+        // on non-spherical bodies, zenith is not aligned with station radial direction,
+        // so the elevation with respect to radial direction may be lower than the
+        // elevation with respect to zenith
+        final double radialElevation = minElevation - Vector3D.angle(station.getZenith(), stationPosition);
+        final double cosE = stationPosition.getNorm() * FastMath.cos(radialElevation) / maxRadius;
+        this.maxAngle       = (cosE >= 1.0) ? 0.0 : FastMath.acos(cosE) - radialElevation;
+        this.maxAngularRate = maxVelocity / minRadius + FastMath.abs(bodyRotationRate);
+
+    }
+
+    /** Build a finder with bounds derived from an orbit.
+     * <p>
+     * The radius and velocity bounds are computed from the Keplerian
+     * perigee and apogee of the orbit, and widened by a relative margin
+     * to account for perturbations over the search interval. The body
+     * rotation rate is the Earth rotation rate.
+     * </p>
+     * @param station station
+     * @param minElevation minimum elevation (rad)
+     * @param orbit orbit (must be elliptic)
+     * @param margin relative margin on bounds (for example 0.05 for 5%)
+     * @param maxCheck maximum checking interval (s)
+     * @param threshold convergence threshold (s)
+     * @return finder with bounds compatible with the orbit
+     */
+    public static VisibilityFinder fromOrbit(final TopocentricFrame station, final double minElevation,
+                                             final Orbit orbit, final double margin,
+                                             final double maxCheck, final double threshold) {
+        final double a = orbit.getA();
+        final double e = orbit.getE();
+        if (e >= 1.0) {
+            throw new OrekitIllegalArgumentException(OrekitMessages.HYPERBOLIC_ORBIT_NOT_HANDLED_AS,
+                                                     VisibilityFinder.class.getName());
+        }
+        final double rp = a * (1 - e);
+        final double ra = a * (1 + e);
+        final double vp = FastMath.sqrt(orbit.getMu() * (1 + e) / rp);
+        return new VisibilityFinder(station, minElevation,
+                                    rp * (1 - margin), ra * (1 + margin), vp * (1 + margin),
+                                    Constants.WGS84_EARTH_ANGULAR_VELOCITY,
+                                    maxCheck, threshold);
+    }
+
+    /** Find the visibility events.
+     * <p>
+     * The events are returned in chronological order. If the spacecraft
+     * is visible at search start, the first event is a setting event.
+     * </p>
+     * @param provider spacecraft position provider
+     * @param start search start
+     * @param end search end (must be after start)
+     * @return visibility events
+     * @exception OrekitException if spacecraft position cannot be computed
+     */
+    public List<VisibilityEvent> findEvents(final PVCoordinatesProvider provider,
+                                            final AbsoluteDate start, final AbsoluteDate end)
+        throws OrekitException {
+
+        evaluations = 0;
+        pruned      = 0;
+
+        final Frame bodyFrame = station.getParent();
+        final List<VisibilityEvent> events = new ArrayList<VisibilityEvent>();
+        final BracketedUnivariateSolver<UnivariateFunction> solver =
+                new BracketingNthOrderBrentSolver(0, threshold, 0, 5);
+
+        AbsoluteDate ta = start;
+        Vector3D     pa = position(provider, ta, bodyFrame);
+        double       ga = g(pa);
+        while (ta.compareTo(end) < 0) {
+
+            double step = maxCheck;
+            if (ga < 0) {
+                // the spacecraft cannot enter the visibility cone before this duration
+                final double skip = (Vector3D.angle(stationPosition, pa) - maxAngle) / maxAngularRate;
+                if (skip > maxCheck) {
+                    step = skip;
+                }
+            }
+            final double remaining = end.durationFrom(ta);
+            if (step >= remaining) {
+                step = remaining;
+            }
+            pruned += (int) FastMath.ceil(step / maxCheck) - 1;
+
+            final AbsoluteDate tb = ta.shiftedBy(step);
+            final Vector3D     pb = position(provider, tb, bodyFrame);
+            final double       gb = g(pb);
+
+            if ((ga < 0) ^ (gb < 0)) {
+                // there is a sign change, look for the root
+                final AbsoluteDate t0 = ta;
+                final UnivariateFunction f = dt -> {
+                    try {
+                        return g(position(provider, t0.shiftedBy(dt), bodyFrame));
+                    } catch (OrekitException oe) {
+                        throw new OrekitExceptionWrapper(oe);
+                    }
+                };
+                try {
+                    final double root = solver.solve(DEFAULT_MAX_ITER, f, 0, step, AllowedSolution.ANY_SIDE);
+                    events.add(new VisibilityEvent(t0.shiftedBy(root), gb >= 0));
+                } catch (OrekitExceptionWrapper oew) {
+                    throw oew.getException();
+                }
+            }
+
+            ta = tb;
+            pa = pb;
+            ga = gb;
+
+        }
+
+        return events;
+
+    }
+
+    /** Get the number of elevation evaluations performed during last search.
+     * @return number of elevation evaluations performed during last search
+     */
+    public int getEvaluations() {
+        return evaluations;
+    }
+
+    /** Get the number of elevation evaluations pruned during last search.
+     * <p>
+     * This is the number of evaluations a regular scan with the maximum
+     * checking interval would have needed in the skipped intervals.
+     * </p>
+     * @return number of elevation evaluations pruned during last search
+     */
+    public int getPrunedEvaluations() {
+        return pruned;
+    }
+
+    /** Compute spacecraft position in body frame.
+     * @param provider spacecraft position provider
+     * @param date date
+     * @param bodyFrame body frame
+     * @return spacecraft position in body frame
+     * @exception OrekitException if position cannot be computed
+     */
+    private Vector3D position(final PVCoordinatesProvider provider, final AbsoluteDate date,
+                              final Frame bodyFrame)
+        throws OrekitException {
+        ++evaluations;
+        return provider.getPVCoordinates(date, bodyFrame).getPosition();
+    }
+
+    /** Compute the visibility function.
+     * @param p spacecraft position in body frame
+     * @return difference between elevation and minimum elevation
+     */
+    private double g(final Vector3D p) {
+        final Vector3D d = p.subtract(stationPosition);
+        return FastMath.asin(Vector3D.dotProduct(d, station.getZenith()) / d.getNorm()) - minElevation;
+    }
+
+    /** Container for visibility events. */
+    public static class VisibilityEvent {
+
+        /** Event date. */
+        private final AbsoluteDate date;
+
+        /** Indicator for raising events. */
+        private final boolean raising;
+
+        /** Simple constructor.
+         * @param date event date
+         * @param raising if true, the event is a raising event
+         */
+        VisibilityEvent(final AbsoluteDate date, final boolean raising) {
+            this.date    = date;
+            this.raising = raising;
+        }
+
+        /** Get the event date.
+         * @return event date
+         */
+        public AbsoluteDate getDate() {
+            return date;
+        }
+
+        /** Check if the event is a raising event.
+         * @return true if the event is a raising event, false if it is a setting event
+         */
+        public boolean isRaising() {
+            return raising;
+        }
+
+    }
+
+}
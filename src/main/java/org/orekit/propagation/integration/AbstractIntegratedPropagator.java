@@ -17,9 +17,11 @@
 package org.orekit.propagation.integration;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -62,6 +64,9 @@ import org.orekit.time.AbsoluteDate;
  */
 public abstract class AbstractIntegratedPropagator extends AbstractPropagator {
 
+    /** Maximum number of states shared between events detectors. */
+    private static final int MAX_SHARED_STATES = 64;
+
     /** Event detectors not related to force models. */
     private final List<EventDetector> detectors;
 
@@ -94,6 +99,9 @@ public abstract class AbstractIntegratedPropagator extends AbstractPropagator {
      */
     private boolean meanOrbit;
 
+    /** States shared between events detectors (null if sharing is disabled). */
+    private Map<Double, SharedState> sharedStates;
+
     /** Build a new instance.
      * @param integrator numerical integrator to use for propagation.
      * @param meanOrbit output only the mean orbit.
@@ -429,6 +437,7 @@ public abstract class AbstractIntegratedPropagator extends AbstractPropagator {
             }
 
             integrator.clearEventHandlers();
+            sharedStates = isEventsStatesSharing() ? createSharedStates() : null;
 
             // set up events added by user
             setUpUserEventDetectors();
@@ -603,6 +612,70 @@ public abstract class AbstractIntegratedPropagator extends AbstractPropagator {
 
     }
 
+    /** Get a complete state, shared between all events detectors if possible.
+     * @param t current value of the independent <I>time</I> variable
+     * @param y array containing the current value of the state vector
+     * @return complete state
+     * @exception OrekitException if state cannot be mapped
+     */
+    private SpacecraftState getSharedCompleteState(final double t, final double[] y)
+        throws OrekitException {
+
+        if (sharedStates == null) {
+            // sharing is disabled
+            return getCompleteState(t, y);
+        }
+
+        // the same time may correspond to different states, before and after a reset
+        final SharedState shared = sharedStates.get(t);
+        if (shared != null && Arrays.equals(shared.y, y)) {
+            return shared.state;
+        }
+
+        final SpacecraftState state = getCompleteState(t, y);
+        sharedStates.put(t, new SharedState(y.clone(), state));
+        return state;
+
+    }
+
+    /** Create the map for states shared between events detectors.
+     * @return map for shared states, with least recently used entries removed
+     */
+    private static Map<Double, SharedState> createSharedStates() {
+        return new LinkedHashMap<Double, SharedState>(16, 0.75f, true) {
+
+            /** Serializable UID. */
+            private static final long serialVersionUID = 20170613L;
+
+            /** {@inheritDoc} */
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<Double, SharedState> eldest) {
+                return size() > MAX_SHARED_STATES;
+            }
+
+        };
+    }
+
+    /** Container for states shared between events detectors. */
+    private static class SharedState {
+
+        /** Raw state vector. */
+        private final double[] y;
+
+        /** Complete state. */
+        private final SpacecraftState state;
+
+        /** Simple constructor.
+         * @param y raw state vector
+         * @param state complete state
+         */
+        SharedState(final double[] y, final SpacecraftState state) {
+            this.y     = y;
+            this.state = state;
+        }
+
+    }
+
     /** Differential equations for the main state (orbit, attitude and mass). */
     public interface MainStateEquations {
 
@@ -788,7 +861,7 @@ public abstract class AbstractIntegratedPropagator extends AbstractPropagator {
             try {
                 if (!Precision.equals(lastT, s.getTime(), 0)) {
                     lastT = s.getTime();
-                    lastG = detector.g(getCompleteState(s.getTime(), s.getCompleteState()));
+                    lastG = detector.g(getSharedCompleteState(s.getTime(), s.getCompleteState()));
                 }
                 return lastG;
             } catch (OrekitException oe) {
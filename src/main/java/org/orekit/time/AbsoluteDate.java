@@ -351,6 +351,17 @@ public class AbsoluteDate
         }
     }
 
+    /** Build an instance from its internal representation.
+     * @param epoch reference epoch in seconds from 2000-01-01T12:00:00 TAI
+     * @param offset offset from the reference epoch in seconds
+     * @see MutableAbsoluteDate#toAbsoluteDate()
+     * @since 9.0
+     */
+    AbsoluteDate(final long epoch, final double offset) {
+        this.epoch  = epoch;
+        this.offset = offset;
+    }
+
     /** Build an instance from an apparent clock offset with respect to another
      * instant <em>in the perspective of a specific {@link TimeScale time scale}</em>.
      * <p>It is important to note that the apparent clock offset <em>is</em> the
@@ -754,6 +765,22 @@ public class AbsoluteDate
         return (epoch - instant.epoch) + (offset - instant.offset);
     }
 
+    /** Get the reference epoch.
+     * @return reference epoch in seconds from 2000-01-01T12:00:00 TAI
+     * @since 9.0
+     */
+    long getEpoch() {
+        return epoch;
+    }
+
+    /** Get the offset from the reference epoch.
+     * @return offset from the reference epoch in seconds
+     * @since 9.0
+     */
+    double getOffset() {
+        return offset;
+    }
+
     /** Compute the apparent clock offset between two instant <em>in the
      * perspective of a specific {@link TimeScale time scale}</em>.
      * <p>The offset is the number of seconds counted in the given
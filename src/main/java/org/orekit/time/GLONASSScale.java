@@ -52,6 +52,12 @@ public class GLONASSScale implements TimeScale {
         return OFFSET + utc.offsetFromTAI(date);
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public double offsetFromTAI(final MutableAbsoluteDate date) {
+        return OFFSET + utc.offsetFromTAI(date);
+    }
+
     /** {@inheritDoc} */
     @Override
     public double offsetToTAI(final DateComponents date, final TimeComponents time) {
@@ -39,6 +39,12 @@ public class GPSScale implements TimeScale {
         return -19;
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public double offsetFromTAI(final MutableAbsoluteDate date) {
+        return -19;
+    }
+
     /** {@inheritDoc} */
     @Override
     public double offsetToTAI(final DateComponents date, final TimeComponents time) {
@@ -46,6 +46,12 @@ public class GalileoScale implements TimeScale {
         return -19;
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public double offsetFromTAI(final MutableAbsoluteDate date) {
+        return -19;
+    }
+
     /** {@inheritDoc} */
     @Override
     public double offsetToTAI(final DateComponents date, final TimeComponents time) {
@@ -0,0 +1,176 @@
+/* Copyright 2002-2016 CS Systèmes d'Information
+ * Licensed to CS Systèmes d'Information (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.time;
+
+import org.hipparchus.util.FastMath;
+
+/** Mutable counterpart of {@link AbsoluteDate} for allocation-free loops.
+ * <p>
+ * This class uses the same internal representation as {@link AbsoluteDate}
+ * (an epoch in seconds and an offset in seconds) and the same arithmetic, so
+ * shifting an instance by some duration gives exactly the same instant, bit
+ * for bit, as calling {@link AbsoluteDate#shiftedBy(double)} on an immutable
+ * date with the same location. The difference is that the instance is updated
+ * in place, so loops over time grids do not allocate any new object:
+ * </p>
+ * <pre>
+ *   final MutableAbsoluteDate current = new MutableAbsoluteDate(start);
+ *   for (int i = 0; i &lt; n; ++i) {
+ *       current.set(start).shiftBy(i * step);
+ *       final double dtUTC = utc.offsetFromTAI(current);
+ *       ...
+ *   }
+ * </pre>
+ * <p>
+ * An immutable {@link AbsoluteDate} can be built at any time using {@link
+ * #toAbsoluteDate()}, for example when an instant must be stored or passed
+ * to methods that do not accept mutable dates.
+ * </p>
+ * <p>
+ * As instances are mutable, they are <em>not</em> thread-safe and should not
+ * be shared between threads.
+ * </p>
+ * @see AbsoluteDate
+ * @see TimeScale#offsetFromTAI(MutableAbsoluteDate)
+ * @author Luc Maisonobe
+ * @since 9.0
+ */
+public class MutableAbsoluteDate {
+
+    /** Reference epoch in seconds from 2000-01-01T12:00:00 TAI. */
+    private long epoch;
+
+    /** Offset from the reference epoch in seconds. */
+    private double offset;
+
+    /** Create an instance at the same location as an immutable date.
+     * @param date initial location
+     */
+    public MutableAbsoluteDate(final AbsoluteDate date) {
+        set(date);
+    }
+
+    /** Set the instance at the same location as an immutable date.
+     * @param date new location
+     * @return the instance itself
+     */
+    public MutableAbsoluteDate set(final AbsoluteDate date) {
+        this.epoch  = date.getEpoch();
+        this.offset = date.getOffset();
+        return this;
+    }
+
+    /** Set the instance at the same location as another mutable date.
+     * @param date new location
+     * @return the instance itself
+     */
+    public MutableAbsoluteDate set(final MutableAbsoluteDate date) {
+        this.epoch  = date.epoch;
+        this.offset = date.offset;
+        return this;
+    }
+
+    /** Shift the instance in place.
+     * <p>
+     * This method gives the same location as {@link AbsoluteDate#shiftedBy(double)}.
+     * </p>
+     * @param dt time shift in seconds
+     * @return the instance itself
+     */
+    public MutableAbsoluteDate shiftBy(final double dt) {
+        final double sum = offset + dt;
+        if (Double.isInfinite(sum)) {
+            offset = sum;
+            epoch  = (sum < 0) ? Long.MIN_VALUE : Long.MAX_VALUE;
+        } else {
+            // compute sum exactly, using Møller-Knuth TwoSum algorithm without branching,
+            // exactly as in the AbsoluteDate(AbsoluteDate, double) constructor
+            final double oPrime   = sum - dt;
+            final double dPrime   = sum - oPrime;
+            final double deltaO   = offset - oPrime;
+            final double deltaD   = dt - dPrime;
+            final double residual = deltaO + deltaD;
+            final long   dl       = (long) FastMath.floor(sum);
+            offset = (sum - dl) + residual;
+            epoch  = epoch + dl;
+        }
+        return this;
+    }
+
+    /** Get the reference epoch.
+     * @return reference epoch in seconds from 2000-01-01T12:00:00 TAI
+     */
+    long getEpoch() {
+        return epoch;
+    }
+
+    /** Get the offset from the reference epoch.
+     * @return offset from the reference epoch in seconds
+     */
+    double getOffset() {
+        return offset;
+    }
+
+    /** Compute the physically elapsed duration between the instance and an immutable date.
+     * <p>
+     * This method gives the same result as {@link AbsoluteDate#durationFrom(AbsoluteDate)}.
+     * </p>
+     * @param instant instant to subtract from the instance
+     * @return offset in seconds between the two instants (positive
+     * if the instance is posterior to the argument)
+     */
+    public double durationFrom(final AbsoluteDate instant) {
+        return (epoch - instant.getEpoch()) + (offset - instant.getOffset());
+    }
+
+    /** Compute the physically elapsed duration between the instance and another mutable date.
+     * <p>
+     * This method gives the same result as {@link AbsoluteDate#durationFrom(AbsoluteDate)}.
+     * </p>
+     * @param instant instant to subtract from the instance
+     * @return offset in seconds between the two instants (positive
+     * if the instance is posterior to the argument)
+     */
+    public double durationFrom(final MutableAbsoluteDate instant) {
+        return (epoch - instant.epoch) + (offset - instant.offset);
+    }
+
+    /** Compare the instance with an immutable date.
+     * @param date other date to compare the instance to
+     * @return a negative integer, zero, or a positive integer as this date
+     * is before, simultaneous, or after the specified date.
+     */
+    public int compareTo(final AbsoluteDate date) {
+        return Double.compare(durationFrom(date), 0);
+    }
+
+    /** Build an immutable date at the current location of the instance.
+     * @return immutable date at the current location
+     */
+    public AbsoluteDate toAbsoluteDate() {
+        return new AbsoluteDate(epoch, offset);
+    }
+
+    /** Get a String representation of the instant location in UTC time scale.
+     * @return a string representation of the instance,
+     * in ISO-8601 format with milliseconds accuracy
+     */
+    public String toString() {
+        return toAbsoluteDate().toString();
+    }
+
+}
@@ -43,6 +43,12 @@ public class QZSSScale implements TimeScale {
         return -19;
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public double offsetFromTAI(final MutableAbsoluteDate date) {
+        return -19;
+    }
+
     /** {@inheritDoc} */
     @Override
     public double offsetToTAI(final DateComponents date, final TimeComponents time) {
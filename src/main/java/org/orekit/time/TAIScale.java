@@ -38,6 +38,12 @@ public class TAIScale implements TimeScale {
         return 0;
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public double offsetFromTAI(final MutableAbsoluteDate date) {
+        return 0;
+    }
+
     /** {@inheritDoc} */
     @Override
     public double offsetToTAI(final DateComponents date, final TimeComponents time) {
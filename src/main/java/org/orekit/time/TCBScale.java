@@ -60,6 +60,12 @@ public class TCBScale implements TimeScale {
         return tdb.offsetFromTAI(date) + LB_RATE * date.durationFrom(REFERENCE_DATE);
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public double offsetFromTAI(final MutableAbsoluteDate date) {
+        return tdb.offsetFromTAI(date) + LB_RATE * date.durationFrom(REFERENCE_DATE);
+    }
+
     /** {@inheritDoc} */
     public String getName() {
         return "TCB";
@@ -59,6 +59,12 @@ public class TCGScale implements TimeScale {
         return TT_OFFSET + LG_RATE * date.durationFrom(REFERENCE_DATE);
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public double offsetFromTAI(final MutableAbsoluteDate date) {
+        return TT_OFFSET + LG_RATE * date.durationFrom(REFERENCE_DATE);
+    }
+
     /** {@inheritDoc} */
     public String getName() {
         return "TCG";
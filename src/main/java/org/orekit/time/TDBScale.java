@@ -44,9 +44,24 @@ public class TDBScale implements TimeScale {
     /** {@inheritDoc} */
     @Override
     public double offsetFromTAI(final AbsoluteDate date) {
-        final double dtDays = date.durationFrom(AbsoluteDate.J2000_EPOCH) / Constants.JULIAN_DAY;
+        return offset(date.durationFrom(AbsoluteDate.J2000_EPOCH), TimeScalesFactory.getTT().offsetFromTAI(date));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public double offsetFromTAI(final MutableAbsoluteDate date) {
+        return offset(date.durationFrom(AbsoluteDate.J2000_EPOCH), TimeScalesFactory.getTT().offsetFromTAI(date));
+    }
+
+    /** Compute offset from TAI.
+     * @param dt duration since {@link AbsoluteDate#J2000_EPOCH}
+     * @param ttOffset TT offset from TAI
+     * @return offset from TAI
+     */
+    private double offset(final double dt, final double ttOffset) {
+        final double dtDays = dt / Constants.JULIAN_DAY;
         final double g = FastMath.toRadians(357.53 + 0.9856003 * dtDays);
-        return TimeScalesFactory.getTT().offsetFromTAI(date) + (0.001658 * FastMath.sin(g) + 0.000014 * FastMath.sin(2 * g));
+        return ttOffset + (0.001658 * FastMath.sin(g) + 0.000014 * FastMath.sin(2 * g));
     }
 
     /** {@inheritDoc} */
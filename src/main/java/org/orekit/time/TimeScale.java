@@ -36,6 +36,22 @@ public interface TimeScale extends Serializable {
      */
     double offsetFromTAI(AbsoluteDate date);
 
+    /** Get the offset to convert locations from {@link TAIScale} to instance.
+     * <p>
+     * This method gives the same result as {@link #offsetFromTAI(AbsoluteDate)}.
+     * The default implementation builds an immutable date and delegates to
+     * this method, time scales that can compute the offset without allocating
+     * any object override it.
+     * </p>
+     * @param date conversion date
+     * @return offset in seconds to add to a location in <em>{@link TAIScale}
+     * time scale</em> to get a location in <em>instance time scale</em>
+     * @since 9.0
+     */
+    default double offsetFromTAI(final MutableAbsoluteDate date) {
+        return offsetFromTAI(date.toAbsoluteDate());
+    }
+
     /** Get the offset to convert locations from instance to {@link TAIScale}.
      * @param date date location in the time scale
      * @param time time location in the time scale
@@ -17,6 +17,8 @@
 package org.orekit.time;
 
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 import org.orekit.errors.OrekitException;
@@ -48,6 +50,9 @@ public class UTCScale implements TimeScale {
     /** UTC-TAI offsets. */
     private UTCTAIOffset[] offsets;
 
+    /** Raw offsets models. */
+    private final transient List<OffsetModel> baseOffsets;
+
     /** Package private constructor for the factory.
      * Used to create the prototype instance of this class that is used to
      * clone all subsequent instances of {@link UTCScale}. Initializes the offset
@@ -88,6 +93,9 @@ public class UTCScale implements TimeScale {
             offsetModels.add(12, new OffsetModel(new DateComponents(1968,  2, 1), 39126, 4.2131700, 0.0025920));
         }
 
+        // keep the raw models
+        baseOffsets = Collections.unmodifiableList(new ArrayList<OffsetModel>(offsetModels));
+
         // create cache
         offsets = new UTCTAIOffset[offsetModels.size()];
 
@@ -134,6 +142,18 @@ public class UTCScale implements TimeScale {
         }
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public double offsetFromTAI(final MutableAbsoluteDate date) {
+        final int offsetIndex = findOffsetIndex(date.getEpoch(), date.getOffset());
+        if (offsetIndex < 0) {
+            // the date is before the first known leap
+            return 0;
+        } else {
+            return -offsets[offsetIndex].getOffset(date);
+        }
+    }
+
     /** {@inheritDoc} */
     @Override
     public double offsetToTAI(final DateComponents date,
@@ -157,6 +177,18 @@ public class UTCScale implements TimeScale {
 
     }
 
+    /** Get the raw offsets models.
+     * <p>
+     * These are the models used to build the scale, including the
+     * pre-1972 linear offsets that are inserted automatically if needed.
+     * </p>
+     * @return unmodifiable view of the raw offsets models
+     * @since 9.0
+     */
+    public List<OffsetModel> getBaseOffsets() {
+        return baseOffsets;
+    }
+
     /** {@inheritDoc} */
     public String getName() {
         return "UTC";
@@ -235,11 +267,20 @@ public class UTCScale implements TimeScale {
      * @return index of the offset valid at this date, or -1 if date is before first offset.
      */
     private int findOffsetIndex(final AbsoluteDate date) {
+        return findOffsetIndex(date.getEpoch(), date.getOffset());
+    }
+
+    /** Find the index of the offset valid at some date.
+     * @param epoch reference epoch of the date at which offset is requested
+     * @param offset offset from reference epoch of the date at which offset is requested
+     * @return index of the offset valid at this date, or -1 if date is before first offset.
+     */
+    private int findOffsetIndex(final long epoch, final double offset) {
         int inf = 0;
         int sup = offsets.length;
         while (sup - inf > 1) {
             final int middle = (inf + sup) >>> 1;
-            if (date.compareTo(offsets[middle].getDate()) < 0) {
+            if (isBefore(epoch, offset, offsets[middle].getDate())) {
                 sup = middle;
             } else {
                 inf = middle;
@@ -248,7 +289,7 @@ public class UTCScale implements TimeScale {
         if (sup == offsets.length) {
             // the date is after the last known leap second
             return offsets.length - 1;
-        } else if (date.compareTo(offsets[inf].getDate()) < 0) {
+        } else if (isBefore(epoch, offset, offsets[inf].getDate())) {
             // the date is before the first known leap
             return -1;
         } else {
@@ -256,6 +297,19 @@ public class UTCScale implements TimeScale {
         }
     }
 
+    /** Check if a date is strictly before another one.
+     * <p>
+     * This method gives the same result as {@code date.compareTo(other) < 0}.
+     * </p>
+     * @param epoch reference epoch of the date
+     * @param offset offset from reference epoch of the date
+     * @param other other date
+     * @return true if date is strictly before other date
+     */
+    private static boolean isBefore(final long epoch, final double offset, final AbsoluteDate other) {
+        return Double.compare((epoch - other.getEpoch()) + (offset - other.getOffset()), 0) < 0;
+    }
+
     /** Find the offset valid at some date.
      * @param mjd Modified Julian Day of the date at which offset is requested
      * @return offset valid at this date, or null if date is before first offset.
@@ -140,6 +140,15 @@ class UTCTAIOffset implements TimeStamped, Serializable {
         return offset + date.durationFrom(reference) * slopeTAI;
     }
 
+    /** Get the TAI - UTC offset in seconds.
+     * @param date date at which the offset is requested
+     * @return TAI - UTC offset in seconds.
+     * @since 9.0
+     */
+    public double getOffset(final MutableAbsoluteDate date) {
+        return offset + date.durationFrom(reference) * slopeTAI;
+    }
+
     /** Get the TAI - UTC offset in seconds.
      * @param date date components (in UTC) at which the offset is requested
      * @param time time components (in UTC) at which the offset is requested
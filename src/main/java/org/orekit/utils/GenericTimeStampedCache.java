@@ -17,12 +17,12 @@
 package org.orekit.utils;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
-import java.util.concurrent.locks.ReadWriteLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.stream.Stream;
 
 import org.hipparchus.exception.LocalizedCoreFormats;
@@ -35,6 +35,13 @@ import org.orekit.time.AbsoluteDate;
 import org.orekit.time.TimeStamped;
 
 /** Generic thread-safe cache for {@link TimeStamped time-stamped} data.
+ * <p>
+ * The cache content is managed as immutable snapshots published atomically.
+ * Lookups for already cached data therefore do not use any lock at all and
+ * scale with the number of threads. Only updates (i.e. slots creation,
+ * extension or eviction, which all imply calling the generator) are
+ * serialized, each update building a new snapshot from the previous one.
+ * </p>
 
  * @param <T> Type of the cached data.
 
@@ -66,8 +73,8 @@ public class GenericTimeStampedCache<T extends TimeStamped> implements TimeStamp
     /** Number of entries in a neighbors array. */
     private final int neighborsSize;
 
-    /** Independent time slots cached. */
-    private final List<Slot> slots;
+    /** Independent time slots cached (immutable snapshot, replaced as a whole on updates). */
+    private final AtomicReference<List<Slot>> slots;
 
     /** Number of calls to the getNeighbors method. */
     private final AtomicInteger getNeighborsCalls;
@@ -78,8 +85,14 @@ public class GenericTimeStampedCache<T extends TimeStamped> implements TimeStamp
     /** Number of evictions. */
     private final AtomicInteger evictions;
 
-    /** Global lock. */
-    private final ReadWriteLock lock;
+    /** Number of updates that had to wait for another thread. */
+    private final AtomicInteger updatesContentions;
+
+    /** Number of updates that were already performed by another thread. */
+    private final AtomicInteger concurrentlyPerformedUpdates;
+
+    /** Lock serializing updates. */
+    private final ReentrantLock updateLock;
 
     /** Simple constructor.
      * @param neighborsSize fixed size of the arrays to be returned by {@link
@@ -103,17 +116,19 @@ public class GenericTimeStampedCache<T extends TimeStamped> implements TimeStamp
                                                      neighborsSize, 2);
         }
 
-        this.reference         = new AtomicReference<AbsoluteDate>();
-        this.maxSlots          = maxSlots;
-        this.maxSpan           = maxSpan;
-        this.newSlotQuantumGap = FastMath.round(newSlotInterval / QUANTUM_STEP);
-        this.generator         = generator;
-        this.neighborsSize     = neighborsSize;
-        this.slots             = new ArrayList<Slot>(maxSlots);
-        this.getNeighborsCalls = new AtomicInteger(0);
-        this.generateCalls     = new AtomicInteger(0);
-        this.evictions         = new AtomicInteger(0);
-        this.lock              = new ReentrantReadWriteLock();
+        this.reference                    = new AtomicReference<AbsoluteDate>();
+        this.maxSlots                     = maxSlots;
+        this.maxSpan                      = maxSpan;
+        this.newSlotQuantumGap            = FastMath.round(newSlotInterval / QUANTUM_STEP);
+        this.generator                    = generator;
+        this.neighborsSize                = neighborsSize;
+        this.slots                        = new AtomicReference<List<Slot>>(Collections.<Slot>emptyList());
+        this.getNeighborsCalls            = new AtomicInteger(0);
+        this.generateCalls                = new AtomicInteger(0);
+        this.evictions                    = new AtomicInteger(0);
+        this.updatesContentions           = new AtomicInteger(0);
+        this.concurrentlyPerformedUpdates = new AtomicInteger(0);
+        this.updateLock                   = new ReentrantLock();
 
     }
 
@@ -189,36 +204,53 @@ public class GenericTimeStampedCache<T extends TimeStamped> implements TimeStamp
         return evictions.get();
     }
 
+    /** Get the number of cache updates that had to wait for another thread.
+     * <p>
+     * Lookups of already cached data never wait, only updates (i.e. cache
+     * misses) are serialized. This number counts the updates that found
+     * another thread already updating the cache and had to wait for it to
+     * complete. It should remain small with respect to {@link #getGetNeighborsCalls()};
+     * if it does not, the cache configuration (number of slots, slots span)
+     * is probably too small for the number of concurrent threads.
+     * </p>
+     * @return number of cache updates that had to wait for another thread
+     * @see #getConcurrentlyPerformedUpdates()
+     * @since 9.0
+     */
+    public int getUpdatesContentions() {
+        return updatesContentions.get();
+    }
+
+    /** Get the number of cache updates that were performed by another thread.
+     * <p>
+     * This number counts the cache misses for which the required data were
+     * generated by another thread while the current thread was waiting for
+     * its turn to update the cache, hence saving one generation.
+     * </p>
+     * @return number of cache updates that were performed by another thread
+     * @see #getUpdatesContentions()
+     * @since 9.0
+     */
+    public int getConcurrentlyPerformedUpdates() {
+        return concurrentlyPerformedUpdates.get();
+    }
+
     /** Get the number of slots in use.
      * @return number of slots in use
      */
     public int getSlots() {
-
-        lock.readLock().lock();
-        try {
-            return slots.size();
-        } finally {
-            lock.readLock().unlock();
-        }
-
+        return slots.get().size();
     }
 
     /** Get the total number of entries cached.
      * @return total number of entries cached
      */
     public int getEntries() {
-
-        lock.readLock().lock();
-        try {
-            int entries = 0;
-            for (final Slot slot : slots) {
-                entries += slot.getEntries();
-            }
-            return entries;
-        } finally {
-            lock.readLock().unlock();
+        int entries = 0;
+        for (final Slot slot : slots.get()) {
+            entries += slot.getEntries();
         }
-
+        return entries;
     }
 
     /** Get the earliest cached entry.
@@ -227,17 +259,11 @@ public class GenericTimeStampedCache<T extends TimeStamped> implements TimeStamp
      * @see #getSlots()
      */
     public T getEarliest() throws IllegalStateException {
-
-        lock.readLock().lock();
-        try {
-            if (slots.isEmpty()) {
-                throw new OrekitIllegalStateException(OrekitMessages.NO_CACHED_ENTRIES);
-            }
-            return slots.get(0).getEarliest();
-        } finally {
-            lock.readLock().unlock();
+        final List<Slot> snapshot = slots.get();
+        if (snapshot.isEmpty()) {
+            throw new OrekitIllegalStateException(OrekitMessages.NO_CACHED_ENTRIES);
         }
-
+        return snapshot.get(0).getEarliest();
     }
 
     /** Get the latest cached entry.
@@ -246,17 +272,11 @@ public class GenericTimeStampedCache<T extends TimeStamped> implements TimeStamp
      * @see #getSlots()
      */
     public T getLatest() throws IllegalStateException {
-
-        lock.readLock().lock();
-        try {
-            if (slots.isEmpty()) {
-                throw new OrekitIllegalStateException(OrekitMessages.NO_CACHED_ENTRIES);
-            }
-            return slots.get(slots.size() - 1).getLatest();
-        } finally {
-            lock.readLock().unlock();
+        final List<Slot> snapshot = slots.get();
+        if (snapshot.isEmpty()) {
+            throw new OrekitIllegalStateException(OrekitMessages.NO_CACHED_ENTRIES);
         }
-
+        return snapshot.get(snapshot.size() - 1).getLatest();
     }
 
     /** Get the fixed size of the arrays to be returned by {@link #getNeighbors(AbsoluteDate)}.
@@ -288,21 +308,32 @@ public class GenericTimeStampedCache<T extends TimeStamped> implements TimeStamp
      */
     public Stream<T> getNeighbors(final AbsoluteDate central) throws TimeStampedCacheException {
 
-        lock.readLock().lock();
+        getNeighborsCalls.incrementAndGet();
+        final long dateQuantum = quantum(central);
+
+        // fast path: lock-free lookup in the current snapshot
+        final Slot available = findSlot(slots.get(), dateQuantum);
+        if (available != null) {
+            final int firstNeighbor = available.firstNeighbor(central, dateQuantum);
+            if (available.isBalanced(firstNeighbor)) {
+                return available.neighbors(firstNeighbor);
+            }
+        }
+
+        // slow path: the cache must be updated
+        if (!updateLock.tryLock()) {
+            updatesContentions.incrementAndGet();
+            updateLock.lock();
+        }
         try {
-            getNeighborsCalls.incrementAndGet();
-            final long dateQuantum = quantum(central);
-            return selectSlot(central, dateQuantum).getNeighbors(central, dateQuantum);
+            return update(central, dateQuantum);
         } finally {
-            lock.readLock().unlock();
+            updateLock.unlock();
         }
 
     }
 
     /** Convert a date to a rough global quantum.
-     * <p>
-     * We own a global read lock while calling this method.
-     * </p>
      * @param date date to convert
      * @return quantum corresponding to the date
      */
@@ -311,102 +342,172 @@ public class GenericTimeStampedCache<T extends TimeStamped> implements TimeStamp
         return FastMath.round(date.durationFrom(reference.get()) / QUANTUM_STEP);
     }
 
-    /** Select a slot containing a date.
+    /** Find a slot suitable for a date in a snapshot.
+     * @param snapshot slots snapshot
+     * @param dateQuantum global quantum of the date
+     * @return suitable slot, or null if there are none
+     */
+    private Slot findSlot(final List<Slot> snapshot, final long dateQuantum) {
+        if (snapshot.isEmpty()) {
+            return null;
+        }
+        final Slot slot = snapshot.get(slotIndex(snapshot, dateQuantum));
+        return isSuitable(slot, dateQuantum) ? slot : null;
+    }
+
+    /** Check if a slot is suitable for a date.
+     * @param slot slot to check
+     * @param dateQuantum global quantum of the date
+     * @return true if the slot is suitable for the date
+     */
+    private boolean isSuitable(final Slot slot, final long dateQuantum) {
+        return slot.getEarliestQuantum() <= dateQuantum + newSlotQuantumGap &&
+               slot.getLatestQuantum()   >= dateQuantum - newSlotQuantumGap;
+    }
+
+    /** Update the cache so it contains the neighbors of a date.
      * <p>
-     * We own a global read lock while calling this method.
+     * We own the update lock while calling this method.
      * </p>
-     * @param date target date
+     * @param central central date
      * @param dateQuantum global quantum of the date
-     * @return slot covering the date
+     * @return neighbors of the date
      * @exception TimeStampedCacheException if entries are not chronologically
      * sorted or if new data cannot be generated
      */
-    private Slot selectSlot(final AbsoluteDate date, final long dateQuantum)
+    private Stream<T> update(final AbsoluteDate central, final long dateQuantum)
         throws TimeStampedCacheException {
 
-        Slot selected = null;
-
-        int index = slots.isEmpty() ? 0 : slotIndex(dateQuantum);
-        if (slots.isEmpty() ||
-            slots.get(index).getEarliestQuantum() > dateQuantum + newSlotQuantumGap ||
-            slots.get(index).getLatestQuantum()   < dateQuantum - newSlotQuantumGap) {
-            // no existing slot is suitable
-
-            // upgrade the read lock to a write lock so we can change the list of available slots
-            lock.readLock().unlock();
-            lock.writeLock().lock();
-
-            try {
-                // check slots again as another thread may have changed
-                // the list while we were waiting for the write lock
-                index = slots.isEmpty() ? 0 : slotIndex(dateQuantum);
-                if (slots.isEmpty() ||
-                    slots.get(index).getEarliestQuantum() > dateQuantum + newSlotQuantumGap ||
-                    slots.get(index).getLatestQuantum()   < dateQuantum - newSlotQuantumGap) {
-
-                    // we really need to create a new slot in the current thread
-                    // (no other threads have created it while we were waiting for the lock)
-                    if ((!slots.isEmpty()) &&
-                        slots.get(index).getLatestQuantum() < dateQuantum - newSlotQuantumGap) {
-                        ++index;
+        // check slots again as another thread may have changed
+        // the snapshot while we were waiting for the lock
+        final List<Slot> snapshot = slots.get();
+        int index = snapshot.isEmpty() ? 0 : slotIndex(snapshot, dateQuantum);
+        Slot slot;
+        if (snapshot.isEmpty() || !isSuitable(snapshot.get(index), dateQuantum)) {
+
+            // we really need to create a new slot in the current thread
+            // (no other threads have created it while we were waiting for the lock)
+            if ((!snapshot.isEmpty()) &&
+                snapshot.get(index).getLatestQuantum() < dateQuantum - newSlotQuantumGap) {
+                ++index;
+            }
+
+            final List<Slot> updated = new ArrayList<Slot>(snapshot);
+            if (updated.size() >= maxSlots) {
+                // we must prevent exceeding allowed max
+
+                // select the oldest accessed slot for eviction
+                int evict = 0;
+                for (int i = 0; i < updated.size(); ++i) {
+                    if (updated.get(i).getLastAccess() < updated.get(evict).getLastAccess()) {
+                        evict = i;
                     }
+                }
 
-                    if (slots.size() >= maxSlots) {
-                        // we must prevent exceeding allowed max
+                // evict the selected slot
+                evictions.incrementAndGet();
+                updated.remove(evict);
 
-                        // select the oldest accessed slot for eviction
-                        int evict = 0;
-                        for (int i = 0; i < slots.size(); ++i) {
-                            if (slots.get(i).getLastAccess() < slots.get(evict).getLastAccess()) {
-                                evict = i;
-                            }
-                        }
+                if (evict < index) {
+                    // adjust index of created slot as it was shifted by the eviction
+                    index--;
+                }
+            }
 
-                        // evict the selected slot
-                        evictions.incrementAndGet();
-                        slots.remove(evict);
+            slot = new Slot(central);
+            updated.add(index, slot);
+            slots.set(Collections.unmodifiableList(updated));
 
-                        if (evict < index) {
-                            // adjust index of created slot as it was shifted by the eviction
-                            index--;
-                        }
-                    }
+        } else {
+            slot = snapshot.get(index);
+        }
 
-                    slots.add(index, new Slot(date));
+        // check entries again as another thread may have changed
+        // the slot while we were waiting for the lock
+        int firstNeighbor = slot.firstNeighbor(central, dateQuantum);
+        if (slot.isBalanced(firstNeighbor) && slot == findSlot(snapshot, dateQuantum)) {
+            // another thread already did the job for us
+            concurrentlyPerformedUpdates.incrementAndGet();
+            return slot.neighbors(firstNeighbor);
+        }
+
+        // the slot is not balanced around the desired date, we can try to generate new data
+        boolean loop = true;
+        while (loop) {
+            if (slot.isBalanced(firstNeighbor)) {
+                loop = false;
+            } else {
 
+                // estimate which data we need to be generated
+                final double step = slot.getMeanStep();
+                final AbsoluteDate existingDate;
+                final AbsoluteDate generationDate;
+                final boolean simplyRebalance;
+                if (firstNeighbor < 0) {
+                    existingDate    = slot.getEarliest().getDate();
+                    generationDate  = existingDate.getDate().shiftedBy(step * firstNeighbor);
+                    simplyRebalance = existingDate.getDate().compareTo(central) <= 0;
+                } else {
+                    existingDate    = slot.getLatest().getDate();
+                    generationDate  = existingDate.getDate().shiftedBy(step * (firstNeighbor + neighborsSize - slot.getEntries()));
+                    simplyRebalance = existingDate.getDate().compareTo(central) >= 0;
+                }
+                generateCalls.incrementAndGet();
+
+                // generated data and add it to a new version of the slot
+                try {
+                    final Slot extended = (firstNeighbor < 0) ?
+                                          slot.insertAtStart(slot.generateAndCheck(existingDate, generationDate)) :
+                                          slot.appendAtEnd(slot.generateAndCheck(existingDate, generationDate));
+                    replace(slot, extended);
+                    slot          = extended;
+                    firstNeighbor = slot.firstNeighbor(central, dateQuantum);
+                } catch (TimeStampedCacheException tce) {
+                    if (simplyRebalance) {
+                        // we were simply trying to rebalance an unbalanced interval near slot end
+                        // we failed, but the central date is already covered by the existing (unbalanced) data
+                        // so we ignore the exception and stop the loop, we will continue with what we have
+                        loop = false;
+                    } else {
+                        throw tce;
+                    }
                 }
 
-            } finally {
-                // downgrade back to a read lock
-                lock.readLock().lock();
-                lock.writeLock().unlock();
             }
         }
 
-        selected = slots.get(index);
-
-
-        return selected;
+        return slot.neighbors(firstNeighbor);
 
     }
 
-    /** Get the index of the slot in which a date could be cached.
+    /** Replace a slot by its updated version and publish the new snapshot.
      * <p>
-     * We own a global read lock while calling this method.
+     * We own the update lock while calling this method.
      * </p>
+     * @param oldSlot slot to replace
+     * @param newSlot replacement slot
+     */
+    private void replace(final Slot oldSlot, final Slot newSlot) {
+        final List<Slot> updated = new ArrayList<Slot>(slots.get());
+        updated.set(updated.indexOf(oldSlot), newSlot);
+        slots.set(Collections.unmodifiableList(updated));
+    }
+
+    /** Get the index of the slot in which a date could be cached.
+     * @param snapshot slots snapshot
      * @param dateQuantum quantum of the date to search for
      * @return the slot in which the date could be cached
      */
-    private int slotIndex(final long dateQuantum) {
+    private int slotIndex(final List<Slot> snapshot, final long dateQuantum) {
 
         int  iInf = 0;
-        final long qInf = slots.get(iInf).getEarliestQuantum();
-        int  iSup = slots.size() - 1;
-        final long qSup = slots.get(iSup).getLatestQuantum();
+        final long qInf = snapshot.get(iInf).getEarliestQuantum();
+        int  iSup = snapshot.size() - 1;
+        final long qSup = snapshot.get(iSup).getLatestQuantum();
         while (iSup - iInf > 0) {
             final int iInterp = (int) ((iInf * (qSup - dateQuantum) + iSup * (dateQuantum - qInf)) / (qSup - qInf));
             final int iMed    = FastMath.max(iInf, FastMath.min(iInterp, iSup));
-            final Slot slot   = slots.get(iMed);
+            final Slot slot   = snapshot.get(iMed);
             if (dateQuantum < slot.getEarliestQuantum()) {
                 iSup = iMed - 1;
             } else if (dateQuantum > slot.getLatestQuantum()) {
@@ -420,23 +521,29 @@ public class GenericTimeStampedCache<T extends TimeStamped> implements TimeStamp
 
     }
 
-    /** Time slot. */
+    /** Time slot.
+     * <p>
+     * Slots are immutable as far as cached entries are concerned, extending
+     * a slot creates a new instance that shares the bookkeeping data (access
+     * time and index guess) with the original one.
+     * </p>
+     */
     private final class Slot {
 
         /** Cached time-stamped entries. */
         private final List<Entry> cache;
 
         /** Earliest quantum. */
-        private AtomicLong earliestQuantum;
+        private final long earliestQuantum;
 
         /** Latest quantum. */
-        private AtomicLong latestQuantum;
+        private final long latestQuantum;
 
         /** Index from a previous recent call. */
-        private AtomicInteger guessedIndex;
+        private final AtomicInteger guessedIndex;
 
         /** Last access time. */
-        private AtomicLong lastAccess;
+        private final AtomicLong lastAccess;
 
         /** Simple constructor.
          * @param date central date for initial entries to insert in the slot
@@ -446,43 +553,56 @@ public class GenericTimeStampedCache<T extends TimeStamped> implements TimeStamp
         Slot(final AbsoluteDate date) throws TimeStampedCacheException {
 
             // allocate cache
-            this.cache = new ArrayList<Entry>();
+            final List<Entry> initial = new ArrayList<Entry>();
 
             // set up first entries
             AbsoluteDate generationDate = date;
 
             generateCalls.incrementAndGet();
             for (final T entry : generateAndCheck(null, generationDate)) {
-                cache.add(new Entry(entry, quantum(entry.getDate())));
+                initial.add(new Entry(entry, quantum(entry.getDate())));
             }
-            earliestQuantum = new AtomicLong(cache.get(0).getQuantum());
-            latestQuantum   = new AtomicLong(cache.get(cache.size() - 1).getQuantum());
 
-            while (cache.size() < neighborsSize) {
+            while (initial.size() < neighborsSize) {
                 // we need to generate more entries
 
-                final AbsoluteDate entry0 = cache.get(0).getData().getDate();
-                final AbsoluteDate entryN = cache.get(cache.size() - 1).getData().getDate();
+                final AbsoluteDate entry0 = initial.get(0).getData().getDate();
+                final AbsoluteDate entryN = initial.get(initial.size() - 1).getData().getDate();
                 generateCalls.incrementAndGet();
 
                 final AbsoluteDate existingDate;
                 if (entryN.getDate().durationFrom(date) <= date.durationFrom(entry0.getDate())) {
                     // generate additional point at the end of the slot
                     existingDate = entryN;
-                    generationDate = entryN.getDate().shiftedBy(getMeanStep() * (neighborsSize - cache.size()));
-                    appendAtEnd(generateAndCheck(existingDate, generationDate));
+                    generationDate = entryN.getDate().shiftedBy(meanStep(initial) * (neighborsSize - initial.size()));
+                    appendEntriesAtEnd(initial, generateAndCheck(existingDate, generationDate));
                 } else {
                     // generate additional point at the start of the slot
                     existingDate = entry0;
-                    generationDate = entry0.getDate().shiftedBy(-getMeanStep() * (neighborsSize - cache.size()));
-                    insertAtStart(generateAndCheck(existingDate, generationDate));
+                    generationDate = entry0.getDate().shiftedBy(-meanStep(initial) * (neighborsSize - initial.size()));
+                    insertEntriesAtStart(initial, generateAndCheck(existingDate, generationDate));
                 }
 
             }
 
-            guessedIndex    = new AtomicInteger(cache.size() / 2);
-            lastAccess      = new AtomicLong(System.currentTimeMillis());
+            this.cache           = initial;
+            this.earliestQuantum = initial.get(0).getQuantum();
+            this.latestQuantum   = initial.get(initial.size() - 1).getQuantum();
+            this.guessedIndex    = new AtomicInteger(initial.size() / 2);
+            this.lastAccess      = new AtomicLong(System.currentTimeMillis());
+
+        }
 
+        /** Build a new version of an existing slot.
+         * @param original original slot
+         * @param cache updated entries (will be owned by the new slot)
+         */
+        private Slot(final Slot original, final List<Entry> cache) {
+            this.cache           = cache;
+            this.earliestQuantum = cache.get(0).getQuantum();
+            this.latestQuantum   = cache.get(cache.size() - 1).getQuantum();
+            this.guessedIndex    = original.guessedIndex;
+            this.lastAccess      = original.lastAccess;
         }
 
         /** Get the earliest entry contained in the slot.
@@ -496,7 +616,7 @@ public class GenericTimeStampedCache<T extends TimeStamped> implements TimeStamp
          * @return quantum of the earliest date contained in the slot
          */
         public long getEarliestQuantum() {
-            return earliestQuantum.get();
+            return earliestQuantum;
         }
 
         /** Get the latest entry contained in the slot.
@@ -510,7 +630,7 @@ public class GenericTimeStampedCache<T extends TimeStamped> implements TimeStamp
          * @return quantum of the latest date contained in the slot
          */
         public long getLatestQuantum() {
-            return latestQuantum.get();
+            return latestQuantum;
         }
 
         /** Get the number of entries contained din the slot.
@@ -524,14 +644,8 @@ public class GenericTimeStampedCache<T extends TimeStamped> implements TimeStamp
          * @return mean step between entries (or an arbitrary non-null value
          * if there are fewer than 2 entries)
          */
-        private double getMeanStep() {
-            if (cache.size() < 2) {
-                return 1.0;
-            } else {
-                final AbsoluteDate t0 = cache.get(0).getData().getDate();
-                final AbsoluteDate tn = cache.get(cache.size() - 1).getData().getDate();
-                return tn.durationFrom(t0) / (cache.size() - 1);
-            }
+        public double getMeanStep() {
+            return meanStep(cache);
         }
 
         /** Get last access time of slot.
@@ -541,104 +655,51 @@ public class GenericTimeStampedCache<T extends TimeStamped> implements TimeStamp
             return lastAccess.get();
         }
 
-        /** Get the entries surrounding a central date.
-         * <p>
-         * If the central date is well within covered slot, the returned array
-         * will be balanced with half the points before central date and half the
-         * points after it (depending on n parity, of course). If the central date
-         * is near slot boundary and the underlying {@link TimeStampedGenerator
-         * generator} cannot extend it (i.e. it returns null), then the returned
-         * array will be unbalanced and will contain only the n earliest (or latest)
-         * cached entries. A typical example of the later case is leap seconds cache,
-         * since the number of leap seconds cannot be arbitrarily increased.
-         * </p>
+        /** Get the index of the first neighbor of a date.
          * @param central central date
          * @param dateQuantum global quantum of the date
-         * @return a new array containing date neighbors
-         * @exception TimeStampedCacheException if entries are not chronologically
-         * sorted or if new data cannot be generated
-         * @see #getBefore(AbsoluteDate)
-         * @see #getAfter(AbsoluteDate)
+         * @return index of the first neighbor (may be out of the slot
+         * if the slot is not balanced around the date)
          */
-        public Stream<T> getNeighbors(final AbsoluteDate central, final long dateQuantum)
-            throws TimeStampedCacheException {
-
-            int index         = entryIndex(central, dateQuantum);
-            int firstNeighbor = index - (neighborsSize - 1) / 2;
-
-            if (firstNeighbor < 0 || firstNeighbor + neighborsSize > cache.size()) {
-                // the cache is not balanced around the desired date, we can try to generate new data
-
-                // upgrade the read lock to a write lock so we can change the list of available slots
-                lock.readLock().unlock();
-                lock.writeLock().lock();
+        public int firstNeighbor(final AbsoluteDate central, final long dateQuantum) {
+            return entryIndex(central, dateQuantum) - (neighborsSize - 1) / 2;
+        }
 
-                try {
-                    // check entries again as another thread may have changed
-                    // the list while we were waiting for the write lock
-                    boolean loop = true;
-                    while (loop) {
-                        index         = entryIndex(central, dateQuantum);
-                        firstNeighbor = index - (neighborsSize - 1) / 2;
-                        if (firstNeighbor < 0 || firstNeighbor + neighborsSize > cache.size()) {
-
-                            // estimate which data we need to be generated
-                            final double step = getMeanStep();
-                            final AbsoluteDate existingDate;
-                            final AbsoluteDate generationDate;
-                            final boolean simplyRebalance;
-                            if (firstNeighbor < 0) {
-                                existingDate    = cache.get(0).getData().getDate();
-                                generationDate  = existingDate.getDate().shiftedBy(step * firstNeighbor);
-                                simplyRebalance = existingDate.getDate().compareTo(central) <= 0;
-                            } else {
-                                existingDate    = cache.get(cache.size() - 1).getData().getDate();
-                                generationDate  = existingDate.getDate().shiftedBy(step * (firstNeighbor + neighborsSize - cache.size()));
-                                simplyRebalance = existingDate.getDate().compareTo(central) >= 0;
-                            }
-                            generateCalls.incrementAndGet();
-
-                            // generated data and add it to the slot
-                            try {
-                                if (firstNeighbor < 0) {
-                                    insertAtStart(generateAndCheck(existingDate, generationDate));
-                                } else {
-                                    appendAtEnd(generateAndCheck(existingDate, generationDate));
-                                }
-                            } catch (TimeStampedCacheException tce) {
-                                if (simplyRebalance) {
-                                    // we were simply trying to rebalance an unbalanced interval near slot end
-                                    // we failed, but the central date is already covered by the existing (unbalanced) data
-                                    // so we ignore the exception and stop the loop, we will continue with what we have
-                                    loop = false;
-                                } else {
-                                    throw tce;
-                                }
-                            }
-
-                        } else {
-                            loop = false;
-                        }
-                    }
-                } finally {
-                    // downgrade back to a read lock
-                    lock.readLock().lock();
-                    lock.writeLock().unlock();
-                }
+        /** Check if the slot is balanced around a date.
+         * @param firstNeighbor index of the first neighbor of the date
+         * @return true if all neighbors are available in the slot
+         */
+        public boolean isBalanced(final int firstNeighbor) {
+            return firstNeighbor >= 0 && firstNeighbor + neighborsSize <= cache.size();
+        }
 
-            }
+        /** Get the entries surrounding a central date.
+         * <p>
+         * If the slot is not balanced around the date and the underlying
+         * {@link TimeStampedGenerator generator} could not extend it, then
+         * the returned array will be unbalanced and will contain only the n
+         * earliest (or latest) cached entries. A typical example of the later
+         * case is leap seconds cache, since the number of leap seconds cannot
+         * be arbitrarily increased.
+         * </p>
+         * @param firstNeighbor index of the first neighbor of the date
+         * @return a new array containing date neighbors
+         * @see #firstNeighbor(AbsoluteDate, long)
+         */
+        public Stream<T> neighbors(final int firstNeighbor) {
 
-            if (firstNeighbor + neighborsSize > cache.size()) {
+            int first = firstNeighbor;
+            if (first + neighborsSize > cache.size()) {
                 // we end up with a non-balanced neighborhood,
                 // adjust the start point to fit within the cache
-                firstNeighbor = cache.size() - neighborsSize;
+                first = cache.size() - neighborsSize;
             }
-            if (firstNeighbor < 0) {
-                firstNeighbor = 0;
+            if (first < 0) {
+                first = 0;
             }
             final Stream.Builder<T> builder = Stream.builder();
             for (int i = 0; i < neighborsSize; ++i) {
-                builder.accept(cache.get(firstNeighbor + i).getData());
+                builder.accept(cache.get(first + i).getData());
             }
 
             return builder.build();
@@ -646,9 +707,6 @@ public class GenericTimeStampedCache<T extends TimeStamped> implements TimeStamp
         }
 
         /** Get the index of the entry corresponding to a date.
-         * <p>
-         * We own a local read lock while calling this method.
-         * </p>
          * @param date date
          * @param dateQuantum global quantum of the date
          * @return index in the array such that entry[index] is before
@@ -715,79 +773,28 @@ public class GenericTimeStampedCache<T extends TimeStamped> implements TimeStamp
 
         }
 
-        /** Insert data at slot start.
+        /** Build a new version of the slot with data inserted at start.
          * @param data data to insert
+         * @return new version of the slot
          * @exception TimeStampedCacheException if new data cannot be generated
          */
-        private void insertAtStart(final List<T> data) throws TimeStampedCacheException {
-
-            // insert data at start
-            boolean inserted = false;
-            final long q0 = earliestQuantum.get();
-            for (int i = 0; i < data.size(); ++i) {
-                final long quantum = quantum(data.get(i).getDate());
-                if (quantum < q0) {
-                    cache.add(i, new Entry(data.get(i), quantum));
-                    inserted = true;
-                } else {
-                    break;
-                }
-            }
-
-            if (!inserted) {
-                throw new TimeStampedCacheException(OrekitMessages.UNABLE_TO_GENERATE_NEW_DATA_BEFORE,
-                                                              cache.get(0).getData().getDate());
-            }
-
-            // evict excess data at end
-            final AbsoluteDate t0 = cache.get(0).getData().getDate();
-            while (cache.size() > neighborsSize &&
-                   cache.get(cache.size() - 1).getData().getDate().durationFrom(t0) > maxSpan) {
-                cache.remove(cache.size() - 1);
-            }
-
-            // update boundaries
-            earliestQuantum.set(cache.get(0).getQuantum());
-            latestQuantum.set(cache.get(cache.size() - 1).getQuantum());
-
+        public Slot insertAtStart(final List<T> data) throws TimeStampedCacheException {
+            final List<Entry> updated = new ArrayList<Entry>(cache.size() + data.size());
+            updated.addAll(cache);
+            insertEntriesAtStart(updated, data);
+            return new Slot(this, updated);
         }
 
-        /** Append data at slot end.
+        /** Build a new version of the slot with data appended at end.
          * @param data data to append
+         * @return new version of the slot
          * @exception TimeStampedCacheException if new data cannot be generated
          */
-        private void appendAtEnd(final List<T> data) throws TimeStampedCacheException {
-
-            // append data at end
-            boolean appended = false;
-            final long qn = latestQuantum.get();
-            final int  n  = cache.size();
-            for (int i = data.size() - 1; i >= 0; --i) {
-                final long quantum = quantum(data.get(i).getDate());
-                if (quantum > qn) {
-                    cache.add(n, new Entry(data.get(i), quantum));
-                    appended = true;
-                } else {
-                    break;
-                }
-            }
-
-            if (!appended) {
-                throw new TimeStampedCacheException(OrekitMessages.UNABLE_TO_GENERATE_NEW_DATA_AFTER,
-                                                    cache.get(cache.size() - 1).getData().getDate());
-            }
-
-            // evict excess data at start
-            final AbsoluteDate tn = cache.get(cache.size() - 1).getData().getDate();
-            while (cache.size() > neighborsSize &&
-                   tn.durationFrom(cache.get(0).getData().getDate()) > maxSpan) {
-                cache.remove(0);
-            }
-
-            // update boundaries
-            earliestQuantum.set(cache.get(0).getQuantum());
-            latestQuantum.set(cache.get(cache.size() - 1).getQuantum());
-
+        public Slot appendAtEnd(final List<T> data) throws TimeStampedCacheException {
+            final List<Entry> updated = new ArrayList<Entry>(cache.size() + data.size());
+            updated.addAll(cache);
+            appendEntriesAtEnd(updated, data);
+            return new Slot(this, updated);
         }
 
         /** Generate entries and check ordering.
@@ -798,7 +805,7 @@ public class GenericTimeStampedCache<T extends TimeStamped> implements TimeStamp
          * @exception TimeStampedCacheException if if entries are not chronologically
          * sorted or if new data cannot be generated
          */
-        private List<T> generateAndCheck(final AbsoluteDate existingDate, final AbsoluteDate date)
+        public List<T> generateAndCheck(final AbsoluteDate existingDate, final AbsoluteDate date)
             throws TimeStampedCacheException {
             final List<T> entries = generator.generate(existingDate, date);
             if (entries.isEmpty()) {
@@ -814,39 +821,126 @@ public class GenericTimeStampedCache<T extends TimeStamped> implements TimeStamp
             return entries;
         }
 
-        /** Container for entries. */
-        private class Entry {
+    }
 
-            /** Entry data. */
-            private final T data;
+    /** Get the mean step between entries.
+     * @param entries entries to consider
+     * @return mean step between entries (or an arbitrary non-null value
+     * if there are fewer than 2 entries)
+     */
+    private double meanStep(final List<Entry> entries) {
+        if (entries.size() < 2) {
+            return 1.0;
+        } else {
+            final AbsoluteDate t0 = entries.get(0).getData().getDate();
+            final AbsoluteDate tn = entries.get(entries.size() - 1).getData().getDate();
+            return tn.durationFrom(t0) / (entries.size() - 1);
+        }
+    }
 
-            /** Global quantum of the entry. */
-            private final long quantum;
+    /** Insert data at the start of an entries list under construction.
+     * @param entries entries list to update (not shared yet)
+     * @param data data to insert
+     * @exception TimeStampedCacheException if new data cannot be generated
+     */
+    private void insertEntriesAtStart(final List<Entry> entries, final List<T> data)
+        throws TimeStampedCacheException {
 
-            /** Simple constructor.
-             * @param data entry data
-             * @param quantum entry quantum
-             */
-            Entry(final T data, final long quantum) {
-                this.quantum = quantum;
-                this.data  = data;
+        // insert data at start
+        boolean inserted = false;
+        final long q0 = entries.get(0).getQuantum();
+        for (int i = 0; i < data.size(); ++i) {
+            final long quantum = quantum(data.get(i).getDate());
+            if (quantum < q0) {
+                entries.add(i, new Entry(data.get(i), quantum));
+                inserted = true;
+            } else {
+                break;
             }
+        }
 
-            /** Get the quantum.
-             * @return quantum
-             */
-            public long getQuantum() {
-                return quantum;
-            }
+        if (!inserted) {
+            throw new TimeStampedCacheException(OrekitMessages.UNABLE_TO_GENERATE_NEW_DATA_BEFORE,
+                                                entries.get(0).getData().getDate());
+        }
+
+        // evict excess data at end
+        final AbsoluteDate t0 = entries.get(0).getData().getDate();
+        while (entries.size() > neighborsSize &&
+               entries.get(entries.size() - 1).getData().getDate().durationFrom(t0) > maxSpan) {
+            entries.remove(entries.size() - 1);
+        }
+
+    }
+
+    /** Append data at the end of an entries list under construction.
+     * @param entries entries list to update (not shared yet)
+     * @param data data to append
+     * @exception TimeStampedCacheException if new data cannot be generated
+     */
+    private void appendEntriesAtEnd(final List<Entry> entries, final List<T> data)
+        throws TimeStampedCacheException {
 
-            /** Get the data.
-             * @return data
-             */
-            public T getData() {
-                return data;
+        // append data at end
+        boolean appended = false;
+        final long qn = entries.get(entries.size() - 1).getQuantum();
+        final int  n  = entries.size();
+        for (int i = data.size() - 1; i >= 0; --i) {
+            final long quantum = quantum(data.get(i).getDate());
+            if (quantum > qn) {
+                entries.add(n, new Entry(data.get(i), quantum));
+                appended = true;
+            } else {
+                break;
             }
+        }
+
+        if (!appended) {
+            throw new TimeStampedCacheException(OrekitMessages.UNABLE_TO_GENERATE_NEW_DATA_AFTER,
+                                                entries.get(entries.size() - 1).getData().getDate());
+        }
+
+        // evict excess data at start
+        final AbsoluteDate tn = entries.get(entries.size() - 1).getData().getDate();
+        while (entries.size() > neighborsSize &&
+               tn.durationFrom(entries.get(0).getData().getDate()) > maxSpan) {
+            entries.remove(0);
+        }
+
+    }
+
+    /** Container for entries. */
+    private class Entry {
+
+        /** Entry data. */
+        private final T data;
 
+        /** Global quantum of the entry. */
+        private final long quantum;
+
+        /** Simple constructor.
+         * @param data entry data
+         * @param quantum entry quantum
+         */
+        Entry(final T data, final long quantum) {
+            this.quantum = quantum;
+            this.data  = data;
+        }
+
+        /** Get the quantum.
+         * @return quantum
+         */
+        public long getQuantum() {
+            return quantum;
         }
+
+        /** Get the data.
+         * @return data
+         */
+        public T getData() {
+            return data;
+        }
+
     }
 
 }
@@ -288,6 +288,28 @@ public class PVCoordinates implements TimeShiftable<PVCoordinates>, Serializable
         return acceleration;
     }
 
+    /** Store position and velocity in flat arrays.
+     * @param index index of the point in the arrays (the components
+     * are stored at indices {@code 3 * index} to {@code 3 * index + 2})
+     * @param positions array where to store position (m)
+     * @param velocities array where to store velocity (m/s), may be null
+     * if velocity is not needed
+     * @see PVCoordinatesProvider#getPVCoordinates(org.orekit.time.AbsoluteDate[],
+     * org.orekit.frames.Frame, double[], double[])
+     * @since 9.0
+     */
+    public void store(final int index, final double[] positions, final double[] velocities) {
+        final int i = 3 * index;
+        positions[i]     = position.getX();
+        positions[i + 1] = position.getY();
+        positions[i + 2] = position.getZ();
+        if (velocities != null) {
+            velocities[i]     = velocity.getX();
+            velocities[i + 1] = velocity.getY();
+            velocities[i + 2] = velocity.getZ();
+        }
+    }
+
     /** Gets the momentum.
      * <p>This vector is the p &otimes; v where p is position, v is velocity
      * and &otimes; is cross product. To get the real physical angular momentum
@@ -40,4 +40,57 @@ public interface PVCoordinatesProvider {
     TimeStampedPVCoordinates getPVCoordinates(AbsoluteDate date,
                                               Frame frame) throws OrekitException;
 
+    /** Get the positions and velocities of the body on a regular time grid.
+     * <p>
+     * The grid starts at {@code start} and contains {@code count} dates
+     * separated by {@code step} seconds (which may be negative).
+     * </p>
+     * @param start first date of the grid
+     * @param step time step between grid points (s)
+     * @param count number of grid points
+     * @param frame the frame where to define the positions and velocities
+     * @param positions array where to store positions (m), as
+     * {x₀, y₀, z₀, x₁, y₁, z₁, ...}, it must be at least {@code 3 * count} long
+     * @param velocities array where to store velocities (m/s), as
+     * {vx₀, vy₀, vz₀, vx₁, vy₁, vz₁, ...}, it must be at least {@code 3 * count}
+     * long, or it may be null if velocities are not needed
+     * @exception OrekitException if positions cannot be computed in given frame
+     * @see #getPVCoordinates(AbsoluteDate[], Frame, double[], double[])
+     * @since 9.0
+     */
+    default void getPVCoordinates(final AbsoluteDate start, final double step, final int count,
+                                  final Frame frame, final double[] positions, final double[] velocities)
+        throws OrekitException {
+        final AbsoluteDate[] dates = new AbsoluteDate[count];
+        for (int i = 0; i < count; ++i) {
+            dates[i] = start.shiftedBy(i * step);
+        }
+        getPVCoordinates(dates, frame, positions, velocities);
+    }
+
+    /** Get the positions and velocities of the body on a time grid.
+     * <p>
+     * The default implementation simply calls {@link #getPVCoordinates(AbsoluteDate, Frame)}
+     * for each date. Implementations for which a lot of computation can be saved
+     * when only positions and velocities are needed (for example propagators, which
+     * also compute attitude) override it.
+     * </p>
+     * @param dates dates of the grid
+     * @param frame the frame where to define the positions and velocities
+     * @param positions array where to store positions (m), as
+     * {x₀, y₀, z₀, x₁, y₁, z₁, ...}, it must be at least {@code 3 * dates.length} long
+     * @param velocities array where to store velocities (m/s), as
+     * {vx₀, vy₀, vz₀, vx₁, vy₁, vz₁, ...}, it must be at least {@code 3 * dates.length}
+     * long, or it may be null if velocities are not needed
+     * @exception OrekitException if positions cannot be computed in given frame
+     * @since 9.0
+     */
+    default void getPVCoordinates(final AbsoluteDate[] dates, final Frame frame,
+                                  final double[] positions, final double[] velocities)
+        throws OrekitException {
+        for (int i = 0; i < dates.length; ++i) {
+            getPVCoordinates(dates[i], frame).store(i, positions, velocities);
+        }
+    }
+
 }
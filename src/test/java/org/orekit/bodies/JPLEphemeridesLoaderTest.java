@@ -20,17 +20,22 @@ package org.orekit.bodies;
 import java.io.IOException;
 
 import org.hipparchus.geometry.euclidean.threed.Vector3D;
+import org.hipparchus.util.Decimal64;
+import org.hipparchus.util.Decimal64Field;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 import org.orekit.Utils;
 import org.orekit.data.DataProvidersManager;
 import org.orekit.errors.OrekitException;
+import org.orekit.errors.OrekitMessages;
 import org.orekit.frames.Frame;
 import org.orekit.frames.FramesFactory;
 import org.orekit.time.AbsoluteDate;
+import org.orekit.time.FieldAbsoluteDate;
 import org.orekit.time.TimeScalesFactory;
 import org.orekit.utils.Constants;
+import org.orekit.utils.FieldPVCoordinates;
 import org.orekit.utils.PVCoordinates;
 
 public class JPLEphemeridesLoaderTest {
@@ -262,6 +267,47 @@ public class JPLEphemeridesLoaderTest {
 
     }
 
+    @Test
+    public void testMemoryMappedDE405() throws OrekitException {
+        Utils.setDataRoot("regular-data/de405-ephemerides");
+        checkMemoryMapped(JPLEphemeridesLoader.DEFAULT_DE_SUPPORTED_NAMES,
+                          new AbsoluteDate(1969, 6, 20, TimeScalesFactory.getTT()),
+                          10 * Constants.JULIAN_DAY);
+    }
+
+    @Test
+    public void testMemoryMappedInpopLittleEndian() throws OrekitException {
+        Utils.setDataRoot("inpop");
+        checkMemoryMapped("^inpop.*_TCB_.*_littleendian\\.dat$",
+                          new AbsoluteDate(1969, 7, 17, 10, 43, 23.4, TimeScalesFactory.getTT()),
+                          30 * Constants.JULIAN_DAY);
+    }
+
+    @Test
+    public void testMemoryMappedFallbackToStreams() throws OrekitException {
+        // files stored in archives cannot be mapped
+        Utils.setDataRoot("overlapping-data/data.zip");
+        checkMemoryMapped(JPLEphemeridesLoader.DEFAULT_DE_SUPPORTED_NAMES,
+                          new AbsoluteDate(1999, 12, 20, TimeScalesFactory.getTT()),
+                          10 * Constants.JULIAN_DAY);
+    }
+
+    @Test
+    public void testMemoryMappedOutOfRange() throws OrekitException {
+        Utils.setDataRoot("regular-data/de405-ephemerides");
+        final CelestialBody moon =
+                new JPLEphemeridesLoader(JPLEphemeridesLoader.DEFAULT_DE_SUPPORTED_NAMES,
+                                         JPLEphemeridesLoader.EphemerisType.MOON, true).
+                loadCelestialBody(CelestialBodyFactory.MOON);
+        try {
+            moon.getPVCoordinates(new AbsoluteDate(2400, 1, 1, TimeScalesFactory.getTT()),
+                                  FramesFactory.getGCRF());
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitException oe) {
+            Assert.assertEquals(OrekitMessages.OUT_OF_RANGE_EPHEMERIDES_DATE, oe.getSpecifier());
+        }
+    }
+
     private void checkDerivative(String supportedNames, AbsoluteDate date, double maxChunkDuration)
         throws OrekitException {
         JPLEphemeridesLoader loader =
@@ -291,6 +337,38 @@ public class JPLEphemeridesLoaderTest {
         Assert.assertEquals(maxChunkDuration, loader.getMaxChunksDuration(), 1.0e-10);
     }
 
+    private void checkMemoryMapped(String supportedNames, AbsoluteDate start, double duration)
+        throws OrekitException {
+        final Frame eme2000 = FramesFactory.getEME2000();
+        for (final JPLEphemeridesLoader.EphemerisType type :
+             new JPLEphemeridesLoader.EphemerisType[] {
+                 JPLEphemeridesLoader.EphemerisType.SOLAR_SYSTEM_BARYCENTER,
+                 JPLEphemeridesLoader.EphemerisType.SUN,
+                 JPLEphemeridesLoader.EphemerisType.EARTH_MOON,
+                 JPLEphemeridesLoader.EphemerisType.MOON,
+                 JPLEphemeridesLoader.EphemerisType.MERCURY,
+                 JPLEphemeridesLoader.EphemerisType.MARS
+             }) {
+            final CelestialBody streamed =
+                    new JPLEphemeridesLoader(supportedNames, type, false).loadCelestialBody(type.name());
+            final CelestialBody mapped =
+                    new JPLEphemeridesLoader(supportedNames, type, true).loadCelestialBody(type.name());
+            for (double dt = 0; dt < duration; dt += 3517.0) {
+                final AbsoluteDate date = start.shiftedBy(dt);
+                final PVCoordinates pvS = streamed.getPVCoordinates(date, eme2000);
+                final PVCoordinates pvM = mapped.getPVCoordinates(date, eme2000);
+                // both loaders evaluate the same Chebyshev coefficients the same way
+                Assert.assertEquals(pvS.getPosition(), pvM.getPosition());
+                Assert.assertEquals(pvS.getVelocity(), pvM.getVelocity());
+                final FieldAbsoluteDate<Decimal64> fDate = new FieldAbsoluteDate<>(Decimal64Field.getInstance(), date);
+                final FieldPVCoordinates<Decimal64> fpvS = streamed.getPVCoordinates(fDate, eme2000);
+                final FieldPVCoordinates<Decimal64> fpvM = mapped.getPVCoordinates(fDate, eme2000);
+                Assert.assertEquals(fpvS.getPosition().toVector3D(), fpvM.getPosition().toVector3D());
+                Assert.assertEquals(fpvS.getVelocity().toVector3D(), fpvM.getVelocity().toVector3D());
+            }
+        }
+    }
+
     @Before
     public void setUp() {
         Utils.setDataRoot("regular-data");
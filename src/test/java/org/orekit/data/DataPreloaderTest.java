@@ -0,0 +1,94 @@
+/* Copyright 2002-2016 CS Systèmes d'Information
+ * Licensed to CS Systèmes d'Information (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.data;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.orekit.Utils;
+import org.orekit.bodies.CelestialBodyFactory;
+import org.orekit.errors.OrekitException;
+import org.orekit.errors.OrekitIllegalArgumentException;
+import org.orekit.errors.OrekitMessages;
+import org.orekit.utils.IERSConventions;
+
+public class DataPreloaderTest {
+
+    @Test
+    public void testPreload() throws OrekitException {
+        final List<String> threads = Collections.synchronizedList(new ArrayList<String>());
+        new DataPreloader().
+            addITRF(IERSConventions.IERS_2010, true).
+            addCelestialBodies(CelestialBodyFactory.SUN, CelestialBodyFactory.MOON).
+            addTask(() -> threads.add(Thread.currentThread().getName())).
+            preload(3);
+
+        Assert.assertEquals(1, threads.size());
+        Assert.assertNotEquals(Thread.currentThread().getName(), threads.get(0));
+
+        final Set<String> loaded = DataProvidersManager.getInstance().getLoadedDataNames();
+        Assert.assertTrue(loaded.stream().anyMatch(name -> name.endsWith("UTC-TAI.history")));
+        Assert.assertTrue(loaded.stream().anyMatch(name -> name.contains("eopc04_08_IAU2000")));
+        Assert.assertTrue(loaded.stream().anyMatch(name -> name.endsWith(".405")));
+
+    }
+
+    @Test
+    public void testOnlyUTC() throws OrekitException {
+        new DataPreloader().preload(1);
+        final Set<String> loaded = DataProvidersManager.getInstance().getLoadedDataNames();
+        Assert.assertEquals(1, loaded.size());
+        Assert.assertTrue(loaded.iterator().next().endsWith("UTC-TAI.history"));
+    }
+
+    @Test
+    public void testTaskFailure() {
+        try {
+            new DataPreloader().
+                addTask(() -> { }).
+                addTask(() -> {
+                    throw new OrekitException(OrekitMessages.INTERNAL_ERROR, "dummy");
+                }).
+                preload(2);
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitException oe) {
+            Assert.assertEquals(OrekitMessages.INTERNAL_ERROR, oe.getSpecifier());
+        }
+    }
+
+    @Test
+    public void testNoThreads() throws OrekitException {
+        try {
+            new DataPreloader().preload(0);
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitIllegalArgumentException oiae) {
+            Assert.assertEquals(LocalizedCoreFormats.NUMBER_TOO_SMALL, oiae.getSpecifier());
+        }
+    }
+
+    @Before
+    public void setUp() {
+        Utils.setDataRoot("regular-data");
+    }
+
+}
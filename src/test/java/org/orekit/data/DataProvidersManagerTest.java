@@ -21,6 +21,7 @@ import java.io.File;
 import java.io.InputStream;
 import java.net.URISyntaxException;
 import java.util.List;
+import java.util.Set;
 import java.util.regex.Pattern;
 
 import org.hipparchus.exception.DummyLocalizable;
@@ -52,10 +53,12 @@ public class DataProvidersManagerTest {
         Assert.assertTrue(manager.feed(".*\\.tle$", tleCounter));
         Assert.assertEquals(4, tleCounter.getCount());
         Assert.assertEquals(4, manager.getLoadedDataNames().size());
+        final Set<String> snapshot = manager.getLoadedDataNames();
         CountingLoader de405Counter = new CountingLoader(false);
         Assert.assertTrue(manager.feed(".*\\.405$", de405Counter));
         Assert.assertEquals(4, de405Counter.getCount());
         Assert.assertEquals(8, manager.getLoadedDataNames().size());
+        Assert.assertEquals(4, snapshot.size());
         manager.clearLoadedDataNames();
         Assert.assertEquals(0, manager.getLoadedDataNames().size());
     }
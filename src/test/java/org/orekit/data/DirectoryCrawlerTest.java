@@ -18,6 +18,7 @@ package org.orekit.data;
 
 
 import java.io.File;
+import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URISyntaxException;
@@ -26,11 +27,16 @@ import java.text.ParseException;
 import java.util.regex.Pattern;
 
 import org.junit.Assert;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.orekit.errors.OrekitException;
 
 public class DirectoryCrawlerTest {
 
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
     @Test(expected=OrekitException.class)
     public void testNoDirectory() throws OrekitException, URISyntaxException {
         File existing = new File(getClass().getClassLoader().getResource("regular-data").toURI().getPath());
@@ -103,6 +109,49 @@ public class DirectoryCrawlerTest {
         }
     }
 
+    @Test
+    public void testIndexUpdate() throws OrekitException, IOException {
+        final File root = tempFolder.newFolder("data");
+        final File sub  = new File(root, "sub");
+        Assert.assertTrue(sub.mkdir());
+        createFile(new File(root, "a.txt"));
+        createFile(new File(sub,  "b.txt"));
+        final DirectoryCrawler crawler = new DirectoryCrawler(root);
+        final Pattern txt = Pattern.compile(".*\\.txt$");
+
+        CountingLoader loader = new CountingLoader();
+        Assert.assertTrue(crawler.feed(txt, loader));
+        Assert.assertEquals(2, loader.getCount());
+        Assert.assertFalse(crawler.feed(Pattern.compile(".*\\.dat$"), new CountingLoader()));
+
+        // adding a file in a sub-directory is detected
+        createFile(new File(sub, "c.txt"));
+        Assert.assertTrue(sub.setLastModified(sub.lastModified() + 10000L));
+        loader = new CountingLoader();
+        Assert.assertTrue(crawler.feed(txt, loader));
+        Assert.assertEquals(3, loader.getCount());
+
+        // removing a file is detected
+        Assert.assertTrue(new File(root, "a.txt").delete());
+        Assert.assertTrue(root.setLastModified(root.lastModified() + 10000L));
+        loader = new CountingLoader();
+        Assert.assertTrue(crawler.feed(txt, loader));
+        Assert.assertEquals(2, loader.getCount());
+
+        // explicit index clearing
+        crawler.clearIndex();
+        loader = new CountingLoader();
+        Assert.assertTrue(crawler.feed(txt, loader));
+        Assert.assertEquals(2, loader.getCount());
+
+    }
+
+    private void createFile(final File file) throws IOException {
+        try (FileOutputStream out = new FileOutputStream(file)) {
+            out.write(new byte[] { 'x', '\n' });
+        }
+    }
+
     private static class CountingLoader implements DataLoader {
         private int count = 0;
         public boolean stillAcceptsData() {
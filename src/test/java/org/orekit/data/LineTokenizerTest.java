@@ -0,0 +1,150 @@
+/* Copyright 2002-2016 CS Systèmes d'Information
+ * Licensed to CS Systèmes d'Information (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.data;
+
+import java.util.Locale;
+
+import org.hipparchus.random.RandomGenerator;
+import org.hipparchus.random.Well19937a;
+import org.hipparchus.util.FastMath;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class LineTokenizerTest {
+
+    @Test
+    public void testTokens() {
+        final LineTokenizer tokenizer = new LineTokenizer();
+        Assert.assertEquals(0, tokenizer.reset("").getTokensCount());
+        Assert.assertEquals(0, tokenizer.reset(" \t  ").getTokensCount());
+        tokenizer.reset("  gfc   2  0 -0.484165143790815D-03\t0.0 ");
+        Assert.assertEquals(5, tokenizer.getTokensCount());
+        Assert.assertTrue(tokenizer.tokenEquals(0, "gfc"));
+        Assert.assertFalse(tokenizer.tokenEquals(0, "gfct"));
+        Assert.assertFalse(tokenizer.tokenEquals(0, "gf"));
+        Assert.assertTrue(tokenizer.tokenEndsWith(0, "fc"));
+        Assert.assertFalse(tokenizer.tokenEndsWith(0, "xgfc"));
+        Assert.assertEquals("gfc", tokenizer.getToken(0));
+        Assert.assertEquals(2, tokenizer.parseInt(1));
+        Assert.assertEquals(0, tokenizer.parseInt(2));
+        Assert.assertEquals(-0.484165143790815e-03, tokenizer.parseDouble(3), 0.0);
+        Assert.assertEquals(0.0, tokenizer.parseDouble(4), 0.0);
+        try {
+            tokenizer.getToken(5);
+            Assert.fail("an exception should have been thrown");
+        } catch (IndexOutOfBoundsException ioobe) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testManyTokens() {
+        final StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < 100; ++i) {
+            builder.append(' ').append(i);
+        }
+        final LineTokenizer tokenizer = new LineTokenizer().reset(builder);
+        Assert.assertEquals(100, tokenizer.getTokensCount());
+        for (int i = 0; i < 100; ++i) {
+            Assert.assertEquals(i, tokenizer.parseInt(i));
+        }
+    }
+
+    @Test
+    public void testFixedColumns() {
+        final String line = "*  2001  8  8  0  0  0.00000000";
+        Assert.assertEquals(2001, LineTokenizer.parseInt(line, 3, 7));
+        Assert.assertEquals(8,    LineTokenizer.parseInt(line, 8, 10));
+        Assert.assertEquals(0.0,  LineTokenizer.parseDouble(line, 20, 31), 0.0);
+        Assert.assertEquals(-12,  LineTokenizer.parseInt(" -12 ", 0, 5));
+        Assert.assertEquals(12,   LineTokenizer.parseInt("+12", 0, 3));
+    }
+
+    @Test
+    public void testFortranExponent() {
+        checkSame("1.0E+03",   LineTokenizer.parseDouble("1.0D+03", 0, 7));
+        checkSame("1.0E+03",   LineTokenizer.parseDouble("1.0d+03", 0, 7));
+        checkSame("-2.5E-12",  LineTokenizer.parseDouble("-2.5D-12", 0, 8));
+        checkSame("3.986E+50", LineTokenizer.parseDouble("3.986D+50", 0, 9));
+        checkSame("1.0E3",     LineTokenizer.parseDouble("1.0d3", 0, 5));
+    }
+
+    @Test
+    public void testJavaTypeSuffix() {
+        // these are accepted by Double.parseDouble, they must not be mistaken for exponents
+        checkSame("1.0d",     LineTokenizer.parseDouble("1.0d", 0, 4));
+        checkSame("1.0D",     LineTokenizer.parseDouble("1.0D", 0, 4));
+        checkSame("2.5e3d",   LineTokenizer.parseDouble("2.5e3d", 0, 6));
+        checkSame("1.5E-3d",  LineTokenizer.parseDouble("1.5D-3d", 0, 7));
+        checkSame("0x1d5p0",  LineTokenizer.parseDouble("0x1d5p0", 0, 7));
+    }
+
+    @Test
+    public void testSpecialValues() {
+        Assert.assertTrue(Double.isNaN(LineTokenizer.parseDouble("NaN", 0, 3)));
+        Assert.assertEquals(Double.NEGATIVE_INFINITY, LineTokenizer.parseDouble("-Infinity", 0, 9), 0.0);
+        Assert.assertEquals(Double.doubleToRawLongBits(-0.0),
+                            Double.doubleToRawLongBits(LineTokenizer.parseDouble("-0.000", 0, 6)));
+        checkSame("1.7976931348623157e308",  LineTokenizer.parseDouble("1.7976931348623157e308", 0, 22));
+        checkSame("4.9e-324",                LineTokenizer.parseDouble("4.9e-324", 0, 8));
+        checkSame("0.12345678901234567890123", LineTokenizer.parseDouble("0.12345678901234567890123", 0, 25));
+        checkSame("0.000000000000000000000001", LineTokenizer.parseDouble("0.000000000000000000000001", 0, 26));
+        checkSame("123456789012345678", LineTokenizer.parseDouble("123456789012345678", 0, 18));
+        checkSame(".5", LineTokenizer.parseDouble(".5", 0, 2));
+        checkSame("5.", LineTokenizer.parseDouble("5.", 0, 2));
+    }
+
+    @Test
+    public void testErrors() {
+        for (final String field : new String[] { "", "   ", "-", ".", "1.0e", "1.0.0", "1.0e+", "abc", "1 2", "1.0x3" }) {
+            try {
+                LineTokenizer.parseDouble(field, 0, field.length());
+                Assert.fail("an exception should have been thrown for \"" + field + "\"");
+            } catch (NumberFormatException nfe) {
+                // expected
+            }
+        }
+        for (final String field : new String[] { "", "  ", "-", "1.0", "12345678901", "1a" }) {
+            try {
+                LineTokenizer.parseInt(field, 0, field.length());
+                Assert.fail("an exception should have been thrown for \"" + field + "\"");
+            } catch (NumberFormatException nfe) {
+                // expected
+            }
+        }
+    }
+
+    @Test
+    public void testSameAsStandardParsing() {
+        final RandomGenerator random = new Well19937a(0x5c1e2a1b9f4d3e87L);
+        final String[] formats = { "%.15e", "%.12E", "%.6f", "%.17g", "%.3e", "%.21e" };
+        for (int i = 0; i < 100000; ++i) {
+            final double x = (random.nextDouble() - 0.5) * FastMath.pow(10.0, random.nextInt(80) - 40);
+            final String s = String.format(Locale.US, formats[i % formats.length], x);
+            checkSame(s, LineTokenizer.parseDouble(s, 0, s.length()));
+            final String d = s.replace('e', 'D').replace('E', 'D');
+            checkSame(s, LineTokenizer.parseDouble(d, 0, d.length()));
+        }
+    }
+
+    private void checkSame(final String reference, final double parsed) {
+        Assert.assertEquals(reference,
+                            Double.doubleToLongBits(Double.parseDouble(reference)),
+                            Double.doubleToLongBits(parsed));
+    }
+
+}
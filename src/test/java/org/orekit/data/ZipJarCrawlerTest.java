@@ -18,17 +18,26 @@ package org.orekit.data;
 
 
 import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
 import java.io.InputStream;
 import java.net.URISyntaxException;
 import java.net.URL;
 import java.util.regex.Pattern;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
 
 import org.junit.Assert;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.orekit.errors.OrekitException;
 
 public class ZipJarCrawlerTest {
 
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
     @Test
     public void testMultiZipClasspath() throws OrekitException {
         CountingLoader crawler = new CountingLoader();
@@ -45,6 +54,55 @@ public class ZipJarCrawlerTest {
         Assert.assertEquals(6, crawler.getCount());
     }
 
+    @Test
+    public void testIndexClasspath() throws OrekitException {
+        final ZipJarCrawler zipJarCrawler = new ZipJarCrawler("zipped-data/multizip.zip");
+        for (int i = 0; i < 3; ++i) {
+            CountingLoader crawler = new CountingLoader();
+            Assert.assertTrue(zipJarCrawler.feed(Pattern.compile(".*\\.txt$"), crawler));
+            Assert.assertEquals(6, crawler.getCount());
+        }
+    }
+
+    @Test
+    public void testIndexUpdate() throws OrekitException, IOException {
+        final File archive = tempFolder.newFile("data.zip");
+        createArchive(archive, "dir/a.txt", "dir/b.dat", "c.txt.gz");
+        final ZipJarCrawler zipJarCrawler = new ZipJarCrawler(archive);
+        final Pattern txt = Pattern.compile(".*\\.txt$");
+
+        CountingLoader crawler = new CountingLoader();
+        Assert.assertTrue(zipJarCrawler.feed(txt, crawler));
+        Assert.assertEquals(2, crawler.getCount());
+        Assert.assertFalse(zipJarCrawler.feed(Pattern.compile(".*\\.xyz$"), new CountingLoader()));
+
+        // archive changes are detected
+        createArchive(archive, "a.txt", "b.txt", "c.txt", "d.txt");
+        Assert.assertTrue(archive.setLastModified(archive.lastModified() + 10000L));
+        crawler = new CountingLoader();
+        Assert.assertTrue(zipJarCrawler.feed(txt, crawler));
+        Assert.assertEquals(4, crawler.getCount());
+
+    }
+
+    private void createArchive(final File archive, final String... names) throws IOException {
+        try (ZipOutputStream zip = new ZipOutputStream(new FileOutputStream(archive))) {
+            for (final String name : names) {
+                zip.putNextEntry(new ZipEntry(name));
+                if (name.endsWith(".gz")) {
+                    // empty gzip stream
+                    zip.write(new byte[] {
+                        0x1f, (byte) 0x8b, 0x08, 0x00, 0x00, 0x00, 0x00, 0x00, 0x00, 0x03,
+                        0x03, 0x00, 0x00, 0x00, 0x00, 0x00, 0x00, 0x00, 0x00, 0x00
+                    });
+                } else {
+                    zip.write(new byte[] { 'x', '\n' });
+                }
+                zip.closeEntry();
+            }
+        }
+    }
+
     private static class CountingLoader implements DataLoader {
         private int count = 0;
         public boolean stillAcceptsData() {
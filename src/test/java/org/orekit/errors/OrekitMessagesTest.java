@@ -29,7 +29,7 @@ public class OrekitMessagesTest {
 
     @Test
     public void testMessageNumber() {
-        Assert.assertEquals(141, OrekitMessages.values().length);
+        Assert.assertEquals(145, OrekitMessages.values().length);
     }
 
     @Test
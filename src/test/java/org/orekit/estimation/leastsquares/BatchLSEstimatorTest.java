@@ -298,6 +298,108 @@ public class BatchLSEstimatorTest {
                                      0.0, 8.1e-7);
     }
 
-}
+    @Test
+    public void testParallelEvaluation() throws OrekitException {
 
+        Context context = EstimationTestUtils.eccentricContext();
 
+        // create perfect range measurements from several stations
+        final NumericalPropagatorBuilder referenceBuilder =
+                        context.createBuilder(OrbitType.KEPLERIAN, PositionAngle.TRUE, true,
+                                              1.0e-6, 60.0, 1.0);
+        final Propagator propagator = EstimationTestUtils.createPropagator(context.initialOrbit,
+                                                                           referenceBuilder);
+        final List<ObservedMeasurement<?>> measurements =
+                        EstimationTestUtils.createMeasurements(propagator,
+                                                               new RangeMeasurementCreator(context),
+                                                               1.0, 3.0, 60.0);
+
+        final BatchLSEstimator sequential = createEstimator(context, measurements, false, 0.0);
+        final Orbit sequentialOrbit = sequential.estimate().getInitialState().getOrbit();
+        final BatchLSEstimator parallel   = createEstimator(context, measurements, true, 0.0);
+        final Orbit parallelOrbit   = parallel.estimate().getInitialState().getOrbit();
+
+        // results must be exactly the same
+        Assert.assertEquals(sequential.getIterationsCount(),  parallel.getIterationsCount());
+        Assert.assertEquals(sequential.getEvaluationsCount(), parallel.getEvaluationsCount());
+        Assert.assertEquals(0.0,
+                            sequentialOrbit.getPVCoordinates().getPosition().
+                            distance(parallelOrbit.getPVCoordinates().getPosition()),
+                            0.0);
+        Assert.assertEquals(0.0,
+                            sequential.getOptimum().getPoint().getDistance(parallel.getOptimum().getPoint()),
+                            0.0);
+        Assert.assertEquals(sequential.getOptimum().getRMS(), parallel.getOptimum().getRMS(), 0.0);
+        Assert.assertEquals(measurements.size(), parallel.getLastEstimations().size());
+        for (final ObservedMeasurement<?> measurement : measurements) {
+            Assert.assertArrayEquals(sequential.getLastEstimations().get(measurement).getEstimatedValue(),
+                                     parallel.getLastEstimations().get(measurement).getEstimatedValue(),
+                                     0.0);
+        }
+
+    }
+
+    @Test
+    public void testPropagationReuse() throws OrekitException {
+
+        Context context = EstimationTestUtils.eccentricContext();
+
+        // create perfect range measurements
+        final NumericalPropagatorBuilder referenceBuilder =
+                        context.createBuilder(OrbitType.KEPLERIAN, PositionAngle.TRUE, true,
+                                              1.0e-6, 60.0, 1.0);
+        final Propagator propagator = EstimationTestUtils.createPropagator(context.initialOrbit,
+                                                                           referenceBuilder);
+        final List<ObservedMeasurement<?>> measurements =
+                        EstimationTestUtils.createMeasurements(propagator,
+                                                               new RangeMeasurementCreator(context),
+                                                               1.0, 3.0, 300.0);
+
+        final BatchLSEstimator full = createEstimator(context, measurements, false, 0.0);
+        perturbSemiMajorAxis(full);
+        final Orbit fullOrbit = full.estimate().getInitialState().getOrbit();
+        Assert.assertEquals(full.getEvaluationsCount(), full.getPropagationsCount());
+
+        for (final boolean parallelEvaluation : new boolean[] { false, true }) {
+            final BatchLSEstimator reuse = createEstimator(context, measurements, parallelEvaluation, 1.0);
+            perturbSemiMajorAxis(reuse);
+            final Orbit reuseOrbit = reuse.estimate().getInitialState().getOrbit();
+            Assert.assertTrue(reuse.getEvaluationsCount() > 1);
+            Assert.assertTrue(reuse.getPropagationsCount() < reuse.getEvaluationsCount());
+            Assert.assertEquals(measurements.size(), reuse.getLastEstimations().size());
+            Assert.assertEquals(0.0,
+                                fullOrbit.getPVCoordinates().getPosition().
+                                distance(reuseOrbit.getPVCoordinates().getPosition()),
+                                1.0e-3);
+        }
+
+    }
+
+    private void perturbSemiMajorAxis(final BatchLSEstimator estimator) throws OrekitException {
+        final ParameterDriver aDriver = estimator.getOrbitalParametersDrivers(true).getDrivers().get(0);
+        Assert.assertEquals("a", aDriver.getName());
+        aDriver.setValue(aDriver.getValue() + 1.2);
+    }
+
+    private BatchLSEstimator createEstimator(final Context context,
+                                             final List<ObservedMeasurement<?>> measurements,
+                                             final boolean parallelEvaluation,
+                                             final double propagationReuseThreshold)
+        throws OrekitException {
+        final NumericalPropagatorBuilder propagatorBuilder =
+                        context.createBuilder(OrbitType.KEPLERIAN, PositionAngle.TRUE, true,
+                                              1.0e-6, 60.0, 1.0);
+        final BatchLSEstimator estimator = new BatchLSEstimator(propagatorBuilder,
+                                                                new LevenbergMarquardtOptimizer());
+        for (final ObservedMeasurement<?> measurement : measurements) {
+            estimator.addMeasurement(measurement);
+        }
+        estimator.setParametersConvergenceThreshold(1.0e-2);
+        estimator.setMaxIterations(10);
+        estimator.setMaxEvaluations(20);
+        estimator.setParallelEvaluation(parallelEvaluation);
+        estimator.setPropagationReuseThreshold(propagationReuseThreshold);
+        return estimator;
+    }
+
+}
@@ -208,5 +208,66 @@ public class AngularTest {
             }
         }
     }
-}
 
+    @Test
+    public void testAnalyticalDerivatives() throws OrekitException {
+
+        Context context = EstimationTestUtils.geoStationnaryContext();
+
+        final NumericalPropagatorBuilder propagatorBuilder =
+                        context.createBuilder(OrbitType.EQUINOCTIAL, PositionAngle.TRUE, false,
+                                              1.0e-6, 60.0, 0.001);
+
+        // create perfect azimuth-elevation measurements
+        for (final GroundStation station : context.stations) {
+            station.getEastOffsetDriver().setSelected(true);
+            station.getNorthOffsetDriver().setSelected(true);
+            station.getZenithOffsetDriver().setSelected(true);
+        }
+        final Propagator propagator = EstimationTestUtils.createPropagator(context.initialOrbit,
+                                                                           propagatorBuilder);
+        final List<ObservedMeasurement<?>> measurements =
+                        EstimationTestUtils.createMeasurements(propagator,
+                                                               new AngularMeasurementCreator(context),
+                                                               0.25, 3.0, 600.0);
+        propagator.setSlaveMode();
+
+        for (final ObservedMeasurement<?> measurement : measurements) {
+
+            final Angular angular = (Angular) measurement;
+            Assert.assertFalse(angular.isAnalyticalDerivatives());
+
+            // state not exactly at transit date, so velocity derivatives are not zero
+            final AbsoluteDate    date  = measurement.getDate().shiftedBy(-0.1);
+            final SpacecraftState state = propagator.propagate(date);
+
+            final EstimatedMeasurement<Angular> withDS = angular.estimate(0, 0, state);
+            angular.setAnalyticalDerivatives(true);
+            Assert.assertTrue(angular.isAnalyticalDerivatives());
+            final EstimatedMeasurement<Angular> analytical = angular.estimate(0, 0, state);
+            angular.setAnalyticalDerivatives(false);
+
+            Assert.assertEquals(0.0, analytical.getDate().durationFrom(withDS.getDate()), 1.0e-15);
+            for (int k = 0; k < 2; ++k) {
+                Assert.assertEquals(withDS.getEstimatedValue()[k], analytical.getEstimatedValue()[k], 1.0e-12);
+                final double[] dsState         = withDS.getStateDerivatives()[k];
+                final double[] analyticalState = analytical.getStateDerivatives()[k];
+                for (int j = 0; j < 6; ++j) {
+                    Assert.assertEquals(dsState[j], analyticalState[j], 1.0e-10 * FastMath.abs(dsState[j]) + 1.0e-15);
+                }
+                for (final ParameterDriver driver : new ParameterDriver[] {
+                    angular.getStation().getEastOffsetDriver(),
+                    angular.getStation().getNorthOffsetDriver(),
+                    angular.getStation().getZenithOffsetDriver()
+                }) {
+                    final double ref = withDS.getParameterDerivatives(driver)[k];
+                    Assert.assertEquals(ref, analytical.getParameterDerivatives(driver)[k],
+                                        1.0e-10 * FastMath.abs(ref) + 1.0e-15);
+                }
+            }
+
+        }
+
+    }
+
+}
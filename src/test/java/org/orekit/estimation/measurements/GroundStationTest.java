@@ -16,13 +16,20 @@
  */
 package org.orekit.estimation.measurements;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.hipparchus.analysis.UnivariateMatrixFunction;
 import org.hipparchus.analysis.differentiation.DSFactory;
 import org.hipparchus.analysis.differentiation.DerivativeStructure;
 import org.hipparchus.analysis.differentiation.FiniteDifferencesDifferentiator;
 import org.hipparchus.analysis.differentiation.UnivariateDifferentiableMatrixFunction;
+import org.hipparchus.geometry.euclidean.threed.FieldVector3D;
 import org.hipparchus.geometry.euclidean.threed.Line;
 import org.hipparchus.geometry.euclidean.threed.Vector3D;
 import org.hipparchus.optim.nonlinear.vector.leastsquares.LevenbergMarquardtOptimizer;
@@ -48,6 +55,7 @@ import org.orekit.frames.Transform;
 import org.orekit.orbits.OrbitType;
 import org.orekit.orbits.PositionAngle;
 import org.orekit.propagation.Propagator;
+import org.orekit.propagation.SpacecraftState;
 import org.orekit.propagation.conversion.NumericalPropagatorBuilder;
 import org.orekit.time.AbsoluteDate;
 import org.orekit.utils.Constants;
@@ -389,6 +397,140 @@ public class GroundStationTest {
 
     }
 
+    @Test
+    public void testDownlinkCache() throws OrekitException {
+
+        Context context = EstimationTestUtils.eccentricContext();
+        final GroundStation   station = context.stations.get(0);
+        final SpacecraftState state   = new SpacecraftState(context.initialOrbit);
+        final AbsoluteDate    arrival = state.getDate().shiftedBy(0.01);
+
+        // reference computation, without any cache
+        final Vector3D stationP = station.getOffsetFrame().getPVCoordinates(arrival, state.getFrame()).getPosition();
+        final double   delay    = station.signalTimeOfFlight(state.getPVCoordinates(), stationP, arrival);
+
+        final GroundStation.Downlink downlink = station.getDownlink(state, arrival);
+        Assert.assertEquals(0.0, arrival.durationFrom(downlink.getArrivalDate()), 1.0e-15);
+        Assert.assertEquals(0.0, Vector3D.distance(stationP, downlink.getStationPV().getPosition()), 1.0e-8);
+        Assert.assertEquals(delay, downlink.getDelay(), 1.0e-15);
+        Assert.assertEquals(0.0,
+                            downlink.getTransitState().getDate().durationFrom(arrival.shiftedBy(-delay)),
+                            1.0e-15);
+
+        // the geometry is shared for equal states at the same date, even if they are different instances
+        Assert.assertSame(downlink, station.getDownlink(state, arrival));
+        Assert.assertSame(downlink, station.getDownlink(new SpacecraftState(state.getOrbit(),
+                                                                            state.getAttitude(),
+                                                                            state.getMass()),
+                                                        arrival));
+
+        // the geometry is recomputed for different states or dates
+        Assert.assertNotSame(downlink, station.getDownlink(state.shiftedBy(1.0e-3), arrival));
+        Assert.assertNotSame(downlink, station.getDownlink(state, arrival.shiftedBy(1.0e-3)));
+        Assert.assertNotSame(downlink, station.getDownlink(state.addAdditionalState("extra", 1.0), arrival));
+
+        // the geometry is recomputed when station moves
+        final GroundStation.Downlink before = station.getDownlink(state, arrival);
+        station.getZenithOffsetDriver().setValue(100.0);
+        final GroundStation.Downlink after  = station.getDownlink(state, arrival);
+        Assert.assertNotSame(before, after);
+        Assert.assertEquals(100.0,
+                            Vector3D.distance(before.getStationPV().getPosition(), after.getStationPV().getPosition()),
+                            1.0e-6);
+
+    }
+
+    @Test
+    public void testOffsetDerivativesCache() throws OrekitException {
+
+        Context context = EstimationTestUtils.eccentricContext();
+        final GroundStation station = context.stations.get(0);
+
+        // the vectors are shared between measurements using compatible factories
+        final OffsetDerivatives od1 = station.getOffsetDerivatives(new DSFactory(6, 1), 3, 4, 5);
+        Assert.assertSame(od1, station.getOffsetDerivatives(new DSFactory(6, 1), 3, 4, 5));
+        Assert.assertNotSame(od1, station.getOffsetDerivatives(new DSFactory(9, 1), 6, 7, 8));
+        Assert.assertNotSame(od1, station.getOffsetDerivatives(new DSFactory(6, 1), 0, 1, 2));
+
+        // the vectors are recomputed when station moves
+        station.getEastOffsetDriver().setValue(10.0);
+        final OffsetDerivatives od2 = station.getOffsetDerivatives(new DSFactory(6, 1), 3, 4, 5);
+        Assert.assertNotSame(od1, od2);
+        Assert.assertEquals(10.0,
+                            FieldVector3D.distance(od1.getOrigin(), od2.getOrigin()).getValue(),
+                            1.0e-6);
+
+    }
+
+    @Test
+    public void testTransformCacheClearedOnOffsetChange() throws OrekitException {
+
+        Context context = EstimationTestUtils.eccentricContext();
+        final GroundStation station = context.stations.get(0);
+        final AbsoluteDate  date    = context.initialOrbit.getDate();
+        final Frame         parent  = station.getBaseFrame().getParent();
+
+        try {
+            Frame.setTransformCacheSize(8);
+            final Transform t0     = parent.getTransformTo(FramesFactory.getEME2000(), date);
+            final Vector3D  before = station.getOffsetFrame().getTransformTo(parent, date).transformPosition(Vector3D.ZERO);
+            Assert.assertSame(t0, parent.getTransformTo(FramesFactory.getEME2000(), date));
+
+            // changing the station offset invalidates all cached transforms
+            station.getEastOffsetDriver().setValue(10.0);
+            Assert.assertNotSame(t0, parent.getTransformTo(FramesFactory.getEME2000(), date));
+            final Vector3D  after  = station.getOffsetFrame().getTransformTo(parent, date).transformPosition(Vector3D.ZERO);
+            Assert.assertEquals(10.0, Vector3D.distance(before, after), 1.0e-6);
+
+        } finally {
+            Frame.setTransformCacheSize(0);
+        }
+
+    }
+
+    @Test
+    public void testConcurrentCaches()
+        throws OrekitException, InterruptedException, ExecutionException {
+
+        Context context = EstimationTestUtils.eccentricContext();
+        final GroundStation   station = context.stations.get(0);
+        final SpacecraftState state   = new SpacecraftState(context.initialOrbit);
+
+        // reference values computed sequentially on a separate station at the same location
+        final GroundStation reference = new GroundStation(station.getBaseFrame());
+        final int n = 50;
+        final double[] delays = new double[n];
+        for (int i = 0; i < n; ++i) {
+            delays[i] = reference.getDownlink(state, state.getDate().shiftedBy(0.1 * i)).getDelay();
+        }
+        final double[] zenith = reference.getOffsetDerivatives(new DSFactory(6, 1), 3, 4, 5).getZenith().getX().getAllDerivatives();
+
+        // same values computed concurrently with one shared station
+        final ExecutorService executor = Executors.newFixedThreadPool(8);
+        final List<Future<Boolean>> futures = new ArrayList<Future<Boolean>>();
+        for (int k = 0; k < 8; ++k) {
+            final int start = k;
+            futures.add(executor.submit(() -> {
+                boolean same = true;
+                for (int j = 0; j < 10 * n; ++j) {
+                    final int i = (start + 7 * j) % n;
+                    final DSFactory factory = new DSFactory(6 + (i % 3), 1);
+                    final OffsetDerivatives od = station.getOffsetDerivatives(factory, 3, 4, 5);
+                    same &= Arrays.equals(zenith,
+                                          station.getOffsetDerivatives(new DSFactory(6, 1), 3, 4, 5).getZenith().getX().getAllDerivatives());
+                    same &= od.getOrigin().getX().getFreeParameters() == factory.getCompiler().getFreeParameters();
+                    same &= station.getDownlink(state, state.getDate().shiftedBy(0.1 * i)).getDelay() == delays[i];
+                }
+                return same;
+            }));
+        }
+        executor.shutdown();
+        for (final Future<Boolean> future : futures) {
+            Assert.assertTrue(future.get());
+        }
+
+    }
+
     @Test
     public void testNonEllipsoid() throws OrekitException {
         Utils.setDataRoot("regular-data");
@@ -172,6 +172,66 @@ public class RangeTest {
 
     }
 
+    @Test
+    public void testAnalyticalDerivatives() throws OrekitException {
+
+        Context context = EstimationTestUtils.eccentricContext();
+
+        final NumericalPropagatorBuilder propagatorBuilder =
+                        context.createBuilder(OrbitType.KEPLERIAN, PositionAngle.TRUE, true,
+                                              1.0e-6, 60.0, 0.001);
+
+        // create perfect range measurements
+        for (final GroundStation station : context.stations) {
+            station.getEastOffsetDriver().setSelected(true);
+            station.getNorthOffsetDriver().setSelected(true);
+            station.getZenithOffsetDriver().setSelected(true);
+        }
+        final Propagator propagator = EstimationTestUtils.createPropagator(context.initialOrbit,
+                                                                           propagatorBuilder);
+        final List<ObservedMeasurement<?>> measurements =
+                        EstimationTestUtils.createMeasurements(propagator,
+                                                               new RangeMeasurementCreator(context),
+                                                               1.0, 3.0, 300.0);
+        propagator.setSlaveMode();
+
+        for (final ObservedMeasurement<?> measurement : measurements) {
+
+            final Range range = (Range) measurement;
+            Assert.assertFalse(range.isAnalyticalDerivatives());
+
+            // state not exactly at transit date, so velocity derivatives are not zero
+            final double          meanDelay = measurement.getObservedValue()[0] / Constants.SPEED_OF_LIGHT;
+            final AbsoluteDate    date      = measurement.getDate().shiftedBy(-0.75 * meanDelay);
+            final SpacecraftState state     = propagator.propagate(date);
+
+            final EstimatedMeasurement<Range> withDS = range.estimate(0, 0, state);
+            range.setAnalyticalDerivatives(true);
+            Assert.assertTrue(range.isAnalyticalDerivatives());
+            final EstimatedMeasurement<Range> analytical = range.estimate(0, 0, state);
+            range.setAnalyticalDerivatives(false);
+
+            Assert.assertEquals(withDS.getEstimatedValue()[0], analytical.getEstimatedValue()[0], 1.0e-7);
+            Assert.assertEquals(0.0, analytical.getDate().durationFrom(withDS.getDate()), 1.0e-15);
+            final double[] dsState         = withDS.getStateDerivatives()[0];
+            final double[] analyticalState = analytical.getStateDerivatives()[0];
+            for (int j = 0; j < 6; ++j) {
+                Assert.assertEquals(dsState[j], analyticalState[j], 1.0e-10 * FastMath.abs(dsState[j]) + 1.0e-15);
+            }
+            for (final ParameterDriver driver : new ParameterDriver[] {
+                range.getStation().getEastOffsetDriver(),
+                range.getStation().getNorthOffsetDriver(),
+                range.getStation().getZenithOffsetDriver()
+            }) {
+                final double ref = withDS.getParameterDerivatives(driver)[0];
+                Assert.assertEquals(ref, analytical.getParameterDerivatives(driver)[0],
+                                    1.0e-10 * FastMath.abs(ref) + 1.0e-15);
+            }
+
+        }
+
+    }
+
     @Test
     public void testStateDerivativesWithModifier() throws OrekitException {
 
@@ -16,9 +16,13 @@
  */
 package org.orekit.files.ccsds;
 
+import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -148,6 +152,56 @@ public class OEMParserTest {
         Assert.assertNull(file.getEphemeridesBlocks().get(2).getCovarianceMatrices().get(1).getLofType());
     }
 
+    @Test
+    public void testStreaming() throws OrekitException, URISyntaxException, IOException {
+        final String name = getClass().getResource("/ccsds/OEMExample.txt").toURI().getPath();
+        final OEMParser parser = new OEMParser().withMu(CelestialBodyFactory.getEarth().getGM());
+        final OEMFile reference = parser.parse(name);
+
+        final List<EphemeridesBlock> started = new ArrayList<EphemeridesBlock>();
+        final List<EphemeridesBlock> ended   = new ArrayList<EphemeridesBlock>();
+        final List<TimeStampedPVCoordinates> lines = new ArrayList<TimeStampedPVCoordinates>();
+        final OEMFile streamed;
+        try (BufferedReader reader = Files.newBufferedReader(Paths.get(name), StandardCharsets.UTF_8)) {
+            streamed = parser.parse(reader, name, new OEMHandler() {
+                public void startBlock(final EphemeridesBlock block) {
+                    Assert.assertEquals(started.size(), ended.size());
+                    started.add(block);
+                }
+                public void handleDataLine(final EphemeridesBlock block, final TimeStampedPVCoordinates dataLine) {
+                    Assert.assertSame(started.get(started.size() - 1), block);
+                    lines.add(dataLine);
+                }
+                public void endBlock(final EphemeridesBlock block) {
+                    Assert.assertSame(started.get(started.size() - 1), block);
+                    ended.add(block);
+                }
+            });
+        }
+
+        // metadata are available, but data lines are not stored
+        Assert.assertEquals(reference.getEphemeridesBlocks().size(), streamed.getEphemeridesBlocks().size());
+        Assert.assertEquals(reference.getEphemeridesBlocks().size(), started.size());
+        Assert.assertEquals(reference.getEphemeridesBlocks().size(), ended.size());
+        int index = 0;
+        for (int i = 0; i < streamed.getEphemeridesBlocks().size(); ++i) {
+            final EphemeridesBlock referenceBlock = reference.getEphemeridesBlocks().get(i);
+            final EphemeridesBlock streamedBlock  = streamed.getEphemeridesBlocks().get(i);
+            Assert.assertSame(streamedBlock, started.get(i));
+            Assert.assertEquals(referenceBlock.getMetaData().getObjectID(), streamedBlock.getMetaData().getObjectID());
+            Assert.assertEquals(0.0, referenceBlock.getStartTime().durationFrom(streamedBlock.getStartTime()), 1.0e-15);
+            Assert.assertTrue(streamedBlock.getEphemeridesDataLines().isEmpty());
+            for (final TimeStampedPVCoordinates expected : referenceBlock.getEphemeridesDataLines()) {
+                final TimeStampedPVCoordinates actual = lines.get(index++);
+                Assert.assertEquals(0.0, actual.getDate().durationFrom(expected.getDate()), 1.0e-15);
+                Assert.assertEquals(0.0, Vector3D.distance(expected.getPosition(), actual.getPosition()), 1.0e-15);
+                Assert.assertEquals(0.0, Vector3D.distance(expected.getVelocity(), actual.getVelocity()), 1.0e-15);
+            }
+        }
+        Assert.assertEquals(lines.size(), index);
+
+    }
+
     @Test
     public void testParseOEM1OrbitFile() throws OrekitException, IOException {
 
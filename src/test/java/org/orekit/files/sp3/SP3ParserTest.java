@@ -16,10 +16,17 @@
  */
 package org.orekit.files.sp3;
 
+import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.hipparchus.geometry.euclidean.threed.Vector3D;
 import org.junit.Assert;
@@ -85,6 +92,48 @@ public class SP3ParserTest {
         Assert.assertNull(file.getSatellites().get(null));
     }
 
+    @Test
+    public void testStreaming() throws OrekitException, IOException, URISyntaxException {
+        final String name = getClass().getResource("/sp3/sp3_a_example2.txt").toURI().getPath();
+        final SP3Parser parser = new SP3Parser();
+        final SP3File reference = parser.parse(name);
+
+        final Map<String, List<SP3Coordinate>> streamedCoordinates = new HashMap<String, List<SP3Coordinate>>();
+        final SP3File streamed;
+        try (BufferedReader reader = Files.newBufferedReader(Paths.get(name), StandardCharsets.UTF_8)) {
+            streamed = parser.parse(reader, name, new SP3Handler() {
+                public void init(final SP3File header) {
+                    Assert.assertEquals(25, header.getSatelliteCount());
+                    Assert.assertTrue(streamedCoordinates.isEmpty());
+                }
+                public void handleCoordinate(final String satelliteId, final SP3Coordinate coordinate) {
+                    List<SP3Coordinate> list = streamedCoordinates.get(satelliteId);
+                    if (list == null) {
+                        list = new ArrayList<SP3Coordinate>();
+                        streamedCoordinates.put(satelliteId, list);
+                    }
+                    list.add(coordinate);
+                }
+            });
+        }
+
+        Assert.assertEquals(reference.getSatelliteCount(), streamed.getSatelliteCount());
+        Assert.assertEquals(reference.getSatellites().size(), streamedCoordinates.size());
+        for (final Map.Entry<String, SP3Ephemeris> entry : reference.getSatellites().entrySet()) {
+            Assert.assertTrue(streamed.getSatellites().get(entry.getKey()).getCoordinates().isEmpty());
+            final List<SP3Coordinate> expected = entry.getValue().getCoordinates();
+            final List<SP3Coordinate> actual   = streamedCoordinates.get(entry.getKey());
+            Assert.assertEquals(expected.size(), actual.size());
+            for (int i = 0; i < expected.size(); ++i) {
+                Assert.assertEquals(0.0, actual.get(i).getDate().durationFrom(expected.get(i).getDate()), 1.0e-15);
+                Assert.assertEquals(0.0, Vector3D.distance(expected.get(i).getPosition(), actual.get(i).getPosition()), 1.0e-15);
+                Assert.assertEquals(0.0, Vector3D.distance(expected.get(i).getVelocity(), actual.get(i).getVelocity()), 1.0e-15);
+                Assert.assertEquals(expected.get(i).getClockCorrection(), actual.get(i).getClockCorrection(), 1.0e-15);
+            }
+        }
+
+    }
+
     @Test
     public void testParseSP3a2() throws OrekitException, IOException {
         // simple test for version sp3-a, contains p/v entries
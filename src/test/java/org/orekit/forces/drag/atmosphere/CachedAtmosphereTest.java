@@ -0,0 +1,207 @@
+/* Copyright 2002-2016 CS Systèmes d'Information
+ * Licensed to CS Systèmes d'Information (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.forces.drag.atmosphere;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.hipparchus.RealFieldElement;
+import org.hipparchus.geometry.euclidean.threed.FieldVector3D;
+import org.hipparchus.geometry.euclidean.threed.Vector3D;
+import org.hipparchus.util.FastMath;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.orekit.SolarInputs97to05;
+import org.orekit.Utils;
+import org.orekit.bodies.CelestialBodyFactory;
+import org.orekit.bodies.OneAxisEllipsoid;
+import org.orekit.errors.OrekitException;
+import org.orekit.errors.OrekitIllegalArgumentException;
+import org.orekit.frames.Frame;
+import org.orekit.frames.FramesFactory;
+import org.orekit.orbits.KeplerianOrbit;
+import org.orekit.orbits.PositionAngle;
+import org.orekit.propagation.Propagator;
+import org.orekit.propagation.analytical.KeplerianPropagator;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.time.FieldAbsoluteDate;
+import org.orekit.time.TimeScalesFactory;
+import org.orekit.utils.Constants;
+import org.orekit.utils.IERSConventions;
+import org.orekit.utils.PVCoordinatesProvider;
+
+public class CachedAtmosphereTest {
+
+    private OneAxisEllipsoid earth;
+    private PVCoordinatesProvider sun;
+    private Propagator propagator;
+
+    @Test
+    public void testExponential() throws OrekitException {
+        CountingAtmosphere raw = new CountingAtmosphere(new SimpleExponentialAtmosphere(earth, 4.0e-13, 500000.0, 60000.0));
+        CachedAtmosphere cached = new CachedAtmosphere(raw, earth, sun, 10800.0, 20000.0,
+                                                       FastMath.toRadians(10.0), FastMath.toRadians(15.0),
+                                                       1.0e-6);
+        int calls = 0;
+        for (double dt = 0; dt < 10800.0; dt += 1.0) {
+            final AbsoluteDate date = propagator.getInitialState().getDate().shiftedBy(dt);
+            final Vector3D     p    = propagator.getPVCoordinates(date, FramesFactory.getEME2000()).getPosition();
+            final double expected = raw.getRaw().getDensity(date, p, FramesFactory.getEME2000());
+            Assert.assertEquals(expected, cached.getDensity(date, p, FramesFactory.getEME2000()), 1.0e-8 * expected);
+            ++calls;
+        }
+
+        // density is exactly exponential, so all cells are accurate and nodes are shared
+        Assert.assertTrue(raw.getCount() < calls / 10);
+
+    }
+
+    @Test
+    public void testDTM2000() throws OrekitException {
+        CountingAtmosphere raw = new CountingAtmosphere(new DTM2000(SolarInputs97to05.getInstance(), sun, earth));
+        CachedAtmosphere cached = new CachedAtmosphere(raw, earth, sun, 10800.0, 20000.0,
+                                                       FastMath.toRadians(10.0), FastMath.toRadians(15.0),
+                                                       0.05);
+        int calls = 0;
+        double maxError = 0;
+        for (double dt = 0; dt < 10800.0; dt += 1.0) {
+            final AbsoluteDate date = propagator.getInitialState().getDate().shiftedBy(dt);
+            final Vector3D     p    = propagator.getPVCoordinates(date, FramesFactory.getEME2000()).getPosition();
+            final double expected = raw.getRaw().getDensity(date, p, FramesFactory.getEME2000());
+            final double error    = (cached.getDensity(date, p, FramesFactory.getEME2000()) - expected) / expected;
+            maxError = FastMath.max(maxError, FastMath.abs(error));
+            ++calls;
+        }
+
+        Assert.assertTrue(maxError <= 0.05);
+        Assert.assertTrue(raw.getCount() < calls / 2);
+
+    }
+
+    @Test
+    public void testClearCache() throws OrekitException {
+        CountingAtmosphere raw = new CountingAtmosphere(new SimpleExponentialAtmosphere(earth, 4.0e-13, 500000.0, 60000.0));
+        CachedAtmosphere cached = new CachedAtmosphere(raw, earth, sun, 10800.0, 20000.0,
+                                                       FastMath.toRadians(10.0), FastMath.toRadians(15.0),
+                                                       1.0e-6);
+        final AbsoluteDate date = propagator.getInitialState().getDate();
+        final Vector3D     p    = propagator.getInitialState().getPVCoordinates().getPosition();
+        final Frame        f    = propagator.getInitialState().getFrame();
+        cached.getDensity(date, p, f);
+        final int first = raw.getCount();
+        // 16 nodes, 1 reference point and 9 check points
+        Assert.assertEquals(26, first);
+        cached.getDensity(date, p, f);
+        Assert.assertEquals(first, raw.getCount());
+        cached.clearCache();
+        cached.getDensity(date, p, f);
+        Assert.assertEquals(2 * first, raw.getCount());
+        Assert.assertSame(raw, cached.getRawAtmosphere());
+        Assert.assertSame(earth.getBodyFrame(), cached.getFrame());
+    }
+
+    @Test
+    public void testSerialization()
+        throws OrekitException, IOException, ClassNotFoundException {
+        CachedAtmosphere cached = new CachedAtmosphere(new DTM2000(SolarInputs97to05.getInstance(), sun, earth),
+                                                       earth, sun, 10800.0, 20000.0,
+                                                       FastMath.toRadians(10.0), FastMath.toRadians(15.0),
+                                                       0.05);
+        final AbsoluteDate date = propagator.getInitialState().getDate();
+        final Vector3D     p    = propagator.getInitialState().getPVCoordinates().getPosition();
+        final Frame        f    = propagator.getInitialState().getFrame();
+
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        ObjectOutputStream    oos = new ObjectOutputStream(bos);
+        oos.writeObject(cached);
+        ByteArrayInputStream  bis = new ByteArrayInputStream(bos.toByteArray());
+        ObjectInputStream     ois = new ObjectInputStream(bis);
+        CachedAtmosphere deserialized = (CachedAtmosphere) ois.readObject();
+
+        Assert.assertTrue(deserialized.getRawAtmosphere() instanceof DTM2000);
+        Assert.assertEquals(cached.getDensity(date, p, f), deserialized.getDensity(date, p, f), 0.0);
+    }
+
+    @Test(expected=OrekitIllegalArgumentException.class)
+    public void testWrongStep() {
+        new CachedAtmosphere(new SimpleExponentialAtmosphere(earth, 4.0e-13, 500000.0, 60000.0),
+                             earth, sun, 10800.0, 0.0, 0.1, 0.1, 1.0e-6);
+    }
+
+    @Before
+    public void setUp() throws OrekitException {
+        Utils.setDataRoot("regular-data");
+        earth = new OneAxisEllipsoid(Constants.WGS84_EARTH_EQUATORIAL_RADIUS,
+                                     Constants.WGS84_EARTH_FLATTENING,
+                                     FramesFactory.getITRF(IERSConventions.IERS_2010, true));
+        sun   = CelestialBodyFactory.getSun();
+        final AbsoluteDate date = new AbsoluteDate(2003, 3, 12, 0, 0, 0.0, TimeScalesFactory.getUTC());
+        propagator = new KeplerianPropagator(new KeplerianOrbit(6878137.0, 0.001, FastMath.toRadians(51.6),
+                                                                FastMath.toRadians(20.0), FastMath.toRadians(50.0),
+                                                                0.0, PositionAngle.MEAN,
+                                                                FramesFactory.getEME2000(), date,
+                                                                Constants.EIGEN5C_EARTH_MU));
+    }
+
+    private static class CountingAtmosphere implements Atmosphere {
+
+        private static final long serialVersionUID = 1L;
+
+        private final Atmosphere raw;
+        private final AtomicInteger count;
+
+        CountingAtmosphere(final Atmosphere raw) {
+            this.raw   = raw;
+            this.count = new AtomicInteger();
+        }
+
+        public Atmosphere getRaw() {
+            return raw;
+        }
+
+        public int getCount() {
+            return count.get();
+        }
+
+        @Override
+        public Frame getFrame() {
+            return raw.getFrame();
+        }
+
+        @Override
+        public double getDensity(AbsoluteDate date, Vector3D position, Frame frame)
+            throws OrekitException {
+            count.incrementAndGet();
+            return raw.getDensity(date, position, frame);
+        }
+
+        @Override
+        public <T extends RealFieldElement<T>> T getDensity(FieldAbsoluteDate<T> date,
+                                                            FieldVector3D<T> position,
+                                                            Frame frame) throws OrekitException {
+            count.incrementAndGet();
+            return raw.getDensity(date, position, frame);
+        }
+
+    }
+
+}
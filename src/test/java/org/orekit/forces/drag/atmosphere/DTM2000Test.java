@@ -16,6 +16,17 @@
  */
 package org.orekit.forces.drag.atmosphere;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.hipparchus.geometry.euclidean.threed.Rotation;
 import org.hipparchus.geometry.euclidean.threed.RotationConvention;
@@ -34,6 +45,7 @@ import org.orekit.frames.Frame;
 import org.orekit.frames.FramesFactory;
 import org.orekit.frames.Transform;
 import org.orekit.time.AbsoluteDate;
+import org.orekit.time.TimeScalesFactory;
 import org.orekit.utils.IERSConventions;
 import org.orekit.utils.PVCoordinatesProvider;
 
@@ -189,6 +201,111 @@ public class DTM2000Test {
         Assert.assertEquals(atm.getDensity(date, pEcef, ecef), actual, 0.0);
     }
 
+    @Test
+    public void testResult() throws OrekitException {
+        Frame itrf = FramesFactory.getITRF(IERSConventions.IERS_2010, true);
+        OneAxisEllipsoid earth = new OneAxisEllipsoid(6378136.460, 1.0 / 298.257222101, itrf);
+        DTM2000 atm = new DTM2000(SolarInputs97to05.getInstance(), CelestialBodyFactory.getSun(), earth);
+        DTM2000.Result result = atm.compute(185, 800*1000, 0, FastMath.toRadians(40), 16*FastMath.PI/12, 150, 150, 0, 0);
+        Assert.assertEquals(1.8710001353820e-14, result.getDensity(), 1.8710001353820e-14 * 1e-14);
+        Assert.assertEquals(1165.4839828984, result.getT(),    1165.4839828984 * 1e-13);
+        Assert.assertEquals(1165.4919505608, result.getTinf(), 1165.4919505608 * 1e-13);
+
+        // compute does not store anything for the legacy getters
+        Assert.assertEquals(0.0, atm.getTinf(), 0.0);
+
+        // the legacy getters reflect the last legacy computation
+        Assert.assertEquals(result.getDensity(),
+                            atm.getDensity(185, 800*1000, 0, FastMath.toRadians(40), 16*FastMath.PI/12, 150, 150, 0, 0),
+                            0.0);
+        double sum = 0;
+        for (int i = DTM2000.HYDROGEN; i <= DTM2000.ATOMIC_NITROGEN; ++i) {
+            sum += result.getPartialDensities(i);
+            Assert.assertEquals(atm.getPartialDensities(i), result.getPartialDensities(i), 0.0);
+        }
+        Assert.assertEquals(result.getDensity(), sum, 1.0e-15 * sum);
+        Assert.assertEquals(atm.getMam(), result.getMam(), 0.0);
+        try {
+            result.getPartialDensities(7);
+            Assert.fail("an exception should have been thrown");
+        } catch (IllegalArgumentException iae) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testConcurrentComputation()
+        throws OrekitException, InterruptedException, ExecutionException {
+
+        Frame itrf = FramesFactory.getITRF(IERSConventions.IERS_2010, true);
+        OneAxisEllipsoid earth = new OneAxisEllipsoid(6378136.460, 1.0 / 298.257222101, itrf);
+        final DTM2000 atm = new DTM2000(SolarInputs97to05.getInstance(), CelestialBodyFactory.getSun(), earth);
+
+        // reference values computed sequentially
+        final int n = 200;
+        final double[] reference = new double[n];
+        for (int i = 0; i < n; ++i) {
+            reference[i] = atm.compute(1 + i % 365, (200 + 3 * i) * 1000, 0.03 * i, FastMath.sin(0.1 * i),
+                                       0.05 * i, 70 + i % 150, 80 + i % 130, i % 9, (i + 4) % 9).getTinf();
+        }
+
+        // same values computed concurrently with one shared instance
+        final ExecutorService executor = Executors.newFixedThreadPool(8);
+        final List<Future<Boolean>> futures = new ArrayList<Future<Boolean>>();
+        for (int k = 0; k < 8; ++k) {
+            final int start = k;
+            futures.add(executor.submit(() -> {
+                boolean same = true;
+                for (int j = 0; j < 10 * n; ++j) {
+                    final int i = (start + 7 * j) % n;
+                    final double tinf =
+                            atm.compute(1 + i % 365, (200 + 3 * i) * 1000, 0.03 * i, FastMath.sin(0.1 * i),
+                                        0.05 * i, 70 + i % 150, 80 + i % 130, i % 9, (i + 4) % 9).getTinf();
+                    same &= tinf == reference[i];
+                }
+                return same;
+            }));
+        }
+        executor.shutdown();
+        for (final Future<Boolean> future : futures) {
+            Assert.assertTrue(future.get());
+        }
+
+    }
+
+    @Test
+    public void testSerialization()
+        throws OrekitException, IOException, ClassNotFoundException {
+
+        Frame itrf = FramesFactory.getITRF(IERSConventions.IERS_2010, true);
+        OneAxisEllipsoid earth = new OneAxisEllipsoid(6378136.460, 1.0 / 298.257222101, itrf);
+        DTM2000 atm = new DTM2000(SolarInputs97to05.getInstance(), CelestialBodyFactory.getSun(), earth);
+        AbsoluteDate date = new AbsoluteDate(2003, 4, 12, 10, 33, 17.0, TimeScalesFactory.getUTC());
+        Vector3D position = new Vector3D(6378137 + 300e3, 1.0e5, 2.0e5);
+        final double density = atm.getDensity(date, position, itrf);
+        final double legacy  = atm.getDensity(185, 800*1000, 0, FastMath.toRadians(40), 16*FastMath.PI/12, 150, 150, 0, 0);
+        Assert.assertTrue(atm.getTinf() > 0);
+
+        // the last result used by the legacy getters is not serialized
+        DTM2000 deserialized = (DTM2000) roundTrip(atm);
+        Assert.assertEquals(0.0, deserialized.getTinf(), 0.0);
+        Assert.assertEquals(density, deserialized.getDensity(date, position, itrf), 0.0);
+        Assert.assertEquals(legacy,
+                            deserialized.getDensity(185, 800*1000, 0, FastMath.toRadians(40), 16*FastMath.PI/12, 150, 150, 0, 0),
+                            0.0);
+        Assert.assertEquals(atm.getTinf(), deserialized.getTinf(), 0.0);
+
+    }
+
+    private Object roundTrip(final Object o) throws IOException, ClassNotFoundException {
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        ObjectOutputStream    oos = new ObjectOutputStream(bos);
+        oos.writeObject(o);
+        ByteArrayInputStream  bis = new ByteArrayInputStream(bos.toByteArray());
+        ObjectInputStream     ois = new ObjectInputStream(bis);
+        return ois.readObject();
+    }
+
     @Before
     public void setUp() {
         Utils.setDataRoot("regular-data");
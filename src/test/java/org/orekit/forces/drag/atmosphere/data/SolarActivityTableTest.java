@@ -0,0 +1,133 @@
+/* Copyright 2002-2016 CS Systèmes d'Information
+ * Licensed to CS Systèmes d'Information (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.forces.drag.atmosphere.data;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.orekit.Utils;
+import org.orekit.errors.OrekitException;
+import org.orekit.errors.OrekitMessages;
+import org.orekit.forces.drag.atmosphere.data.MarshallSolarActivityFutureEstimation.StrengthLevel;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.time.TimeScale;
+import org.orekit.time.TimeScalesFactory;
+
+public class SolarActivityTableTest {
+
+    private TimeScale utc;
+
+    @Test
+    public void testCSSIRange() throws OrekitException {
+        SolarActivityTable table = SolarActivityTable.loadCSSI("^SW-sample\\.txt$");
+        Assert.assertEquals(0.0, table.getMinDate().durationFrom(new AbsoluteDate(2003, 3,  8, utc)), 1.0e-10);
+        Assert.assertEquals(0.0, table.getMaxDate().durationFrom(new AbsoluteDate(2003, 3, 18, utc)), 1.0e-10);
+        try {
+            table.getMeanFlux(new AbsoluteDate(2003, 3, 7, 23, 59, 59.0, utc));
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitException oe) {
+            Assert.assertEquals(OrekitMessages.NO_SOLAR_ACTIVITY_AT_DATE, oe.getSpecifier());
+        }
+        try {
+            table.getMeanFlux(new AbsoluteDate(2003, 3, 18, 0, 0, 1.0, utc));
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitException oe) {
+            Assert.assertEquals(OrekitMessages.NO_SOLAR_ACTIVITY_AT_DATE, oe.getSpecifier());
+        }
+        Assert.assertEquals(153.0, table.getDailyFlux(table.getMaxDate()), 1.0e-10);
+    }
+
+    @Test
+    public void testCSSIValues() throws OrekitException {
+        SolarActivityTable table = SolarActivityTable.loadCSSI("^SW-sample\\.txt$");
+        AbsoluteDate date = new AbsoluteDate(2003, 3, 12, 10, 30, 0.0, utc);
+        Assert.assertEquals(138.0,  table.getDailyFlux(date),      1.0e-10);
+        Assert.assertEquals(138.0,  table.getInstantFlux(date),    1.0e-10);
+        Assert.assertEquals(125.7,  table.getAverageFlux(date),    1.0e-10);
+        Assert.assertEquals(125.7,  table.getMeanFlux(date),       1.0e-10);
+        Assert.assertEquals(2.0,    table.getThreeHourlyKP(date),  1.0e-10);
+        Assert.assertEquals(1.9375, table.get24HoursKp(date),      1.0e-10);
+        double[] ap = table.getAp(date);
+        Assert.assertEquals(7, ap.length);
+        Assert.assertEquals(10.0,  ap[0], 1.0e-10);
+        Assert.assertEquals( 7.0,  ap[1], 1.0e-10);
+        Assert.assertEquals( 9.0,  ap[2], 1.0e-10);
+        Assert.assertEquals( 9.0,  ap[3], 1.0e-10);
+        Assert.assertEquals(18.0,  ap[4], 1.0e-10);
+        Assert.assertEquals(5.875, ap[5], 1.0e-10);
+        Assert.assertEquals(3.125, ap[6], 1.0e-10);
+    }
+
+    @Test
+    public void testCSSICorrupted() {
+        try {
+            SolarActivityTable.loadCSSI("^Jan2011F10\\.txt$");
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitException oe) {
+            Assert.assertEquals(OrekitMessages.NOT_A_CSSI_SPACE_WEATHER_FILE, oe.getSpecifier());
+        }
+    }
+
+    @Test
+    public void testMSAFE() throws OrekitException {
+        MarshallSolarActivityFutureEstimation msafe =
+                new MarshallSolarActivityFutureEstimation("^Jan2011F10\\.txt$", StrengthLevel.AVERAGE);
+        SolarActivityTable table = SolarActivityTable.fromMSAFE(msafe);
+        Assert.assertEquals(0.0, table.getMaxDate().durationFrom(msafe.getMaxDate()), 1.0e-10);
+        for (AbsoluteDate noon = new AbsoluteDate(2011, 2, 1, 12, 0, 0.0, utc);
+             noon.compareTo(new AbsoluteDate(2011, 5, 1, utc)) < 0;
+             noon = noon.shiftedBy(86400.0)) {
+            Assert.assertEquals(msafe.getMeanFlux(noon), table.getMeanFlux(noon), 1.0e-10);
+            final AbsoluteDate midSlot = noon.shiftedBy(-1.5 * 3600.0);
+            Assert.assertEquals(msafe.get24HoursKp(midSlot), table.getThreeHourlyKP(midSlot), 1.0e-10);
+        }
+    }
+
+    @Test
+    public void testSerialization() throws OrekitException, IOException, ClassNotFoundException {
+        SolarActivityTable table = SolarActivityTable.loadCSSI("^SW-sample\\.txt$");
+
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        ObjectOutputStream    oos = new ObjectOutputStream(bos);
+        oos.writeObject(table);
+        Assert.assertTrue(bos.size() < 4000);
+
+        ByteArrayInputStream bis = new ByteArrayInputStream(bos.toByteArray());
+        ObjectInputStream    ois = new ObjectInputStream(bis);
+        SolarActivityTable deserialized = (SolarActivityTable) ois.readObject();
+        for (AbsoluteDate date = table.getMinDate();
+             date.compareTo(table.getMaxDate()) < 0;
+             date = date.shiftedBy(1234.0)) {
+            Assert.assertEquals(table.getMeanFlux(date),      deserialized.getMeanFlux(date),      1.0e-15);
+            Assert.assertEquals(table.getThreeHourlyKP(date), deserialized.getThreeHourlyKP(date), 1.0e-15);
+            Assert.assertArrayEquals(table.getAp(date),       deserialized.getAp(date),            1.0e-15);
+        }
+    }
+
+    @Before
+    public void setUp() throws OrekitException {
+        Utils.setDataRoot("regular-data:atmosphere");
+        utc = TimeScalesFactory.getUTC();
+    }
+
+}
@@ -0,0 +1,186 @@
+/* Copyright 2002-2016 CS Systèmes d'Information
+ * Licensed to CS Systèmes d'Information (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.forces.gravity;
+
+import org.hipparchus.geometry.euclidean.threed.Vector3D;
+import org.hipparchus.ode.nonstiff.DormandPrince853Integrator;
+import org.hipparchus.random.RandomGenerator;
+import org.hipparchus.random.Well19937a;
+import org.hipparchus.util.FastMath;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.orekit.Utils;
+import org.orekit.errors.OrekitException;
+import org.orekit.errors.OrekitIllegalArgumentException;
+import org.orekit.forces.ForceModel;
+import org.orekit.forces.gravity.potential.GRGSFormatReader;
+import org.orekit.forces.gravity.potential.GravityFieldFactory;
+import org.orekit.forces.gravity.potential.NormalizedSphericalHarmonicsProvider;
+import org.orekit.frames.Frame;
+import org.orekit.frames.FramesFactory;
+import org.orekit.orbits.KeplerianOrbit;
+import org.orekit.orbits.Orbit;
+import org.orekit.orbits.OrbitType;
+import org.orekit.orbits.PositionAngle;
+import org.orekit.propagation.SpacecraftState;
+import org.orekit.propagation.numerical.NumericalPropagator;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.time.TimeScalesFactory;
+import org.orekit.utils.IERSConventions;
+
+public class GriddedAttractionModelTest {
+
+    private Frame itrf;
+    private AbsoluteDate date;
+    private NormalizedSphericalHarmonicsProvider provider;
+    private HolmesFeatherstoneAttractionModel exact;
+
+    @Test
+    public void testInterpolationAccuracy() throws OrekitException {
+
+        GriddedAttractionModel gridded =
+                new GriddedAttractionModel(itrf, exact, date, 6.6e6, 7.4e6, 9, FastMath.toRadians(0.5));
+        Assert.assertEquals(0, gridded.getBuiltTiles());
+        Assert.assertEquals(0.0, gridded.getMaxAbsoluteError(), 0.0);
+        Assert.assertEquals(0.0, gridded.getMaxRelativeError(), 0.0);
+
+        // sample a limited region, so only a few tiles are built
+        RandomGenerator random = new Well19937a(0x3e1c2d7a0b9f4e65L);
+        double maxRelative = 0;
+        for (int i = 0; i < 1000; ++i) {
+            final Vector3D position = new Vector3D(FastMath.toRadians(10 + 5 * random.nextDouble()),
+                                                   FastMath.toRadians(40 + 5 * random.nextDouble())).
+                                      scalarMultiply(6.7e6 + 6.0e5 * random.nextDouble());
+            final Vector3D ref = new Vector3D(exact.gradient(date, position));
+            final Vector3D g   = new Vector3D(gridded.gradient(position));
+            maxRelative = FastMath.max(maxRelative, Vector3D.distance(ref, g) / ref.getNorm());
+        }
+        Assert.assertTrue(maxRelative < 1.0e-4);
+        Assert.assertTrue(gridded.getBuiltTiles() > 0);
+        Assert.assertTrue(gridded.getBuiltTiles() <= 4);
+        Assert.assertTrue(gridded.getBuiltTiles() < gridded.getTotalTiles());
+        Assert.assertTrue(gridded.getMaxAbsoluteError() > 0);
+        Assert.assertTrue(gridded.getMaxRelativeError() < 1.0e-4);
+
+    }
+
+    @Test
+    public void testPolarAccuracy() throws OrekitException {
+
+        GriddedAttractionModel gridded =
+                new GriddedAttractionModel(itrf, exact, date, 6.9e6, 7.1e6, 5, FastMath.toRadians(0.5));
+
+        // sample the polar caps, including the cells surrounding the poles
+        // and the poles themselves
+        RandomGenerator random = new Well19937a(0x61d4c9e2f3a8b750L);
+        double maxRelative = 0;
+        for (int i = 0; i < 2000; ++i) {
+            final double latitude = (i % 2 == 0 ? 1 : -1) * FastMath.toRadians(90 - 2 * random.nextDouble());
+            final Vector3D position = new Vector3D(2 * FastMath.PI * random.nextDouble(), latitude).
+                                      scalarMultiply(6.9e6 + 2.0e5 * random.nextDouble());
+            final Vector3D ref = new Vector3D(exact.gradient(date, position));
+            final Vector3D g   = new Vector3D(gridded.gradient(position));
+            maxRelative = FastMath.max(maxRelative, Vector3D.distance(ref, g) / ref.getNorm());
+        }
+        Assert.assertTrue(maxRelative < 1.0e-4);
+        for (final double z : new double[] { -7.0e6, 7.0e6 }) {
+            final Vector3D pole = new Vector3D(0, 0, z);
+            final Vector3D ref  = new Vector3D(exact.gradient(date, new Vector3D(1.0, 0, z)));
+            final Vector3D g    = new Vector3D(gridded.gradient(pole));
+            Assert.assertEquals(0.0, Vector3D.distance(ref, g) / ref.getNorm(), 1.0e-4);
+        }
+
+        // the check points of the polar tiles include the cells surrounding the poles
+        Assert.assertTrue(gridded.getMaxAbsoluteError() > 0);
+        Assert.assertTrue(gridded.getMaxRelativeError() < 1.0e-4);
+
+    }
+
+    @Test
+    public void testOutsideGrid() throws OrekitException {
+        GriddedAttractionModel gridded =
+                new GriddedAttractionModel(itrf, exact, date, 6.6e6, 7.4e6, 9, FastMath.toRadians(0.5));
+        final Vector3D position = new Vector3D(0.3, 0.2).scalarMultiply(4.2e7);
+        Assert.assertArrayEquals(exact.gradient(date, position), gridded.gradient(position), 0.0);
+        Assert.assertEquals(0, gridded.getBuiltTiles());
+    }
+
+    @Test
+    public void testCentralAttractionChange() throws OrekitException {
+        GriddedAttractionModel gridded =
+                new GriddedAttractionModel(itrf, exact, date, 6.6e6, 7.4e6, 9, FastMath.toRadians(0.5));
+        final Vector3D position = new Vector3D(0.3, 0.2).scalarMultiply(7.0e6);
+        final double[] g1 = gridded.gradient(position);
+        gridded.getParameterDriver(NewtonianAttraction.CENTRAL_ATTRACTION_COEFFICIENT).setValue(2 * provider.getMu());
+        final double[] g2 = gridded.gradient(position);
+        for (int i = 0; i < 3; ++i) {
+            Assert.assertEquals(2 * g1[i], g2[i], 1.0e-15 * FastMath.abs(g1[i]));
+        }
+    }
+
+    @Test
+    public void testPropagation() throws OrekitException {
+        final Orbit orbit = new KeplerianOrbit(7.0e6, 1.0e-3, FastMath.toRadians(51.6), 0.5, 1.0, 2.0,
+                                               PositionAngle.MEAN, FramesFactory.getEME2000(), date,
+                                               provider.getMu());
+        final GriddedAttractionModel gridded =
+                new GriddedAttractionModel(itrf, exact, date, 6.9e6, 7.1e6, 5, FastMath.toRadians(1.0));
+        final SpacecraftState s1 = propagate(orbit, exact);
+        final SpacecraftState s2 = propagate(orbit, gridded);
+        Assert.assertEquals(0.0,
+                            Vector3D.distance(s1.getPVCoordinates().getPosition(), s2.getPVCoordinates().getPosition()),
+                            0.5);
+    }
+
+    @Test(expected=OrekitIllegalArgumentException.class)
+    public void testNotEnoughShells() throws OrekitException {
+        new GriddedAttractionModel(itrf, exact, date, 6.6e6, 7.4e6, 3, FastMath.toRadians(0.5));
+    }
+
+    @Test(expected=OrekitIllegalArgumentException.class)
+    public void testWrongRadii() throws OrekitException {
+        new GriddedAttractionModel(itrf, exact, date, 7.4e6, 6.6e6, 9, FastMath.toRadians(0.5));
+    }
+
+    @Test(expected=OrekitIllegalArgumentException.class)
+    public void testTooLargeStep() throws OrekitException {
+        new GriddedAttractionModel(itrf, exact, date, 6.6e6, 7.4e6, 9, 1.0);
+    }
+
+    private SpacecraftState propagate(final Orbit orbit, final ForceModel model)
+        throws OrekitException {
+        final double[][] tolerances = NumericalPropagator.tolerances(0.001, orbit, OrbitType.CARTESIAN);
+        final NumericalPropagator propagator =
+                new NumericalPropagator(new DormandPrince853Integrator(0.001, 300.0, tolerances[0], tolerances[1]));
+        propagator.setOrbitType(OrbitType.CARTESIAN);
+        propagator.addForceModel(model);
+        propagator.setInitialState(new SpacecraftState(orbit));
+        return propagator.propagate(orbit.getDate().shiftedBy(orbit.getKeplerianPeriod()));
+    }
+
+    @Before
+    public void setUp() throws OrekitException {
+        Utils.setDataRoot("regular-data:potential/grgs-format");
+        GravityFieldFactory.addPotentialCoefficientsReader(new GRGSFormatReader("grim4s4_gr", true));
+        provider = GravityFieldFactory.getNormalizedProvider(20, 20);
+        itrf     = FramesFactory.getITRF(IERSConventions.IERS_2010, true);
+        date     = new AbsoluteDate(2005, 3, 5, 0, 24, 0.0, TimeScalesFactory.getTAI());
+        exact    = new HolmesFeatherstoneAttractionModel(itrf, provider);
+    }
+
+}
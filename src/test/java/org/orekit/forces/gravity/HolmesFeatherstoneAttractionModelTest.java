@@ -17,6 +17,13 @@
 package org.orekit.forces.gravity;
 
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
 import org.hipparchus.Field;
 import org.hipparchus.analysis.differentiation.DSFactory;
 import org.hipparchus.analysis.differentiation.DerivativeStructure;
@@ -44,6 +51,7 @@ import org.orekit.bodies.CelestialBodyFactory;
 import org.orekit.errors.OrekitException;
 import org.orekit.forces.AbstractForceModelTest;
 import org.orekit.forces.ForceModel;
+import org.orekit.forces.gravity.HolmesFeatherstoneAttractionModel.GradientHessian;
 import org.orekit.forces.gravity.potential.GRGSFormatReader;
 import org.orekit.forces.gravity.potential.GravityFieldFactory;
 import org.orekit.forces.gravity.potential.ICGEMFormatReader;
@@ -392,6 +400,58 @@ public class HolmesFeatherstoneAttractionModelTest extends AbstractForceModelTes
 
     }
 
+    @Test
+    public void testWorkspaceReuse() throws OrekitException, InterruptedException {
+
+        NormalizedSphericalHarmonicsProvider provider = new GleasonProvider(50, 20);
+        HolmesFeatherstoneAttractionModel shared = new HolmesFeatherstoneAttractionModel(itrf, provider);
+
+        final List<Vector3D> positions = new ArrayList<Vector3D>();
+        for (double theta = 0.05; theta < 3.11; theta += 0.3) {
+            positions.add(new Vector3D(1.3 * theta, 0.5 * FastMath.PI - theta).scalarMultiply(1.25));
+        }
+
+        // interleaved calls on a single instance must give the same results
+        // as the first call on fresh instances
+        for (final Vector3D position : positions) {
+            shared.gradientHessian(null, position);
+            shared.nonCentralPart(null, position);
+            checkSameEvaluation(new HolmesFeatherstoneAttractionModel(itrf, provider), shared, position);
+        }
+
+        // concurrent calls on a single instance must not interfere with each other
+        final AtomicReference<Throwable> failure = new AtomicReference<Throwable>();
+        final ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 64; ++i) {
+            final Vector3D position = positions.get(i % positions.size());
+            executor.execute(() -> {
+                try {
+                    checkSameEvaluation(new HolmesFeatherstoneAttractionModel(itrf, provider), shared, position);
+                } catch (OrekitException | AssertionError e) {
+                    failure.set(e);
+                }
+            });
+        }
+        executor.shutdown();
+        Assert.assertTrue(executor.awaitTermination(1, TimeUnit.MINUTES));
+        Assert.assertNull(failure.get());
+
+    }
+
+    private void checkSameEvaluation(final HolmesFeatherstoneAttractionModel reference,
+                                     final HolmesFeatherstoneAttractionModel model,
+                                     final Vector3D position)
+        throws OrekitException {
+        Assert.assertEquals(reference.nonCentralPart(null, position), model.nonCentralPart(null, position), 0.0);
+        Assert.assertArrayEquals(reference.gradient(null, position), model.gradient(null, position), 0.0);
+        final GradientHessian refGH = reference.gradientHessian(null, position);
+        final GradientHessian gh    = model.gradientHessian(null, position);
+        Assert.assertArrayEquals(refGH.getGradient(), gh.getGradient(), 0.0);
+        for (int i = 0; i < 3; ++i) {
+            Assert.assertArrayEquals(refGH.getHessian()[i], gh.getHessian()[i], 0.0);
+        }
+    }
+
     @Test
     public void testHessian() throws OrekitException {
 
@@ -0,0 +1,166 @@
+/* Copyright 2002-2016 CS Systèmes d'Information
+ * Licensed to CS Systèmes d'Information (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.frames;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.orekit.Utils;
+import org.orekit.data.DataProvidersManager;
+import org.orekit.errors.OrekitException;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.time.TimeScale;
+import org.orekit.time.TimeScalesFactory;
+import org.orekit.utils.IERSConventions;
+
+public class EOPSnapshotTest {
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    @Test
+    public void testRoundTrip() throws OrekitException, IOException {
+
+        // reference values, loaded from the regular data files
+        final TimeScale utc = TimeScalesFactory.getUTC();
+        final AbsoluteDate[] dates = new AbsoluteDate[] {
+            new AbsoluteDate(1970, 3, 5, 12, 0, 0.0, utc),
+            new AbsoluteDate(2004, 2, 14, 6, 30, 0.0, utc),
+            new AbsoluteDate(2004, 9, 1, 0, 0, 0.0, utc)
+        };
+        final double[] offsets = new double[dates.length];
+        final double[] dut1    = new double[dates.length];
+        final double[] lod     = new double[dates.length];
+        final double[] xp      = new double[dates.length];
+        final double[] yp      = new double[dates.length];
+        final EOPHistory reference = FramesFactory.getEOPHistory(IERSConventions.IERS_2010, true);
+        for (int i = 0; i < dates.length; ++i) {
+            offsets[i] = utc.offsetFromTAI(dates[i]);
+            dut1[i]    = reference.getUT1MinusUTC(dates[i]);
+            lod[i]     = reference.getLOD(dates[i]);
+            xp[i]      = reference.getPoleCorrection(dates[i]).getXp();
+            yp[i]      = reference.getPoleCorrection(dates[i]).getYp();
+        }
+
+        final File snapshot = new File(tempFolder.getRoot(), "eop.snapshot");
+        EOPSnapshot.write(snapshot);
+
+        // reload from snapshot, with an empty data path
+        Utils.setDataRoot("regular-data");
+        Assert.assertTrue(EOPSnapshot.load(snapshot));
+        System.setProperty(DataProvidersManager.OREKIT_DATA_PATH, tempFolder.newFolder().getAbsolutePath());
+
+        final TimeScale reloadedUTC = TimeScalesFactory.getUTC();
+        final EOPHistory reloaded = FramesFactory.getEOPHistory(IERSConventions.IERS_2010, true);
+        for (int i = 0; i < dates.length; ++i) {
+            Assert.assertEquals(offsets[i], reloadedUTC.offsetFromTAI(dates[i]), 1.0e-15);
+            Assert.assertEquals(dut1[i],    reloaded.getUT1MinusUTC(dates[i]), 1.0e-15);
+            Assert.assertEquals(lod[i],     reloaded.getLOD(dates[i]), 1.0e-15);
+            Assert.assertEquals(xp[i],      reloaded.getPoleCorrection(dates[i]).getXp(), 1.0e-15);
+            Assert.assertEquals(yp[i],      reloaded.getPoleCorrection(dates[i]).getYp(), 1.0e-15);
+        }
+        Assert.assertEquals(reference.getStartDate(), reloaded.getStartDate());
+        Assert.assertEquals(reference.getEndDate(),   reloaded.getEndDate());
+
+        // frames can be built on top of the snapshot
+        final Frame itrf = FramesFactory.getITRF(IERSConventions.IERS_2010, true);
+        Assert.assertNotNull(itrf.getTransformTo(FramesFactory.getGCRF(), dates[1]));
+
+        // no data files have been read
+        Assert.assertTrue(DataProvidersManager.getInstance().getLoadedDataNames().isEmpty());
+
+    }
+
+    @Test
+    public void testStaleSource() throws OrekitException, IOException {
+
+        // set up a data directory containing only UTC-TAI history
+        final File dataDir = tempFolder.newFolder("data");
+        final File history = new File(dataDir, "UTC-TAI.history");
+        Files.copy(new File(getClass().getClassLoader().getResource("regular-data/UTC-TAI.history").getFile()).toPath(),
+                   history.toPath());
+        resetDataPath(dataDir);
+        final double offset =
+                TimeScalesFactory.getUTC().offsetFromTAI(new AbsoluteDate(2005, 1, 1, TimeScalesFactory.getTAI()));
+
+        final File snapshot = new File(tempFolder.getRoot(), "utc.snapshot");
+        EOPSnapshot.write(snapshot);
+
+        resetDataPath(dataDir);
+        Assert.assertTrue(EOPSnapshot.load(snapshot));
+        Assert.assertEquals(offset,
+                            TimeScalesFactory.getUTC().offsetFromTAI(new AbsoluteDate(2005, 1, 1, TimeScalesFactory.getTAI())),
+                            1.0e-15);
+
+        // change the source file, the snapshot becomes stale
+        Files.write(history.toPath(), " \n".getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+        resetDataPath(dataDir);
+        Assert.assertFalse(EOPSnapshot.load(snapshot));
+
+        // remove the source file, the snapshot is still stale
+        Assert.assertTrue(history.delete());
+        resetDataPath(dataDir);
+        Assert.assertFalse(EOPSnapshot.load(snapshot));
+
+    }
+
+    @Test
+    public void testInvalidSnapshot() throws OrekitException, IOException {
+
+        // missing file
+        Assert.assertFalse(EOPSnapshot.load(new File(tempFolder.getRoot(), "missing.snapshot")));
+
+        // not a snapshot
+        final File garbage = tempFolder.newFile("garbage.snapshot");
+        try (OutputStream out = new FileOutputStream(garbage)) {
+            out.write("this is not a snapshot".getBytes(StandardCharsets.UTF_8));
+        }
+        Assert.assertFalse(EOPSnapshot.load(garbage));
+
+        // truncated snapshot
+        final File snapshot = new File(tempFolder.getRoot(), "eop.snapshot");
+        EOPSnapshot.write(snapshot);
+        final byte[] content = Files.readAllBytes(snapshot.toPath());
+        final File truncated = tempFolder.newFile("truncated.snapshot");
+        Files.write(truncated.toPath(), Arrays.copyOf(content, content.length / 2));
+        Assert.assertFalse(EOPSnapshot.load(truncated));
+        Assert.assertTrue(EOPSnapshot.load(snapshot));
+
+    }
+
+    private void resetDataPath(final File dataDir) {
+        Utils.clearFactories();
+        System.setProperty(DataProvidersManager.OREKIT_DATA_PATH, dataDir.getAbsolutePath());
+    }
+
+    @Before
+    public void setUp() {
+        Utils.setDataRoot("regular-data");
+    }
+
+}
@@ -28,6 +28,7 @@ import org.orekit.Utils;
 import org.orekit.bodies.GeodeticPoint;
 import org.orekit.bodies.OneAxisEllipsoid;
 import org.orekit.errors.OrekitException;
+import org.orekit.errors.OrekitIllegalArgumentException;
 import org.orekit.time.AbsoluteDate;
 import org.orekit.time.TimeScalesFactory;
 import org.orekit.utils.Constants;
@@ -261,6 +262,58 @@ public class FrameTest {
         }
     }
 
+    @Test
+    public void testTransformCache() throws OrekitException {
+        final Frame eme2000 = FramesFactory.getEME2000();
+        final Frame itrf    = FramesFactory.getITRF(IERSConventions.IERS_2010, true);
+        final AbsoluteDate date = new AbsoluteDate(2008, 2, 29, 12, 0, 0.0, TimeScalesFactory.getUTC());
+
+        // caching is disabled by default
+        Assert.assertNotSame(eme2000.getTransformTo(itrf, date), eme2000.getTransformTo(itrf, date));
+
+        try {
+            Frame.setTransformCacheSize(2);
+            final Transform t0 = eme2000.getTransformTo(itrf, date);
+            Assert.assertSame(t0, eme2000.getTransformTo(itrf, new AbsoluteDate(date, 0.0)));
+            Assert.assertNotSame(t0, itrf.getTransformTo(eme2000, date));
+            Assert.assertNotSame(t0, eme2000.getTransformTo(itrf, date.shiftedBy(1.0)));
+
+            // least recently used transform has been evicted
+            Assert.assertNotSame(t0, eme2000.getTransformTo(itrf, date));
+
+            // cached transforms are the same as non-cached ones
+            final Transform cached = eme2000.getTransformTo(itrf, date.shiftedBy(60.0));
+            Frame.clearTransformCache();
+            final Transform raw    = eme2000.getTransformTo(itrf, date.shiftedBy(60.0));
+            Assert.assertNotSame(cached, raw);
+            final Vector3D p = new Vector3D(7.0e6, -1.0e6, 3.0e6);
+            Assert.assertEquals(0.0,
+                                Vector3D.distance(cached.transformPosition(p), raw.transformPosition(p)),
+                                1.0e-15);
+
+            // updatable frames invalidate the caches
+            final UpdatableFrame updatable = new UpdatableFrame(eme2000, Transform.IDENTITY, "updatable");
+            final Transform before = updatable.getTransformTo(eme2000, date);
+            Assert.assertSame(before, updatable.getTransformTo(eme2000, date));
+            updatable.updateTransform(updatable, eme2000,
+                                      new Transform(date, new Vector3D(1.0, 2.0, 3.0)), date);
+            final Transform after = updatable.getTransformTo(eme2000, date);
+            Assert.assertNotSame(before, after);
+            Assert.assertEquals(0.0,
+                                Vector3D.distance(new Vector3D(1.0, 2.0, 3.0), after.getTranslation()),
+                                1.0e-14);
+
+        } finally {
+            Frame.setTransformCacheSize(0);
+        }
+
+    }
+
+    @Test(expected = OrekitIllegalArgumentException.class)
+    public void testNegativeTransformCacheSize() {
+        Frame.setTransformCacheSize(-1);
+    }
+
     @Before
     public void setUp() {
         Utils.setDataRoot("compressed-data");
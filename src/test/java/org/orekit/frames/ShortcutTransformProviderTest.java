@@ -0,0 +1,80 @@
+/* Copyright 2002-2016 CS Systèmes d'Information
+ * Licensed to CS Systèmes d'Information (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.frames;
+
+import org.hipparchus.geometry.euclidean.threed.Vector3D;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.orekit.Utils;
+import org.orekit.errors.OrekitException;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.time.TimeScalesFactory;
+import org.orekit.utils.AngularDerivativesFilter;
+import org.orekit.utils.CartesianDerivativesFilter;
+import org.orekit.utils.Constants;
+import org.orekit.utils.IERSConventions;
+
+public class ShortcutTransformProviderTest {
+
+    @Test
+    public void testDirect() throws OrekitException {
+        final Frame gcrf = FramesFactory.getGCRF();
+        final Frame itrf = FramesFactory.getITRF(IERSConventions.IERS_2010, true);
+        final ShortcutTransformProvider provider = new ShortcutTransformProvider(gcrf, itrf);
+        Assert.assertSame(gcrf, provider.getSource());
+        Assert.assertSame(itrf, provider.getDestination());
+        final Frame shortcut = new Frame(gcrf, provider, "shortcut ITRF");
+        Assert.assertEquals(1, shortcut.getDepth());
+        for (double dt = 0; dt < Constants.JULIAN_DAY; dt += 3600.0) {
+            final AbsoluteDate date = t0.shiftedBy(dt);
+            Assert.assertEquals(0.0, distance(itrf.getTransformTo(gcrf, date), shortcut.getTransformTo(gcrf, date)), 1.0e-15);
+        }
+    }
+
+    @Test
+    public void testShifting() throws OrekitException {
+        final Frame gcrf = FramesFactory.getGCRF();
+        final Frame itrf = FramesFactory.getITRF(IERSConventions.IERS_2010, true);
+        final Frame shortcut =
+                new Frame(gcrf,
+                          new ShiftingTransformProvider(new ShortcutTransformProvider(gcrf, itrf),
+                                                        CartesianDerivativesFilter.USE_PVA,
+                                                        AngularDerivativesFilter.USE_R,
+                                                        AbsoluteDate.PAST_INFINITY, AbsoluteDate.FUTURE_INFINITY,
+                                                        6, 60.0, 10, Constants.JULIAN_DAY, Constants.JULIAN_DAY),
+                          "shifting ITRF");
+        for (double dt = 0; dt < 3600.0; dt += 7.3) {
+            final AbsoluteDate date = t0.shiftedBy(dt);
+            Assert.assertEquals(0.0, distance(itrf.getTransformTo(gcrf, date), shortcut.getTransformTo(gcrf, date)), 5.0e-3);
+        }
+    }
+
+    private double distance(final Transform t1, final Transform t2) {
+        final Vector3D p = new Vector3D(6378137.0, 1000.0, -2000.0);
+        return Vector3D.distance(t1.transformPosition(p), t2.transformPosition(p));
+    }
+
+    @Before
+    public void setUp() {
+        Utils.setDataRoot("regular-data");
+        t0 = new AbsoluteDate(2008, 2, 29, 12, 0, 0.0, TimeScalesFactory.getUTC());
+    }
+
+    private AbsoluteDate t0;
+
+}
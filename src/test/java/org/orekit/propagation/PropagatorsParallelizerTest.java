@@ -0,0 +1,321 @@
+/* Copyright 2002-2016 CS Systèmes d'Information
+ * Licensed to CS Systèmes d'Information (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.propagation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.hipparchus.geometry.euclidean.threed.Vector3D;
+import org.hipparchus.ode.nonstiff.DormandPrince853Integrator;
+import org.hipparchus.util.FastMath;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.orekit.Utils;
+import org.orekit.errors.OrekitException;
+import org.orekit.errors.OrekitMessages;
+import org.orekit.forces.gravity.HolmesFeatherstoneAttractionModel;
+import org.orekit.forces.gravity.potential.GravityFieldFactory;
+import org.orekit.forces.gravity.potential.NormalizedSphericalHarmonicsProvider;
+import org.orekit.forces.gravity.potential.SHMFormatReader;
+import org.orekit.frames.FramesFactory;
+import org.orekit.orbits.KeplerianOrbit;
+import org.orekit.orbits.Orbit;
+import org.orekit.orbits.OrbitType;
+import org.orekit.orbits.PositionAngle;
+import org.orekit.propagation.analytical.EcksteinHechlerPropagator;
+import org.orekit.propagation.analytical.KeplerianPropagator;
+import org.orekit.propagation.events.DateDetector;
+import org.orekit.propagation.numerical.NumericalPropagator;
+import org.orekit.propagation.sampling.MultiSatStepHandler;
+import org.orekit.propagation.sampling.OrekitStepInterpolator;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.time.TimeScalesFactory;
+import org.orekit.utils.IERSConventions;
+
+public class PropagatorsParallelizerTest {
+
+    private AbsoluteDate date;
+    private NormalizedSphericalHarmonicsProvider normalizedGravityField;
+    private Orbit orbit;
+
+    @Test
+    public void testSynchronizedSteps() throws OrekitException {
+
+        final AbsoluteDate endDate = date.shiftedBy(3600.0);
+        final List<Propagator> propagators = Arrays.asList(buildEcksteinHechler(),
+                                                           buildNumerical(),
+                                                           buildKeplerian());
+        final List<AbsoluteDate> stepsEnds = new ArrayList<AbsoluteDate>();
+        final List<SpacecraftState> results =
+                new PropagatorsParallelizer(propagators, new MultiSatStepHandler() {
+
+            @Override
+            public void init(List<SpacecraftState> states0, AbsoluteDate t) {
+                Assert.assertEquals(3, states0.size());
+                for (final SpacecraftState state : states0) {
+                    Assert.assertEquals(0.0, state.getDate().durationFrom(date), 1.0e-15);
+                }
+                Assert.assertEquals(0.0, t.durationFrom(endDate), 1.0e-15);
+            }
+
+            @Override
+            public void handleStep(List<OrekitStepInterpolator> interpolators, boolean isLast)
+                throws OrekitException {
+                Assert.assertEquals(3, interpolators.size());
+                final AbsoluteDate previous = interpolators.get(0).getPreviousState().getDate();
+                final AbsoluteDate current  = interpolators.get(0).getCurrentState().getDate();
+                for (final OrekitStepInterpolator interpolator : interpolators) {
+                    Assert.assertTrue(interpolator.isForward());
+                    Assert.assertEquals(0.0, interpolator.getPreviousState().getDate().durationFrom(previous), 1.0e-15);
+                    Assert.assertEquals(0.0, interpolator.getCurrentState().getDate().durationFrom(current), 1.0e-15);
+                }
+                if (!stepsEnds.isEmpty()) {
+                    Assert.assertEquals(0.0, previous.durationFrom(stepsEnds.get(stepsEnds.size() - 1)), 1.0e-15);
+                }
+                Assert.assertTrue(current.compareTo(previous) > 0);
+                stepsEnds.add(current);
+                Assert.assertEquals(isLast, current.compareTo(endDate) == 0);
+            }
+
+        }).propagate(date, endDate);
+
+        // the numerical propagator steps are all visible
+        Assert.assertTrue(stepsEnds.size() > 10);
+
+        // results are the same as independent propagations
+        Assert.assertEquals(3, results.size());
+        checkSame(buildEcksteinHechler().propagate(endDate), results.get(0));
+        checkSame(buildNumerical().propagate(endDate),       results.get(1));
+        checkSame(buildKeplerian().propagate(endDate),       results.get(2));
+
+    }
+
+    @Test
+    public void testEarlyStop() throws OrekitException {
+
+        final AbsoluteDate endDate  = date.shiftedBy(3600.0);
+        final AbsoluteDate stopDate = date.shiftedBy(1000.0);
+        final Propagator stopping   = buildNumerical();
+        stopping.addEventDetector(new DateDetector(stopDate));
+        final List<Propagator> propagators = Arrays.asList(buildEcksteinHechler(),
+                                                           stopping,
+                                                           buildKeplerian());
+        final List<Boolean> lastSeen = new ArrayList<Boolean>();
+        final List<SpacecraftState> results =
+                new PropagatorsParallelizer(propagators,
+                                            (interpolators, isLast) -> lastSeen.add(isLast)).
+                propagate(date, endDate);
+
+        Assert.assertTrue(lastSeen.get(lastSeen.size() - 1));
+        Assert.assertEquals(1, lastSeen.stream().filter(b -> b).count());
+        for (final SpacecraftState state : results) {
+            Assert.assertEquals(0.0, state.getDate().durationFrom(stopDate), 1.0e-9);
+        }
+
+    }
+
+    @Test
+    public void testSinglePropagator() throws OrekitException {
+        final AbsoluteDate endDate = date.shiftedBy(3600.0);
+        final List<Integer> sizes = new ArrayList<Integer>();
+        final List<SpacecraftState> results =
+                new PropagatorsParallelizer(Arrays.asList(buildNumerical()),
+                                            (interpolators, isLast) -> sizes.add(interpolators.size())).
+                propagate(date, endDate);
+        Assert.assertEquals(1, results.size());
+        Assert.assertTrue(sizes.size() > 10);
+        for (final int size : sizes) {
+            Assert.assertEquals(1, size);
+        }
+        checkSame(buildNumerical().propagate(endDate), results.get(0));
+    }
+
+    @Test
+    public void testNoPropagators() {
+        try {
+            new PropagatorsParallelizer(new ArrayList<Propagator>(), (interpolators, isLast) -> {}).
+            propagate(date, date.shiftedBy(3600.0));
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitException oe) {
+            Assert.assertEquals(OrekitMessages.NO_PROPAGATORS_TO_PARALLELIZE, oe.getSpecifier());
+        }
+    }
+
+    @Test
+    public void testNotEnoughThreads() throws OrekitException {
+        final List<Propagator> propagators = Arrays.asList(buildEcksteinHechler(),
+                                                           buildNumerical(),
+                                                           buildKeplerian());
+        final ExecutorService executor = Executors.newFixedThreadPool(1);
+        try {
+            new PropagatorsParallelizer(propagators, (interpolators, isLast) -> {}, executor).
+            propagate(date, date.shiftedBy(3600.0));
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitException oe) {
+            Assert.assertEquals(OrekitMessages.NOT_ENOUGH_THREADS_FOR_PARALLEL_PROPAGATION, oe.getSpecifier());
+            Assert.assertEquals(1, ((Integer) oe.getParts()[0]).intValue());
+            Assert.assertEquals(3, ((Integer) oe.getParts()[1]).intValue());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testUserExecutor() throws OrekitException {
+        final AbsoluteDate endDate = date.shiftedBy(3600.0);
+        final List<Propagator> propagators = Arrays.asList(buildEcksteinHechler(),
+                                                           buildNumerical(),
+                                                           buildKeplerian());
+        final ExecutorService executor = Executors.newCachedThreadPool();
+        try {
+            final List<SpacecraftState> results =
+                    new PropagatorsParallelizer(propagators, (interpolators, isLast) -> {}, executor).
+                    propagate(date, endDate);
+            Assert.assertEquals(3, results.size());
+            checkSame(buildEcksteinHechler().propagate(endDate), results.get(0));
+            checkSame(buildNumerical().propagate(endDate),       results.get(1));
+            checkSame(buildKeplerian().propagate(endDate),       results.get(2));
+
+            // the caller-supplied executor is not shut down by the parallelizer
+            Assert.assertFalse(executor.isShutdown());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testForkJoinPool() throws OrekitException {
+        final AbsoluteDate endDate = date.shiftedBy(3600.0);
+        final List<Propagator> propagators = Arrays.asList(buildEcksteinHechler(),
+                                                           buildNumerical(),
+                                                           buildKeplerian());
+        final ForkJoinPool pool = new ForkJoinPool(propagators.size());
+        try {
+
+            // normal end, the pool does not interrupt cancelled tasks
+            final List<SpacecraftState> results =
+                    new PropagatorsParallelizer(propagators, (interpolators, isLast) -> {}, pool).
+                    propagate(date, endDate);
+            Assert.assertEquals(3, results.size());
+            checkSame(buildEcksteinHechler().propagate(endDate), results.get(0));
+            checkSame(buildNumerical().propagate(endDate),       results.get(1));
+            checkSame(buildKeplerian().propagate(endDate),       results.get(2));
+
+            // failure in the global handler
+            try {
+                new PropagatorsParallelizer(propagators, (interpolators, isLast) -> {
+                    throw new OrekitException(OrekitMessages.INTERNAL_ERROR, "dummy");
+                }, pool).propagate(date, endDate);
+                Assert.fail("an exception should have been thrown");
+            } catch (OrekitException oe) {
+                Assert.assertEquals(OrekitMessages.INTERNAL_ERROR, oe.getSpecifier());
+            }
+
+            // all propagation tasks have been stopped
+            Assert.assertTrue(pool.awaitQuiescence(10, TimeUnit.SECONDS));
+            Assert.assertFalse(pool.isShutdown());
+
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testForkJoinPoolTooSmall() throws OrekitException {
+        final List<Propagator> propagators = Arrays.asList(buildEcksteinHechler(),
+                                                           buildNumerical(),
+                                                           buildKeplerian());
+        final ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            new PropagatorsParallelizer(propagators, (interpolators, isLast) -> {}, pool).
+            propagate(date, date.shiftedBy(3600.0));
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitException oe) {
+            Assert.assertEquals(OrekitMessages.NOT_ENOUGH_THREADS_FOR_PARALLEL_PROPAGATION, oe.getSpecifier());
+            Assert.assertEquals(2, ((Integer) oe.getParts()[0]).intValue());
+            Assert.assertEquals(3, ((Integer) oe.getParts()[1]).intValue());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testHandlerException() throws OrekitException {
+        final List<Propagator> propagators = Arrays.asList(buildEcksteinHechler(),
+                                                           buildNumerical());
+        try {
+            new PropagatorsParallelizer(propagators, (interpolators, isLast) -> {
+                throw new OrekitException(OrekitMessages.INTERNAL_ERROR, "dummy");
+            }).propagate(date, date.shiftedBy(3600.0));
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitException oe) {
+            Assert.assertEquals(OrekitMessages.INTERNAL_ERROR, oe.getSpecifier());
+        }
+
+        // the propagators can be reused after the failure
+        checkSame(buildNumerical().propagate(date.shiftedBy(600.0)),
+                  propagators.get(1).propagate(date, date.shiftedBy(600.0)));
+
+    }
+
+    private void checkSame(final SpacecraftState expected, final SpacecraftState actual) {
+        Assert.assertEquals(0.0, actual.getDate().durationFrom(expected.getDate()), 1.0e-15);
+        Assert.assertEquals(0.0,
+                            Vector3D.distance(expected.getPVCoordinates().getPosition(),
+                                              actual.getPVCoordinates().getPosition()),
+                            1.0e-6);
+    }
+
+    private EcksteinHechlerPropagator buildEcksteinHechler() throws OrekitException {
+        return new EcksteinHechlerPropagator(orbit, GravityFieldFactory.getUnnormalizedProvider(normalizedGravityField));
+    }
+
+    private KeplerianPropagator buildKeplerian() {
+        return new KeplerianPropagator(orbit);
+    }
+
+    private NumericalPropagator buildNumerical() throws OrekitException {
+        final double[][] tolerances = NumericalPropagator.tolerances(0.001, orbit, OrbitType.CARTESIAN);
+        final NumericalPropagator numerical =
+                new NumericalPropagator(new DormandPrince853Integrator(0.001, 120.0,
+                                                                       tolerances[0], tolerances[1]));
+        numerical.setOrbitType(OrbitType.CARTESIAN);
+        numerical.addForceModel(new HolmesFeatherstoneAttractionModel(FramesFactory.getITRF(IERSConventions.IERS_2010, true),
+                                                                      normalizedGravityField));
+        numerical.setInitialState(new SpacecraftState(orbit));
+        return numerical;
+    }
+
+    @Before
+    public void setUp() throws OrekitException {
+        Utils.setDataRoot("regular-data:potential/shm-format");
+        GravityFieldFactory.addPotentialCoefficientsReader(new SHMFormatReader("^eigen_cg03c_coef$", false));
+        normalizedGravityField = GravityFieldFactory.getNormalizedProvider(6, 0);
+        date  = new AbsoluteDate(2004, 1, 1, 00, 00, 00.000, TimeScalesFactory.getUTC());
+        orbit = new KeplerianOrbit(7201009.7124401, 1e-3, FastMath.toRadians(98.7),
+                                   FastMath.toRadians(93.0), FastMath.toRadians(15.0 * 22.5),
+                                   0, PositionAngle.MEAN, FramesFactory.getEME2000(), date,
+                                   normalizedGravityField.getMu());
+    }
+
+}
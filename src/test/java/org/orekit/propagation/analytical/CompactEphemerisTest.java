@@ -0,0 +1,266 @@
+/* Copyright 2002-2016 CS Systèmes d'Information
+ * Licensed to CS Systèmes d'Information (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.propagation.analytical;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.hipparchus.geometry.euclidean.threed.Rotation;
+import org.hipparchus.geometry.euclidean.threed.Vector3D;
+import org.hipparchus.util.FastMath;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.orekit.Utils;
+import org.orekit.attitudes.LofOffset;
+import org.orekit.errors.OrekitException;
+import org.orekit.errors.OrekitMessages;
+import org.orekit.frames.Frame;
+import org.orekit.frames.FramesFactory;
+import org.orekit.frames.LOFType;
+import org.orekit.orbits.CartesianOrbit;
+import org.orekit.orbits.KeplerianOrbit;
+import org.orekit.orbits.Orbit;
+import org.orekit.orbits.PositionAngle;
+import org.orekit.propagation.AdditionalStateProvider;
+import org.orekit.propagation.BoundedPropagator;
+import org.orekit.propagation.SpacecraftState;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.time.DateComponents;
+import org.orekit.time.TimeComponents;
+import org.orekit.time.TimeScalesFactory;
+
+public class CompactEphemerisTest {
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    private AbsoluteDate          initDate;
+    private Frame                 inertialFrame;
+    private List<SpacecraftState> states;
+
+    @Test
+    public void testSameAsEphemerisOnHeap() throws OrekitException {
+        final CompactEphemeris compact = new CompactEphemeris(states, 6, true, false);
+        checkSame(new Ephemeris(states, 6), compact, true, 1.0e-6, 1.0e-12);
+    }
+
+    @Test
+    public void testSameAsEphemerisOffHeap() throws OrekitException {
+        final CompactEphemeris compact = new CompactEphemeris(states, 6, true, true);
+        checkSame(new Ephemeris(states, 6), compact, true, 1.0e-6, 1.0e-12);
+    }
+
+    @Test
+    public void testWithoutAttitude() throws OrekitException {
+        final CompactEphemeris compact = new CompactEphemeris(states, 6, false, false);
+        Assert.assertFalse(compact.isAttitudeStored());
+        checkSame(new Ephemeris(states, 6), compact, false, 1.0e-6, 1.0e-12);
+
+        // attitude can be recomputed by a provider
+        compact.setAttitudeProvider(new LofOffset(inertialFrame, LOFType.VVLH));
+        checkSame(new Ephemeris(states, 6), compact, true, 1.0e-6, 1.0e-9);
+    }
+
+    @Test
+    public void testUnsortedStates() throws OrekitException {
+        final List<SpacecraftState> shuffled = new ArrayList<SpacecraftState>(states);
+        Collections.reverse(shuffled);
+        final CompactEphemeris compact = new CompactEphemeris(shuffled, 4, true, false);
+        Assert.assertEquals(states.size(), compact.getSize());
+        Assert.assertEquals(initDate, compact.getMinDate());
+        checkSame(new Ephemeris(states, 4), compact, true, 1.0e-6, 1.0e-12);
+    }
+
+    @Test
+    public void testAdditionalStates() throws OrekitException {
+        final CompactEphemeris compact = new CompactEphemeris(states, 6, true, false);
+        Assert.assertTrue(compact.isAdditionalStateManaged("linear"));
+        Assert.assertTrue(compact.isAdditionalStateManaged("quadratic"));
+        Assert.assertFalse(compact.isAdditionalStateManaged("unknown"));
+        Assert.assertEquals(2, compact.getManagedAdditionalStates().length);
+        final AbsoluteDate date = initDate.shiftedBy(1234.5);
+        final SpacecraftState state = compact.propagate(date);
+        Assert.assertEquals(1234.5, state.getAdditionalState("linear")[0], 1.0e-10);
+        Assert.assertEquals(1234.5 * 1.0e-3, state.getAdditionalState("quadratic")[0], 1.0e-12);
+        Assert.assertEquals(1234.5 * 1234.5 * 1.0e-6, state.getAdditionalState("quadratic")[1], 1.0e-10);
+    }
+
+    @Test
+    public void testOutOfRange() throws OrekitException {
+        final CompactEphemeris compact = new CompactEphemeris(states, 6, true, false);
+        try {
+            compact.propagate(compact.getMinDate().shiftedBy(-1.0));
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitException oe) {
+            Assert.assertEquals(OrekitMessages.UNABLE_TO_GENERATE_NEW_DATA_BEFORE, oe.getSpecifier());
+        }
+        try {
+            compact.propagate(compact.getMaxDate().shiftedBy(1.0));
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitException oe) {
+            Assert.assertEquals(OrekitMessages.UNABLE_TO_GENERATE_NEW_DATA_AFTER, oe.getSpecifier());
+        }
+        Assert.assertEquals(0.0,
+                            compact.propagate(compact.getMaxDate()).getDate().durationFrom(compact.getMaxDate()),
+                            1.0e-15);
+    }
+
+    @Test
+    public void testNonResettable() throws OrekitException {
+        final CompactEphemeris compact = new CompactEphemeris(states, 6, true, false);
+        try {
+            compact.resetInitialState(states.get(0));
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitException oe) {
+            Assert.assertEquals(OrekitMessages.NON_RESETABLE_STATE, oe.getSpecifier());
+        }
+    }
+
+    @Test
+    public void testWriteRead() throws OrekitException, IOException {
+        final CompactEphemeris compact = new CompactEphemeris(states, 6, true, true);
+        final File file = tempFolder.newFile("ephemeris.bin");
+        compact.write(file);
+
+        // rows: 11 orbital values, 7 attitude values and 3 additional values
+        Assert.assertTrue(file.length() >= states.size() * 21 * Double.BYTES);
+        Assert.assertTrue(file.length() <  states.size() * 21 * Double.BYTES + 256);
+
+        final CompactEphemeris read = CompactEphemeris.read(file, inertialFrame);
+        Assert.assertEquals(compact.getSize(), read.getSize());
+        Assert.assertTrue(read.isAttitudeStored());
+        Assert.assertEquals(0.0, read.getMinDate().durationFrom(compact.getMinDate()), 1.0e-15);
+        Assert.assertEquals(0.0, read.getMaxDate().durationFrom(compact.getMaxDate()), 1.0e-10);
+        checkSame(compact, read, true, 1.0e-10, 1.0e-14);
+    }
+
+    @Test
+    public void testReadFrameMismatch() throws OrekitException, IOException {
+        final File file = tempFolder.newFile("ephemeris.bin");
+        new CompactEphemeris(states, 6, false, false).write(file);
+        try {
+            CompactEphemeris.read(file, FramesFactory.getGCRF());
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitException oe) {
+            Assert.assertEquals(OrekitMessages.FRAMES_MISMATCH, oe.getSpecifier());
+        }
+    }
+
+    @Test
+    public void testReadCorrupted() throws OrekitException, IOException {
+        final File file = tempFolder.newFile("ephemeris.bin");
+        new CompactEphemeris(states, 6, false, false).write(file);
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.setLength(raf.length() - Double.BYTES);
+        }
+        try {
+            CompactEphemeris.read(file, inertialFrame);
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitException oe) {
+            Assert.assertEquals(OrekitMessages.NOT_A_SUPPORTED_COMPACT_EPHEMERIS_FILE, oe.getSpecifier());
+        }
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.writeInt(0);
+        }
+        try {
+            CompactEphemeris.read(file, inertialFrame);
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitException oe) {
+            Assert.assertEquals(OrekitMessages.NOT_A_SUPPORTED_COMPACT_EPHEMERIS_FILE, oe.getSpecifier());
+        }
+    }
+
+    private void checkSame(final BoundedPropagator reference, final CompactEphemeris compact,
+                           final boolean checkAttitude,
+                           final double positionTolerance, final double attitudeTolerance)
+        throws OrekitException {
+        Assert.assertEquals(0.0, compact.getMinDate().durationFrom(reference.getMinDate()), 1.0e-15);
+        Assert.assertEquals(0.0, compact.getMaxDate().durationFrom(reference.getMaxDate()), 1.0e-10);
+        final double span = reference.getMaxDate().durationFrom(reference.getMinDate());
+        for (double dt = 0; dt < span; dt += 17.25) {
+            final AbsoluteDate date = reference.getMinDate().shiftedBy(dt);
+            final SpacecraftState expected = reference.propagate(date);
+            final SpacecraftState actual   = compact.propagate(date);
+            Assert.assertEquals(0.0, actual.getDate().durationFrom(date), 1.0e-15);
+            Assert.assertEquals(0.0,
+                                Vector3D.distance(expected.getPVCoordinates().getPosition(),
+                                                  actual.getPVCoordinates().getPosition()),
+                                positionTolerance);
+            Assert.assertEquals(0.0,
+                                Vector3D.distance(expected.getPVCoordinates().getVelocity(),
+                                                  actual.getPVCoordinates().getVelocity()),
+                                positionTolerance);
+            Assert.assertEquals(expected.getMass(), actual.getMass(), 1.0e-10);
+            if (checkAttitude) {
+                Assert.assertEquals(0.0,
+                                    Rotation.distance(expected.getAttitude().getRotation(),
+                                                      actual.getAttitude().getRotation()),
+                                    attitudeTolerance);
+            }
+        }
+    }
+
+    @Before
+    public void setUp() throws OrekitException {
+        Utils.setDataRoot("regular-data");
+
+        initDate      = new AbsoluteDate(new DateComponents(2004, 01, 01),
+                                         TimeComponents.H00,
+                                         TimeScalesFactory.getUTC());
+        inertialFrame = FramesFactory.getEME2000();
+
+        final Orbit initialOrbit = new KeplerianOrbit(7187990.1979844316, 0.5e-4, 1.7105407051081795,
+                                                      1.9674147913622104, FastMath.toRadians(261), 0,
+                                                      PositionAngle.TRUE, inertialFrame, initDate, 3.9860047e14);
+        final KeplerianPropagator propagator =
+                new KeplerianPropagator(initialOrbit, new LofOffset(inertialFrame, LOFType.VVLH), 3.9860047e14, 1000.0);
+        propagator.addAdditionalStateProvider(new AdditionalStateProvider() {
+            public String getName() {
+                return "linear";
+            }
+            public double[] getAdditionalState(final SpacecraftState state) {
+                return new double[] { state.getDate().durationFrom(initDate) };
+            }
+        });
+        propagator.addAdditionalStateProvider(new AdditionalStateProvider() {
+            public String getName() {
+                return "quadratic";
+            }
+            public double[] getAdditionalState(final SpacecraftState state) {
+                final double dt = state.getDate().durationFrom(initDate);
+                return new double[] { dt * 1.0e-3, dt * dt * 1.0e-6 };
+            }
+        });
+
+        // the compact ephemeris always uses Cartesian orbits
+        states = new ArrayList<SpacecraftState>();
+        for (double dt = 0; dt <= 6000.0; dt += 60.0) {
+            final SpacecraftState state = propagator.propagate(initDate.shiftedBy(dt));
+            states.add(new SpacecraftState(new CartesianOrbit(state.getOrbit()), state.getAttitude(),
+                                           state.getMass(), state.getAdditionalStates()));
+        }
+
+    }
+
+}
@@ -50,6 +50,7 @@ import org.orekit.time.AbsoluteDate;
 import org.orekit.time.DateComponents;
 import org.orekit.time.TimeComponents;
 import org.orekit.time.TimeScalesFactory;
+import org.orekit.utils.IERSConventions;
 import org.orekit.utils.TimeStampedPVCoordinates;
 
 public class EphemerisTest {
@@ -115,6 +116,41 @@ public class EphemerisTest {
 
     }
 
+    @Test
+    public void testPVCoordinatesGrid() throws OrekitException {
+
+        propagator.setAttitudeProvider(new LofOffset(inertialFrame, LOFType.VVLH));
+        int numberOfIntervals = 150;
+        double deltaT = finalDate.durationFrom(initDate) / numberOfIntervals;
+        List<SpacecraftState> states = new ArrayList<SpacecraftState>(numberOfIntervals + 1);
+        for (int j = 0; j <= numberOfIntervals; j++) {
+            states.add(propagator.propagate(initDate.shiftedBy((j * deltaT))));
+        }
+        Ephemeris ephemeris = new Ephemeris(states, 4);
+
+        final Frame itrf = FramesFactory.getITRF(IERSConventions.IERS_2010, true);
+        final AbsoluteDate[] dates = new AbsoluteDate[500];
+        for (int i = 0; i < dates.length; ++i) {
+            dates[i] = initDate.shiftedBy(i * 172.3);
+        }
+        final double[] positions  = new double[3 * dates.length];
+        final double[] velocities = new double[3 * dates.length];
+        ephemeris.getPVCoordinates(dates, itrf, positions, velocities);
+
+        for (int i = 0; i < dates.length; ++i) {
+            final TimeStampedPVCoordinates pv = ephemeris.propagate(dates[i]).getPVCoordinates(itrf);
+            Assert.assertEquals(0.0,
+                                Vector3D.distance(pv.getPosition(),
+                                                  new Vector3D(positions[3 * i], positions[3 * i + 1], positions[3 * i + 2])),
+                                1.0e-8);
+            Assert.assertEquals(0.0,
+                                Vector3D.distance(pv.getVelocity(),
+                                                  new Vector3D(velocities[3 * i], velocities[3 * i + 1], velocities[3 * i + 2])),
+                                1.0e-11);
+        }
+
+    }
+
     @Test
     public void testSerialization() throws OrekitException, IOException, ClassNotFoundException {
 
@@ -0,0 +1,150 @@
+/* Copyright 2002-2016 CS Systèmes d'Information
+ * Licensed to CS Systèmes d'Information (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.propagation.analytical.tle;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.hipparchus.geometry.euclidean.threed.Vector3D;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.orekit.Utils;
+import org.orekit.errors.OrekitException;
+import org.orekit.errors.OrekitIllegalArgumentException;
+import org.orekit.frames.FramesFactory;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.utils.PVCoordinates;
+
+public class TLEBatchPropagatorTest {
+
+    private List<TLE> tles;
+
+    @Test
+    public void testSingleDate() throws OrekitException {
+        doTestSingleDate(false);
+    }
+
+    @Test
+    public void testSingleDateParallel() throws OrekitException {
+        doTestSingleDate(true);
+    }
+
+    @Test
+    public void testGrid() throws OrekitException {
+        doTestGrid(false);
+    }
+
+    @Test
+    public void testGridParallel() throws OrekitException {
+        doTestGrid(true);
+    }
+
+    @Test
+    public void testFrame() throws OrekitException {
+        TLEBatchPropagator batch = new TLEBatchPropagator(tles);
+        Assert.assertSame(FramesFactory.getTEME(), batch.getFrame());
+        Assert.assertEquals(tles.size(), batch.getSize());
+        for (int k = 0; k < tles.size(); ++k) {
+            Assert.assertSame(tles.get(k), batch.getTLE(k));
+        }
+    }
+
+    @Test(expected=OrekitIllegalArgumentException.class)
+    public void testArrayTooSmall() throws OrekitException {
+        TLEBatchPropagator batch = new TLEBatchPropagator(tles);
+        batch.propagate(tles.get(0).getDate(),
+                        new double[3 * tles.size() - 1], new double[3 * tles.size()],
+                        false);
+    }
+
+    @Test(expected=OrekitIllegalArgumentException.class)
+    public void testGridMismatch() throws OrekitException {
+        TLEBatchPropagator batch = new TLEBatchPropagator(tles);
+        batch.propagate(new AbsoluteDate[] { tles.get(0).getDate() },
+                        new double[2][3 * tles.size()], new double[2][3 * tles.size()],
+                        false);
+    }
+
+    private void doTestSingleDate(final boolean parallel) throws OrekitException {
+        TLEBatchPropagator batch = new TLEBatchPropagator(tles);
+        final AbsoluteDate date = tles.get(0).getDate().shiftedBy(7200.0);
+        final double[] p = new double[3 * tles.size()];
+        final double[] v = new double[3 * tles.size()];
+        Assert.assertEquals(0, batch.propagate(date, p, v, parallel));
+        for (int k = 0; k < tles.size(); ++k) {
+            checkSame(TLEPropagator.selectExtrapolator(tles.get(k)).getPVCoordinates(date), p, v, k);
+        }
+    }
+
+    private void doTestGrid(final boolean parallel) throws OrekitException {
+        TLEBatchPropagator batch = new TLEBatchPropagator(tles);
+        final AbsoluteDate[] dates = new AbsoluteDate[50];
+        for (int j = 0; j < dates.length; ++j) {
+            dates[j] = tles.get(0).getDate().shiftedBy(j * 600.0);
+        }
+        final double[][] p = new double[dates.length][3 * tles.size()];
+        final double[][] v = new double[dates.length][3 * tles.size()];
+        Assert.assertEquals(0, batch.propagate(dates, p, v, parallel));
+        for (int k = 0; k < tles.size(); ++k) {
+            final TLEPropagator reference = TLEPropagator.selectExtrapolator(tles.get(k));
+            for (int j = 0; j < dates.length; ++j) {
+                checkSame(reference.getPVCoordinates(dates[j]), p[j], v[j], k);
+            }
+        }
+    }
+
+    private void checkSame(final PVCoordinates expected, final double[] p, final double[] v, final int k) {
+        // results must be exactly identical to the regular propagator
+        Assert.assertEquals(0.0,
+                            Vector3D.distance(expected.getPosition(), new Vector3D(p[3 * k], p[3 * k + 1], p[3 * k + 2])),
+                            0.0);
+        Assert.assertEquals(0.0,
+                            Vector3D.distance(expected.getVelocity(), new Vector3D(v[3 * k], v[3 * k + 1], v[3 * k + 2])),
+                            0.0);
+    }
+
+    private TLE atEpoch(final TLE tle, final AbsoluteDate epoch) {
+        return new TLE(tle.getSatelliteNumber(), tle.getClassification(),
+                       tle.getLaunchYear(), tle.getLaunchNumber(), tle.getLaunchPiece(),
+                       tle.getEphemerisType(), tle.getElementNumber(), epoch,
+                       tle.getMeanMotion(), tle.getMeanMotionFirstDerivative(),
+                       tle.getMeanMotionSecondDerivative(), tle.getE(), tle.getI(),
+                       tle.getPerigeeArgument(), tle.getRaan(), tle.getMeanAnomaly(),
+                       tle.getRevolutionNumberAtEpoch(), tle.getBStar());
+    }
+
+    @Before
+    public void setUp() throws OrekitException {
+        Utils.setDataRoot("regular-data");
+        final TLE reference = new TLE("1 27421U 02021A   02124.48976499 -.00021470  00000-0 -89879-2 0    20",
+                                      "2 27421  98.7490 199.5121 0001333 133.9522 226.1918 14.26113993    62");
+        // all TLE share the same epoch, so they can be propagated at the same dates
+        tles = new ArrayList<TLE>(Arrays.asList(
+            // near Earth (SGP4)
+            reference,
+            atEpoch(new TLE("1 31928U 98067BA  08269.84884916  .00114257  17652-4  13615-3 0  4412",
+                            "2 31928  51.6257 175.4142 0001703  41.9031 318.2112 16.08175249 68368"),
+                    reference.getDate()),
+            // deep space (SDP4)
+            atEpoch(new TLE("1 37753U 11036A   12090.13205652 -.00000006  00000-0  00000+0 0  2272",
+                            "2 37753  55.0032 176.5796 0004733  13.2285 346.8266  2.00565440  5153"),
+                    reference.getDate())));
+    }
+
+}
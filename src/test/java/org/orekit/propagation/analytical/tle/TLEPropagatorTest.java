@@ -67,6 +67,37 @@ public class TLEPropagatorTest {
 
     }
 
+    @Test
+    public void testPVCoordinatesGrid() throws OrekitException {
+
+        final TLEPropagator propagator = TLEPropagator.selectExtrapolator(tle);
+        final Frame itrf = FramesFactory.getITRF(IERSConventions.IERS_2010, true);
+        final int n = 100;
+        final double step = 60.0;
+        final double[] positions  = new double[3 * n];
+        final double[] velocities = new double[3 * n];
+        propagator.getPVCoordinates(tle.getDate(), step, n, itrf, positions, velocities);
+
+        final double[] positionsOnly = new double[3 * n];
+        propagator.getPVCoordinates(tle.getDate(), step, n, itrf, positionsOnly, null);
+
+        for (int i = 0; i < n; ++i) {
+            final PVCoordinates pv = propagator.getPVCoordinates(tle.getDate().shiftedBy(i * step), itrf);
+            Assert.assertEquals(0.0,
+                                Vector3D.distance(pv.getPosition(),
+                                                  new Vector3D(positions[3 * i], positions[3 * i + 1], positions[3 * i + 2])),
+                                1.0e-8);
+            Assert.assertEquals(0.0,
+                                Vector3D.distance(pv.getVelocity(),
+                                                  new Vector3D(velocities[3 * i], velocities[3 * i + 1], velocities[3 * i + 2])),
+                                1.0e-11);
+            Assert.assertEquals(positions[3 * i],     positionsOnly[3 * i],     0.0);
+            Assert.assertEquals(positions[3 * i + 1], positionsOnly[3 * i + 1], 0.0);
+            Assert.assertEquals(positions[3 * i + 2], positionsOnly[3 * i + 2], 0.0);
+        }
+
+    }
+
     @Test
     public void testEphemerisMode() throws OrekitException {
 
@@ -16,6 +16,9 @@
  */
 package org.orekit.propagation.events;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import org.hipparchus.exception.LocalizedCoreFormats;
 import org.hipparchus.geometry.euclidean.threed.Vector3D;
 import org.hipparchus.ode.nonstiff.ClassicalRungeKuttaIntegrator;
@@ -155,6 +158,89 @@ public class EventDetectorTest {
         Assert.assertEquals(n + 1, counter.getCount());
     }
 
+    @Test
+    public void testSharedStatesNumerical() throws OrekitException {
+        for (final boolean sharing : new boolean[] { false, true }) {
+            final Orbit orbit = new CircularOrbit(new PVCoordinates(new Vector3D(-6142438.668, 3492467.56, -25767.257),
+                                                                    new Vector3D(505.848, 942.781, 7435.922)),
+                                                  FramesFactory.getEME2000(),
+                                                  new AbsoluteDate(2003, 9, 16, TimeScalesFactory.getUTC()),
+                                                  mu);
+            NumericalPropagator propagator = new NumericalPropagator(new ClassicalRungeKuttaIntegrator(60.0));
+            propagator.resetInitialState(new SpacecraftState(orbit));
+            propagator.setEventsStatesSharing(sharing);
+            Assert.assertEquals(sharing, propagator.isEventsStatesSharing());
+            checkSharing(propagator, orbit.getDate().shiftedBy(6000.0), sharing);
+        }
+    }
+
+    @Test
+    public void testSharedStatesAnalytical() throws OrekitException {
+        for (final boolean sharing : new boolean[] { false, true }) {
+            final Orbit orbit = new CircularOrbit(new PVCoordinates(new Vector3D(-6142438.668, 3492467.56, -25767.257),
+                                                                    new Vector3D(505.848, 942.781, 7435.922)),
+                                                  FramesFactory.getEME2000(),
+                                                  new AbsoluteDate(2003, 9, 16, TimeScalesFactory.getUTC()),
+                                                  mu);
+            KeplerianPropagator propagator = new KeplerianPropagator(orbit);
+            propagator.setEventsStatesSharing(sharing);
+            Assert.assertEquals(sharing, propagator.isEventsStatesSharing());
+            checkSharing(propagator, orbit.getDate().shiftedBy(6000.0), sharing);
+        }
+    }
+
+    private void checkSharing(final Propagator propagator, final AbsoluteDate target, final boolean sharing)
+        throws OrekitException {
+        final StatesRecorder r1 = new StatesRecorder(300.0, 1.0e-6, 20, new StopOnEvent<StatesRecorder>());
+        final StatesRecorder r2 = new StatesRecorder(300.0, 1.0e-6, 20, new StopOnEvent<StatesRecorder>());
+        propagator.addEventDetector(r1);
+        propagator.addEventDetector(r2);
+        propagator.propagate(target);
+        Assert.assertTrue(r1.getStates().size() > 10);
+        Assert.assertEquals(r1.getStates().size(), r2.getStates().size());
+        int same = 0;
+        for (int i = 0; i < r1.getStates().size(); ++i) {
+            Assert.assertEquals(0.0,
+                                r1.getStates().get(i).getDate().durationFrom(r2.getStates().get(i).getDate()),
+                                1.0e-15);
+            if (r1.getStates().get(i) == r2.getStates().get(i)) {
+                ++same;
+            }
+        }
+        if (sharing) {
+            Assert.assertEquals(r1.getStates().size(), same);
+        } else {
+            Assert.assertTrue(same < r1.getStates().size() / 2);
+        }
+    }
+
+    private static class StatesRecorder extends AbstractDetector<StatesRecorder> {
+
+        private static final long serialVersionUID = 1L;
+        private final List<SpacecraftState> states;
+
+        public StatesRecorder(final double maxCheck, final double threshold,
+                              final int maxIter, final EventHandler<? super StatesRecorder> handler) {
+            super(maxCheck, threshold, maxIter, handler);
+            states = new ArrayList<SpacecraftState>();
+        }
+
+        protected StatesRecorder create(final double newMaxCheck, final double newThreshold,
+                                        final int newMaxIter, final EventHandler<? super StatesRecorder> newHandler) {
+            return new StatesRecorder(newMaxCheck, newThreshold, newMaxIter, newHandler);
+        }
+
+        public List<SpacecraftState> getStates() {
+            return states;
+        }
+
+        public double g(SpacecraftState s) {
+            states.add(s);
+            return 1.0;
+        }
+
+    }
+
     private static class GCallsCounter extends AbstractDetector<GCallsCounter> {
 
         private static final long serialVersionUID = 1L;
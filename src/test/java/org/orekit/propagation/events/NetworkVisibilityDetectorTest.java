@@ -0,0 +1,141 @@
+/* Copyright 2002-2016 CS Systèmes d'Information
+ * Licensed to CS Systèmes d'Information (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.propagation.events;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.hipparchus.util.FastMath;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.orekit.Utils;
+import org.orekit.bodies.GeodeticPoint;
+import org.orekit.bodies.OneAxisEllipsoid;
+import org.orekit.errors.OrekitException;
+import org.orekit.errors.OrekitIllegalArgumentException;
+import org.orekit.errors.OrekitMessages;
+import org.orekit.frames.FramesFactory;
+import org.orekit.frames.TopocentricFrame;
+import org.orekit.orbits.KeplerianOrbit;
+import org.orekit.orbits.Orbit;
+import org.orekit.orbits.PositionAngle;
+import org.orekit.propagation.Propagator;
+import org.orekit.propagation.analytical.KeplerianPropagator;
+import org.orekit.propagation.events.EventsLogger.LoggedEvent;
+import org.orekit.propagation.events.handlers.ContinueOnEvent;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.time.TimeScalesFactory;
+import org.orekit.utils.Constants;
+import org.orekit.utils.IERSConventions;
+
+public class NetworkVisibilityDetectorTest {
+
+    private OneAxisEllipsoid earth;
+    private List<TopocentricFrame> stations;
+    private Orbit orbit;
+
+    @Test
+    public void testSameAsOrCombination() throws OrekitException {
+
+        final double minElevation = FastMath.toRadians(5.0);
+        final NetworkVisibilityDetector network =
+                new NetworkVisibilityDetector(60.0, 1.0e-6, stations).
+                withConstantElevation(minElevation).
+                withHandler(new ContinueOnEvent<NetworkVisibilityDetector>());
+        Assert.assertEquals(minElevation, network.getMinElevation(), 1.0e-15);
+        Assert.assertEquals(stations.size(), network.getStations().size());
+
+        final List<EventDetector> individual = new ArrayList<EventDetector>();
+        for (final TopocentricFrame station : stations) {
+            individual.add(new ElevationDetector(60.0, 1.0e-6, station).withConstantElevation(minElevation));
+        }
+        final BooleanDetector or = BooleanDetector.or(individual).withMaxCheck(60.0).withThreshold(1.0e-6);
+
+        final List<LoggedEvent> networkEvents = propagate(network);
+        final List<LoggedEvent> orEvents      = propagate(or);
+        Assert.assertTrue(networkEvents.size() > 4);
+        Assert.assertEquals(orEvents.size(), networkEvents.size());
+        for (int i = 0; i < networkEvents.size(); ++i) {
+            final LoggedEvent e1 = networkEvents.get(i);
+            final LoggedEvent e2 = orEvents.get(i);
+            Assert.assertEquals(e2.isIncreasing(), e1.isIncreasing());
+            Assert.assertEquals(0.0, e1.getState().getDate().durationFrom(e2.getState().getDate()), 1.0e-5);
+
+            // at event time, the highest station is exactly at minimum elevation
+            final double[] elevations = network.getElevations(e1.getState());
+            double max = Double.NEGATIVE_INFINITY;
+            for (int j = 0; j < elevations.length; ++j) {
+                Assert.assertEquals(stations.get(j).getElevation(e1.getState().getPVCoordinates().getPosition(),
+                                                                 e1.getState().getFrame(),
+                                                                 e1.getState().getDate()),
+                                    elevations[j], 1.0e-12);
+                max = FastMath.max(max, elevations[j]);
+            }
+            Assert.assertEquals(minElevation, max, 1.0e-8);
+        }
+
+    }
+
+    @Test
+    public void testFramesMismatch() throws OrekitException {
+        final OneAxisEllipsoid other = new OneAxisEllipsoid(Constants.WGS84_EARTH_EQUATORIAL_RADIUS,
+                                                            Constants.WGS84_EARTH_FLATTENING,
+                                                            FramesFactory.getGTOD(true));
+        try {
+            new NetworkVisibilityDetector(Arrays.asList(stations.get(0),
+                                                        new TopocentricFrame(other, new GeodeticPoint(0.1, 0.2, 0.0),
+                                                                             "other")));
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitIllegalArgumentException oiae) {
+            Assert.assertEquals(OrekitMessages.FRAMES_MISMATCH, oiae.getSpecifier());
+        }
+    }
+
+    @Test(expected = OrekitIllegalArgumentException.class)
+    public void testNoStations() {
+        new NetworkVisibilityDetector(new ArrayList<TopocentricFrame>());
+    }
+
+    private List<LoggedEvent> propagate(final EventDetector detector) throws OrekitException {
+        final Propagator propagator = new KeplerianPropagator(orbit);
+        final EventsLogger logger = new EventsLogger();
+        propagator.addEventDetector(logger.monitorDetector(detector));
+        propagator.propagate(orbit.getDate().shiftedBy(Constants.JULIAN_DAY));
+        return logger.getLoggedEvents();
+    }
+
+    @Before
+    public void setUp() throws OrekitException {
+        Utils.setDataRoot("regular-data");
+        earth = new OneAxisEllipsoid(Constants.WGS84_EARTH_EQUATORIAL_RADIUS,
+                                     Constants.WGS84_EARTH_FLATTENING,
+                                     FramesFactory.getITRF(IERSConventions.IERS_2010, true));
+        stations = new ArrayList<TopocentricFrame>();
+        stations.add(new TopocentricFrame(earth, new GeodeticPoint(FastMath.toRadians(43.6),  FastMath.toRadians(1.4),   0.0), "Toulouse"));
+        stations.add(new TopocentricFrame(earth, new GeodeticPoint(FastMath.toRadians(78.2),  FastMath.toRadians(15.4),  0.0), "Svalbard"));
+        stations.add(new TopocentricFrame(earth, new GeodeticPoint(FastMath.toRadians(-35.4), FastMath.toRadians(149.0), 0.0), "Canberra"));
+        stations.add(new TopocentricFrame(earth, new GeodeticPoint(FastMath.toRadians(5.2),   FastMath.toRadians(-52.8), 0.0), "Kourou"));
+        orbit = new KeplerianOrbit(7000000.0, 0.001, FastMath.toRadians(98.0),
+                                   FastMath.toRadians(90.0), FastMath.toRadians(30.0), 0.0,
+                                   PositionAngle.MEAN, FramesFactory.getEME2000(),
+                                   new AbsoluteDate(2008, 3, 12, 10, 0, 0.0, TimeScalesFactory.getUTC()),
+                                   Constants.EIGEN5C_EARTH_MU);
+    }
+
+}
@@ -0,0 +1,128 @@
+/* Copyright 2002-2016 CS Systèmes d'Information
+ * Licensed to CS Systèmes d'Information (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.propagation.events;
+
+import java.util.List;
+
+import org.hipparchus.util.FastMath;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.orekit.Utils;
+import org.orekit.bodies.GeodeticPoint;
+import org.orekit.bodies.OneAxisEllipsoid;
+import org.orekit.errors.OrekitException;
+import org.orekit.errors.OrekitIllegalArgumentException;
+import org.orekit.errors.OrekitMessages;
+import org.orekit.frames.FramesFactory;
+import org.orekit.frames.TopocentricFrame;
+import org.orekit.orbits.KeplerianOrbit;
+import org.orekit.orbits.Orbit;
+import org.orekit.orbits.PositionAngle;
+import org.orekit.propagation.Propagator;
+import org.orekit.propagation.analytical.KeplerianPropagator;
+import org.orekit.propagation.events.EventsLogger.LoggedEvent;
+import org.orekit.propagation.events.VisibilityFinder.VisibilityEvent;
+import org.orekit.propagation.events.handlers.ContinueOnEvent;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.time.TimeScalesFactory;
+import org.orekit.utils.Constants;
+import org.orekit.utils.IERSConventions;
+
+public class VisibilityFinderTest {
+
+    private TopocentricFrame station;
+    private Orbit orbit;
+
+    @Test
+    public void testSameAsElevationDetector() throws OrekitException {
+
+        final double minElevation = FastMath.toRadians(5.0);
+        final AbsoluteDate end = orbit.getDate().shiftedBy(3 * Constants.JULIAN_DAY);
+
+        // reference events
+        final Propagator reference = new KeplerianPropagator(orbit);
+        final EventsLogger logger = new EventsLogger();
+        reference.addEventDetector(logger.monitorDetector(new ElevationDetector(60.0, 1.0e-6, station).
+                                                          withConstantElevation(minElevation).
+                                                          withHandler(new ContinueOnEvent<ElevationDetector>())));
+        reference.propagate(end);
+        final List<LoggedEvent> expected = logger.getLoggedEvents();
+
+        // pruned search
+        final VisibilityFinder finder = VisibilityFinder.fromOrbit(station, minElevation, orbit, 0.01, 60.0, 1.0e-6);
+        final List<VisibilityEvent> events = finder.findEvents(new KeplerianPropagator(orbit), orbit.getDate(), end);
+
+        Assert.assertTrue(expected.size() > 10);
+        Assert.assertEquals(expected.size(), events.size());
+        for (int i = 0; i < events.size(); ++i) {
+            Assert.assertEquals(expected.get(i).isIncreasing(), events.get(i).isRaising());
+            Assert.assertEquals(0.0, events.get(i).getDate().durationFrom(expected.get(i).getState().getDate()), 1.0e-5);
+        }
+
+        // most of the regular scan has been avoided
+        Assert.assertTrue(finder.getPrunedEvaluations() > 2 * finder.getEvaluations());
+
+    }
+
+    @Test
+    public void testVisibleAtStart() throws OrekitException {
+        final double minElevation = FastMath.toRadians(5.0);
+        final VisibilityFinder finder = VisibilityFinder.fromOrbit(station, minElevation, orbit, 0.01, 60.0, 1.0e-6);
+        final List<VisibilityEvent> events = finder.findEvents(new KeplerianPropagator(orbit),
+                                                               orbit.getDate(), orbit.getDate().shiftedBy(Constants.JULIAN_DAY));
+        final int raisingIndex = events.get(0).isRaising() ? 0 : 1;
+        final AbsoluteDate midPass = events.get(raisingIndex).getDate().
+                                     shiftedBy(0.5 * events.get(raisingIndex + 1).getDate().durationFrom(events.get(raisingIndex).getDate()));
+        final List<VisibilityEvent> shifted = finder.findEvents(new KeplerianPropagator(orbit),
+                                                                midPass, orbit.getDate().shiftedBy(Constants.JULIAN_DAY));
+        Assert.assertEquals(0.0,
+                            shifted.get(0).getDate().durationFrom(events.get(raisingIndex + 1).getDate()),
+                            1.0e-5);
+        Assert.assertFalse(shifted.get(0).isRaising());
+    }
+
+    @Test
+    public void testHyperbolic() throws OrekitException {
+        final Orbit hyperbolic = new KeplerianOrbit(-7.0e7, 1.1, 0.1, 0.2, 0.3, 0.0, PositionAngle.TRUE,
+                                                    FramesFactory.getEME2000(), orbit.getDate(),
+                                                    Constants.EIGEN5C_EARTH_MU);
+        try {
+            VisibilityFinder.fromOrbit(station, 0.0, hyperbolic, 0.01, 60.0, 1.0e-6);
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitIllegalArgumentException oiae) {
+            Assert.assertEquals(OrekitMessages.HYPERBOLIC_ORBIT_NOT_HANDLED_AS, oiae.getSpecifier());
+        }
+    }
+
+    @Before
+    public void setUp() throws OrekitException {
+        Utils.setDataRoot("regular-data");
+        final OneAxisEllipsoid earth = new OneAxisEllipsoid(Constants.WGS84_EARTH_EQUATORIAL_RADIUS,
+                                                            Constants.WGS84_EARTH_FLATTENING,
+                                                            FramesFactory.getITRF(IERSConventions.IERS_2010, true));
+        station = new TopocentricFrame(earth,
+                                       new GeodeticPoint(FastMath.toRadians(43.6), FastMath.toRadians(1.4), 150.0),
+                                       "Toulouse");
+        orbit = new KeplerianOrbit(7000000.0, 0.001, FastMath.toRadians(98.0),
+                                   FastMath.toRadians(90.0), FastMath.toRadians(30.0), 0.0,
+                                   PositionAngle.MEAN, FramesFactory.getEME2000(),
+                                   new AbsoluteDate(2008, 3, 12, 10, 0, 0.0, TimeScalesFactory.getUTC()),
+                                   Constants.EIGEN5C_EARTH_MU);
+    }
+
+}
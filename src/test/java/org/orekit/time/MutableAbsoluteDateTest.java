@@ -0,0 +1,136 @@
+/* Copyright 2002-2016 CS Systèmes d'Information
+ * Licensed to CS Systèmes d'Information (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.time;
+
+import org.hipparchus.random.RandomGenerator;
+import org.hipparchus.random.Well19937a;
+import org.hipparchus.util.FastMath;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.orekit.Utils;
+import org.orekit.errors.OrekitException;
+import org.orekit.utils.IERSConventions;
+
+public class MutableAbsoluteDateTest {
+
+    @Test
+    public void testShiftSameAsImmutable() {
+        final RandomGenerator random = new Well19937a(0x6b1a3e52c7d3f8e1L);
+        AbsoluteDate immutable = AbsoluteDate.J2000_EPOCH.shiftedBy(123456.789);
+        final MutableAbsoluteDate mutable = new MutableAbsoluteDate(immutable);
+        for (int i = 0; i < 100000; ++i) {
+            final double dt = (random.nextDouble() - 0.4) * FastMath.pow(10, random.nextInt(8) - 3);
+            immutable = immutable.shiftedBy(dt);
+            mutable.shiftBy(dt);
+            checkIdentical(immutable, mutable);
+        }
+    }
+
+    @Test
+    public void testGridSameAsImmutable() {
+        final AbsoluteDate start = new AbsoluteDate(2005, 12, 31, 23, 59, 30.0, TimeScalesFactory.getTAI());
+        final MutableAbsoluteDate current = new MutableAbsoluteDate(start);
+        final double step = 0.1;
+        for (int i = 0; i < 10000; ++i) {
+            current.set(start).shiftBy(i * step);
+            checkIdentical(start.shiftedBy(i * step), current);
+            Assert.assertEquals(Double.doubleToRawLongBits(start.shiftedBy(i * step).durationFrom(start)),
+                                Double.doubleToRawLongBits(current.durationFrom(start)));
+        }
+    }
+
+    @Test
+    public void testDurationAndComparison() {
+        final AbsoluteDate reference = AbsoluteDate.GPS_EPOCH;
+        final MutableAbsoluteDate a = new MutableAbsoluteDate(reference).shiftBy(1.0e-3);
+        final MutableAbsoluteDate b = new MutableAbsoluteDate(reference).shiftBy(-2.5);
+        Assert.assertEquals(2.501, a.durationFrom(b), 1.0e-15);
+        Assert.assertEquals(1.0e-3, a.durationFrom(reference), 1.0e-15);
+        Assert.assertTrue(a.compareTo(reference) > 0);
+        Assert.assertTrue(b.compareTo(reference) < 0);
+        Assert.assertEquals(0, b.set(a).compareTo(reference.shiftedBy(1.0e-3)));
+        Assert.assertEquals(reference.shiftedBy(1.0e-3).toString(), b.toString());
+    }
+
+    @Test
+    public void testInfinity() {
+        final MutableAbsoluteDate date = new MutableAbsoluteDate(AbsoluteDate.J2000_EPOCH);
+        date.shiftBy(Double.POSITIVE_INFINITY);
+        Assert.assertEquals(AbsoluteDate.FUTURE_INFINITY, date.toAbsoluteDate());
+        date.set(AbsoluteDate.J2000_EPOCH).shiftBy(Double.NEGATIVE_INFINITY);
+        Assert.assertEquals(AbsoluteDate.PAST_INFINITY, date.toAbsoluteDate());
+    }
+
+    @Test
+    public void testTimeScalesOffsets() throws OrekitException {
+        final TimeScale[] scales = new TimeScale[] {
+            TimeScalesFactory.getTAI(),  TimeScalesFactory.getUTC(),  TimeScalesFactory.getTT(),
+            TimeScalesFactory.getGPS(),  TimeScalesFactory.getGST(),  TimeScalesFactory.getQZSS(),
+            TimeScalesFactory.getGLONASS(), TimeScalesFactory.getTCG(), TimeScalesFactory.getTDB(),
+            TimeScalesFactory.getTCB()
+        };
+
+        // the grid crosses the pre-1972 linear models and several leap seconds
+        final AbsoluteDate start = new AbsoluteDate(1960, 1, 1, TimeScalesFactory.getTAI());
+        final MutableAbsoluteDate current = new MutableAbsoluteDate(start);
+        for (double dt = 0; dt < 50 * 365.25 * 86400.0; dt += 86399.75) {
+            current.set(start).shiftBy(dt);
+            final AbsoluteDate expected = start.shiftedBy(dt);
+            for (final TimeScale scale : scales) {
+                Assert.assertEquals(Double.doubleToRawLongBits(scale.offsetFromTAI(expected)),
+                                    Double.doubleToRawLongBits(scale.offsetFromTAI(current)));
+            }
+        }
+
+        // exactly around a leap second
+        final AbsoluteDate leap = new AbsoluteDate(2006, 1, 1, TimeScalesFactory.getUTC());
+        for (double dt = -2.0; dt <= 2.0; dt += 0.125) {
+            current.set(leap).shiftBy(dt);
+            Assert.assertEquals(TimeScalesFactory.getUTC().offsetFromTAI(leap.shiftedBy(dt)),
+                                TimeScalesFactory.getUTC().offsetFromTAI(current),
+                                0.0);
+        }
+
+    }
+
+    @Test
+    public void testDefaultOffset() throws OrekitException {
+        // UT1 relies on the default implementation
+        final TimeScale ut1 = TimeScalesFactory.getUT1(IERSConventions.IERS_2010, true);
+        final AbsoluteDate date = new AbsoluteDate(2004, 6, 1, TimeScalesFactory.getUTC());
+        Assert.assertEquals(ut1.offsetFromTAI(date),
+                            ut1.offsetFromTAI(new MutableAbsoluteDate(date)),
+                            0.0);
+    }
+
+    private void checkIdentical(final AbsoluteDate expected, final MutableAbsoluteDate actual) {
+        Assert.assertEquals(expected.getEpoch(), actual.getEpoch());
+        Assert.assertEquals(Double.doubleToRawLongBits(expected.getOffset()),
+                            Double.doubleToRawLongBits(actual.getOffset()));
+        final AbsoluteDate rebuilt = actual.toAbsoluteDate();
+        Assert.assertEquals(expected.getEpoch(), rebuilt.getEpoch());
+        Assert.assertEquals(Double.doubleToRawLongBits(expected.getOffset()),
+                            Double.doubleToRawLongBits(rebuilt.getOffset()));
+    }
+
+    @Before
+    public void setUp() {
+        Utils.setDataRoot("regular-data");
+    }
+
+}
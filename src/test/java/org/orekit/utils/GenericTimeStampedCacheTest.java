@@ -120,6 +120,8 @@ public class GenericTimeStampedCacheTest {
         Assert.assertEquals(2000, cache.getGetNeighborsCalls());
         Assert.assertEquals(56, cache.getGenerateCalls());
         Assert.assertEquals(0, cache.getSlotsEvictions());
+        Assert.assertEquals(0, cache.getUpdatesContentions());
+        Assert.assertEquals(0, cache.getConcurrentlyPerformedUpdates());
     }
 
     @Test
@@ -188,6 +190,25 @@ public class GenericTimeStampedCacheTest {
                           cache.getSlotsEvictions() > n / 60);
     }
 
+    @Test
+    public void testMultithreadedSameDate() throws TimeStampedCacheException {
+        GenericTimeStampedCache<AbsoluteDate> cache = createCache(10, 3600, 13);
+        final List<AbsoluteDate> dates = new ArrayList<AbsoluteDate>();
+        for (int i = 0; i < 1000; ++i) {
+            dates.add(AbsoluteDate.GALILEO_EPOCH);
+        }
+        Assert.assertEquals(1000, checkDatesMultiThread(dates, cache, 30));
+        Assert.assertEquals(1000, cache.getGetNeighborsCalls());
+
+        // whatever the number of threads that were waiting for the first
+        // generation, data has been generated only once
+        Assert.assertEquals(4, cache.getGenerateCalls());
+        Assert.assertEquals(1, cache.getSlots());
+        Assert.assertEquals(0, cache.getSlotsEvictions());
+        Assert.assertTrue(cache.getConcurrentlyPerformedUpdates() <= cache.getUpdatesContentions());
+
+    }
+
     @Test
     public void testSmallShift() throws TimeStampedCacheException {
         double hour = 3600;